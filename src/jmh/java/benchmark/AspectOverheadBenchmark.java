@@ -0,0 +1,136 @@
+package benchmark;
+
+import app.aspect.auditable.AuditAspect;
+import app.aspect.auditable.Auditable;
+import app.audit.AuditLogWriter;
+import app.audit.OverflowPolicy;
+import app.aspect.loggable.CustomLogging;
+import app.aspect.loggable.LoggableAspect;
+import app.context.UserContext;
+import app.metrics.MethodMetricsRegistry;
+import app.dto.user.UserDto;
+import app.entity.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Накладные расходы {@link LoggableAspect} и {@link AuditAspect} на вызов тривиального метода.
+ * Прокси строятся так же, как в контексте приложения (CGLIB), {@code direct} служит базой сравнения.
+ * Логирование настроено в logback.xml профиля benchmark: события формируются, но никуда не пишутся.
+ * События аудита записываются фоновым потоком в пустое хранилище.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class AspectOverheadBenchmark {
+
+    private final BigDecimal left = new BigDecimal("100.00");
+    private final BigDecimal right = new BigDecimal("42.50");
+
+    private AuditLogWriter auditLogWriter;
+    private Target direct;
+    private Target proxyWithoutAdvice;
+    private Target logged;
+    private Target audited;
+    private Target loggedAndAudited;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserContext.setCurrentUser(new UserDto(1L, "bench", "bench@example.com", "password", true, Role.USER, 1L));
+        auditLogWriter = new AuditLogWriter(events -> {
+        }, 8192, 500, 1000, OverflowPolicy.DROP_NEWEST);
+        auditLogWriter.start();
+        direct = new Target();
+        proxyWithoutAdvice = proxy(new Target());
+        logged = proxy(new LoggedTarget());
+        audited = proxy(new AuditedTarget());
+        loggedAndAudited = proxy(new LoggedAuditedTarget());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        auditLogWriter.close();
+        UserContext.clear();
+    }
+
+    @Benchmark
+    public BigDecimal direct() {
+        return direct.add(left, right);
+    }
+
+    @Benchmark
+    public BigDecimal proxyWithoutAdvice() {
+        return proxyWithoutAdvice.add(left, right);
+    }
+
+    @Benchmark
+    public BigDecimal logged() {
+        return logged.add(left, right);
+    }
+
+    @Benchmark
+    public BigDecimal audited() {
+        return audited.add(left, right);
+    }
+
+    @Benchmark
+    public BigDecimal loggedAndAudited() {
+        return loggedAndAudited.add(left, right);
+    }
+
+    private Target proxy(Target target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggableAspect(new MethodMetricsRegistry()));
+        factory.addAspect(new AuditAspect(auditLogWriter));
+        return factory.getProxy();
+    }
+
+    public static class Target {
+        public BigDecimal add(BigDecimal a, BigDecimal b) {
+            return a.add(b);
+        }
+    }
+
+    @CustomLogging
+    public static class LoggedTarget extends Target {
+        @Override
+        public BigDecimal add(BigDecimal a, BigDecimal b) {
+            return a.add(b);
+        }
+    }
+
+    public static class AuditedTarget extends Target {
+        @Override
+        @Auditable
+        public BigDecimal add(BigDecimal a, BigDecimal b) {
+            return a.add(b);
+        }
+    }
+
+    @CustomLogging
+    public static class LoggedAuditedTarget extends Target {
+        @Override
+        @Auditable
+        public BigDecimal add(BigDecimal a, BigDecimal b) {
+            return a.add(b);
+        }
+    }
+}
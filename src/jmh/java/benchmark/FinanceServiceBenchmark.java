@@ -0,0 +1,38 @@
+package benchmark;
+
+import app.dto.transaction.CreateTransactionDto;
+import app.dto.transaction.TransactionDto;
+import app.entity.TypeTransaction;
+import benchmark.support.SeededAccount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FinanceServiceBenchmark {
+
+    private static final CreateTransactionDto PROFIT = new CreateTransactionDto(
+            new BigDecimal("10.00"), "Salary", "benchmark", TypeTransaction.PROFIT);
+
+    @Benchmark
+    public TransactionDto createTransaction(SeededAccount account) {
+        return account.environment.getFinanceService().createTransaction(account.financeId(), PROFIT);
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> getExpensesByCategory(SeededAccount account) {
+        return account.environment.getFinanceService().getExpensesByCategory(account.financeId());
+    }
+}
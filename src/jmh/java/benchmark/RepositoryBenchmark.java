@@ -0,0 +1,121 @@
+package benchmark;
+
+import app.dto.user.UserDto;
+import app.entity.Finance;
+import app.entity.Role;
+import app.entity.Token;
+import app.entity.Transaction;
+import app.entity.TypeTransaction;
+import app.entity.User;
+import app.repository.jdbc.FinanceJdbcRepository;
+import app.repository.jdbc.TokenJdbcRepository;
+import app.repository.jdbc.TransactionJdbcRepository;
+import app.repository.jdbc.UserJdbcRepository;
+import app.util.SnowflakeIdGenerator;
+import benchmark.support.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code findById} и {@code save} JDBC-репозиториев на локальном PostgreSQL.
+ * Распределение памяти на операцию смотрится профилировщиком: {@code -prof gc}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private BenchmarkEnvironment environment;
+    private FinanceJdbcRepository financeRepository;
+    private TransactionJdbcRepository transactionRepository;
+    private UserJdbcRepository userRepository;
+    private TokenJdbcRepository tokenRepository;
+    private Long financeId;
+    private Long transactionId;
+    private Long userId;
+    private Long tokenId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.create(BenchmarkEnvironment.POSTGRES);
+        UserDto user = environment.seed(1000);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(environment.getDataSource());
+        financeRepository = new FinanceJdbcRepository(jdbcTemplate);
+        transactionRepository = new TransactionJdbcRepository(jdbcTemplate, new SnowflakeIdGenerator(0));
+        userRepository = new UserJdbcRepository(jdbcTemplate);
+        tokenRepository = new TokenJdbcRepository(jdbcTemplate);
+
+        financeId = user.financeId();
+        userId = user.id();
+        transactionId = transactionRepository.findPageByFinanceId(financeId, null, null, 1).get(0).getId();
+        tokenId = tokenRepository.save(new Token(null, userId, "bench-token", false)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public Optional<Finance> financeFindById() {
+        return financeRepository.findById(financeId);
+    }
+
+    @Benchmark
+    public Optional<Transaction> transactionFindById() {
+        return transactionRepository.findById(transactionId);
+    }
+
+    @Benchmark
+    public Optional<User> userFindById() {
+        return userRepository.findById(userId);
+    }
+
+    @Benchmark
+    public Optional<Token> tokenFindById() {
+        return tokenRepository.findById(tokenId);
+    }
+
+    @Benchmark
+    public Finance financeSave() {
+        return financeRepository.save(new Finance.Builder().monthlyBudget(BigDecimal.TEN).build());
+    }
+
+    @Benchmark
+    public Transaction transactionSave() {
+        return transactionRepository.save(new Transaction(null, BigDecimal.TEN, "Food", Instant.now(), "bench",
+                TypeTransaction.EXPENSE, financeId));
+    }
+
+    @Benchmark
+    public User userSave() {
+        return userRepository.save(new User(null, "bench", "save-" + sequence.incrementAndGet() + "@example.com",
+                "password", true, Role.USER, financeId));
+    }
+
+    @Benchmark
+    public Token tokenSave() {
+        return tokenRepository.save(new Token(null, userId, "token-" + sequence.incrementAndGet(), false));
+    }
+}
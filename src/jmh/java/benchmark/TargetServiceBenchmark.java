@@ -0,0 +1,27 @@
+package benchmark;
+
+import app.context.UserContext;
+import benchmark.support.SeededAccount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TargetServiceBenchmark {
+
+    @Benchmark
+    public String generateFinancialReport(SeededAccount account) {
+        UserContext.setCurrentUser(account.user);
+        return account.environment.getTargetService().generateFinancialReport();
+    }
+}
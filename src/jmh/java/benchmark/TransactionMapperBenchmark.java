@@ -0,0 +1,52 @@
+package benchmark;
+
+import app.dto.transaction.TransactionDto;
+import app.entity.Transaction;
+import app.mapper.TransactionMapper;
+import benchmark.support.Dataset;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TransactionMapperBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private final TransactionMapper transactionMapper = Mappers.getMapper(TransactionMapper.class);
+    private List<Transaction> transactions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = new ArrayList<>(Dataset.generate(1L, size));
+        long id = 0;
+        for (Transaction transaction : transactions) {
+            transaction.setId(++id);
+        }
+    }
+
+    @Benchmark
+    public List<TransactionDto> toDtoList() {
+        return transactionMapper.toDtoList(transactions);
+    }
+}
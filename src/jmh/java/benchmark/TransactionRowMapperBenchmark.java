@@ -0,0 +1,89 @@
+package benchmark;
+
+import app.entity.Transaction;
+import app.repository.jdbc.TransactionRowMapper;
+import benchmark.support.Dataset;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость отображения строк business.transactions в сущности. Строки читаются из
+ * {@link CachedRowSet} в памяти, поэтому результат не включает сеть и драйвер.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TransactionRowMapperBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private final TransactionRowMapper rowMapper = new TransactionRowMapper();
+    private CachedRowSet rows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(7);
+        column(metaData, 1, "id", Types.BIGINT);
+        column(metaData, 2, "amount", Types.NUMERIC);
+        column(metaData, 3, "category", Types.VARCHAR);
+        column(metaData, 4, "date", Types.TIMESTAMP);
+        column(metaData, 5, "description", Types.VARCHAR);
+        column(metaData, 6, "type_transaction", Types.VARCHAR);
+        column(metaData, 7, "finance_id", Types.BIGINT);
+
+        rows = RowSetProvider.newFactory().createCachedRowSet();
+        rows.setMetaData(metaData);
+        long id = 0;
+        for (Transaction transaction : Dataset.generate(1L, size)) {
+            rows.moveToInsertRow();
+            rows.updateLong(1, ++id);
+            rows.updateBigDecimal(2, transaction.getAmount());
+            rows.updateString(3, transaction.getCategory());
+            rows.updateTimestamp(4, Timestamp.from(transaction.getDate()));
+            rows.updateString(5, transaction.getDescription());
+            rows.updateString(6, transaction.getTypeTransaction().name());
+            rows.updateLong(7, transaction.getFinanceId());
+            rows.insertRow();
+            rows.moveToCurrentRow();
+        }
+    }
+
+    @Benchmark
+    public void mapRows(Blackhole blackhole) throws SQLException {
+        rows.beforeFirst();
+        int rowNum = 0;
+        while (rows.next()) {
+            blackhole.consume(rowMapper.mapRow(rows, rowNum++));
+        }
+    }
+
+    private static void column(RowSetMetaDataImpl metaData, int index, String name, int type) throws SQLException {
+        metaData.setColumnName(index, name);
+        metaData.setColumnLabel(index, name);
+        metaData.setColumnType(index, type);
+    }
+}
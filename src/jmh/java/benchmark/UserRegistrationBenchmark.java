@@ -0,0 +1,60 @@
+package benchmark;
+
+import app.dto.user.CreateUserDto;
+import app.dto.user.UserDto;
+import benchmark.support.BenchmarkEnvironment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Регистрация пользователя при уже заполненной таблице пользователей.
+ * Время регистрации не должно расти с параметром {@code users}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class UserRegistrationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int users;
+
+    @Param({BenchmarkEnvironment.MEMORY})
+    public String backend;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private BenchmarkEnvironment environment;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.create(backend);
+        environment.seedUsers(users);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public UserDto createUser() {
+        String email = "new-" + sequence.incrementAndGet() + "@example.com";
+        return environment.getUserService().createUser(new CreateUserDto("bench", email, "password"));
+    }
+}
@@ -0,0 +1,156 @@
+package benchmark;
+
+import app.concurrent.VirtualThreadRequestExecutor;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность сервлет-контейнера на {@value #CONCURRENT_REQUESTS} одновременных медленных запросах.
+ * <p>
+ * Медленный сервлет ждёт {@code latencyMillis}, как запрос, заблокированный на JDBC, и передаёт обработку
+ * в {@link VirtualThreadRequestExecutor} так же, как {@link app.concurrent.VirtualThreadDispatcherServlet}:
+ * в режиме {@code platform} он выключен и запрос занимает один из {@value #CONTAINER_THREADS} потоков Tomcat,
+ * в режиме {@code virtual} запрос уходит на виртуальный поток.
+ * Результат - запросов в секунду.
+ */
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class VirtualThreadRequestBenchmark {
+
+    static final int CONCURRENT_REQUESTS = 5000;
+    static final int CONTAINER_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"50", "500"})
+    public long latencyMillis;
+
+    private Tomcat tomcat;
+    private VirtualThreadRequestExecutor requestExecutor;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        requestExecutor = new VirtualThreadRequestExecutor("virtual".equals(mode));
+
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("tomcat-bench").toString());
+        Connector connector = new Connector();
+        connector.setPort(0);
+        connector.setProperty("maxThreads", String.valueOf(CONTAINER_THREADS));
+        connector.setProperty("maxConnections", String.valueOf(CONCURRENT_REQUESTS * 2));
+        connector.setProperty("acceptCount", String.valueOf(CONCURRENT_REQUESTS));
+        tomcat.getService().addConnector(connector);
+        tomcat.setConnector(connector);
+
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "slow", new SlowServlet(requestExecutor, latencyMillis)).setAsyncSupported(true);
+        context.addServletMappingDecoded("/slow", "slow");
+
+        tomcat.start();
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + connector.getLocalPort() + "/slow"))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        tomcat.stop();
+        tomcat.destroy();
+        requestExecutor.destroy();
+        clientExecutor.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public int concurrentSlowRequests() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != CONCURRENT_REQUESTS) {
+            throw new IllegalStateException("Failed requests: " + (CONCURRENT_REQUESTS - ok));
+        }
+        return ok;
+    }
+
+    static class SlowServlet extends HttpServlet {
+
+        private final transient VirtualThreadRequestExecutor requestExecutor;
+        private final long latencyMillis;
+
+        SlowServlet(VirtualThreadRequestExecutor requestExecutor, long latencyMillis) {
+            this.requestExecutor = requestExecutor;
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+            requestExecutor.dispatch(req, resp, super::service);
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            resp.setContentType("text/plain");
+            resp.getWriter().write("ok");
+        }
+    }
+}
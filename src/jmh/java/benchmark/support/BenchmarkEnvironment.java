@@ -0,0 +1,215 @@
+package benchmark.support;
+
+import app.auth.AuthenticationCache;
+import app.cache.FinanceCache;
+import app.dto.user.CreateUserDto;
+import app.dto.user.UserDto;
+import app.entity.Finance;
+import app.entity.Role;
+import app.entity.Transaction;
+import app.entity.User;
+import app.mapper.FinanceMapper;
+import app.mapper.TransactionMapper;
+import app.mapper.UserMapper;
+import app.repository.FinanceRepository;
+import app.repository.TransactionRepository;
+import app.repository.TransactionSummaryRepository;
+import app.repository.UserRepository;
+import app.repository.jdbc.FinanceJdbcRepository;
+import app.repository.jdbc.TransactionJdbcRepository;
+import app.repository.jdbc.TransactionPartitionJdbcRepository;
+import app.repository.jdbc.TransactionSummaryJdbcRepository;
+import app.repository.jdbc.UserJdbcRepository;
+import app.service.FinanceService;
+import app.service.TargetService;
+import app.service.TransactionService;
+import app.service.UserService;
+import app.service.impl.FinanceServiceImpl;
+import app.service.impl.TargetServiceImpl;
+import app.service.impl.TransactionServiceImpl;
+import app.service.impl.TransactionSummaryServiceImpl;
+import app.service.impl.UserServiceImpl;
+import app.util.SnowflakeIdGenerator;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.mapstruct.factory.Mappers;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Граф сервисов для бенчмарков, собранный без Spring-контекста и аспектов.
+ * <p>
+ * Бэкенд {@code memory} хранит данные в памяти, бэкенд {@code postgres} работает с локальной
+ * базой, адрес которой задаётся системными свойствами {@code bench.db.url}, {@code bench.db.user}
+ * и {@code bench.db.password}. База мигрируется Liquibase и очищается перед заполнением.
+ */
+public final class BenchmarkEnvironment implements AutoCloseable {
+
+    public static final String MEMORY = "memory";
+    public static final String POSTGRES = "postgres";
+
+    private static final int SEED_CHUNK = 10_000;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionSummaryRepository transactionSummaryRepository;
+    private final FinanceRepository financeRepository;
+    private final UserRepository userRepository;
+    private final HikariDataSource dataSource;
+    private final TransactionService transactionService;
+    private final FinanceService financeService;
+    private final TargetService targetService;
+    private final UserService userService;
+
+    private BenchmarkEnvironment(TransactionRepository transactionRepository,
+                                 TransactionSummaryRepository transactionSummaryRepository,
+                                 FinanceRepository financeRepository,
+                                 UserRepository userRepository,
+                                 HikariDataSource dataSource) {
+        this.transactionRepository = transactionRepository;
+        this.transactionSummaryRepository = transactionSummaryRepository;
+        this.financeRepository = financeRepository;
+        this.userRepository = userRepository;
+        this.dataSource = dataSource;
+
+        this.transactionService = new TransactionServiceImpl(transactionRepository, Mappers.getMapper(TransactionMapper.class),
+                new TransactionSummaryServiceImpl(transactionSummaryRepository));
+        this.financeService = new FinanceServiceImpl(financeRepository, transactionService, Mappers.getMapper(FinanceMapper.class), new FinanceCache(300, 1000));
+        this.userService = new UserServiceImpl(Mappers.getMapper(UserMapper.class), userRepository, financeService,
+                new AuthenticationCache(60, 1000));
+        this.targetService = new TargetServiceImpl(userService, financeService, new TransactionSummaryServiceImpl(transactionSummaryRepository));
+    }
+
+    public static BenchmarkEnvironment create(String backend) {
+        return switch (backend) {
+            case MEMORY -> {
+                InMemoryFinanceRepository finances = new InMemoryFinanceRepository();
+                InMemoryTransactionRepository transactions = new InMemoryTransactionRepository(finances);
+                yield new BenchmarkEnvironment(transactions, new InMemoryTransactionSummaryRepository(transactions),
+                        finances, new InMemoryUserRepository(), null);
+            }
+            case POSTGRES -> {
+                HikariDataSource dataSource = postgresDataSource();
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+                migrate(jdbcTemplate);
+                jdbcTemplate.execute("TRUNCATE business.transaction_summaries, business.daily_expenses, business.transactions, "
+                        + "business.tokens, business.users, business.finances, metadata.admin_bootstrap RESTART IDENTITY CASCADE");
+                createMonthPartitions(jdbcTemplate);
+                yield new BenchmarkEnvironment(new TransactionJdbcRepository(jdbcTemplate, new SnowflakeIdGenerator(0)), new TransactionSummaryJdbcRepository(jdbcTemplate),
+                        new FinanceJdbcRepository(jdbcTemplate), new UserJdbcRepository(jdbcTemplate), dataSource);
+            }
+            default -> throw new IllegalArgumentException("Unknown benchmark backend: " + backend);
+        };
+    }
+
+    /**
+     * Даты {@link Dataset} охватывают последний год. Без своих секций эти месяцы попали бы
+     * в секцию по умолчанию, и запросы по периоду не отсекали бы лишние секции.
+     */
+    private static void createMonthPartitions(JdbcTemplate jdbcTemplate) {
+        TransactionPartitionJdbcRepository partitions = new TransactionPartitionJdbcRepository(jdbcTemplate);
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (YearMonth month = current.minusMonths(12); !month.isAfter(current); month = month.plusMonths(1)) {
+            partitions.createMonth(month);
+        }
+    }
+
+    /**
+     * Создаёт пользователя со счётом и {@code size} транзакциями из {@link Dataset}, затем пересчитывает агрегаты.
+     *
+     * @return пользователь, от имени которого выполняются бенчмарки
+     */
+    public UserDto seed(int size) {
+        Finance finance = financeRepository.save(new Finance.Builder()
+                .monthlyBudget(BigDecimal.valueOf(100_000))
+                .savingsGoal(BigDecimal.valueOf(1_000_000))
+                .currentSavings(BigDecimal.valueOf(1_000_000_000L))
+                .build());
+
+        List<Transaction> transactions = Dataset.generate(finance.getId(), size);
+        for (int from = 0; from < transactions.size(); from += SEED_CHUNK) {
+            transactionRepository.saveAll(new ArrayList<>(transactions.subList(from, Math.min(from + SEED_CHUNK, transactions.size()))));
+        }
+        transactionSummaryRepository.rebuild(finance.getId());
+
+        User user = userRepository.save(new User(null, "bench", "bench-" + finance.getId() + "@example.com", "password",
+                true, Role.USER, finance.getId()));
+        return Mappers.getMapper(UserMapper.class).toDto(user);
+    }
+
+    /**
+     * Регистрирует {@code count} пользователей через сервис, как это делает API.
+     */
+    public void seedUsers(int count) {
+        for (int i = 0; i < count; i++) {
+            userService.createUser(new CreateUserDto("seed", "seed-" + i + "@example.com", "password"));
+        }
+    }
+
+    public TransactionService getTransactionService() {
+        return transactionService;
+    }
+
+    public FinanceService getFinanceService() {
+        return financeService;
+    }
+
+    public TargetService getTargetService() {
+        return targetService;
+    }
+
+    public UserService getUserService() {
+        return userService;
+    }
+
+    /**
+     * @return пул соединений бэкенда {@code postgres}, null для {@code memory}
+     */
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    @Override
+    public void close() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    private static HikariDataSource postgresDataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("benchmark-pool");
+        config.setJdbcUrl(System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5434/db_finance_manager_bench"));
+        config.setUsername(System.getProperty("bench.db.user", "db_finance_manager"));
+        config.setPassword(System.getProperty("bench.db.password", "db_finance_manager"));
+        config.setMaximumPoolSize(4);
+        config.setConnectionInitSql("SET search_path TO metadata, business, public");
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
+        return new HikariDataSource(config);
+    }
+
+    private static void migrate(JdbcTemplate jdbcTemplate) {
+        for (String schema : new String[]{"public", "metadata", "business"}) {
+            jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+        }
+        try (Connection connection = jdbcTemplate.getDataSource().getConnection()) {
+            Database database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            database.setLiquibaseSchemaName("metadata");
+            try (Liquibase liquibase = new Liquibase("db/changelog/changelog-master.yml", new ClassLoaderResourceAccessor(), database)) {
+                liquibase.update();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Benchmark database migration failed", e);
+        }
+    }
+}
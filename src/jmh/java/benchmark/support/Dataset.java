@@ -0,0 +1,52 @@
+package benchmark.support;
+
+import app.entity.Transaction;
+import app.entity.TypeTransaction;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Воспроизводимый набор транзакций одного счёта: при одинаковых размере и seed
+ * суммы, категории, типы и смещения дат совпадают между запусками.
+ * Даты распределены по последним {@value #DAYS} дням относительно начала текущих суток (UTC).
+ */
+public final class Dataset {
+
+    public static final long DEFAULT_SEED = 42L;
+    public static final List<String> CATEGORIES = List.of(
+            "Food", "Rent", "Transport", "Utilities", "Health", "Travel",
+            "Entertainment", "Education", "Clothes", "Gifts", "Salary", "Other");
+
+    private static final int DAYS = 365;
+    private static final int PROFIT_PERCENT = 20;
+
+    private Dataset() {
+    }
+
+    public static List<Transaction> generate(Long financeId, int size) {
+        return generate(financeId, size, DEFAULT_SEED);
+    }
+
+    public static List<Transaction> generate(Long financeId, int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Instant anchor = LocalDate.now(ZoneOffset.UTC).atStartOfDay().toInstant(ZoneOffset.UTC);
+        long window = DAYS * 86_400L;
+
+        List<Transaction> transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean profit = random.nextInt(100) < PROFIT_PERCENT;
+            String category = profit ? "Salary" : CATEGORIES.get(random.nextInt(CATEGORIES.size()));
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong(100, 500_000), 2);
+            Instant date = anchor.minusSeconds(random.nextLong(window));
+            transactions.add(new Transaction(null, amount, category, date, "bench-" + i,
+                    profit ? TypeTransaction.PROFIT : TypeTransaction.EXPENSE, financeId));
+        }
+        return transactions;
+    }
+}
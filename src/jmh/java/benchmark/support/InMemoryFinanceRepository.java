@@ -0,0 +1,78 @@
+package benchmark.support;
+
+import app.entity.Finance;
+import app.repository.FinanceRepository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Хранилище финансов в памяти для бенчмарков сервисного слоя без базы данных.
+ */
+public class InMemoryFinanceRepository implements FinanceRepository {
+
+    private final Map<Long, Finance> finances = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public Optional<Finance> findById(Long id) {
+        return Optional.ofNullable(finances.get(id));
+    }
+
+    @Override
+    public Finance save(Finance entity) {
+        if (entity.getId() == null) {
+            entity.setId(sequence.incrementAndGet());
+        } else {
+            entity.setVersion(entity.getVersion() + 1);
+        }
+        finances.put(entity.getId(), entity);
+        return entity;
+    }
+
+    @Override
+    public void delete(Finance entity) {
+        finances.remove(entity.getId());
+    }
+
+    @Override
+    public Collection<Finance> getAll() {
+        return List.copyOf(finances.values());
+    }
+
+    @Override
+    public Optional<Finance> findByIdForUpdate(Long id) {
+        return findById(id);
+    }
+
+    @Override
+    public boolean addToCurrentSavings(Long id, BigDecimal delta) {
+        return finances.computeIfPresent(id, (key, finance) -> {
+            finance.setCurrentSavings(finance.getCurrentSavings().add(delta));
+            finance.setVersion(finance.getVersion() + 1);
+            return finance;
+        }) != null;
+    }
+
+    /**
+     * Изменяет накопления, если они не меньше {@code minimum}; пустой минимум не ограничивает.
+     */
+    boolean changeCurrentSavings(Long id, BigDecimal delta, BigDecimal minimum) {
+        boolean[] applied = new boolean[1];
+        finances.computeIfPresent(id, (key, finance) -> {
+            BigDecimal savings = finance.getCurrentSavings();
+            if (minimum == null || savings.compareTo(minimum) >= 0) {
+                finance.setCurrentSavings(savings.add(delta));
+                finance.setVersion(finance.getVersion() + 1);
+                applied[0] = true;
+            }
+            return finance;
+        });
+        return applied[0];
+    }
+}
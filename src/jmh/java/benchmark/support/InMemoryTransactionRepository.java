@@ -0,0 +1,191 @@
+package benchmark.support;
+
+import app.dto.transaction.TransactionSort;
+import app.entity.Transaction;
+import app.entity.TypeTransaction;
+import app.repository.TransactionRepository;
+import app.repository.criteria.TransactionCriteria;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Хранилище транзакций в памяти для бенчмарков сервисного слоя без базы данных.
+ */
+public class InMemoryTransactionRepository implements TransactionRepository {
+
+    private static final Comparator<Transaction> NEWEST_FIRST =
+            Comparator.comparing(Transaction::getDate).thenComparing(Transaction::getId).reversed();
+
+    private final Map<Long, Transaction> transactions = new ConcurrentHashMap<>();
+    private final Map<Long, List<Transaction>> byFinance = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final InMemoryFinanceRepository finances;
+
+    public InMemoryTransactionRepository(InMemoryFinanceRepository finances) {
+        this.finances = finances;
+    }
+
+    InMemoryFinanceRepository finances() {
+        return finances;
+    }
+
+    Set<Long> financeIds() {
+        return Set.copyOf(byFinance.keySet());
+    }
+
+    @Override
+    public Optional<Transaction> findById(Long id) {
+        return Optional.ofNullable(transactions.get(id));
+    }
+
+    @Override
+    public Transaction save(Transaction entity) {
+        if (entity.getId() == null) {
+            entity.setId(sequence.incrementAndGet());
+            byFinance.computeIfAbsent(entity.getFinanceId(), id -> new ArrayList<>()).add(entity);
+        }
+        transactions.put(entity.getId(), entity);
+        return entity;
+    }
+
+    @Override
+    public Transaction update(Transaction entity, Instant previousDate) {
+        return save(entity);
+    }
+
+    @Override
+    public void saveAll(List<Transaction> entities) {
+        entities.forEach(this::save);
+    }
+
+    @Override
+    public Optional<Transaction> saveWithSavingsChange(Transaction entity) {
+        boolean expense = entity.getTypeTransaction() == TypeTransaction.EXPENSE;
+        BigDecimal delta = expense ? entity.getAmount().negate() : entity.getAmount();
+        if (!finances.changeCurrentSavings(entity.getFinanceId(), delta, expense ? entity.getAmount() : null)) {
+            return Optional.empty();
+        }
+        return Optional.of(save(entity));
+    }
+
+    @Override
+    public void delete(Transaction entity) {
+        deleteById(entity.getId());
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        Transaction removed = transactions.remove(id);
+        if (removed != null) {
+            byFinance.getOrDefault(removed.getFinanceId(), new ArrayList<>()).remove(removed);
+        }
+    }
+
+    @Override
+    public void deleteAllByFinanceId(Long financeId) {
+        List<Transaction> removed = byFinance.remove(financeId);
+        if (removed != null) {
+            removed.forEach(t -> transactions.remove(t.getId()));
+        }
+    }
+
+    @Override
+    public Collection<Transaction> getAll() {
+        return List.copyOf(transactions.values());
+    }
+
+    @Override
+    public List<Transaction> findByFinanceId(Long id) {
+        return stream(id).sorted(NEWEST_FIRST).toList();
+    }
+
+    @Override
+    public boolean existsByIdAndFinanceId(Long id, Long financeId) {
+        Transaction transaction = transactions.get(id);
+        return transaction != null && transaction.getFinanceId().equals(financeId);
+    }
+
+    @Override
+    public List<Transaction> findPageByFinanceId(Long financeId, Instant afterDate, Long afterId, int limit) {
+        return stream(financeId)
+                .filter(t -> afterDate == null || t.getDate().isBefore(afterDate)
+                        || (t.getDate().equals(afterDate) && t.getId() < afterId))
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public void streamByFinanceId(Long financeId, Instant from, Instant to, Consumer<Transaction> consumer) {
+        stream(financeId)
+                .filter(t -> from == null || !t.getDate().isBefore(from))
+                .filter(t -> to == null || t.getDate().isBefore(to))
+                .sorted(NEWEST_FIRST.reversed())
+                .forEach(consumer);
+    }
+
+    @Override
+    public List<Transaction> findByCriteria(TransactionCriteria criteria) {
+        return stream(criteria.getFinanceId())
+                .filter(t -> criteria.getFrom() == null || !t.getDate().isBefore(criteria.getFrom()))
+                .filter(t -> criteria.getTo() == null || !t.getDate().isAfter(criteria.getTo()))
+                .filter(t -> criteria.getCategories().isEmpty() || criteria.getCategories().contains(t.getCategory()))
+                .filter(t -> criteria.getTypeTransaction() == null || t.getTypeTransaction() == criteria.getTypeTransaction())
+                .filter(t -> criteria.getMinAmount() == null || t.getAmount().compareTo(criteria.getMinAmount()) >= 0)
+                .filter(t -> criteria.getMaxAmount() == null || t.getAmount().compareTo(criteria.getMaxAmount()) <= 0)
+                .sorted(order(criteria.getSort()))
+                .limit(criteria.getLimit())
+                .toList();
+    }
+
+    /**
+     * Тот же порядок, что в SQL критериев: по столбцу сортировки, затем по id в том же направлении.
+     */
+    private static Comparator<Transaction> order(TransactionSort sort) {
+        Comparator<Transaction> ascending = switch (sort) {
+            case DATE_DESC, DATE_ASC -> Comparator.comparing(Transaction::getDate);
+            case AMOUNT_DESC, AMOUNT_ASC -> Comparator.comparing(Transaction::getAmount);
+        };
+        ascending = ascending.thenComparing(Transaction::getId);
+        return "DESC".equals(sort.getDirection()) ? ascending.reversed() : ascending;
+    }
+
+    @Override
+    public BigDecimal sumAmount(Long financeId, TypeTransaction typeTransaction, Instant from, Instant to) {
+        return filter(financeId, typeTransaction, from, to)
+                .map(Transaction::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Override
+    public Map<String, BigDecimal> sumAmountByCategory(Long financeId, TypeTransaction typeTransaction, Instant from, Instant to) {
+        Map<String, BigDecimal> totals = new TreeMap<>();
+        filter(financeId, typeTransaction, from, to)
+                .forEach(t -> totals.merge(t.getCategory(), t.getAmount(), BigDecimal::add));
+        return totals;
+    }
+
+    private Stream<Transaction> filter(Long financeId, TypeTransaction typeTransaction, Instant from, Instant to) {
+        return stream(financeId)
+                .filter(t -> t.getTypeTransaction() == typeTransaction)
+                .filter(t -> from == null || !t.getDate().isBefore(from))
+                .filter(t -> to == null || t.getDate().isBefore(to));
+    }
+
+    private Stream<Transaction> stream(Long financeId) {
+        return byFinance.getOrDefault(financeId, List.of()).stream();
+    }
+}
@@ -0,0 +1,192 @@
+package benchmark.support;
+
+import app.entity.BudgetUsage;
+import app.entity.DailyExpense;
+import app.entity.FinanceTotals;
+import app.entity.Transaction;
+import app.entity.TransactionSummary;
+import app.entity.TypeTransaction;
+import app.repository.TransactionSummaryRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Помесячные агрегаты и дневные расходы в памяти. Пересчёт берёт транзакции из {@link InMemoryTransactionRepository}.
+ */
+public class InMemoryTransactionSummaryRepository implements TransactionSummaryRepository {
+
+    private final Map<Key, TransactionSummary> summaries = new ConcurrentHashMap<>();
+    private final Map<DayKey, DailyExpense> dailyExpenses = new ConcurrentHashMap<>();
+    private final InMemoryTransactionRepository transactionRepository;
+
+    public InMemoryTransactionSummaryRepository(InMemoryTransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Override
+    public void applyAll(List<TransactionSummary> deltas) {
+        deltas.forEach(this::apply);
+    }
+
+    @Override
+    public void applyDailyExpenses(List<DailyExpense> deltas) {
+        deltas.forEach(this::applyDaily);
+    }
+
+    @Override
+    public Optional<BudgetUsage> findBudgetUsage(Long financeId, LocalDate monthStart, LocalDate windowStart, LocalDate today) {
+        return transactionRepository.finances().findById(financeId).map(finance -> {
+            BigDecimal month = BigDecimal.ZERO;
+            BigDecimal window = BigDecimal.ZERO;
+            LocalDate from = monthStart.isBefore(windowStart) ? monthStart : windowStart;
+            for (LocalDate day = from; !day.isAfter(today); day = day.plusDays(1)) {
+                DailyExpense expense = dailyExpenses.get(new DayKey(financeId, day));
+                if (expense == null) {
+                    continue;
+                }
+                if (!day.isBefore(monthStart)) {
+                    month = month.add(expense.getTotal());
+                }
+                if (!day.isBefore(windowStart)) {
+                    window = window.add(expense.getTotal());
+                }
+            }
+            BigDecimal budget = finance.getMonthlyBudget() == null ? BigDecimal.ZERO : finance.getMonthlyBudget();
+            return new BudgetUsage(budget, month, window);
+        });
+    }
+
+    @Override
+    public long countTransactions(Long financeId) {
+        return summaries.values().stream()
+                .filter(s -> s.getFinanceId().equals(financeId))
+                .mapToLong(TransactionSummary::getTransactionCount)
+                .sum();
+    }
+
+    @Override
+    public BigDecimal sumTotal(Long financeId, TypeTransaction typeTransaction, LocalDate fromMonth, LocalDate toMonth) {
+        return summaries.values().stream()
+                .filter(s -> matches(s, financeId, typeTransaction, fromMonth, toMonth))
+                .map(TransactionSummary::getTotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Override
+    public Map<String, BigDecimal> sumTotalByCategory(Long financeId, TypeTransaction typeTransaction, LocalDate fromMonth, LocalDate toMonth) {
+        Map<String, BigDecimal> totals = new TreeMap<>();
+        summaries.values().stream()
+                .filter(s -> matches(s, financeId, typeTransaction, fromMonth, toMonth))
+                .filter(s -> s.getTransactionCount() > 0)
+                .forEach(s -> totals.merge(s.getCategory(), s.getTotal(), BigDecimal::add));
+        return totals;
+    }
+
+    @Override
+    public Optional<FinanceTotals> findFinanceTotals(Long financeId, LocalDate fromMonth, LocalDate toMonth) {
+        return transactionRepository.finances().findById(financeId).map(finance -> {
+            Map<Key, TransactionSummary> totals = new LinkedHashMap<>();
+            summaries.values().stream()
+                    .filter(s -> matches(s, financeId, s.getTypeTransaction(), fromMonth, toMonth))
+                    .forEach(s -> totals.merge(new Key(financeId, null, s.getCategory(), s.getTypeTransaction()),
+                            copy(s), (current, d) -> {
+                                current.setTotal(current.getTotal().add(d.getTotal()));
+                                current.setTransactionCount(current.getTransactionCount() + d.getTransactionCount());
+                                return current;
+                            }));
+            totals.values().removeIf(s -> s.getTransactionCount() <= 0);
+            totals.values().forEach(s -> s.setMonth(null));
+            return new FinanceTotals(finance, new ArrayList<>(totals.values()));
+        });
+    }
+
+    @Override
+    public int rebuild(Long financeId) {
+        summaries.keySet().removeIf(key -> key.financeId().equals(financeId));
+        dailyExpenses.keySet().removeIf(key -> key.financeId().equals(financeId));
+        for (Transaction transaction : transactionRepository.findByFinanceId(financeId)) {
+            if (transaction.getTypeTransaction() == TypeTransaction.EXPENSE) {
+                applyDaily(new DailyExpense(financeId,
+                        transaction.getDate().atZone(ZoneId.systemDefault()).toLocalDate(),
+                        transaction.getAmount(), 1));
+            }
+            apply(TransactionSummary.builder()
+                    .financeId(financeId)
+                    .month(YearMonth.from(transaction.getDate().atZone(ZoneId.systemDefault())).atDay(1))
+                    .category(transaction.getCategory())
+                    .typeTransaction(transaction.getTypeTransaction())
+                    .total(transaction.getAmount())
+                    .transactionCount(1)
+                    .build());
+        }
+        return (int) (summaries.keySet().stream().filter(key -> key.financeId().equals(financeId)).count()
+                + dailyExpenses.keySet().stream().filter(key -> key.financeId().equals(financeId)).count());
+    }
+
+    @Override
+    public int rebuildAll() {
+        Set<Long> financeIds = new TreeSet<>(transactionRepository.financeIds());
+        summaries.keySet().forEach(key -> financeIds.add(key.financeId()));
+        dailyExpenses.keySet().forEach(key -> financeIds.add(key.financeId()));
+        int rows = 0;
+        for (Long financeId : financeIds) {
+            rows += rebuild(financeId);
+        }
+        return rows;
+    }
+
+    private void apply(TransactionSummary delta) {
+        Key key = new Key(delta.getFinanceId(), delta.getMonth(), delta.getCategory(), delta.getTypeTransaction());
+        summaries.merge(key, copy(delta), (current, d) -> {
+            current.setTotal(current.getTotal().add(d.getTotal()));
+            current.setTransactionCount(current.getTransactionCount() + d.getTransactionCount());
+            return current;
+        });
+    }
+
+    private void applyDaily(DailyExpense delta) {
+        DayKey key = new DayKey(delta.getFinanceId(), delta.getDay());
+        dailyExpenses.merge(key, new DailyExpense(delta.getFinanceId(), delta.getDay(), delta.getTotal(), delta.getTransactionCount()),
+                (current, d) -> {
+                    current.setTotal(current.getTotal().add(d.getTotal()));
+                    current.setTransactionCount(current.getTransactionCount() + d.getTransactionCount());
+                    return current;
+                });
+    }
+
+    private static TransactionSummary copy(TransactionSummary summary) {
+        return TransactionSummary.builder()
+                .financeId(summary.getFinanceId())
+                .month(summary.getMonth())
+                .category(summary.getCategory())
+                .typeTransaction(summary.getTypeTransaction())
+                .total(summary.getTotal())
+                .transactionCount(summary.getTransactionCount())
+                .build();
+    }
+
+    private static boolean matches(TransactionSummary s, Long financeId, TypeTransaction type, LocalDate from, LocalDate to) {
+        return s.getFinanceId().equals(financeId)
+                && s.getTypeTransaction() == type
+                && (from == null || !s.getMonth().isBefore(from))
+                && (to == null || !s.getMonth().isAfter(to));
+    }
+
+    private record DayKey(Long financeId, LocalDate day) {
+    }
+
+    private record Key(Long financeId, LocalDate month, String category, TypeTransaction typeTransaction) {
+    }
+}
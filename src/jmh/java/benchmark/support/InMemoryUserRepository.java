@@ -0,0 +1,64 @@
+package benchmark.support;
+
+import app.entity.User;
+import app.repository.UserRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Хранилище пользователей в памяти для бенчмарков сервисного слоя без базы данных.
+ */
+public class InMemoryUserRepository implements UserRepository {
+
+    private final Map<Long, User> users = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean adminClaimed = new AtomicBoolean();
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return Optional.ofNullable(users.get(id));
+    }
+
+    @Override
+    public User save(User entity) {
+        if (entity.getId() == null) {
+            entity.setId(sequence.incrementAndGet());
+        }
+        users.put(entity.getId(), entity);
+        usersByEmail.put(entity.getEmail(), entity);
+        return entity;
+    }
+
+    @Override
+    public void delete(User entity) {
+        users.remove(entity.getId());
+        usersByEmail.remove(entity.getEmail());
+    }
+
+    @Override
+    public Collection<User> getAll() {
+        return List.copyOf(users.values());
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return findByEmail(email).isPresent();
+    }
+
+    @Override
+    public boolean claimBootstrapAdmin() {
+        return adminClaimed.compareAndSet(false, true);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return Optional.ofNullable(usersByEmail.get(email));
+    }
+}
@@ -0,0 +1,42 @@
+package benchmark.support;
+
+import app.context.UserContext;
+import app.dto.user.UserDto;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Счёт с набором транзакций заданного размера. PostgreSQL включается параметром {@code -p backend=postgres}.
+ */
+@State(Scope.Benchmark)
+public class SeededAccount {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({BenchmarkEnvironment.MEMORY})
+    public String backend;
+
+    public BenchmarkEnvironment environment;
+    public UserDto user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.create(backend);
+        user = environment.seed(size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        UserContext.clear();
+        environment.close();
+    }
+
+    public Long financeId() {
+        return user.financeId();
+    }
+}
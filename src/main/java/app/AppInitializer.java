@@ -1,8 +1,11 @@
 package app;
 
+import app.concurrent.VirtualThreadDispatcherServlet;
 import app.config.ApplicationConfig;
 import jakarta.servlet.Filter;
+import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.filter.DelegatingFilterProxy;
+import org.springframework.web.servlet.FrameworkServlet;
 import org.springframework.web.servlet.support.AbstractAnnotationConfigDispatcherServletInitializer;
 
 public class AppInitializer extends AbstractAnnotationConfigDispatcherServletInitializer {
@@ -22,6 +25,11 @@ public class AppInitializer extends AbstractAnnotationConfigDispatcherServletIni
         return new String[]{"/"};
     }
 
+    @Override
+    protected FrameworkServlet createDispatcherServlet(WebApplicationContext servletAppContext) {
+        return new VirtualThreadDispatcherServlet(servletAppContext);
+    }
+
     @Override
     protected Filter[] getServletFilters() {
         return new Filter[]{new DelegatingFilterProxy("authenticationFilter")};
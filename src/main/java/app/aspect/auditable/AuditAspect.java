@@ -1,28 +1,42 @@
 package app.aspect.auditable;
 
+import app.audit.AuditArgs;
+import app.audit.AuditEvent;
+import app.audit.AuditLogWriter;
 import app.context.UserContext;
+import app.dto.user.UserDto;
+import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
-import java.util.Arrays;
+import java.time.Instant;
 
+/**
+ * Ставит событие аудита в очередь {@link AuditLogWriter}. Аргументы превращаются в строку здесь,
+ * в потоке вызова, с маскированием паролей; запись выполняет фоновый поток, поэтому вызов сервиса её не ждёт.
+ */
 @Component
 @Aspect
+@RequiredArgsConstructor
 public class AuditAspect {
 
-    private final Logger log = LoggerFactory.getLogger(AuditAspect.class);
+    private final AuditLogWriter auditLogWriter;
 
     @Before("@annotation(auditable)")
     public void audit(JoinPoint joinPoint, Auditable auditable) {
-        String action = auditable.action();
-        String user = UserContext.getCurrentUser() != null ? UserContext.getCurrentUser().email() : "Anonymous";
-        Object[] args = joinPoint.getArgs();
-
-        log.info("User: " + user + ", Action: " + action + ", Args: " + Arrays.toString(args));
+        UserDto user = UserContext.getCurrentUser();
+        auditLogWriter.record(new AuditEvent(
+                Instant.now(),
+                user != null ? user.email() : "Anonymous",
+                auditable.action(),
+                ClassUtils.getUserClass(joinPoint.getTarget().getClass()),
+                joinPoint.getSignature().getName(),
+                AuditArgs.render(joinPoint.getArgs()),
+                System.nanoTime()
+        ));
     }
 
 }
@@ -1,35 +1,45 @@
 package app.aspect.loggable;
 
+import app.metrics.MethodMetricsRegistry;
+import app.metrics.MethodTimer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.stereotype.Component;
 
+/**
+ * Замеряет время выполнения методов {@code @CustomLogging}-сервисов и записывает его
+ * в {@link MethodMetricsRegistry}. Сообщения формируются только при включённом DEBUG.
+ */
 @Component
 @Aspect
 @Slf4j
+@RequiredArgsConstructor
 public class LoggableAspect {
 
+    private final MethodMetricsRegistry methodMetricsRegistry;
+
     @Around("(@within(app.aspect.loggable.CustomLogging) || @annotation(app.aspect.loggable.CustomLogging)) && execution(public * *(..))")
     public Object loggableAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        log.debug("Calling method: " + joinPoint.getSignature());
-        long startTime = System.currentTimeMillis();
+        MethodTimer timer = methodMetricsRegistry.timer(joinPoint.getTarget().getClass(), joinPoint.getSignature().getName());
+        long startTime = System.nanoTime();
 
         try {
-            Object result = joinPoint.proceed();
-
-            long endTime = System.currentTimeMillis();
-
-            log.debug("Time taken: " + (endTime - startTime));
-            return result;
+            return joinPoint.proceed();
 
         } catch (Throwable throwable) {
-            log.error("Ошибка при выполнении метода {}: {}", joinPoint.getSignature().getName(), throwable.getMessage(), throwable);
+            timer.recordError();
+            log.error("Ошибка при выполнении метода {}: {}", timer.getMethodName(), throwable.getMessage(), throwable);
             throw throwable;
-        }
 
+        } finally {
+            long elapsed = System.nanoTime() - startTime;
+            timer.record(elapsed);
+            if (log.isDebugEnabled()) {
+                log.debug("{}.{} took {} us", timer.getClassName(), timer.getMethodName(), elapsed / 1_000);
+            }
+        }
     }
-
-
 }
@@ -0,0 +1,15 @@
+package app.aspect.replica;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Метод только читает данные и допускает их отставание на время репликации.
+ * Действует вместе с {@code @Transactional(readOnly = true)}.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+}
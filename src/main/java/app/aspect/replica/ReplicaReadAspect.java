@@ -0,0 +1,26 @@
+package app.aspect.replica;
+
+import app.datasource.ReplicaReadContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Выставляет {@link ReplicaReadContext} на время метода, помеченного {@link ReplicaRead},
+ * и восстанавливает прежнее значение после него.
+ */
+@Component
+@Aspect
+public class ReplicaReadAspect {
+
+    @Around("@annotation(app.aspect.replica.ReplicaRead)")
+    public Object replicaRead(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = ReplicaReadContext.request();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaReadContext.restore(previous);
+        }
+    }
+}
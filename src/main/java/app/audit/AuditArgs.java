@@ -0,0 +1,99 @@
+package app.audit;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Строковое представление аргументов для аудита.
+ * <p>
+ * Строится в потоке вызова, до постановки события в очередь: изменяемые аргументы попадают в журнал
+ * в состоянии на момент вызова. Значения полей, в имени которых есть password, заменяются на {@value #MASK}.
+ * У записей (record) поля маскируются по именам компонентов, у остальных объектов - в тексте toString.
+ * Длина одного аргумента, число выводимых элементов коллекции и общая длина ограничены.
+ */
+public final class AuditArgs {
+
+    static final String MASK = "***";
+    static final int MAX_ARG_LENGTH = 500;
+    static final int MAX_LENGTH = 4000;
+    static final int MAX_COLLECTION_ITEMS = 10;
+
+    private static final Pattern PASSWORD_IN_TEXT = Pattern.compile("(?i)(\\w*password\\w*\\s*[=:]\\s*)[^,;\\])}\\s]*");
+
+    private AuditArgs() {
+    }
+
+    public static String render(Object[] args) {
+        if (args == null) {
+            return "null";
+        }
+        StringBuilder rendered = new StringBuilder("[");
+        for (int i = 0; i < args.length && rendered.length() < MAX_LENGTH; i++) {
+            if (i > 0) {
+                rendered.append(", ");
+            }
+            rendered.append(truncate(renderValue(args[i]), MAX_ARG_LENGTH));
+        }
+        rendered.append(']');
+        return truncate(rendered.toString(), MAX_LENGTH);
+    }
+
+    private static String renderValue(Object value) {
+        if (value instanceof Record record) {
+            return renderRecord(record);
+        }
+        if (value instanceof Collection<?> collection) {
+            return renderCollection(collection);
+        }
+        return PASSWORD_IN_TEXT.matcher(String.valueOf(value)).replaceAll("$1" + MASK);
+    }
+
+    private static String renderRecord(Record record) {
+        StringBuilder rendered = new StringBuilder(record.getClass().getSimpleName()).append('[');
+        RecordComponent[] components = record.getClass().getRecordComponents();
+        for (int i = 0; i < components.length; i++) {
+            if (i > 0) {
+                rendered.append(", ");
+            }
+            String name = components[i].getName();
+            rendered.append(name).append('=');
+            if (name.toLowerCase(Locale.ROOT).contains("password")) {
+                rendered.append(MASK);
+            } else {
+                rendered.append(renderValue(componentValue(record, components[i])));
+            }
+        }
+        return rendered.append(']').toString();
+    }
+
+    private static Object componentValue(Record record, RecordComponent component) {
+        try {
+            component.getAccessor().setAccessible(true);
+            return component.getAccessor().invoke(record);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return "?";
+        }
+    }
+
+    private static String renderCollection(Collection<?> collection) {
+        StringBuilder rendered = new StringBuilder("[");
+        Iterator<?> iterator = collection.iterator();
+        for (int i = 0; i < MAX_COLLECTION_ITEMS && iterator.hasNext(); i++) {
+            if (i > 0) {
+                rendered.append(", ");
+            }
+            rendered.append(renderValue(iterator.next()));
+        }
+        if (collection.size() > MAX_COLLECTION_ITEMS) {
+            rendered.append(", ... (").append(collection.size()).append(" items)");
+        }
+        return rendered.append(']').toString();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
@@ -0,0 +1,32 @@
+package app.audit;
+
+import java.time.Instant;
+
+/**
+ * Запись аудита вызова сервиса.
+ * <p>
+ * Аргументы превращаются в строку через {@link AuditArgs} до постановки в очередь,
+ * поэтому событие не держит ссылок на объекты вызова.
+ *
+ * @param timestamp     время вызова
+ * @param user          email пользователя или "Anonymous"
+ * @param action        действие из {@code @Auditable}
+ * @param targetClass   класс сервиса
+ * @param method        имя метода
+ * @param args          аргументы вызова в виде строки, пароли замаскированы
+ * @param enqueuedNanos значение {@link System#nanoTime()} при постановке в очередь
+ */
+public record AuditEvent(
+        Instant timestamp,
+        String user,
+        String action,
+        Class<?> targetClass,
+        String method,
+        String args,
+        long enqueuedNanos
+) {
+
+    public String methodName() {
+        return targetClass.getSimpleName() + "." + method;
+    }
+}
@@ -0,0 +1,206 @@
+package app.audit;
+
+import app.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Асинхронная запись аудита.
+ * <p>
+ * Вызывающий поток только кладёт событие в {@link AuditRingBuffer}. Фоновый поток забирает события
+ * пакетами и передаёт их в {@link AuditSink}: когда набрался полный пакет или прошёл интервал сброса.
+ * При остановке оставшиеся события дописываются.
+ */
+public class AuditLogWriter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+    private final AuditSink sink;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LatencyHistogram writeTime = new LatencyHistogram();
+    private final LatencyHistogram delay = new LatencyHistogram();
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public AuditLogWriter(AuditSink sink, int bufferSize, int batchSize, long flushIntervalMillis, OverflowPolicy overflowPolicy) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Audit batch size must be positive: " + batchSize);
+        }
+        this.sink = sink;
+        this.buffer = new AuditRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "audit-writer");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    /**
+     * Ставит событие в очередь на запись.
+     *
+     * @return false, если событие отброшено
+     */
+    public boolean record(AuditEvent event) {
+        if (!buffer.offer(event) && !handleOverflow(event)) {
+            dropped.increment();
+            return false;
+        }
+        enqueued.increment();
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(worker);
+        }
+        return true;
+    }
+
+    private boolean handleOverflow(AuditEvent event) {
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> {
+                do {
+                    if (buffer.poll() != null) {
+                        dropped.increment();
+                    }
+                } while (!buffer.offer(event));
+                return true;
+            }
+            case BLOCK -> {
+                while (running) {
+                    LockSupport.unpark(worker);
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    if (buffer.offer(event)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long lastFlush = System.nanoTime();
+        while (true) {
+            AuditEvent event;
+            while (batch.size() < batchSize && (event = buffer.poll()) != null) {
+                batch.add(event);
+            }
+
+            boolean stopping = !running;
+            long now = System.nanoTime();
+            boolean due = batch.size() >= batchSize || now - lastFlush >= flushIntervalNanos || stopping;
+            if (due) {
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                    batch.clear();
+                }
+                lastFlush = now;
+            }
+
+            if (stopping && batch.isEmpty() && buffer.isEmpty()) {
+                return;
+            }
+            if (batch.size() < batchSize && buffer.isEmpty()) {
+                LockSupport.parkNanos(this, Math.max(0, flushIntervalNanos - (System.nanoTime() - lastFlush)));
+            }
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        long start = System.nanoTime();
+        try {
+            sink.write(batch);
+            long end = System.nanoTime();
+            written.add(batch.size());
+            for (AuditEvent event : batch) {
+                delay.record(end - event.enqueuedNanos());
+            }
+        } catch (Exception e) {
+            failed.add(batch.size());
+            log.warn("Failed to write {} audit events: {}", batch.size(), e.getMessage());
+        } finally {
+            writeTime.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        Thread thread = worker;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+    }
+
+    public int getQueued() {
+        return buffer.size();
+    }
+
+    public int getCapacity() {
+        return buffer.capacity();
+    }
+
+    public long getEnqueued() {
+        return enqueued.sum();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Время записи одного пакета в хранилище.
+     */
+    public LatencyHistogram getWriteTime() {
+        return writeTime;
+    }
+
+    /**
+     * Время от постановки события в очередь до его записи.
+     */
+    public LatencyHistogram getDelay() {
+        return delay;
+    }
+}
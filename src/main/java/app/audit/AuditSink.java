@@ -0,0 +1,12 @@
+package app.audit;
+
+import java.util.List;
+
+/**
+ * Хранилище, в которое фоновый поток записывает пакеты событий аудита.
+ * Список пакета переиспользуется после возврата из {@link #write(List)}, поэтому сохранять его нельзя.
+ */
+public interface AuditSink {
+
+    void write(List<AuditEvent> events) throws Exception;
+}
@@ -0,0 +1,49 @@
+package app.audit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Дописывает события аудита в файл текущих суток (UTC): {@code audit-yyyy-MM-dd.log}.
+ * Одна строка на событие, поля разделены табуляцией.
+ */
+public class FileAuditSink implements AuditSink {
+
+    private final Path directory;
+
+    public FileAuditSink(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void write(List<AuditEvent> events) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("audit-" + LocalDate.now(ZoneOffset.UTC) + ".log");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (AuditEvent event : events) {
+                writer.write(event.timestamp().toString());
+                writer.write('\t');
+                writer.write(clean(event.user()));
+                writer.write('\t');
+                writer.write(clean(event.action()));
+                writer.write('\t');
+                writer.write(clean(event.methodName()));
+                writer.write('\t');
+                writer.write(clean(event.args()));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static String clean(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
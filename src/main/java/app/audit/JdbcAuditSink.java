@@ -0,0 +1,22 @@
+package app.audit;
+
+import app.repository.AuditLogRepository;
+
+import java.util.List;
+
+/**
+ * Записывает события аудита в таблицу metadata.audit_log.
+ */
+public class JdbcAuditSink implements AuditSink {
+
+    private final AuditLogRepository auditLogRepository;
+
+    public JdbcAuditSink(AuditLogRepository auditLogRepository) {
+        this.auditLogRepository = auditLogRepository;
+    }
+
+    @Override
+    public void write(List<AuditEvent> events) {
+        auditLogRepository.saveAll(events);
+    }
+}
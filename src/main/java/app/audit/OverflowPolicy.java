@@ -0,0 +1,19 @@
+package app.audit;
+
+/**
+ * Поведение при заполненном буфере аудита.
+ */
+public enum OverflowPolicy {
+    /**
+     * Новая запись отбрасывается, вызов сервиса не ждёт.
+     */
+    DROP_NEWEST,
+    /**
+     * Отбрасывается самая старая запись буфера, новая сохраняется.
+     */
+    DROP_OLDEST,
+    /**
+     * Вызывающий поток ждёт освобождения места. Аудит не теряется, но может задерживать вызовы.
+     */
+    BLOCK
+}
@@ -0,0 +1,175 @@
+package app.auth;
+
+import app.dto.metrics.AuthCacheMetricsDto;
+import app.dto.user.UserDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Кэш результатов аутентификации: токен -> пользователь.
+ * <p>
+ * Записи живут не дольше заданного TTL, размер кэша ограничен. Изменения пользователя,
+ * влияющие на доступ (выход, блокировка, смена роли, удаление), должны явно сбрасывать
+ * его записи через {@link #invalidateUser(Long)}. Чтобы загрузка, начатая до сброса,
+ * не вернула в кэш устаревшие данные, запись принимается только при неизменном поколении,
+ * полученном через {@link #generation()} перед загрузкой.
+ * <p>
+ * Если сброс вызван внутри транзакции, он повторяется после её завершения: до commit
+ * параллельный запрос ещё читает старую версию пользователя и мог вернуть её в кэш.
+ */
+@Component
+public class AuthenticationCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    @Autowired
+    public AuthenticationCache(@Value("${app.auth-cache.ttl-seconds:60}") long ttlSeconds,
+                               @Value("${app.auth-cache.max-size:10000}") int maxSize) {
+        this(Duration.ofSeconds(ttlSeconds), maxSize, System::nanoTime);
+    }
+
+    public AuthenticationCache(Duration ttl, int maxSize, LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Auth cache max size must be positive: " + maxSize);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * @return пользователь для токена или null, если записи нет или её срок истёк
+     */
+    public UserDto get(String token) {
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(clock.getAsLong())) {
+            if (entries.remove(token, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.user();
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Сохраняет пользователя, если с момента получения {@code loadedAt} не было сбросов.
+     */
+    public void put(String token, UserDto user, long loadedAt) {
+        if (generation.get() != loadedAt) {
+            return;
+        }
+        if (!entries.containsKey(token) && entries.size() >= maxSize) {
+            evict();
+        }
+        Entry entry = new Entry(user, clock.getAsLong() + ttlNanos);
+        entries.put(token, entry);
+        if (generation.get() != loadedAt) {
+            entries.remove(token, entry);
+        }
+    }
+
+    public void invalidateUser(Long userId) {
+        removeUser(userId);
+        afterTransaction(() -> removeUser(userId));
+    }
+
+    public void invalidateAll() {
+        clear();
+        afterTransaction(this::clear);
+    }
+
+    private void removeUser(Long userId) {
+        generation.incrementAndGet();
+        entries.values().removeIf(entry -> userId.equals(entry.user().id()));
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private static void afterTransaction(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    public AuthCacheMetricsDto getMetrics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return new AuthCacheMetricsDto(
+                entries.size(),
+                maxSize,
+                Duration.ofNanos(ttlNanos).toSeconds(),
+                hitCount,
+                missCount,
+                evictions.sum(),
+                total == 0 ? 0 : (double) hitCount / total
+        );
+    }
+
+    /**
+     * Освобождает место: сначала удаляет просроченные записи, затем при необходимости ту,
+     * срок которой истекает раньше остальных. Вызывается только при промахе на полном кэше.
+     */
+    private synchronized void evict() {
+        long now = clock.getAsLong();
+        entries.entrySet().removeIf(e -> {
+            boolean expired = e.getValue().isExpired(now);
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+        while (entries.size() >= maxSize) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().expiresAt()))
+                    .ifPresent(oldest -> {
+                        if (entries.remove(oldest.getKey(), oldest.getValue())) {
+                            evictions.increment();
+                        }
+                    });
+        }
+    }
+
+    private record Entry(UserDto user, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -16,16 +16,26 @@ public class Authenticator {
     private static final Logger log = LoggerFactory.getLogger(Authenticator.class);
     private final UserService userService;
     private final TokenService tokenService;
+    private final AuthenticationCache authenticationCache;
 
-    public Authenticator(TokenService tokenService, UserService userService) {
+    public Authenticator(TokenService tokenService, UserService userService, AuthenticationCache authenticationCache) {
         this.tokenService = tokenService;
         this.userService = userService;
+        this.authenticationCache = authenticationCache;
     }
 
     public UserDto authenticate(String _token) {
+        UserDto cached = authenticationCache.get(_token);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = authenticationCache.generation();
         try {
             Token token = tokenService.getTokenByUserId(Long.valueOf(_token));
-            return userService.getUserById(token.getUserId());
+            UserDto user = userService.getUserById(token.getUserId());
+            authenticationCache.put(_token, user, generation);
+            return user;
 
         } catch (NotFoundException e) {
             log.error(e.getMessage());
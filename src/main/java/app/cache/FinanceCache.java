@@ -0,0 +1,275 @@
+package app.cache;
+
+import app.dto.metrics.FinanceCacheMetricsDto;
+import app.entity.Finance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Двухуровневый кэш финансов по id.
+ * <p>
+ * Первый уровень - память текущего HTTP-запроса: повторные чтения одного счёта в запросе
+ * не обращаются даже к общему кэшу. Второй уровень - общий для процесса кэш с TTL
+ * и ограничением размера. Снаружи выдаются только копии, поэтому изменение полученного
+ * объекта не меняет кэш.
+ * <p>
+ * Записи версионированы по столбцу {@code version}: запись с версией старее уже
+ * закэшированной отклоняется. Сбросы через {@link #invalidate(Long)} нужны там, где новая
+ * версия неизвестна (накопления меняются относительным UPDATE); загрузка, начатая до сброса
+ * того же id, в кэш не попадает. Счётчики сбросов разбиты на {@value #GENERATION_STRIPES} полос
+ * по id, поэтому сброс одного счёта не отклоняет загрузки остальных, кроме счетов той же полосы.
+ * Внутри транзакции запись и повторный сброс выполняются после её завершения, а пишущая
+ * транзакция читает строку напрямую из базы.
+ */
+@Component
+public class FinanceCache {
+
+    private static final String REQUEST_ATTRIBUTE = FinanceCache.class.getName() + ".request";
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final LongAdder requestHits = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejectedWrites = new LongAdder();
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    @Autowired
+    public FinanceCache(@Value("${app.finance-cache.ttl-seconds:300}") long ttlSeconds,
+                        @Value("${app.finance-cache.max-size:10000}") int maxSize) {
+        this(Duration.ofSeconds(ttlSeconds), maxSize, System::nanoTime);
+    }
+
+    public FinanceCache(Duration ttl, int maxSize, LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Finance cache max size must be positive: " + maxSize);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Возвращает копию финансов из кэша или загружает их через {@code loader}.
+     */
+    public Optional<Finance> find(Long id, Function<Long, Optional<Finance>> loader) {
+        if (isWriteTransaction()) {
+            return loader.apply(id);
+        }
+        Map<Long, Finance> request = requestEntries();
+        Finance cached = request != null ? request.get(id) : null;
+        if (cached != null) {
+            requestHits.increment();
+            return Optional.of(copy(cached));
+        }
+
+        cached = get(id);
+        if (cached == null) {
+            misses.increment();
+            long loadedAt = generation(id);
+            Optional<Finance> loaded = loader.apply(id);
+            if (loaded.isEmpty()) {
+                return loaded;
+            }
+            cached = copy(loaded.get());
+            store(cached, loadedAt);
+        } else {
+            hits.increment();
+        }
+        if (request != null) {
+            request.put(id, cached);
+        }
+        return Optional.of(copy(cached));
+    }
+
+    /**
+     * Записывает сохранённые финансы в кэш; внутри транзакции - после её фиксации.
+     */
+    public void put(Finance finance) {
+        Finance snapshot = copy(finance);
+        long savedAt = generation(snapshot.getId());
+        removeFromRequest(snapshot.getId());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(snapshot, savedAt);
+                }
+            });
+        } else {
+            store(snapshot, savedAt);
+        }
+    }
+
+    /**
+     * Сбрасывает запись, если финансы изменены без известной новой версии.
+     */
+    public void invalidate(Long id) {
+        remove(id);
+        removeFromRequest(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(id);
+                }
+            });
+        }
+    }
+
+    public FinanceCacheMetricsDto getMetrics() {
+        long requestHitCount = requestHits.sum();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = requestHitCount + hitCount + missCount;
+        return new FinanceCacheMetricsDto(
+                entries.size(),
+                maxSize,
+                Duration.ofNanos(ttlNanos).toSeconds(),
+                requestHitCount,
+                hitCount,
+                missCount,
+                evictions.sum(),
+                rejectedWrites.sum(),
+                total == 0 ? 0 : (double) (requestHitCount + hitCount) / total
+        );
+    }
+
+    private Finance get(Long id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(clock.getAsLong())) {
+            if (entries.remove(id, entry)) {
+                evictions.increment();
+            }
+            return null;
+        }
+        return entry.finance();
+    }
+
+    /**
+     * Сохраняет снимок, если с момента {@code loadedAt} не было сбросов этого id и в кэше нет более новой версии.
+     */
+    private void store(Finance finance, long loadedAt) {
+        if (generation(finance.getId()) != loadedAt) {
+            rejectedWrites.increment();
+            return;
+        }
+        if (!entries.containsKey(finance.getId()) && entries.size() >= maxSize) {
+            evict();
+        }
+        Entry entry = new Entry(finance, clock.getAsLong() + ttlNanos);
+        Entry current = entries.merge(finance.getId(), entry,
+                (existing, candidate) -> candidate.finance().getVersion() >= existing.finance().getVersion()
+                        || existing.isExpired(clock.getAsLong()) ? candidate : existing);
+        if (current != entry) {
+            rejectedWrites.increment();
+        } else if (generation(finance.getId()) != loadedAt) {
+            entries.remove(finance.getId(), entry);
+        }
+    }
+
+    private void remove(Long id) {
+        generations.incrementAndGet(stripe(id));
+        entries.remove(id);
+    }
+
+    private long generation(Long id) {
+        return generations.get(stripe(id));
+    }
+
+    private static int stripe(Long id) {
+        return Math.floorMod(Long.hashCode(id), GENERATION_STRIPES);
+    }
+
+    private static boolean isWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Long, Finance> requestEntries() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object entries = attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (entries == null) {
+            entries = new HashMap<Long, Finance>();
+            attributes.setAttribute(REQUEST_ATTRIBUTE, entries, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<Long, Finance>) entries;
+    }
+
+    private static void removeFromRequest(Long id) {
+        Map<Long, Finance> request = requestEntries();
+        if (request != null) {
+            request.remove(id);
+        }
+    }
+
+    private static Finance copy(Finance finance) {
+        Finance copy = new Finance.Builder()
+                .id(finance.getId())
+                .monthlyBudget(finance.getMonthlyBudget())
+                .savingsGoal(finance.getSavingsGoal())
+                .currentSavings(finance.getCurrentSavings())
+                .totalExpenses(finance.getTotalExpenses())
+                .build();
+        copy.setVersion(finance.getVersion());
+        return copy;
+    }
+
+    /**
+     * Освобождает место: сначала удаляет просроченные записи, затем при необходимости ту,
+     * срок которой истекает раньше остальных. Вызывается только при добавлении в полный кэш.
+     */
+    private synchronized void evict() {
+        long now = clock.getAsLong();
+        entries.entrySet().removeIf(e -> {
+            boolean expired = e.getValue().isExpired(now);
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+        while (entries.size() >= maxSize) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().expiresAt()))
+                    .ifPresent(oldest -> {
+                        if (entries.remove(oldest.getKey(), oldest.getValue())) {
+                            evictions.increment();
+                        }
+                    });
+        }
+    }
+
+    private record Entry(Finance finance, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
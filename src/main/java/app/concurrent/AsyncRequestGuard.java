@@ -0,0 +1,429 @@
+package app.concurrent;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Состояние асинхронного запроса, общее для виртуального потока обработчика и потока контейнера.
+ * <p>
+ * Обработчик работает с обёртками запроса и ответа: запись в ответ идёт под блокировкой,
+ * а после завершения запроса запись и чтение тела отклоняются с IOException, изменения
+ * заголовков и статуса игнорируются. Завершение по таймауту, ошибке или концу обработки
+ * выполняется под той же блокировкой, поэтому ответ не меняется из двух потоков сразу
+ * и не используется после того, как контейнер его освободил. Блокировка - ReentrantLock:
+ * synchronized закрепил бы виртуальный поток за несущим на время записи.
+ */
+@Slf4j
+final class AsyncRequestGuard {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AsyncContext asyncContext;
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private volatile boolean completed;
+    private volatile Thread worker;
+
+    AsyncRequestGuard(AsyncContext asyncContext, HttpServletRequest request, HttpServletResponse response) {
+        this.asyncContext = asyncContext;
+        this.request = request;
+        this.response = response;
+    }
+
+    HttpServletRequest request() {
+        return new GuardedRequest(request);
+    }
+
+    HttpServletResponse response() {
+        return new GuardedResponse(response);
+    }
+
+    boolean isCompleted() {
+        return completed;
+    }
+
+    void attach(Thread thread) {
+        worker = thread;
+    }
+
+    void detach() {
+        worker = null;
+    }
+
+    /**
+     * Завершает запрос, если он ещё не завершён. Если {@code status} больше нуля и ответ ещё
+     * не отправлен, вместо него отправляется пустой ответ с этим кодом.
+     *
+     * @return true, если запрос завершил этот вызов
+     */
+    boolean complete(int status) {
+        lock.lock();
+        try {
+            if (completed) {
+                return false;
+            }
+            completed = true;
+            try {
+                if (status > 0 && !response.isCommitted()) {
+                    response.reset();
+                    response.setStatus(status);
+                    response.flushBuffer();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to send status {} for request {}: {}", status, request.getRequestURI(), e.getMessage());
+            } finally {
+                asyncContext.complete();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Отмечает запрос завершённым, если контейнер завершил его сам.
+     */
+    void markCompleted() {
+        lock.lock();
+        try {
+            completed = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Прерывает поток обработчика: блокирующий ввод-вывод виртуального потока, в том числе
+     * чтение ответа базы, прерывается с закрытием сокета, и соединение возвращается в пул.
+     */
+    void interruptWorker() {
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void ifActive(Runnable action) {
+        lock.lock();
+        try {
+            if (!completed) {
+                action.run();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void io(IoAction action) throws IOException {
+        lock.lock();
+        try {
+            if (completed) {
+                throw new IOException("Async request already completed: " + request.getRequestURI());
+            }
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Чтение тела не пересекается с записью ответа и может долго ждать клиента,
+     * поэтому идёт без блокировки, только с проверкой завершения.
+     */
+    private int read(IoRead action) throws IOException {
+        if (completed) {
+            throw new IOException("Async request already completed: " + request.getRequestURI());
+        }
+        return action.read();
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+
+        void run() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface IoRead {
+
+        int read() throws IOException;
+    }
+
+    private final class GuardedRequest extends HttpServletRequestWrapper {
+
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+
+        GuardedRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new GuardedInputStream(super.getInputStream());
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                reader = new BufferedReader(new InputStreamReader(getInputStream(),
+                        encoding != null ? encoding : StandardCharsets.ISO_8859_1.name()));
+            }
+            return reader;
+        }
+    }
+
+    private final class GuardedInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        GuardedInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return AsyncRequestGuard.this.read(delegate::read);
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return AsyncRequestGuard.this.read(() -> delegate.read(buffer, offset, length));
+        }
+
+        @Override
+        public int available() throws IOException {
+            return AsyncRequestGuard.this.read(delegate::available);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+
+    private final class GuardedResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        GuardedResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new GuardedOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new GuardedWriter(super.getWriter()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setStatus(int status) {
+            ifActive(() -> super.setStatus(status));
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            io(() -> super.sendError(status));
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            io(() -> super.sendError(status, message));
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            io(() -> super.sendRedirect(location));
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            ifActive(() -> super.setHeader(name, value));
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            ifActive(() -> super.addHeader(name, value));
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            ifActive(() -> super.setIntHeader(name, value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            ifActive(() -> super.addIntHeader(name, value));
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+            ifActive(() -> super.setDateHeader(name, date));
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            ifActive(() -> super.addDateHeader(name, date));
+        }
+
+        @Override
+        public void addCookie(Cookie cookie) {
+            ifActive(() -> super.addCookie(cookie));
+        }
+
+        @Override
+        public void setContentType(String type) {
+            ifActive(() -> super.setContentType(type));
+        }
+
+        @Override
+        public void setCharacterEncoding(String charset) {
+            ifActive(() -> super.setCharacterEncoding(charset));
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            ifActive(() -> super.setContentLength(length));
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            ifActive(() -> super.setContentLengthLong(length));
+        }
+
+        @Override
+        public void setLocale(Locale locale) {
+            ifActive(() -> super.setLocale(locale));
+        }
+
+        @Override
+        public void setBufferSize(int size) {
+            ifActive(() -> super.setBufferSize(size));
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            io(super::flushBuffer);
+        }
+
+        @Override
+        public void reset() {
+            ifActive(super::reset);
+        }
+
+        @Override
+        public void resetBuffer() {
+            ifActive(super::resetBuffer);
+        }
+    }
+
+    private final class GuardedOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        GuardedOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            io(() -> delegate.write(b));
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            io(() -> delegate.write(buffer, offset, length));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            io(delegate::flush);
+        }
+
+        @Override
+        public void close() throws IOException {
+            io(delegate::close);
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+    private final class GuardedWriter extends Writer {
+
+        private final PrintWriter delegate;
+
+        GuardedWriter(PrintWriter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            io(() -> delegate.write(buffer, offset, length));
+        }
+
+        @Override
+        public void write(String value, int offset, int length) throws IOException {
+            io(() -> delegate.write(value, offset, length));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            io(delegate::flush);
+        }
+
+        @Override
+        public void close() throws IOException {
+            io(delegate::close);
+        }
+    }
+}
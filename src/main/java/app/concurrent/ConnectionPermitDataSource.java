@@ -0,0 +1,108 @@
+package app.concurrent;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ограничивает число соединений, одновременно взятых из пула.
+ * <p>
+ * С виртуальными потоками одновременных запросов к базе может быть на порядки больше, чем соединений
+ * в пуле. Вместо того чтобы тысячи потоков ждали пул и получали отказ по его короткому connection-timeout,
+ * они паркуются в честной очереди семафора, что для виртуального потока почти ничего не стоит.
+ * Разрешение возвращается при закрытии соединения.
+ */
+public class ConnectionPermitDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long timeoutMillis;
+
+    public ConnectionPermitDataSource(DataSource target, int permits, long timeoutMillis) {
+        super(target);
+        if (permits < 1) {
+            throw new IllegalArgumentException("Connection permits must be positive: " + permits);
+        }
+        this.permits = new Semaphore(permits, true);
+        this.maxPermits = permits;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return withPermit(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return withPermit(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Потоки, ожидающие разрешения.
+     */
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public int getAvailable() {
+        return permits.availablePermits();
+    }
+
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Connection permit not available, waited " + timeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", e);
+        }
+    }
+
+    private Connection withPermit(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,36 @@
+package app.concurrent;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+
+/**
+ * DispatcherServlet, который передаёт обработку запроса в {@link VirtualThreadRequestExecutor}.
+ * <p>
+ * Переход на виртуальный поток сделан в сервлете, а не в фильтре: Tomcat освобождает цепочку
+ * фильтров сразу после возврата из неё, а сервлет остаётся доступен и после перевода запроса
+ * в асинхронный режим.
+ */
+public class VirtualThreadDispatcherServlet extends DispatcherServlet {
+
+    private transient VirtualThreadRequestExecutor requestExecutor;
+
+    public VirtualThreadDispatcherServlet(WebApplicationContext webApplicationContext) {
+        super(webApplicationContext);
+    }
+
+    @Override
+    protected void initFrameworkServlet() throws ServletException {
+        super.initFrameworkServlet();
+        requestExecutor = getWebApplicationContext().getBean(VirtualThreadRequestExecutor.class);
+    }
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        requestExecutor.dispatch(request, response, super::service);
+    }
+}
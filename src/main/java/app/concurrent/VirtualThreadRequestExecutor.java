@@ -0,0 +1,142 @@
+package app.concurrent;
+
+import app.context.UserContext;
+import app.dto.user.UserDto;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Выполняет обработку запросов на виртуальных потоках.
+ * <p>
+ * Включается настройкой {@code app.virtual-threads.enabled}. Запрос переводится в асинхронный режим,
+ * поток контейнера сразу возвращается в пул, а обработчик вместе со всеми вызовами JDBC выполняется
+ * на новом виртуальном потоке. Пользователь, установленный фильтром аутентификации, переносится
+ * в {@link UserContext} виртуального потока и очищается после запроса.
+ * <p>
+ * Асинхронный запрос ограничен {@code app.virtual-threads.async-timeout-ms}: если обработчик не успел,
+ * клиент получает 503, а поток обработчика прерывается. Обработчик пишет ответ через обёртки
+ * {@link AsyncRequestGuard}, поэтому после завершения запроса его запись уже не доходит до ответа.
+ */
+@Slf4j
+@Component
+public class VirtualThreadRequestExecutor implements DisposableBean {
+
+    private static final long DEFAULT_ASYNC_TIMEOUT_MILLIS = 30_000;
+
+    private final boolean enabled;
+    private final long asyncTimeoutMillis;
+    private final ExecutorService executor;
+
+    public VirtualThreadRequestExecutor(boolean enabled) {
+        this(enabled, DEFAULT_ASYNC_TIMEOUT_MILLIS);
+    }
+
+    @Autowired
+    public VirtualThreadRequestExecutor(@Value("${app.virtual-threads.enabled:false}") boolean enabled,
+                                        @Value("${app.virtual-threads.async-timeout-ms:30000}") long asyncTimeoutMillis) {
+        if (asyncTimeoutMillis < 1) {
+            throw new IllegalArgumentException("Async request timeout must be positive: " + asyncTimeoutMillis);
+        }
+        this.enabled = enabled;
+        this.asyncTimeoutMillis = asyncTimeoutMillis;
+        this.executor = enabled
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("request-", 0).factory())
+                : null;
+    }
+
+    /**
+     * Вызывает обработчик на виртуальном потоке или, если режим выключен, на текущем потоке.
+     */
+    public void dispatch(HttpServletRequest request, HttpServletResponse response, RequestHandler handler)
+            throws IOException, ServletException {
+        if (!enabled || request.getDispatcherType() != DispatcherType.REQUEST || !request.isAsyncSupported()) {
+            handler.handle(request, response);
+            return;
+        }
+
+        UserDto user = UserContext.getCurrentUser();
+        AsyncContext asyncContext = request.startAsync(request, response);
+        AsyncRequestGuard guard = new AsyncRequestGuard(asyncContext, request, response);
+        asyncContext.setTimeout(asyncTimeoutMillis);
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                log.warn("Request {} timed out after {} ms on virtual thread", request.getRequestURI(), asyncTimeoutMillis);
+                if (guard.complete(HttpServletResponse.SC_SERVICE_UNAVAILABLE)) {
+                    guard.interruptWorker();
+                }
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                log.error("Async request {} failed: {}", request.getRequestURI(), String.valueOf(event.getThrowable()));
+                if (guard.complete(HttpServletResponse.SC_INTERNAL_SERVER_ERROR)) {
+                    guard.interruptWorker();
+                }
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+                guard.markCompleted();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        HttpServletRequest guardedRequest = guard.request();
+        HttpServletResponse guardedResponse = guard.response();
+        executor.execute(() -> {
+            guard.attach(Thread.currentThread());
+            UserContext.setCurrentUser(user);
+            try {
+                handler.handle(guardedRequest, guardedResponse);
+                guard.complete(0);
+            } catch (Exception e) {
+                if (guard.isCompleted()) {
+                    log.debug("Request {} stopped after completion: {}", request.getRequestURI(), e.getMessage());
+                } else {
+                    log.error("Request {} failed on virtual thread: {}", request.getRequestURI(), e.getMessage(), e);
+                }
+                guard.complete(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            } finally {
+                guard.detach();
+                UserContext.clear();
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Дожидается запросов, уже переданных на виртуальные потоки.
+     */
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    @FunctionalInterface
+    public interface RequestHandler {
+
+        void handle(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException;
+    }
+}
@@ -4,12 +4,14 @@ import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
 @ComponentScan("app")
 @Configuration
 @EnableWebMvc
 @EnableAspectJAutoProxy
+@EnableTransactionManagement
 @ConfigurationPropertiesScan
 public class ApplicationConfig {
 
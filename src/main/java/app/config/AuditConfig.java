@@ -0,0 +1,37 @@
+package app.config;
+
+import app.audit.AuditLogWriter;
+import app.audit.AuditSink;
+import app.audit.FileAuditSink;
+import app.audit.JdbcAuditSink;
+import app.audit.OverflowPolicy;
+import app.repository.AuditLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class AuditConfig {
+
+    @Bean
+    public AuditSink auditSink(@Value("${app.audit.sink:jdbc}") String sink,
+                               @Value("${app.audit.file-directory:logs/audit}") String fileDirectory,
+                               AuditLogRepository auditLogRepository) {
+        return switch (sink) {
+            case "jdbc" -> new JdbcAuditSink(auditLogRepository);
+            case "file" -> new FileAuditSink(Path.of(fileDirectory));
+            default -> throw new IllegalArgumentException("Unknown audit sink: " + sink);
+        };
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public AuditLogWriter auditLogWriter(AuditSink auditSink,
+                                         @Value("${app.audit.buffer-size:8192}") int bufferSize,
+                                         @Value("${app.audit.batch-size:500}") int batchSize,
+                                         @Value("${app.audit.flush-interval-ms:1000}") long flushIntervalMillis,
+                                         @Value("${app.audit.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy) {
+        return new AuditLogWriter(auditSink, bufferSize, batchSize, flushIntervalMillis, overflowPolicy);
+    }
+}
@@ -1,27 +1,166 @@
 package app.config;
 
+import app.concurrent.ConnectionPermitDataSource;
+import app.datasource.ReadWriteRoutingDataSource;
+import app.datasource.ReplicaLagMonitor;
+import app.metrics.PoolMetricsTrackerFactory;
+import app.partition.TransactionPartitionMaintainer;
+import app.repository.TransactionPartitionRepository;
+import app.util.SnowflakeIdGenerator;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
 
 
 @Configuration
 @RequiredArgsConstructor
 public class DatabaseConfig {
 
-    @Bean
-    public DriverManagerDataSource diverManagerDataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName("org.postgresql.Driver");
+    @Value("${app.virtual-threads.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.virtual-threads.connection-permits:0}")
+    private int connectionPermits;
+
+    @Value("${app.virtual-threads.permit-timeout-ms:30000}")
+    private long permitTimeoutMillis;
+
+    /**
+     * Пул соединений. Параметры подключения берутся из spring.datasource,
+     * настройки пула - из spring.datasource.hikari.
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource connectionPool(DataSourceProperties properties, PoolMetricsTrackerFactory metricsTrackerFactory) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setMetricsTrackerFactory(metricsTrackerFactory);
         return dataSource;
     }
 
+    /**
+     * Выбор между основной базой и репликой. Пока реплика не включена в app.read-replica,
+     * все соединения берутся из основного пула. Пул реплики наследует настройки основного пула,
+     * кроме адреса, учётных данных и размера, и открывает соединения только для чтения.
+     * Недоступная при старте реплика не мешает запуску: пул создаётся без проверки соединения,
+     * а чтение остаётся на основной базе до первой успешной проверки отставания.
+     */
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource connectionPool,
+                                                        PoolMetricsTrackerFactory metricsTrackerFactory,
+                                                        @Value("${app.read-replica.enabled:false}") boolean replicaEnabled,
+                                                        @Value("${app.read-replica.url:}") String url,
+                                                        @Value("${app.read-replica.username:}") String username,
+                                                        @Value("${app.read-replica.password:}") String password,
+                                                        @Value("${app.read-replica.maximum-pool-size:0}") int maximumPoolSize,
+                                                        @Value("${app.read-replica.max-lag-ms:5000}") long maxLagMillis,
+                                                        @Value("${app.read-replica.lag-check-interval-ms:1000}") long lagCheckIntervalMillis) {
+        DataSource primary = withConnectionPermits(connectionPool);
+        if (!replicaEnabled) {
+            return ReadWriteRoutingDataSource.primaryOnly(primary);
+        }
+        if (url.isBlank()) {
+            throw new IllegalArgumentException("app.read-replica.url must be set when the read replica is enabled");
+        }
+
+        HikariConfig config = new HikariConfig();
+        connectionPool.copyStateTo(config);
+        config.setPoolName(connectionPool.getPoolName() + "-replica");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        if (maximumPoolSize > 0) {
+            config.setMaximumPoolSize(maximumPoolSize);
+            config.setMinimumIdle(Math.min(config.getMinimumIdle(), maximumPoolSize));
+        }
+        config.setReadOnly(true);
+        config.setInitializationFailTimeout(-1);
+        config.setMetricsTrackerFactory(metricsTrackerFactory);
+        HikariDataSource replicaPool = new HikariDataSource(config);
+
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replicaPool, maxLagMillis, lagCheckIntervalMillis);
+        lagMonitor.start();
+        return new ReadWriteRoutingDataSource(primary, withConnectionPermits(replicaPool), lagMonitor);
+    }
+
+    /**
+     * Источник соединений для репозиториев и менеджера транзакций. С репликой соединение
+     * запрашивается у {@link ReadWriteRoutingDataSource} только при первом запросе транзакции,
+     * когда уже известно, открыта ли она только для чтения.
+     */
+    @Bean(destroyMethod = "")
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        if (!routingDataSource.isReplicaEnabled()) {
+            return routingDataSource.getPrimary();
+        }
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * В режиме виртуальных потоков обращения к пулу ограничиваются {@link ConnectionPermitDataSource};
+     * по умолчанию число разрешений равно размеру пула.
+     */
+    private DataSource withConnectionPermits(HikariDataSource pool) {
+        if (!virtualThreads) {
+            return pool;
+        }
+        int permits = connectionPermits > 0 ? connectionPermits : pool.getMaximumPoolSize();
+        return new ConnectionPermitDataSource(pool, permits, permitTimeoutMillis);
+    }
+
+    /**
+     * Идентификаторы транзакций. У каждого экземпляра приложения, пишущего в одну базу,
+     * должен быть свой app.id-generator.node-id. Первичный ключ секционированной таблицы
+     * включает finance_id и date, поэтому база не заметит одинаковых id от двух экземпляров;
+     * значения по умолчанию нет, и без настройки контекст не поднимается.
+     */
     @Bean
-    public JdbcTemplate jdbcTemplate(DataSourceProperties dataSource) {
-        return new JdbcTemplate(dataSource.initializeDataSourceBuilder().build());
+    public SnowflakeIdGenerator transactionIdGenerator(@Value("${app.id-generator.node-id}") int nodeId) {
+        return new SnowflakeIdGenerator(nodeId);
     }
-}
 
+    /**
+     * Обслуживание месячных секций транзакций. Запускается после миграций: секции создаются
+     * функциями, которые добавляет changeSet 010_partition_transactions_by_month.
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @DependsOn("liquibaseConfig")
+    public TransactionPartitionMaintainer transactionPartitionMaintainer(TransactionPartitionRepository partitionRepository,
+                                                                         @Value("${app.transaction-partitions.months-ahead:3}") int monthsAhead,
+                                                                         @Value("${app.transaction-partitions.retention-months:0}") int retentionMonths,
+                                                                         @Value("${app.transaction-partitions.check-interval-hours:24}") long checkIntervalHours) {
+        return new TransactionPartitionMaintainer(partitionRepository, monthsAhead, retentionMonths,
+                TimeUnit.HOURS.toMillis(checkIntervalHours));
+    }
+
+    @Bean
+    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Менеджер транзакций для {@code @Transactional}: все запросы JdbcTemplate внутри
+     * транзакции идут через одно соединение и фиксируются одним commit.
+     * Уровень изоляции по умолчанию задаётся в spring.datasource.hikari.transaction-isolation.
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager(DataSource dataSource) {
+        return new DataSourceTransactionManager(dataSource);
+    }
+}
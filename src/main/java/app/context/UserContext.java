@@ -3,6 +3,14 @@ package app.context;
 import app.dto.user.UserDto;
 import org.springframework.stereotype.Component;
 
+/**
+ * Текущий пользователь запроса.
+ * <p>
+ * Значение хранится в обычном (не наследуемом) {@link ThreadLocal}: дочерние потоки его не копируют,
+ * а {@link app.auth.AuthenticationFilter} очищает его после каждого запроса. В режиме виртуальных
+ * потоков {@link app.concurrent.VirtualThreadRequestExecutor} явно переносит значение на поток запроса
+ * и очищает его там. ScopedValue в Java 21 доступен только как preview и здесь не используется.
+ */
 @Component
 public class UserContext {
     private static final ThreadLocal<UserDto> currentUser = new ThreadLocal<>();
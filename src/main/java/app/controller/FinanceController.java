@@ -5,6 +5,7 @@ import app.controller.advice.annotation.CustomExceptionHandler;
 import app.dto.transaction.CreateTransactionDto;
 import app.dto.transaction.FilterTransactionDto;
 import app.dto.transaction.TransactionDto;
+import app.dto.transaction.TransactionPageDto;
 import app.dto.transaction.UpdateTransactionDto;
 import app.service.FinanceService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,7 +21,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/transaction")
@@ -109,7 +109,7 @@ public class FinanceController {
     /**
      * Получает список всех транзакций текущего пользователя.
      *
-     * @return Возвращает все транзакции текущего пользователя.
+     * @return Возвращает все транзакции текущего пользователя от новых к старым.
      */
     @Operation(summary = "Получение всех транзакций", description = "Возвращает список всех транзакций текущего пользователя.")
     @ApiResponses(value = {
@@ -119,10 +119,46 @@ public class FinanceController {
     })
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public Set<TransactionDto> listAll() {
+    public List<TransactionDto> listAll() {
         return financeService.list(getFinanceIdCurrentUser());
     }
 
+    /**
+     * Получает страницу транзакций текущего пользователя, от новых к старым.
+     *
+     * @param cursor Токен продолжения из предыдущего ответа; не указывается для первой страницы.
+     * @param size   Размер страницы, не больше 500.
+     * @return Возвращает страницу транзакций и токен следующей страницы.
+     */
+    @Operation(summary = "Постраничное получение транзакций", description = "Возвращает транзакции текущего пользователя страницами по курсору. Порядок: по дате и ID, от новых к старым.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Страница транзакций успешно получена",
+                    content = @Content(schema = @Schema(implementation = TransactionPageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор или размер страницы")
+    })
+    @GetMapping("/page")
+    @ResponseStatus(HttpStatus.OK)
+    public TransactionPageDto listPage(
+            @RequestParam(name = "cursor", required = false) @Parameter(description = "Токен продолжения") String cursor,
+            @RequestParam(name = "size", defaultValue = "50") @Parameter(description = "Размер страницы") int size) {
+        return financeService.listPage(getFinanceIdCurrentUser(), cursor, size);
+    }
+
+    /**
+     * Получает количество транзакций текущего пользователя.
+     *
+     * @return Возвращает количество транзакций.
+     */
+    @Operation(summary = "Количество транзакций", description = "Возвращает количество транзакций текущего пользователя без загрузки самих транзакций.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Количество транзакций успешно получено")
+    })
+    @GetMapping("/count")
+    @ResponseStatus(HttpStatus.OK)
+    public long count() {
+        return financeService.countTransactions(getFinanceIdCurrentUser());
+    }
+
     private Long getFinanceIdCurrentUser() {
         return UserContext.getCurrentUser().financeId();
     }
@@ -0,0 +1,143 @@
+package app.controller;
+
+import app.context.UserContext;
+import app.controller.advice.annotation.CustomExceptionHandler;
+import app.dto.metrics.AuditMetricsDto;
+import app.dto.metrics.AuthCacheMetricsDto;
+import app.dto.metrics.DataSourceRoutingMetricsDto;
+import app.dto.metrics.FinanceCacheMetricsDto;
+import app.dto.metrics.MethodMetricsDto;
+import app.dto.metrics.PoolMetricsDto;
+import app.dto.user.UserDto;
+import app.entity.Role;
+import app.service.MetricsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/metrics")
+@RequiredArgsConstructor
+@CustomExceptionHandler
+public class MetricsController {
+
+    private final MetricsService metricsService;
+
+    /**
+     * Получает текущее состояние пулов соединений с базой данных.
+     *
+     * @return Список метрик по каждому пулу.
+     */
+    @Operation(summary = "Метрики пула соединений", description = "Возвращает число активных, свободных и ожидающих соединений, время получения соединения и гистограмму времени удержания.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Метрики успешно получены"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен. Только для администраторов.")
+    })
+    @GetMapping("/pool")
+    @ResponseStatus(HttpStatus.OK)
+    public List<PoolMetricsDto> getPoolMetrics() {
+        requireAdmin();
+        return metricsService.getPoolMetrics();
+    }
+
+    /**
+     * Получает статистику кэша аутентификации.
+     *
+     * @return Размер кэша, число попаданий, промахов и вытеснений.
+     */
+    @Operation(summary = "Метрики кэша аутентификации", description = "Возвращает размер кэша токенов, число попаданий, промахов и вытеснений.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Метрики успешно получены"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен. Только для администраторов.")
+    })
+    @GetMapping("/auth-cache")
+    @ResponseStatus(HttpStatus.OK)
+    public AuthCacheMetricsDto getAuthCacheMetrics() {
+        requireAdmin();
+        return metricsService.getAuthCacheMetrics();
+    }
+
+    /**
+     * Получает статистику кэша финансов.
+     *
+     * @return Размер кэша, попадания на уровне запроса и процесса, промахи, вытеснения и отклонённые записи.
+     */
+    @Operation(summary = "Метрики кэша финансов", description = "Возвращает размер кэша финансов, число попаданий, промахов, вытеснений и отклонённых устаревших записей.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Метрики успешно получены"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен. Только для администраторов.")
+    })
+    @GetMapping("/finance-cache")
+    @ResponseStatus(HttpStatus.OK)
+    public FinanceCacheMetricsDto getFinanceCacheMetrics() {
+        requireAdmin();
+        return metricsService.getFinanceCacheMetrics();
+    }
+
+    /**
+     * Получает время выполнения методов сервисов.
+     *
+     * @return Гистограммы времени выполнения и число ошибок по каждому методу.
+     */
+    @Operation(summary = "Метрики методов сервисов", description = "Возвращает число вызовов, ошибок и перцентили времени выполнения каждого метода сервисов.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Метрики успешно получены"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен. Только для администраторов.")
+    })
+    @GetMapping("/methods")
+    @ResponseStatus(HttpStatus.OK)
+    public List<MethodMetricsDto> getMethodMetrics() {
+        requireAdmin();
+        return metricsService.getMethodMetrics();
+    }
+
+    /**
+     * Получает состояние асинхронной записи аудита.
+     *
+     * @return Размер очереди, число записанных и отброшенных событий, время записи пакетов и задержку.
+     */
+    @Operation(summary = "Метрики журнала аудита", description = "Возвращает размер очереди аудита, число записанных, отброшенных и не записанных событий, время записи пакета и задержку до записи.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Метрики успешно получены"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен. Только для администраторов.")
+    })
+    @GetMapping("/audit")
+    @ResponseStatus(HttpStatus.OK)
+    public AuditMetricsDto getAuditMetrics() {
+        requireAdmin();
+        return metricsService.getAuditMetrics();
+    }
+
+    /**
+     * Получает распределение соединений между основной базой и репликой.
+     *
+     * @return Число соединений по каждому пулу, откаты на основную базу и отставание реплики.
+     */
+    @Operation(summary = "Метрики маршрутизации чтения", description = "Возвращает число соединений, выданных основной базой и репликой, число чтений, отправленных на основную базу из-за отставания или недоступности реплики, и текущее отставание реплики.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Метрики успешно получены"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен. Только для администраторов.")
+    })
+    @GetMapping("/datasource-routing")
+    @ResponseStatus(HttpStatus.OK)
+    public DataSourceRoutingMetricsDto getDataSourceRoutingMetrics() {
+        requireAdmin();
+        return metricsService.getDataSourceRoutingMetrics();
+    }
+
+    /**
+     * Метрики раскрывают внутреннее состояние приложения, поэтому доступны только администратору.
+     */
+    private void requireAdmin() {
+        UserDto user = UserContext.getCurrentUser();
+        if (user == null || !user.role().equals(Role.ADMIN)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Доступ запрещен. Только для администраторов.");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package app.controller;
+
+import app.context.UserContext;
+import app.controller.advice.annotation.CustomExceptionHandler;
+import app.dto.user.UserDto;
+import app.entity.Role;
+import app.service.MetricsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequiredArgsConstructor
+@CustomExceptionHandler
+public class PrometheusController {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MetricsService metricsService;
+
+    /**
+     * Отдаёт метрики приложения для сбора Prometheus. Доступно только администратору:
+     * сборщик передаёт токен администратора в заголовке Authorization.
+     *
+     * @return Метрики в текстовом формате Prometheus.
+     */
+    @Operation(summary = "Метрики в формате Prometheus", description = "Время выполнения методов сервисов (p50, p99, max, число вызовов и ошибок), состояние пула соединений и кэша аутентификации.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Метрики успешно получены"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен. Только для администраторов.")
+    })
+    @GetMapping(value = "/metrics", produces = CONTENT_TYPE)
+    @ResponseStatus(HttpStatus.OK)
+    public String scrape() {
+        UserDto user = UserContext.getCurrentUser();
+        if (user == null || !user.role().equals(Role.ADMIN)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Доступ запрещен. Только для администраторов.");
+        }
+        return metricsService.scrape();
+    }
+}
@@ -0,0 +1,57 @@
+package app.controller;
+
+import app.context.UserContext;
+import app.controller.advice.annotation.CustomExceptionHandler;
+import app.dto.user.UserDto;
+import app.entity.Role;
+import app.service.TransactionSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/api/v1/summary")
+@RequiredArgsConstructor
+@CustomExceptionHandler
+public class SummaryController {
+
+    private final TransactionSummaryService transactionSummaryService;
+
+    /**
+     * Пересчитывает помесячные агрегаты транзакций из таблицы транзакций.
+     * Агрегаты всех финансов пересчитывает только администратор; пользователь может пересчитать
+     * агрегаты только своих финансов.
+     *
+     * @param financeId Идентификатор финансов; если не указан, пересчитываются агрегаты всех финансов.
+     * @return Количество записанных строк агрегатов.
+     */
+    @Operation(summary = "Пересчёт агрегатов транзакций", description = "Восстанавливает помесячные суммы по категориям из таблицы транзакций.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Агрегаты успешно пересчитаны"),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещен. Чужие финансы пересчитывает только администратор.")
+    })
+    @PostMapping("/rebuild")
+    @ResponseStatus(HttpStatus.OK)
+    public Integer rebuild(
+            @RequestParam(name = "financeId", required = false) @Parameter(description = "Идентификатор финансов") Long financeId) {
+        UserDto user = UserContext.getCurrentUser();
+        boolean admin = user.role().equals(Role.ADMIN);
+        if (financeId == null) {
+            if (!admin) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Доступ запрещен. Только для администраторов.");
+            }
+            return transactionSummaryService.rebuildAll();
+        }
+        if (!admin && !Objects.equals(financeId, user.financeId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Доступ запрещен. Можно пересчитать только свои финансы.");
+        }
+        return transactionSummaryService.rebuild(financeId);
+    }
+}
@@ -2,16 +2,20 @@ package app.controller;
 
 import app.context.UserContext;
 import app.controller.advice.annotation.CustomExceptionHandler;
+import app.dto.report.BudgetStatusDto;
+import app.dto.report.FinancialReportDto;
 import app.service.TargetService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.YearMonth;
 
 @RestController
 @RequestMapping("/api/v1/target")
@@ -24,16 +28,40 @@ public class TargetController {
     /**
      * Генерирует финансовый отчет.
      *
+     * @param from Первый месяц периода (необязательно).
+     * @param to   Последний месяц периода (необязательно).
      * @return Возвращает строку, представляющую финансовый отчет.
      */
-    @Operation(summary = "Генерация финансового отчета", description = "Генерирует финансовый отчет для текущего пользователя.")
+    @Operation(summary = "Генерация финансового отчета", description = "Генерирует финансовый отчет для текущего пользователя. По умолчанию - за прошлый и текущий месяц.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Финансовый отчет успешно сгенерирован")
     })
     @GetMapping("/report")
     @ResponseStatus(HttpStatus.OK)
-    public String getFinanceReport() {
-        return targetService.generateFinancialReport();
+    public String getFinanceReport(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(pattern = "yyyy-MM") @Parameter(description = "Первый месяц периода, yyyy-MM") YearMonth from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(pattern = "yyyy-MM") @Parameter(description = "Последний месяц периода, yyyy-MM") YearMonth to) {
+        return targetService.generateFinancialReport(from, to);
+    }
+
+    /**
+     * Возвращает финансовый отчет в виде структуры.
+     *
+     * @param from Первый месяц периода (необязательно).
+     * @param to   Последний месяц периода (необязательно).
+     * @return Накопления, прогресс к цели, доходы и расходы за период, расходы по категориям.
+     */
+    @Operation(summary = "Финансовый отчет в JSON", description = "Возвращает показатели отчета за период для текущего пользователя. По умолчанию - за прошлый и текущий месяц.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Финансовый отчет успешно сформирован"),
+            @ApiResponse(responseCode = "400", description = "Некорректный период")
+    })
+    @GetMapping("/report/json")
+    @ResponseStatus(HttpStatus.OK)
+    public FinancialReportDto getFinanceReportJson(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(pattern = "yyyy-MM") @Parameter(description = "Первый месяц периода, yyyy-MM") YearMonth from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(pattern = "yyyy-MM") @Parameter(description = "Последний месяц периода, yyyy-MM") YearMonth to) {
+        return targetService.getFinancialReport(from, to);
     }
 
     /**
@@ -53,6 +81,22 @@ public class TargetController {
         targetService.updateMonthlyBudget(getFinanceIdCurrentUser(), budget);
     }
 
+    /**
+     * Возвращает состояние месячного бюджета.
+     *
+     * @return Остаток бюджета, скорость трат и прогноз даты превышения.
+     */
+    @Operation(summary = "Состояние месячного бюджета", description = "Возвращает остаток бюджета текущего месяца, среднюю скорость трат за 30 дней и прогноз даты превышения бюджета.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Состояние бюджета успешно получено"),
+            @ApiResponse(responseCode = "404", description = "Финансы не найдены")
+    })
+    @GetMapping("/budget")
+    @ResponseStatus(HttpStatus.OK)
+    public BudgetStatusDto getBudgetStatus() {
+        return targetService.getBudgetStatus(getFinanceIdCurrentUser());
+    }
+
     /**
      * Получает прогресс достижения цели.
      *
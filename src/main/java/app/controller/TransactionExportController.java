@@ -0,0 +1,70 @@
+package app.controller;
+
+import app.context.UserContext;
+import app.controller.advice.annotation.CustomExceptionHandler;
+import app.dto.transaction.ExportFormat;
+import app.service.TransactionExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/transaction/export")
+@RequiredArgsConstructor
+@CustomExceptionHandler
+public class TransactionExportController {
+
+    private final TransactionExportService transactionExportService;
+
+    /**
+     * Выгружает транзакции текущего пользователя потоком, не загружая их целиком в память.
+     *
+     * @param format Формат выгрузки.
+     * @param gzip   Сжимать ли выгрузку.
+     * @param from   Начало периода включительно.
+     * @param to     Конец периода не включительно.
+     * @param response Ответ, в который пишутся данные.
+     */
+    @Operation(summary = "Выгрузка транзакций", description = "Выгружает транзакции текущего пользователя в CSV или NDJSON, при необходимости сжимая gzip.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Выгрузка успешно сформирована"),
+            @ApiResponse(responseCode = "400", description = "Некорректные параметры выгрузки")
+    })
+    @GetMapping
+    public void export(
+            @RequestParam(name = "format", defaultValue = "CSV") @Parameter(description = "Формат: CSV или NDJSON") ExportFormat format,
+            @RequestParam(name = "gzip", defaultValue = "false") @Parameter(description = "Сжатие gzip") boolean gzip,
+            @RequestParam(name = "from", required = false) @Parameter(description = "Начало периода, ISO-8601") Instant from,
+            @RequestParam(name = "to", required = false) @Parameter(description = "Конец периода, ISO-8601") Instant to,
+            HttpServletResponse response) throws IOException {
+        Long financeId = UserContext.getCurrentUser().financeId();
+        String fileName = "transactions-" + financeId + "." + format.getExtension() + (gzip ? ".gz" : "");
+
+        response.setContentType(gzip ? "application/gzip" : format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+            transactionExportService.export(financeId, format, from, to, gzipOut);
+            gzipOut.finish();
+        } else {
+            transactionExportService.export(financeId, format, from, to, out);
+        }
+        out.flush();
+    }
+}
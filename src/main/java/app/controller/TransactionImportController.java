@@ -0,0 +1,79 @@
+package app.controller;
+
+import app.context.UserContext;
+import app.controller.advice.annotation.CustomExceptionHandler;
+import app.dto.transaction.CreateTransactionDto;
+import app.dto.transaction.ImportResultDto;
+import app.service.TransactionImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/transaction/import")
+@RequiredArgsConstructor
+@CustomExceptionHandler
+public class TransactionImportController {
+
+    private final TransactionImportService transactionImportService;
+
+    /**
+     * Импортирует массив транзакций.
+     *
+     * @param rows   Транзакции для импорта.
+     * @param atomic Сохранить все транзакции или ни одной при любой ошибке.
+     * @return Возвращает количество импортированных транзакций и ошибки по строкам.
+     */
+    @Operation(summary = "Импорт транзакций", description = "Импортирует массив транзакций текущего пользователя пакетной вставкой.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Импорт выполнен, ошибки строк перечислены в ответе",
+                    content = @Content(schema = @Schema(implementation = ImportResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Некорректный запрос")
+    })
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public ImportResultDto importJson(
+            @RequestBody @Parameter(description = "Транзакции для импорта") List<CreateTransactionDto> rows,
+            @RequestParam(name = "atomic", defaultValue = "false") @Parameter(description = "Всё или ничего") boolean atomic) {
+        return transactionImportService.importTransactions(getFinanceIdCurrentUser(), rows, atomic);
+    }
+
+    /**
+     * Импортирует транзакции из CSV с заголовком amount,category,description,type_transaction.
+     *
+     * @param atomic  Сохранить все транзакции или ни одной при любой ошибке.
+     * @param request Запрос, тело которого читается потоком.
+     * @return Возвращает количество импортированных транзакций и ошибки по строкам.
+     */
+    @Operation(summary = "Импорт транзакций из CSV", description = "Импортирует транзакции текущего пользователя из CSV-файла в теле запроса.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Импорт выполнен, ошибки строк перечислены в ответе",
+                    content = @Content(schema = @Schema(implementation = ImportResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Некорректный файл")
+    })
+    @PostMapping(consumes = "text/csv")
+    @ResponseStatus(HttpStatus.OK)
+    public ImportResultDto importCsv(
+            @RequestParam(name = "atomic", defaultValue = "false") @Parameter(description = "Всё или ничего") boolean atomic,
+            HttpServletRequest request) throws IOException {
+        if (request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding("UTF-8");
+        }
+        return transactionImportService.importCsv(getFinanceIdCurrentUser(), request.getReader(), atomic);
+    }
+
+    private Long getFinanceIdCurrentUser() {
+        return UserContext.getCurrentUser().financeId();
+    }
+}
@@ -0,0 +1,9 @@
+package app.datasource;
+
+/**
+ * Пул, которому {@link ReadWriteRoutingDataSource} отдаёт соединение.
+ */
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,124 @@
+package app.datasource;
+
+import app.dto.metrics.DataSourceRoutingMetricsDto;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Выбирает пул для каждого нового соединения: основную базу или реплику.
+ * <p>
+ * На реплику уходит соединение, только если одновременно: реплика настроена, вызов помечен
+ * {@link app.aspect.replica.ReplicaRead}, транзакция открыта только для чтения и
+ * {@link ReplicaLagMonitor} считает реплику пригодной. Если реплика недоступна или отстаёт
+ * сильнее допустимого, соединение берётся с основной базы и считается как откат на основную.
+ * <p>
+ * Решение принимается при получении соединения, поэтому перед этим источником стоит
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: менеджер транзакций
+ * получает соединение лишь при первом запросе, когда признак только для чтения уже выставлен.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+
+    private final Map<DataSourceRoute, LongAdder> routed = new EnumMap<>(DataSourceRoute.class);
+    private final LongAdder fallbacks = new LongAdder();
+
+    /**
+     * @param replica    пул реплики, {@code null} если реплика не настроена
+     * @param lagMonitor проверка реплики, {@code null} если реплика не настроена
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        if ((replica == null) != (lagMonitor == null)) {
+            throw new IllegalArgumentException("Replica and lag monitor must be configured together");
+        }
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        for (DataSourceRoute route : DataSourceRoute.values()) {
+            routed.put(route, new LongAdder());
+        }
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceRoute.PRIMARY, primary);
+        if (replica != null) {
+            targets.put(DataSourceRoute.REPLICA, replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public static ReadWriteRoutingDataSource primaryOnly(DataSource primary) {
+        return new ReadWriteRoutingDataSource(primary, null, null);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceRoute route = route();
+        routed.get(route).increment();
+        return route;
+    }
+
+    private DataSourceRoute route() {
+        if (replica == null
+                || !ReplicaReadContext.isRequested()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return DataSourceRoute.PRIMARY;
+        }
+        if (!lagMonitor.isUsable()) {
+            fallbacks.increment();
+            return DataSourceRoute.PRIMARY;
+        }
+        return DataSourceRoute.REPLICA;
+    }
+
+    public boolean isReplicaEnabled() {
+        return replica != null;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSourceRoutingMetricsDto getMetrics() {
+        return new DataSourceRoutingMetricsDto(
+                isReplicaEnabled(),
+                lagMonitor != null && lagMonitor.isAvailable(),
+                lagMonitor != null ? lagMonitor.getLagMillis() : -1,
+                lagMonitor != null ? lagMonitor.getMaxLagMillis() : -1,
+                routed.get(DataSourceRoute.PRIMARY).sum(),
+                routed.get(DataSourceRoute.REPLICA).sum(),
+                fallbacks.sum()
+        );
+    }
+
+    /**
+     * Останавливает проверку реплики и закрывает её пул. Основной пул закрывается отдельно.
+     */
+    @Override
+    public void close() throws SQLException {
+        if (replica == null) {
+            return;
+        }
+        lagMonitor.close();
+        if (replica.isWrapperFor(Closeable.class)) {
+            try {
+                replica.unwrap(Closeable.class).close();
+            } catch (IOException e) {
+                throw new SQLException("Failed to close replica pool", e);
+            }
+        }
+    }
+}
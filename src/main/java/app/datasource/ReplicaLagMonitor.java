@@ -0,0 +1,113 @@
+package app.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Периодически проверяет доступность реплики и её отставание от основной базы.
+ * <p>
+ * Отставание считается по времени последней применённой транзакции. Если реплика применила всё,
+ * что получила, отставание равно нулю, даже когда на основной базе давно не было записей.
+ * До первой успешной проверки и после любой ошибки реплика считается недоступной, и чтение
+ * остаётся на основной базе.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END::bigint
+            """;
+
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final long checkIntervalMillis;
+
+    private volatile boolean available;
+    private volatile long lagMillis = -1;
+    private volatile ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource replica, long maxLagMillis, long checkIntervalMillis) {
+        if (checkIntervalMillis < 1) {
+            throw new IllegalArgumentException("Lag check interval must be positive: " + checkIntervalMillis);
+        }
+        this.replica = replica;
+        this.maxLagMillis = maxLagMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Одна проверка реплики. Вызывается планировщиком, в тестах - напрямую.
+     */
+    public void check() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_SQL)) {
+            rs.next();
+            lagMillis = rs.getLong(1);
+            if (!available) {
+                log.info("Replica is available, lag {} ms", lagMillis);
+            }
+            available = true;
+        } catch (Exception e) {
+            if (available) {
+                log.warn("Replica is unavailable, reads go to primary: {}", e.getMessage());
+            }
+            available = false;
+        }
+    }
+
+    /**
+     * Реплика отвечает и отстаёт не больше допустимого.
+     */
+    public boolean isUsable() {
+        return available && lagMillis <= maxLagMillis;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * @return отставание по последней успешной проверке, -1 если проверок ещё не было
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
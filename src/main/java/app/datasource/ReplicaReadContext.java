@@ -0,0 +1,37 @@
+package app.datasource;
+
+/**
+ * Признак того, что текущий вызов готов читать с реплики.
+ * <p>
+ * Выставляется аспектом {@link app.aspect.replica.ReplicaReadAspect} на время метода, помеченного
+ * {@link app.aspect.replica.ReplicaRead}, и снимается после него. Сам признак соединение не выбирает:
+ * {@link ReadWriteRoutingDataSource} учитывает его только внутри транзакции только для чтения.
+ */
+public final class ReplicaReadContext {
+
+    private static final ThreadLocal<Boolean> replicaRead = new ThreadLocal<>();
+
+    private ReplicaReadContext() {
+    }
+
+    /**
+     * @return предыдущее значение, которое нужно передать в {@link #restore(boolean)}
+     */
+    public static boolean request() {
+        boolean previous = isRequested();
+        replicaRead.set(Boolean.TRUE);
+        return previous;
+    }
+
+    public static void restore(boolean previous) {
+        if (previous) {
+            replicaRead.set(Boolean.TRUE);
+        } else {
+            replicaRead.remove();
+        }
+    }
+
+    public static boolean isRequested() {
+        return Boolean.TRUE.equals(replicaRead.get());
+    }
+}
@@ -1,15 +1,12 @@
 package app.dto.finance;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
 
 public record CreateFinanceDto(
         BigDecimal monthlyBudget,
         BigDecimal savingsGoal,
         BigDecimal currentSavings,
-        BigDecimal totalExpenses,
-        List<Long> transactionsId
+        BigDecimal totalExpenses
 ) {
     public static Builder builder() {
         return new Builder();
@@ -20,7 +17,6 @@ public record CreateFinanceDto(
         private BigDecimal savingsGoal = BigDecimal.ZERO;
         private BigDecimal currentSavings = BigDecimal.ZERO;
         private BigDecimal totalExpenses = BigDecimal.ZERO;
-        private List<Long> transactionsId = new ArrayList<>();
 
         public Builder monthlyBudget(BigDecimal monthlyBudget) {
             this.monthlyBudget = monthlyBudget;
@@ -42,13 +38,9 @@ public record CreateFinanceDto(
             return this;
         }
 
-        public Builder transactionsId(List<Long> transactionsId) {
-            this.transactionsId = transactionsId;
-            return this;
-        }
 
         public CreateFinanceDto build() {
-            return new CreateFinanceDto(monthlyBudget, savingsGoal, currentSavings, totalExpenses, transactionsId);
+            return new CreateFinanceDto(monthlyBudget, savingsGoal, currentSavings, totalExpenses);
         }
     }
 }
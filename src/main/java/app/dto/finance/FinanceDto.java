@@ -1,16 +1,13 @@
 package app.dto.finance;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
 
 public record FinanceDto(
         Long id,
         BigDecimal monthlyBudget,
         BigDecimal savingsGoal,
         BigDecimal currentSavings,
-        BigDecimal totalExpenses,
-        List<Long> transactionsId
+        BigDecimal totalExpenses
 ) {
     public static Builder builder() {
         return new Builder();
@@ -22,7 +19,6 @@ public record FinanceDto(
         private BigDecimal savingsGoal = BigDecimal.ZERO;
         private BigDecimal currentSavings = BigDecimal.ZERO;
         private BigDecimal totalExpenses = BigDecimal.ZERO;
-        private List<Long> transactionsId = new ArrayList<>();
 
         public Builder id(Long id) {
             this.id = id;
@@ -49,13 +45,9 @@ public record FinanceDto(
             return this;
         }
 
-        public Builder transactionsId(List<Long> transactionsId) {
-            this.transactionsId = transactionsId;
-            return this;
-        }
 
         public FinanceDto build() {
-            return new FinanceDto(id, monthlyBudget, savingsGoal, currentSavings, totalExpenses, transactionsId);
+            return new FinanceDto(id, monthlyBudget, savingsGoal, currentSavings, totalExpenses);
         }
     }
 }
@@ -1,16 +1,13 @@
 package app.dto.finance;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
 
 public record UpdateFinanceDto(
         Long id,
         BigDecimal monthlyBudget,
         BigDecimal savingsGoal,
         BigDecimal currentSavings,
-        BigDecimal totalExpenses,
-        List<Long> transactionsId
+        BigDecimal totalExpenses
 ) {
     public static Builder builder() {
         return new Builder();
@@ -22,7 +19,6 @@ public record UpdateFinanceDto(
         private BigDecimal savingsGoal = BigDecimal.ZERO;
         private BigDecimal currentSavings = BigDecimal.ZERO;
         private BigDecimal totalExpenses = BigDecimal.ZERO;
-        private List<Long> transactionsId = new ArrayList<>();
 
         public Builder id(Long id) {
             this.id = id;
@@ -49,13 +45,9 @@ public record UpdateFinanceDto(
             return this;
         }
 
-        public Builder transactionsId(List<Long> transactionsId) {
-            this.transactionsId = transactionsId != null ? transactionsId : new ArrayList<>();
-            return this;
-        }
 
         public UpdateFinanceDto build() {
-            return new UpdateFinanceDto(id, monthlyBudget, savingsGoal, currentSavings, totalExpenses, transactionsId);
+            return new UpdateFinanceDto(id, monthlyBudget, savingsGoal, currentSavings, totalExpenses);
         }
     }
 }
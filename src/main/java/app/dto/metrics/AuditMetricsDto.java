@@ -0,0 +1,13 @@
+package app.dto.metrics;
+
+public record AuditMetricsDto(
+        int queued,
+        int capacity,
+        long enqueued,
+        long written,
+        long dropped,
+        long failed,
+        HistogramDto writeTime,
+        HistogramDto delay
+) {
+}
@@ -0,0 +1,12 @@
+package app.dto.metrics;
+
+public record AuthCacheMetricsDto(
+        int size,
+        int maxSize,
+        long ttlSeconds,
+        long hits,
+        long misses,
+        long evictions,
+        double hitRate
+) {
+}
@@ -0,0 +1,12 @@
+package app.dto.metrics;
+
+public record DataSourceRoutingMetricsDto(
+        boolean replicaEnabled,
+        boolean replicaAvailable,
+        long replicaLagMillis,
+        long maxReplicaLagMillis,
+        long primaryConnections,
+        long replicaConnections,
+        long replicaFallbacks
+) {
+}
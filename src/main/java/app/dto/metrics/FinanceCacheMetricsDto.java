@@ -0,0 +1,14 @@
+package app.dto.metrics;
+
+public record FinanceCacheMetricsDto(
+        int size,
+        int maxSize,
+        long ttlSeconds,
+        long requestHits,
+        long hits,
+        long misses,
+        long evictions,
+        long rejectedWrites,
+        double hitRate
+) {
+}
@@ -0,0 +1,18 @@
+package app.dto.metrics;
+
+import java.util.Map;
+
+/**
+ * Сводка гистограммы длительностей, значения в миллисекундах.
+ * buckets содержит накопленное количество замеров, не превышающих границу.
+ */
+public record HistogramDto(
+        long count,
+        double mean,
+        double p50,
+        double p90,
+        double p99,
+        double max,
+        Map<String, Long> buckets
+) {
+}
@@ -0,0 +1,9 @@
+package app.dto.metrics;
+
+public record MethodMetricsDto(
+        String className,
+        String methodName,
+        long errors,
+        HistogramDto latency
+) {
+}
@@ -0,0 +1,16 @@
+package app.dto.metrics;
+
+public record PoolMetricsDto(
+        String poolName,
+        int totalConnections,
+        int activeConnections,
+        int idleConnections,
+        int pendingThreads,
+        int maxConnections,
+        int minConnections,
+        long connectionTimeouts,
+        HistogramDto acquireTime,
+        HistogramDto usageTime,
+        HistogramDto creationTime
+) {
+}
@@ -0,0 +1,31 @@
+package app.dto.report;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Состояние месячного бюджета на дату.
+ *
+ * @param remainingBudget        остаток бюджета, отрицательный при превышении
+ * @param burnRatePerDay         средние расходы в день за последние {@code windowDays} дней
+ * @param projectedMonthSpend    расходы к концу месяца при текущей скорости трат
+ * @param projectedOverspendDate день, когда бюджет будет превышен при текущей скорости трат;
+ *                               null, если до конца месяца этого не произойдёт
+ */
+public record BudgetStatusDto(
+        Long financeId,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+        LocalDate date,
+        BigDecimal monthlyBudget,
+        BigDecimal spentThisMonth,
+        BigDecimal remainingBudget,
+        boolean exceeded,
+        int windowDays,
+        BigDecimal burnRatePerDay,
+        BigDecimal projectedMonthSpend,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+        LocalDate projectedOverspendDate
+) {
+}
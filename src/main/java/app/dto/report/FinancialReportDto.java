@@ -0,0 +1,32 @@
+package app.dto.report;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * Финансовый отчёт за месяцы [from, to] включительно.
+ *
+ * @param progressTowardsGoal процент текущих накоплений от цели
+ * @param netIncome           доходы минус расходы за период
+ * @param expensesByCategory  расходы по категориям, по убыванию суммы
+ */
+public record FinancialReportDto(
+        Long financeId,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM")
+        YearMonth from,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM")
+        YearMonth to,
+        BigDecimal currentSavings,
+        BigDecimal savingsGoal,
+        Double progressTowardsGoal,
+        BigDecimal monthlyBudget,
+        BigDecimal totalProfit,
+        BigDecimal totalExpenses,
+        BigDecimal netIncome,
+        long transactionCount,
+        Map<String, BigDecimal> expensesByCategory
+) {
+}
@@ -1,10 +1,19 @@
 package app.dto.transaction;
 
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 
+/**
+ * Критерии фильтрации транзакций. Все поля необязательны: незаполненные критерии не ограничивают выборку.
+ * Тип 'INCOME' принимается как синоним 'PROFIT'.
+ */
 public record FilterTransactionDto(
 
         Instant startDate,
@@ -14,9 +23,28 @@ public record FilterTransactionDto(
         String category,
 
         @Pattern(
-                regexp = "^(INCOME|EXPENSE)?$",
-                message = "Тип транзакции должен быть 'INCOME', 'EXPENSE' или пустым"
+                regexp = "^(INCOME|PROFIT|EXPENSE)?$",
+                message = "Тип транзакции должен быть 'INCOME', 'PROFIT', 'EXPENSE' или пустым"
         )
-        String typeTransaction
+        String typeTransaction,
+
+        @Size(max = 50, message = "Можно указать не более 50 категорий")
+        List<@Size(max = 100, message = "Категория должна содержать не более 100 символов") String> categories,
+
+        @DecimalMin(value = "0", message = "Минимальная сумма не может быть отрицательной")
+        BigDecimal minAmount,
+
+        @DecimalMin(value = "0", message = "Максимальная сумма не может быть отрицательной")
+        BigDecimal maxAmount,
+
+        TransactionSort sort,
+
+        @Min(value = 1, message = "Лимит должен быть больше 0")
+        @Max(value = 1000, message = "Лимит не может превышать 1000")
+        Integer limit
 ) {
-}
\ No newline at end of file
+
+    public FilterTransactionDto(Instant startDate, Instant endDate, String category, String typeTransaction) {
+        this(startDate, endDate, category, typeTransaction, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,13 @@
+package app.dto.transaction;
+
+/**
+ * Ошибка строки импорта.
+ *
+ * @param row     номер строки, начиная с 1 (для CSV - без учёта заголовка)
+ * @param message описание ошибки
+ */
+public record ImportErrorDto(
+        int row,
+        String message
+) {
+}
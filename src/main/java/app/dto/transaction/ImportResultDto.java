@@ -0,0 +1,20 @@
+package app.dto.transaction;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Результат импорта транзакций.
+ *
+ * @param total         количество строк во входных данных
+ * @param imported      количество сохранённых транзакций
+ * @param savingsChange изменение текущих накоплений
+ * @param errors        ошибки по строкам
+ */
+public record ImportResultDto(
+        int total,
+        int imported,
+        BigDecimal savingsChange,
+        List<ImportErrorDto> errors
+) {
+}
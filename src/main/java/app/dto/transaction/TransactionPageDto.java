@@ -0,0 +1,15 @@
+package app.dto.transaction;
+
+import java.util.List;
+
+/**
+ * Страница транзакций.
+ *
+ * @param items      транзакции страницы
+ * @param nextCursor токен следующей страницы, null если страница последняя
+ */
+public record TransactionPageDto(
+        List<TransactionDto> items,
+        String nextCursor
+) {
+}
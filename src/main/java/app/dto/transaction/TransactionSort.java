@@ -0,0 +1,28 @@
+package app.dto.transaction;
+
+/**
+ * Порядок выдачи отфильтрованных транзакций. При равных значениях строки
+ * дополнительно упорядочиваются по id, чтобы порядок был стабильным.
+ */
+public enum TransactionSort {
+    DATE_DESC("date", "DESC"),
+    DATE_ASC("date", "ASC"),
+    AMOUNT_DESC("amount", "DESC"),
+    AMOUNT_ASC("amount", "ASC");
+
+    private final String column;
+    private final String direction;
+
+    TransactionSort(String column, String direction) {
+        this.column = column;
+        this.direction = direction;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+}
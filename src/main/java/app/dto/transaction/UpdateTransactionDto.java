@@ -2,6 +2,9 @@ package app.dto.transaction;
 
 import app.entity.TypeTransaction;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
 
 import java.math.BigDecimal;
@@ -12,6 +15,8 @@ public record UpdateTransactionDto(
 
         @NotNull(message = "ID не может быть пустым")
         @Positive(message = "ID должен быть положительным числом")
+        @JsonSerialize(using = ToStringSerializer.class)
+        @Schema(type = "string", format = "int64", description = "Больше 2^53, поэтому передаётся строкой")
         Long id,
 
         @NotNull(message = "Сумма не может быть пустой")
@@ -0,0 +1,20 @@
+package app.entity;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Месячный бюджет и расходы, прочитанные из дневных агрегатов.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetUsage {
+
+    private BigDecimal monthlyBudget;
+    private BigDecimal monthExpenses;
+    private BigDecimal windowExpenses;
+}
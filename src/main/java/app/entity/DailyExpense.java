@@ -0,0 +1,23 @@
+package app.entity;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Расходы финансов за день. При обновлении используется как приращение,
+ * как и {@link TransactionSummary}.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyExpense {
+
+    private Long financeId;
+    private LocalDate day;
+    private BigDecimal total;
+    private long transactionCount;
+}
@@ -3,8 +3,6 @@ package app.entity;
 import org.springframework.data.annotation.Id;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
 
 //@SequenceGenerator(name = "finance_seq", sequenceName = "finance_id_seq", allocationSize = 1)
 public class Finance {
@@ -16,23 +14,21 @@ public class Finance {
     private BigDecimal savingsGoal;
     private BigDecimal currentSavings;
     private BigDecimal totalExpenses;
-    private List<Long> transactionsId;
+    private long version;
 
     public Finance() {
-        transactionsId = new ArrayList<>();
         monthlyBudget = BigDecimal.ZERO;
         savingsGoal = BigDecimal.ZERO;
         currentSavings = BigDecimal.ZERO;
         totalExpenses = BigDecimal.ZERO;
     }
 
-    public Finance(Long id, BigDecimal monthlyBudget, BigDecimal savingsGoal, BigDecimal currentSavings, BigDecimal totalExpenses, List<Long> transactionsId) {
+    public Finance(Long id, BigDecimal monthlyBudget, BigDecimal savingsGoal, BigDecimal currentSavings, BigDecimal totalExpenses) {
         this.id = id;
         this.monthlyBudget = monthlyBudget;
         this.savingsGoal = savingsGoal;
         this.currentSavings = currentSavings;
         this.totalExpenses = totalExpenses;
-        this.transactionsId = transactionsId;
     }
 
     public Long getId() {
@@ -43,14 +39,6 @@ public class Finance {
         this.id = id;
     }
 
-    public List<Long> getTransactionsId() {
-        return transactionsId;
-    }
-
-    public void setTransactionsId(List<Long> transactionsId) {
-        this.transactionsId = transactionsId;
-    }
-
     public BigDecimal getMonthlyBudget() {
         return monthlyBudget;
     }
@@ -83,13 +71,23 @@ public class Finance {
         this.totalExpenses = totalExpenses;
     }
 
+    /**
+     * Версия строки в базе, увеличивается каждым изменением.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public static class Builder {
         private Long id;
         private BigDecimal monthlyBudget = BigDecimal.ZERO;
         private BigDecimal savingsGoal = BigDecimal.ZERO;
         private BigDecimal currentSavings = BigDecimal.ZERO;
         private BigDecimal totalExpenses = BigDecimal.ZERO;
-        private List<Long> transactionsId = new ArrayList<>();
 
         public Builder id(Long id) {
             this.id = id;
@@ -116,13 +114,8 @@ public class Finance {
             return this;
         }
 
-        public Builder transactionsId(List<Long> transactionsId) {
-            this.transactionsId = transactionsId;
-            return this;
-        }
-
         public Finance build() {
-            return new Finance(id, monthlyBudget, savingsGoal, currentSavings, totalExpenses, transactionsId);
+            return new Finance(id, monthlyBudget, savingsGoal, currentSavings, totalExpenses);
         }
     }
 }
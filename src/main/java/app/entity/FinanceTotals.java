@@ -0,0 +1,20 @@
+package app.entity;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Финансы вместе с агрегатами транзакций за период, сгруппированными по типу и категории.
+ * Поле month у агрегатов не заполняется.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinanceTotals {
+
+    private Finance finance;
+    private List<TransactionSummary> summaries;
+}
@@ -0,0 +1,25 @@
+package app.entity;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Агрегат транзакций за месяц по категории и типу.
+ * При обновлении используется как приращение: total и transactionCount могут быть отрицательными.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSummary {
+
+    private Long financeId;
+    private LocalDate month;
+    private String category;
+    private TypeTransaction typeTransaction;
+    private BigDecimal total;
+    private long transactionCount;
+}
@@ -0,0 +1,10 @@
+package app.exception.db;
+
+/**
+ * UPDATE не затронул строку: её нет или версия в базе уже изменилась.
+ */
+public class ErrorStaleVersionSqlException extends ErrorUpdateSqlException {
+    public ErrorStaleVersionSqlException(String message) {
+        super(message);
+    }
+}
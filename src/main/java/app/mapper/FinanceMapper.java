@@ -5,9 +5,15 @@ import app.dto.finance.CreateFinanceDto;
 import app.dto.finance.FinanceDto;
 import app.entity.Finance;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface FinanceMapper extends BaseMapper<Finance, FinanceDto> {
 
+    @Override
+    @Mapping(target = "version", ignore = true)
+    Finance toEntity(FinanceDto dto);
+
+    @Mapping(target = "version", ignore = true)
     Finance toEntity(CreateFinanceDto dto);
 }
@@ -0,0 +1,119 @@
+package app.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма длительностей в наносекундах с лог-линейными корзинами.
+ * <p>
+ * Каждая степень двойки делится на {@value #SUB_BUCKETS} равных корзин, поэтому
+ * относительная погрешность перцентилей не превышает 12.5%. Запись значения не
+ * блокирует потоки и не создаёт объектов.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 42;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Возвращает верхнюю границу корзины, в которую попадает заданный перцентиль.
+     *
+     * @param quantile значение от 0 до 1
+     * @return оценка перцентиля в наносекундах, 0 если записей нет
+     */
+    public long percentile(double quantile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank && seen > 0) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Количество записей, не превышающих заданное значение (с точностью до корзины).
+     */
+    public long countAtMost(long nanos) {
+        int last = indexOf(Math.max(nanos, 0));
+        long seen = 0;
+        for (int i = 0; i <= last; i++) {
+            seen += buckets.get(i);
+        }
+        return seen;
+    }
+
+    public Snapshot snapshot() {
+        long total = getCount();
+        return new Snapshot(
+                total,
+                total == 0 ? 0 : getSum() / total,
+                percentile(0.5),
+                percentile(0.9),
+                percentile(0.99),
+                getMax()
+        );
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+
+    /**
+     * Сводка гистограммы, все значения в наносекундах.
+     */
+    public record Snapshot(long count, long mean, long p50, long p90, long p99, long max) {
+    }
+}
@@ -0,0 +1,39 @@
+package app.metrics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реестр таймеров методов сервисов. Поиск таймера уже вызывавшегося метода
+ * не создаёт объектов и не берёт блокировок. Перегруженные методы учитываются вместе.
+ */
+@Component
+public class MethodMetricsRegistry {
+
+    private final Map<Class<?>, Map<String, MethodTimer>> timers = new ConcurrentHashMap<>();
+
+    public MethodTimer timer(Class<?> targetClass, String methodName) {
+        Map<String, MethodTimer> byMethod = timers.get(targetClass);
+        if (byMethod == null) {
+            byMethod = timers.computeIfAbsent(targetClass, type -> new ConcurrentHashMap<>());
+        }
+        MethodTimer timer = byMethod.get(methodName);
+        if (timer == null) {
+            timer = byMethod.computeIfAbsent(methodName,
+                    name -> new MethodTimer(ClassUtils.getUserClass(targetClass).getSimpleName(), name));
+        }
+        return timer;
+    }
+
+    public List<MethodTimer> getTimers() {
+        return timers.values().stream()
+                .flatMap(byMethod -> byMethod.values().stream())
+                .sorted(Comparator.comparing(MethodTimer::getClassName).thenComparing(MethodTimer::getMethodName))
+                .toList();
+    }
+}
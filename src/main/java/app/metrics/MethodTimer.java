@@ -0,0 +1,43 @@
+package app.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Время выполнения и число ошибок одного метода сервиса.
+ */
+public class MethodTimer {
+
+    private final String className;
+    private final String methodName;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    public MethodTimer(String className, String methodName) {
+        this.className = className;
+        this.methodName = methodName;
+    }
+
+    public void record(long nanos) {
+        latency.record(nanos);
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+}
@@ -0,0 +1,70 @@
+package app.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Метрики одного пула соединений: состояние пула берётся из {@link PoolStats},
+ * время ожидания и удержания соединений копится в гистограммах.
+ */
+public class PoolMetricsTracker implements IMetricsTracker {
+
+    private final String poolName;
+    private final PoolStats poolStats;
+    private final LatencyHistogram acquireTime = new LatencyHistogram();
+    private final LatencyHistogram usageTime = new LatencyHistogram();
+    private final LatencyHistogram creationTime = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+
+    public PoolMetricsTracker(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+    }
+
+    @Override
+    public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+        creationTime.record(TimeUnit.MILLISECONDS.toNanos(connectionCreatedMillis));
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquireTime.record(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usageTime.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public PoolStats getPoolStats() {
+        return poolStats;
+    }
+
+    public LatencyHistogram getAcquireTime() {
+        return acquireTime;
+    }
+
+    public LatencyHistogram getUsageTime() {
+        return usageTime;
+    }
+
+    public LatencyHistogram getCreationTime() {
+        return creationTime;
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+}
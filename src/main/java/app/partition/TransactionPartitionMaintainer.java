@@ -0,0 +1,109 @@
+package app.partition;
+
+import app.repository.TransactionPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Периодически обслуживает месячные секции business.transactions.
+ * <p>
+ * Заранее создаёт секции текущего и следующих месяцев, чтобы новые транзакции не попадали
+ * в секцию по умолчанию. Если строки там всё же оказались (например, импорт за прошлые годы),
+ * для их месяцев создаются секции, и строки переносятся туда. Секции старше срока хранения
+ * отсоединяются и переносятся в схему archive; при сроке 0 секции не архивируются.
+ */
+public class TransactionPartitionMaintainer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionMaintainer.class);
+
+    private final TransactionPartitionRepository partitionRepository;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final long checkIntervalMillis;
+    private final Clock clock;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public TransactionPartitionMaintainer(TransactionPartitionRepository partitionRepository, int monthsAhead,
+                                          int retentionMonths, long checkIntervalMillis) {
+        this(partitionRepository, monthsAhead, retentionMonths, checkIntervalMillis, Clock.systemUTC());
+    }
+
+    public TransactionPartitionMaintainer(TransactionPartitionRepository partitionRepository, int monthsAhead,
+                                          int retentionMonths, long checkIntervalMillis, Clock clock) {
+        if (monthsAhead < 0) {
+            throw new IllegalArgumentException("Months ahead must not be negative: " + monthsAhead);
+        }
+        if (retentionMonths < 0) {
+            throw new IllegalArgumentException("Retention months must not be negative: " + retentionMonths);
+        }
+        if (checkIntervalMillis < 1) {
+            throw new IllegalArgumentException("Partition check interval must be positive: " + checkIntervalMillis);
+        }
+        this.partitionRepository = partitionRepository;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.clock = clock;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "transaction-partition-maintainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Один проход обслуживания. Вызывается планировщиком, в тестах - напрямую.
+     */
+    public void runOnce() {
+        YearMonth current = YearMonth.now(clock);
+        for (int i = 0; i <= monthsAhead; i++) {
+            create(current.plusMonths(i));
+        }
+        for (YearMonth month : partitionRepository.findMonthsInDefaultPartition()) {
+            create(month);
+        }
+        if (retentionMonths > 0) {
+            List<String> archived = partitionRepository.archiveBefore(current.minusMonths(retentionMonths));
+            if (!archived.isEmpty()) {
+                log.info("Transactions partitions moved to archive: {}", archived);
+            }
+        }
+    }
+
+    private void create(YearMonth month) {
+        if (partitionRepository.createMonth(month)) {
+            log.info("Transactions partition created for {}", month);
+        }
+    }
+
+    private void runSafely() {
+        try {
+            runOnce();
+        } catch (Exception e) {
+            log.warn("Transactions partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
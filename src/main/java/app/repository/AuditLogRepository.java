@@ -0,0 +1,15 @@
+package app.repository;
+
+import app.audit.AuditEvent;
+
+import java.util.List;
+
+public interface AuditLogRepository {
+
+    /**
+     * Сохраняет события аудита одним пакетом.
+     */
+    void saveAll(List<AuditEvent> events);
+
+    long count();
+}
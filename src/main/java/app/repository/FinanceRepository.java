@@ -2,6 +2,21 @@ package app.repository;
 
 import app.entity.Finance;
 
+import java.math.BigDecimal;
+import java.util.Optional;
+
 public interface FinanceRepository extends BaseRepository<Finance, Long> {
 
+    /**
+     * Читает финансы и блокирует строку до конца текущей транзакции (SELECT ... FOR UPDATE).
+     * Конкурирующие изменения накоплений ждут её завершения. Вне транзакции блокировка снимается сразу.
+     */
+    Optional<Finance> findByIdForUpdate(Long id);
+
+    /**
+     * Изменяет текущие накопления одним UPDATE без чтения строки.
+     *
+     * @return true, если строка финансов найдена
+     */
+    boolean addToCurrentSavings(Long id, BigDecimal delta);
 }
@@ -0,0 +1,29 @@
+package app.repository;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Секции таблицы business.transactions по месяцам.
+ */
+public interface TransactionPartitionRepository {
+
+    /**
+     * Создаёт секцию месяца. Строки этого месяца из секции по умолчанию переносятся в неё.
+     *
+     * @return false, если секция уже существует
+     */
+    boolean createMonth(YearMonth month);
+
+    /**
+     * Месяцы, строки которых лежат в секции по умолчанию, потому что для них нет своей секции.
+     */
+    List<YearMonth> findMonthsInDefaultPartition();
+
+    /**
+     * Отсоединяет секции месяцев до {@code month} (не включая его) и переносит их в схему archive.
+     *
+     * @return имена перенесённых секций
+     */
+    List<String> archiveBefore(YearMonth month);
+}
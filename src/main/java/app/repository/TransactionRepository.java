@@ -2,17 +2,86 @@ package app.repository;
 
 import app.entity.Transaction;
 import app.entity.TypeTransaction;
+import app.repository.criteria.TransactionCriteria;
 
 import java.time.Instant;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+/**
+ * Таблица транзакций секционирована по (date, finance_id). Запросы только по id
+ * ({@link #findById}, {@link #deleteById}, {@link #save} существующей транзакции) не выбирают
+ * секцию и проверяют индекс каждой; там, где дата и финансы известны, используются методы
+ * с полным ключом: {@link #delete(Object)} и {@link #update(Transaction, Instant)}.
+ */
 public interface TransactionRepository extends BaseRepository<Transaction, Long> {
 
     void deleteById(Long id);
 
+    /**
+     * Обновляет транзакцию по полному ключу (id, finance_id, previousDate). Если дата изменилась,
+     * строка переносится в секцию нового месяца.
+     *
+     * @param previousDate дата транзакции до изменения
+     */
+    Transaction update(Transaction transaction, Instant previousDate);
+
+    /**
+     * Сохраняет новые транзакции пакетом. Идентификаторы присваиваются сущностям до записи.
+     * Пакет записывается целиком или не записывается вовсе.
+     */
+    void saveAll(List<Transaction> transactions);
+
+    /**
+     * Сохраняет новую транзакцию и одним запросом изменяет текущие накопления её финансов.
+     * Расход списывается, только если накоплений хватает; проверка и списание выполняются
+     * в базе под блокировкой строки финансов, поэтому параллельные операции не теряют изменений.
+     *
+     * @return сохранённая транзакция с идентификатором или пустой результат, если финансы
+     * не найдены или накоплений недостаточно
+     */
+    Optional<Transaction> saveWithSavingsChange(Transaction transaction);
+
+    /**
+     * Все транзакции финансов в порядке (date DESC, id DESC).
+     */
     List<Transaction> findByFinanceId(Long id);
 
-    List<Transaction> getFilteredTransactions(Long financeId, Instant startDate, Instant endDate, String category, String typeTransaction);
+    /**
+     * Проверяет, что транзакция принадлежит финансам, не загружая их транзакции.
+     * Дата не известна, поэтому проверяются hash-секции финансов во всех месяцах.
+     */
+    boolean existsByIdAndFinanceId(Long id, Long financeId);
+
+    /**
+     * Страница транзакций в порядке (date DESC, id DESC), начиная после позиции (afterDate, afterId).
+     * Если позиция не задана, возвращается первая страница.
+     */
+    List<Transaction> findPageByFinanceId(Long financeId, Instant afterDate, Long afterId, int limit);
+
+    /**
+     * Передаёт транзакции в consumer по одной, читая их через курсор на стороне сервера.
+     * Транзакции не накапливаются в памяти, порядок - (date, id). Пустые границы периода не ограничивают выборку.
+     */
+    void streamByFinanceId(Long financeId, Instant from, Instant to, Consumer<Transaction> consumer);
+
+    /**
+     * Транзакции, удовлетворяющие критериям, в заданном порядке и не более заданного лимита.
+     */
+    List<Transaction> findByCriteria(TransactionCriteria criteria);
 
     void deleteAllByFinanceId(Long financeId);
+
+    /**
+     * Сумма транзакций заданного типа за период [from, to). Пустые границы не ограничивают период.
+     */
+    BigDecimal sumAmount(Long financeId, TypeTransaction typeTransaction, Instant from, Instant to);
+
+    /**
+     * Суммы транзакций заданного типа за период [from, to), сгруппированные по категории.
+     */
+    Map<String, BigDecimal> sumAmountByCategory(Long financeId, TypeTransaction typeTransaction, Instant from, Instant to);
 }
@@ -0,0 +1,69 @@
+package app.repository;
+
+import app.entity.BudgetUsage;
+import app.entity.DailyExpense;
+import app.entity.FinanceTotals;
+import app.entity.TransactionSummary;
+import app.entity.TypeTransaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface TransactionSummaryRepository {
+
+    /**
+     * Прибавляет приращения к агрегатам, создавая отсутствующие строки.
+     */
+    void applyAll(List<TransactionSummary> deltas);
+
+    /**
+     * Прибавляет приращения к дневным расходам, создавая отсутствующие строки.
+     */
+    void applyDailyExpenses(List<DailyExpense> deltas);
+
+    /**
+     * Месячный бюджет, расходы за дни [monthStart, today] и за окно [windowStart, today] одним запросом.
+     * Читается не больше одной строки дневных расходов на день окна, независимо от числа транзакций.
+     *
+     * @return пусто, если финансов с таким id нет
+     */
+    Optional<BudgetUsage> findBudgetUsage(Long financeId, LocalDate monthStart, LocalDate windowStart, LocalDate today);
+
+    /**
+     * Количество транзакций финансов по агрегатам, без обращения к business.transactions.
+     */
+    long countTransactions(Long financeId);
+
+    /**
+     * Сумма по типу за месяцы [fromMonth, toMonth] включительно. Пустые границы не ограничивают период.
+     */
+    BigDecimal sumTotal(Long financeId, TypeTransaction typeTransaction, LocalDate fromMonth, LocalDate toMonth);
+
+    Map<String, BigDecimal> sumTotalByCategory(Long financeId, TypeTransaction typeTransaction, LocalDate fromMonth, LocalDate toMonth);
+
+    /**
+     * Одним запросом читает строку финансов и суммы агрегатов за месяцы [fromMonth, toMonth]
+     * по типу и категории. Объём чтения зависит от числа месяцев и категорий, а не транзакций.
+     *
+     * @return пусто, если финансов с таким id нет
+     */
+    Optional<FinanceTotals> findFinanceTotals(Long financeId, LocalDate fromMonth, LocalDate toMonth);
+
+    /**
+     * Пересчитывает помесячные агрегаты и дневные расходы финансов из business.transactions.
+     * Блокирует строку финансов FOR UPDATE до конца транзакции, поэтому приращения той же
+     * финансовой записи ждут завершения пересчёта. Вызывать внутри транзакции.
+     *
+     * @return количество записанных строк агрегатов
+     */
+    int rebuild(Long financeId);
+
+    /**
+     * Пересчитывает агрегаты всех финансов под блокировкой таблиц агрегатов до конца транзакции.
+     * Вызывать внутри транзакции.
+     */
+    int rebuildAll();
+}
@@ -9,4 +9,11 @@ public interface UserRepository extends BaseRepository<User, Long> {
     boolean existsByEmail(String email);
 
     Optional<User> findByEmail(String email);
+
+    /**
+     * Атомарно занимает право стать первым администратором. Возвращает true ровно один раз
+     * за всё время жизни базы; конкурентные регистрации ждут фиксации транзакции, занявшей право.
+     * Откат этой транзакции освобождает право.
+     */
+    boolean claimBootstrapAdmin();
 }
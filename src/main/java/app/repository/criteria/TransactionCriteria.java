@@ -0,0 +1,235 @@
+package app.repository.criteria;
+
+import app.dto.transaction.TransactionSort;
+import app.entity.TypeTransaction;
+import app.repository.jdbc.TransactionRowMapper;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Типизированные критерии выборки транзакций одного финансового счёта.
+ * <p>
+ * Текст SQL зависит только от набора заданных критериев, типа и порядка сортировки,
+ * поэтому для каждой комбинации он строится один раз и берётся из кэша. Одинаковый текст
+ * позволяет драйверу переиспользовать серверные подготовленные выражения. Список категорий
+ * передаётся одним параметром-массивом, так что его длина не меняет текст запроса.
+ */
+public final class TransactionCriteria {
+
+    public static final int MAX_LIMIT = 1000;
+
+    private static final int HAS_FROM = 1;
+    private static final int HAS_TO = 1 << 1;
+    private static final int HAS_CATEGORIES = 1 << 2;
+    private static final int HAS_MIN_AMOUNT = 1 << 3;
+    private static final int HAS_MAX_AMOUNT = 1 << 4;
+    private static final int TYPE_SHIFT = 5;
+    private static final int SORT_SHIFT = 7;
+
+    private static final Map<Integer, String> SQL_CACHE = new ConcurrentHashMap<>();
+
+    private final Long financeId;
+    private final Instant from;
+    private final Instant to;
+    private final List<String> categories;
+    private final TypeTransaction typeTransaction;
+    private final BigDecimal minAmount;
+    private final BigDecimal maxAmount;
+    private final TransactionSort sort;
+    private final int limit;
+
+    private TransactionCriteria(Builder builder) {
+        this.financeId = builder.financeId;
+        this.from = builder.from;
+        this.to = builder.to;
+        this.categories = List.copyOf(builder.categories);
+        this.typeTransaction = builder.typeTransaction;
+        this.minAmount = builder.minAmount;
+        this.maxAmount = builder.maxAmount;
+        this.sort = builder.sort;
+        this.limit = builder.limit;
+    }
+
+    /**
+     * SQL-запрос для данной комбинации критериев.
+     */
+    public String toSql() {
+        return SQL_CACHE.computeIfAbsent(shape(), key -> buildSql());
+    }
+
+    /**
+     * Привязывает значения заданных критериев в том же порядке, в котором они входят в {@link #toSql()}.
+     */
+    public void bind(PreparedStatement ps) throws SQLException {
+        int index = 1;
+        ps.setLong(index++, financeId);
+        if (from != null) {
+            ps.setTimestamp(index++, Timestamp.from(from));
+        }
+        if (to != null) {
+            ps.setTimestamp(index++, Timestamp.from(to));
+        }
+        if (!categories.isEmpty()) {
+            Array array = ps.getConnection().createArrayOf("varchar", categories.toArray());
+            ps.setArray(index++, array);
+        }
+        if (minAmount != null) {
+            ps.setBigDecimal(index++, minAmount);
+        }
+        if (maxAmount != null) {
+            ps.setBigDecimal(index++, maxAmount);
+        }
+        ps.setInt(index, limit);
+    }
+
+    public Long getFinanceId() {
+        return financeId;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    public TypeTransaction getTypeTransaction() {
+        return typeTransaction;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public TransactionSort getSort() {
+        return sort;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    private int shape() {
+        int shape = 0;
+        if (from != null) shape |= HAS_FROM;
+        if (to != null) shape |= HAS_TO;
+        if (!categories.isEmpty()) shape |= HAS_CATEGORIES;
+        if (minAmount != null) shape |= HAS_MIN_AMOUNT;
+        if (maxAmount != null) shape |= HAS_MAX_AMOUNT;
+        shape |= (typeTransaction == null ? 0 : typeTransaction.ordinal() + 1) << TYPE_SHIFT;
+        shape |= sort.ordinal() << SORT_SHIFT;
+        return shape;
+    }
+
+    private String buildSql() {
+        StringBuilder sql = new StringBuilder("SELECT ").append(TransactionRowMapper.COLUMNS)
+                .append(" FROM business.transactions WHERE finance_id = ?");
+        if (from != null) sql.append(" AND date >= ?");
+        if (to != null) sql.append(" AND date <= ?");
+        if (!categories.isEmpty()) sql.append(" AND category = ANY(?)");
+        // Тип подставляется литералом из enum, чтобы планировщик мог выбрать частичный индекс.
+        if (typeTransaction != null) sql.append(" AND type_transaction = '").append(typeTransaction.name()).append("'");
+        if (minAmount != null) sql.append(" AND amount >= ?");
+        if (maxAmount != null) sql.append(" AND amount <= ?");
+        sql.append(" ORDER BY ").append(sort.getColumn()).append(' ').append(sort.getDirection())
+                .append(", id ").append(sort.getDirection())
+                .append(" LIMIT ?");
+        return sql.toString();
+    }
+
+    public static class Builder {
+        private final Long financeId;
+        private Instant from;
+        private Instant to;
+        private final Set<String> categories = new LinkedHashSet<>();
+        private TypeTransaction typeTransaction;
+        private BigDecimal minAmount;
+        private BigDecimal maxAmount;
+        private TransactionSort sort = TransactionSort.DATE_DESC;
+        private int limit = MAX_LIMIT;
+
+        public Builder(Long financeId) {
+            this.financeId = Objects.requireNonNull(financeId, "financeId");
+        }
+
+        public Builder from(Instant from) {
+            this.from = from;
+            return this;
+        }
+
+        public Builder to(Instant to) {
+            this.to = to;
+            return this;
+        }
+
+        /**
+         * Добавляет категории к списку допустимых; пустые и null значения пропускаются.
+         */
+        public Builder categories(Collection<String> categories) {
+            if (categories != null) {
+                categories.forEach(this::category);
+            }
+            return this;
+        }
+
+        public Builder category(String category) {
+            if (category != null && !category.isBlank()) {
+                this.categories.add(category);
+            }
+            return this;
+        }
+
+        public Builder typeTransaction(TypeTransaction typeTransaction) {
+            this.typeTransaction = typeTransaction;
+            return this;
+        }
+
+        public Builder minAmount(BigDecimal minAmount) {
+            this.minAmount = minAmount;
+            return this;
+        }
+
+        public Builder maxAmount(BigDecimal maxAmount) {
+            this.maxAmount = maxAmount;
+            return this;
+        }
+
+        public Builder sort(TransactionSort sort) {
+            this.sort = sort != null ? sort : TransactionSort.DATE_DESC;
+            return this;
+        }
+
+        /**
+         * Ограничивает количество строк; значение приводится к диапазону [1, {@value #MAX_LIMIT}].
+         */
+        public Builder limit(Integer limit) {
+            this.limit = limit == null ? MAX_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+            return this;
+        }
+
+        public TransactionCriteria build() {
+            return new TransactionCriteria(this);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package app.repository.jdbc;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Основа JDBC-репозиториев таблиц с первичным ключом {@code id}.
+ * <p>
+ * Колонки перечисляются явно, и {@link RowMapper} читает их по позиции в том же порядке.
+ * Тексты запросов собираются один раз, поэтому драйвер получает одну и ту же строку и после
+ * {@code prepareThreshold} выполнений переключается на серверный подготовленный оператор.
+ * Сгенерированный id читается из {@code RETURNING id} как обычный результат, без
+ * {@code RETURN_GENERATED_KEYS} и карты ключей на каждую строку.
+ *
+ * @param <T> тип сущности
+ */
+public abstract class AbstractJdbcRepository<T> {
+
+    protected final JdbcTemplate jdbcTemplate;
+    protected final RowMapper<T> rowMapper;
+
+    /**
+     * {@code SELECT <колонки> FROM <таблица>}, к нему дописываются условия.
+     */
+    protected final String selectSql;
+    protected final String findByIdSql;
+    protected final String deleteByIdSql;
+
+    private final ResultSetExtractor<T> firstRow;
+
+    protected AbstractJdbcRepository(JdbcTemplate jdbcTemplate, String table, String columns, RowMapper<T> rowMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rowMapper = rowMapper;
+        this.selectSql = "SELECT " + columns + " FROM " + table;
+        this.findByIdSql = selectSql + " WHERE id = ?";
+        this.deleteByIdSql = "DELETE FROM " + table + " WHERE id = ?";
+        this.firstRow = rs -> rs.next() ? rowMapper.mapRow(rs, 0) : null;
+    }
+
+    /**
+     * Первая строка результата без промежуточного списка.
+     */
+    protected Optional<T> queryForOptional(String sql, Object... args) {
+        return Optional.ofNullable(jdbcTemplate.query(sql, firstRow, args));
+    }
+
+    protected List<T> queryForList(String sql, Object... args) {
+        return jdbcTemplate.query(sql, rowMapper, args);
+    }
+
+    /**
+     * Выполняет {@code INSERT ... RETURNING id} и возвращает id вставленной строки.
+     */
+    protected long insertReturningId(String sql, Object... args) {
+        Long id = jdbcTemplate.queryForObject(sql, Long.class, args);
+        if (id == null) {
+            throw new IllegalStateException("INSERT returned no id");
+        }
+        return id;
+    }
+}
@@ -0,0 +1,58 @@
+package app.repository.jdbc;
+
+import app.audit.AuditEvent;
+import app.exception.db.ErrorInsertSqlException;
+import app.exception.db.ErrorSelectSqlException;
+import app.repository.AuditLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+public class AuditLogJdbcRepository implements AuditLogRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogJdbcRepository.class);
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditLogJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void saveAll(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        String sql = """
+                    INSERT INTO metadata.audit_log (created_at, user_email, action, method, args)
+                    VALUES (?, ?, ?, ?, ?)
+                """;
+        try {
+            jdbcTemplate.batchUpdate(sql, events, events.size(), (ps, event) -> {
+                ps.setTimestamp(1, Timestamp.from(event.timestamp()));
+                ps.setString(2, event.user());
+                ps.setString(3, event.action());
+                ps.setString(4, event.methodName());
+                ps.setString(5, event.args());
+            });
+        } catch (Exception e) {
+            log.error("Error saving {} audit events: {}", events.size(), e.getMessage());
+            throw new ErrorInsertSqlException("Error saving audit events", e);
+        }
+    }
+
+    @Override
+    public long count() {
+        try {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM metadata.audit_log", Long.class);
+            return count == null ? 0 : count;
+        } catch (Exception e) {
+            log.error("Error counting audit events: {}", e.getMessage());
+            throw new ErrorSelectSqlException("Error counting audit events", e);
+        }
+    }
+}
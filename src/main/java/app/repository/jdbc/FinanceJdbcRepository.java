@@ -2,102 +2,143 @@ package app.repository.jdbc;
 
 import app.entity.Finance;
 import app.exception.db.ErrorDeleteSqlException;
+import app.exception.db.ErrorInsertSqlException;
 import app.exception.db.ErrorSelectSqlException;
+import app.exception.db.ErrorStaleVersionSqlException;
+import app.exception.db.ErrorUpdateSqlException;
 import app.repository.FinanceRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
-import java.sql.PreparedStatement;
-import java.sql.Statement;
+import java.math.BigDecimal;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 @Repository
-public class FinanceJdbcRepository implements FinanceRepository {
+public class FinanceJdbcRepository extends AbstractJdbcRepository<Finance> implements FinanceRepository {
 
     private static final Logger log = LoggerFactory.getLogger(FinanceJdbcRepository.class);
-    private final JdbcTemplate jdbcTemplate;
 
-    public FinanceJdbcRepository(JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
-    }
+    private static final String COLUMNS = "id, monthly_budget, savings_goal, current_savings, total_expenses, version";
 
-    private final RowMapper<Finance> financeRowMapper = (rs, rowNum) -> {
+    private static final RowMapper<Finance> ROW_MAPPER = (rs, rowNum) -> {
         Finance finance = new Finance();
-        finance.setId(rs.getLong("id"));
-        finance.setMonthlyBudget(rs.getBigDecimal("monthly_budget"));
-        finance.setSavingsGoal(rs.getBigDecimal("savings_goal"));
-        finance.setCurrentSavings(rs.getBigDecimal("current_savings"));
-        finance.setTotalExpenses(rs.getBigDecimal("total_expenses"));
+        finance.setId(rs.getLong(1));
+        finance.setMonthlyBudget(rs.getBigDecimal(2));
+        finance.setSavingsGoal(rs.getBigDecimal(3));
+        finance.setCurrentSavings(rs.getBigDecimal(4));
+        finance.setTotalExpenses(rs.getBigDecimal(5));
+        finance.setVersion(rs.getLong(6));
         return finance;
     };
 
+    private static final String INSERT_SQL = """
+            INSERT INTO business.finances (monthly_budget, savings_goal, current_savings, total_expenses)
+            VALUES (?, ?, ?, ?)
+            RETURNING id
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE business.finances
+            SET monthly_budget = ?, savings_goal = ?, total_expenses = ?, version = version + 1
+            WHERE id = ? AND version = ?
+            RETURNING version
+            """;
+
+    private static final String ADD_TO_CURRENT_SAVINGS_SQL =
+            "UPDATE business.finances SET current_savings = current_savings + ?, version = version + 1 WHERE id = ?";
+
+    private final String findByIdForUpdateSql = findByIdSql + " FOR UPDATE";
+
+    public FinanceJdbcRepository(JdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate, "business.finances", COLUMNS, ROW_MAPPER);
+    }
+
     @Override
     public Optional<Finance> findById(Long id) {
         try {
-            String sql = "SELECT * FROM business.finances WHERE id = ?";
-            return jdbcTemplate.query(sql, financeRowMapper, id)
-                    .stream()
-                    .findFirst();
+            return queryForOptional(findByIdSql, id);
         } catch (Exception e) {
             log.error("Error executing findById: {}", e.getMessage());
             throw new ErrorSelectSqlException("Error finding finance record by ID", e);
         }
     }
 
+    @Override
+    public Optional<Finance> findByIdForUpdate(Long id) {
+        try {
+            return queryForOptional(findByIdForUpdateSql, id);
+        } catch (Exception e) {
+            log.error("Error executing findByIdForUpdate: {}", e.getMessage());
+            throw new ErrorSelectSqlException("Error locking finance record by ID", e);
+        }
+    }
+
     @Override
     public Finance save(Finance entity) {
-        String sql = """
-                    INSERT INTO business.finances (monthly_budget, savings_goal, current_savings, total_expenses)
-                    VALUES (?, ?, ?, ?)
-                    ON CONFLICT (id)
-                    DO UPDATE SET
-                        monthly_budget = EXCLUDED.monthly_budget,
-                        savings_goal = EXCLUDED.savings_goal,
-                        current_savings = EXCLUDED.current_savings,
-                        total_expenses = EXCLUDED.total_expenses
-                    RETURNING id
-                """;
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-
-        int update = jdbcTemplate.update(con -> {
-            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            ps.setBigDecimal(1, entity.getMonthlyBudget());
-            ps.setBigDecimal(2, entity.getSavingsGoal());
-            ps.setBigDecimal(3, entity.getCurrentSavings());
-            ps.setBigDecimal(4, entity.getTotalExpenses());
-            return ps;
-        }, keyHolder);
-
-        if (update > 0) {
-            List<Map<String, Object>> keys = keyHolder.getKeyList();
-            if (!keys.isEmpty()) {
-                Map<String, Object> generatedKey = keys.get(0);
-                Number generatedId = (Number) generatedKey.get("id");
-                if (generatedId != null) {
-                    long id = generatedId.longValue();
-                    entity.setId(id);
-                    return entity;
-                }
-            }
+        if (entity.getId() != null) {
+            return update(entity);
         }
 
-        return entity;
+        try {
+            entity.setId(insertReturningId(INSERT_SQL,
+                    entity.getMonthlyBudget(),
+                    entity.getSavingsGoal(),
+                    entity.getCurrentSavings(),
+                    entity.getTotalExpenses()));
+            return entity;
+        } catch (Exception e) {
+            log.error("Error inserting finance record: {}", e.getMessage());
+            throw new ErrorInsertSqlException("Error inserting finance record into database", e);
+        }
     }
 
+    /**
+     * Текущие накопления здесь не перезаписываются: они меняются только относительными
+     * UPDATE вместе с транзакциями, и запись прочитанного ранее значения затёрла бы параллельные изменения.
+     * Строка обновляется, только если её версия совпадает с версией сущности, иначе запись
+     * сделана по устаревшим данным и отклоняется.
+     */
+    private Finance update(Finance entity) {
+        try {
+            List<Long> versions = jdbcTemplate.query(UPDATE_SQL, (rs, rowNum) -> rs.getLong(1),
+                    entity.getMonthlyBudget(),
+                    entity.getSavingsGoal(),
+                    entity.getTotalExpenses(),
+                    entity.getId(),
+                    entity.getVersion());
+            if (versions.isEmpty()) {
+                throw new ErrorStaleVersionSqlException("Finance not found or version is outdated, id="
+                        + entity.getId() + ", version=" + entity.getVersion());
+            }
+            entity.setVersion(versions.get(0));
+            return entity;
+        } catch (ErrorUpdateSqlException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error updating finance record: {}", e.getMessage());
+            throw new ErrorUpdateSqlException("Error updating finance record in database", e);
+        }
+    }
+
+    @Override
+    public boolean addToCurrentSavings(Long id, BigDecimal delta) {
+        try {
+            return jdbcTemplate.update(ADD_TO_CURRENT_SAVINGS_SQL, delta, id) > 0;
+        } catch (Exception e) {
+            log.error("Error updating current savings: {}", e.getMessage());
+            throw new ErrorUpdateSqlException("Error updating current savings", e);
+        }
+    }
 
     @Override
     public void delete(Finance entity) {
         try {
-            String sql = "DELETE FROM business.finances WHERE id = ?";
-            int affectedRows = jdbcTemplate.update(sql, entity.getId());
+            int affectedRows = jdbcTemplate.update(deleteByIdSql, entity.getId());
 
             if (affectedRows == 0) {
                 throw new ErrorDeleteSqlException("Finance record not found, nothing deleted.");
@@ -111,8 +152,7 @@ public class FinanceJdbcRepository implements FinanceRepository {
     @Override
     public Collection<Finance> getAll() {
         try {
-            String sql = "SELECT * FROM business.finances";
-            return jdbcTemplate.query(sql, financeRowMapper);
+            return queryForList(selectSql);
         } catch (Exception e) {
             log.error("Error fetching all finance records: {}", e.getMessage());
             throw new ErrorSelectSqlException("Error fetching all finance records from database", e);
@@ -2,46 +2,57 @@ package app.repository.jdbc;
 
 import app.entity.Token;
 import app.exception.db.ErrorDeleteSqlException;
+import app.exception.db.ErrorInsertSqlException;
 import app.exception.db.ErrorSelectSqlException;
 import app.repository.TokenRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
-import java.sql.PreparedStatement;
-import java.sql.Statement;
 import java.util.Collection;
-import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 @Repository
-public class TokenJdbcRepository implements TokenRepository {
+public class TokenJdbcRepository extends AbstractJdbcRepository<Token> implements TokenRepository {
 
     private static final Logger log = LoggerFactory.getLogger(TokenJdbcRepository.class);
-    private final JdbcTemplate jdbcTemplate;
 
-    public TokenJdbcRepository(JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
-    }
+    private static final String COLUMNS = "id, user_id, value, expired";
 
-    private static final RowMapper<Token> tokenRowMapper = (rs, rowNum) ->
+    private static final RowMapper<Token> ROW_MAPPER = (rs, rowNum) ->
             new Token(
-                    rs.getLong("id"),
-                    rs.getLong("user_id"),
-                    rs.getString("value"),
-                    rs.getBoolean("expired")
+                    rs.getLong(1),
+                    rs.getLong(2),
+                    rs.getString(3),
+                    rs.getBoolean(4)
             );
 
+    private static final String FIND_BY_USER_EMAIL_SQL = """
+            SELECT t.id, t.user_id, t.value, t.expired FROM business.tokens t
+            JOIN business.users u ON t.user_id = u.id
+            WHERE u.email = ?
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO business.tokens (user_id, value, expired)
+            VALUES (?, ?, ?)
+            RETURNING id
+            """;
+
+    // Открыт, чтобы тесты проверяли план именно того запроса, который выполняет репозиторий.
+    public static final String FIND_ACTIVE_BY_USER_ID_SQL = "SELECT " + COLUMNS
+            + " FROM business.tokens WHERE user_id = ? AND expired = false LIMIT 1";
+
+    public TokenJdbcRepository(JdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate, "business.tokens", COLUMNS, ROW_MAPPER);
+    }
+
     @Override
     public Optional<Token> findById(Long id) {
-        String sql = "SELECT * FROM business.tokens WHERE id = ?";
         try {
-            return jdbcTemplate.query(sql, tokenRowMapper, id).stream().findFirst();
+            return queryForOptional(findByIdSql, id);
         } catch (Exception e) {
             log.error("Error finding token by id: {}", e.getMessage());
             throw new ErrorSelectSqlException("Error finding token", e);
@@ -50,9 +61,8 @@ public class TokenJdbcRepository implements TokenRepository {
 
     @Override
     public Optional<Token> findByUserId(Long userId) {
-        String sql = "SELECT * FROM business.tokens WHERE user_id = ? AND expired = false LIMIT 1";
         try {
-            return jdbcTemplate.query(sql, tokenRowMapper, userId).stream().findFirst();
+            return queryForOptional(FIND_ACTIVE_BY_USER_ID_SQL, userId);
         } catch (Exception e) {
             log.error("Error finding token by userId: {}", e.getMessage());
             throw new ErrorSelectSqlException("Error finding token by userId", e);
@@ -61,13 +71,8 @@ public class TokenJdbcRepository implements TokenRepository {
 
     @Override
     public Optional<Token> getTokenByUserEmail(String email) {
-        String sql = """
-                SELECT t.* FROM business.tokens t
-                JOIN business.users u ON t.user_id = u.id
-                WHERE u.email = ?
-                """;
         try {
-            return jdbcTemplate.query(sql, tokenRowMapper, email).stream().findFirst();
+            return queryForOptional(FIND_BY_USER_EMAIL_SQL, email);
         } catch (Exception e) {
             log.error("Error getting token by user email: {}", e.getMessage());
             throw new ErrorSelectSqlException("Error retrieving token by email", e);
@@ -89,58 +94,36 @@ public class TokenJdbcRepository implements TokenRepository {
 
     @Override
     public Token save(Token entity) {
-        String sql = """
-                INSERT INTO business.tokens (user_id, value, expired)
-                VALUES (?, ?, ?)
-                RETURNING id
-                """;
-
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-
-        int update = jdbcTemplate.update(con -> {
-            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            ps.setLong(1, entity.getUserId());
-            ps.setString(2, entity.getValue());
-            ps.setBoolean(3, entity.isExpired());
-            return ps;
-        }, keyHolder);
-
-        if (update > 0) {
-            List<Map<String, Object>> keys = keyHolder.getKeyList();
-            if (!keys.isEmpty()) {
-                Map<String, Object> generatedKey = keys.get(0);
-                Number generatedId = (Number) generatedKey.get("id");
-                if (generatedId != null) {
-                    long id = generatedId.longValue();
-                    entity.setId(id);
-                    return entity;
-                }
-            }
+        try {
+            entity.setId(insertReturningId(INSERT_SQL,
+                    entity.getUserId(),
+                    entity.getValue(),
+                    entity.isExpired()));
+            return entity;
+        } catch (Exception e) {
+            log.error("Error saving token: {}", e.getMessage());
+            throw new ErrorInsertSqlException("Error saving token", e);
         }
-
-        return entity;
     }
 
-@Override
-public void delete(Token entity) {
-    String sql = "DELETE FROM business.tokens WHERE id = ?";
-    try {
-        int affectedRows = jdbcTemplate.update(sql, entity.getId());
-        if (affectedRows == 0) {
-            throw new ErrorDeleteSqlException("Token not found, nothing deleted.");
+    @Override
+    public void delete(Token entity) {
+        try {
+            int affectedRows = jdbcTemplate.update(deleteByIdSql, entity.getId());
+            if (affectedRows == 0) {
+                throw new ErrorDeleteSqlException("Token not found, nothing deleted.");
+            }
+        } catch (Exception e) {
+            throw new ErrorDeleteSqlException("Error deleting token", e);
         }
-    } catch (Exception e) {
-        throw new ErrorDeleteSqlException("Error deleting token", e);
     }
-}
 
-@Override
-public Collection<Token> getAll() {
-    String sql = "SELECT * FROM business.tokens";
-    try {
-        return jdbcTemplate.query(sql, tokenRowMapper);
-    } catch (Exception e) {
-        throw new ErrorSelectSqlException("Error fetching all tokens", e);
+    @Override
+    public Collection<Token> getAll() {
+        try {
+            return queryForList(selectSql);
+        } catch (Exception e) {
+            throw new ErrorSelectSqlException("Error fetching all tokens", e);
+        }
     }
 }
-}
\ No newline at end of file
@@ -3,52 +3,73 @@ package app.repository.jdbc;
 import app.entity.Transaction;
 import app.entity.TypeTransaction;
 import app.exception.db.ErrorDeleteSqlException;
+import app.exception.db.ErrorInsertSqlException;
 import app.exception.db.ErrorSelectSqlException;
+import app.exception.db.ErrorUpdateSqlException;
 import app.repository.TransactionRepository;
+import app.repository.criteria.TransactionCriteria;
+import app.util.SnowflakeIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.sql.PreparedStatement;
-import java.sql.Statement;
+import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Repository
-public class TransactionJdbcRepository implements TransactionRepository {
+public class TransactionJdbcRepository extends AbstractJdbcRepository<Transaction> implements TransactionRepository {
 
     private static final Logger log = LoggerFactory.getLogger(TransactionJdbcRepository.class);
-    private final JdbcTemplate jdbcTemplate;
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final int BATCH_SIZE = 500;
 
-    public TransactionJdbcRepository(JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
-    }
+    private static final String INSERT_SQL = """
+            INSERT INTO business.transactions (id, amount, category, date, description, type_transaction, finance_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE business.transactions
+            SET amount = ?, category = ?, date = ?, description = ?, type_transaction = ?, finance_id = ?
+            """;
+
+    // Запросы чтения открыты, чтобы тесты проверяли планы именно тех запросов, которые выполняет репозиторий.
+    public static final String FIND_BY_FINANCE_ID_SQL = "SELECT " + TransactionRowMapper.COLUMNS
+            + " FROM business.transactions WHERE finance_id = ? ORDER BY date DESC, id DESC";
+    public static final String FIRST_PAGE_SQL = FIND_BY_FINANCE_ID_SQL + " LIMIT ?";
+    // Сравнение строк (date, id) не отсекает месячные секции, поэтому граница по date повторяется отдельно.
+    public static final String NEXT_PAGE_SQL = "SELECT " + TransactionRowMapper.COLUMNS
+            + " FROM business.transactions WHERE finance_id = ? AND date <= ? AND (date, id) < (?, ?)"
+            + " ORDER BY date DESC, id DESC LIMIT ?";
 
-    private final RowMapper<Transaction> transactionRowMapper = (rs, rowNum) -> {
-        Transaction transaction = new Transaction();
-        transaction.setId(rs.getLong("id"));
-        transaction.setAmount(rs.getBigDecimal("amount"));
-        transaction.setCategory(rs.getString("category"));
-        transaction.setDate(rs.getTimestamp("date").toInstant());
-        transaction.setDescription(rs.getString("description"));
-        transaction.setTypeTransaction(TypeTransaction.valueOf(rs.getString("type_transaction").toUpperCase()));
-        transaction.setFinanceId(rs.getLong("finance_id"));
-        return transaction;
-    };
+    private final SnowflakeIdGenerator idGenerator;
+
+    private final String updateByIdSql = UPDATE_SQL + " WHERE id = ?";
+    private final String updateByKeySql = UPDATE_SQL + " WHERE id = ? AND finance_id = ? AND date = ?";
+    private final String deleteByKeySql = "DELETE FROM business.transactions WHERE id = ? AND finance_id = ? AND date = ?";
+
+    public TransactionJdbcRepository(JdbcTemplate jdbcTemplate, SnowflakeIdGenerator idGenerator) {
+        super(jdbcTemplate, "business.transactions", TransactionRowMapper.COLUMNS, new TransactionRowMapper());
+        this.idGenerator = idGenerator;
+    }
 
     @Override
     public Optional<Transaction> findById(Long id) {
         try {
-            String sql = "SELECT * FROM business.transactions WHERE id = ?";
-            return jdbcTemplate.query(sql, transactionRowMapper, id).stream().findFirst();
+            return queryForOptional(findByIdSql, id);
         } catch (Exception e) {
             log.error("Error executing findById: {}", e.getMessage());
             throw new ErrorSelectSqlException("Error finding transaction by ID", e);
@@ -58,8 +79,7 @@ public class TransactionJdbcRepository implements TransactionRepository {
     @Override
     public List<Transaction> findByFinanceId(Long id) {
         try {
-            String sql = "SELECT * FROM business.transactions WHERE finance_id = ?";
-            return jdbcTemplate.query(sql, transactionRowMapper, id);
+            return queryForList(FIND_BY_FINANCE_ID_SQL, id);
         } catch (Exception e) {
             log.error("Error fetching transactions for finance ID {}: {}", id, e.getMessage());
             throw new ErrorSelectSqlException("Error fetching transactions from database", e);
@@ -67,22 +87,169 @@ public class TransactionJdbcRepository implements TransactionRepository {
     }
 
     @Override
-    public List<Transaction> getFilteredTransactions(Long financeId, Instant startDate, Instant endDate, String category, String typeTransaction) {
-        StringBuilder sqlBuilder = new StringBuilder("SELECT * FROM business.transactions WHERE finance_id = ?");
+    public boolean existsByIdAndFinanceId(Long id, Long financeId) {
+        try {
+            String sql = "SELECT EXISTS (SELECT 1 FROM business.transactions WHERE id = ? AND finance_id = ?)";
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, id, financeId));
+        } catch (Exception e) {
+            log.error("Error checking transaction {} in finance {}: {}", id, financeId, e.getMessage());
+            throw new ErrorSelectSqlException("Error checking transaction ownership", e);
+        }
+    }
+
+    @Override
+    public List<Transaction> findPageByFinanceId(Long financeId, Instant afterDate, Long afterId, int limit) {
+        try {
+            if (afterDate == null || afterId == null) {
+                return queryForList(FIRST_PAGE_SQL, financeId, limit);
+            }
+            Timestamp after = Timestamp.from(afterDate);
+            return queryForList(NEXT_PAGE_SQL, financeId, after, after, afterId, limit);
+        } catch (Exception e) {
+            log.error("Error fetching transaction page for finance ID {}: {}", financeId, e.getMessage());
+            throw new ErrorSelectSqlException("Error fetching transaction page from database", e);
+        }
+    }
+
+    /**
+     * PostgreSQL отдаёт строки порциями по fetchSize только при выключенном auto-commit.
+     * Если соединение уже участвует в транзакции, её режим не меняется.
+     */
+    @Override
+    public void streamByFinanceId(Long financeId, Instant from, Instant to, Consumer<Transaction> consumer) {
+        StringBuilder sql = new StringBuilder(selectSql).append(" WHERE finance_id = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(financeId);
+        if (from != null) {
+            sql.append(" AND date >= ?");
+            params.add(Timestamp.from(from));
+        }
+        if (to != null) {
+            sql.append(" AND date < ?");
+            params.add(Timestamp.from(to));
+        }
+        sql.append(" ORDER BY date, id");
+
+        RowCallbackHandler handler = rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow()));
+
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                boolean autoCommit = connection.getAutoCommit();
+                if (autoCommit) {
+                    connection.setAutoCommit(false);
+                }
+                try (PreparedStatement ps = connection.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    ps.setFetchSize(STREAM_FETCH_SIZE);
+                    for (int i = 0; i < params.size(); i++) {
+                        ps.setObject(i + 1, params.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            handler.processRow(rs);
+                        }
+                    }
+                } finally {
+                    if (autoCommit) {
+                        connection.rollback();
+                        connection.setAutoCommit(true);
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("Error streaming transactions for finance ID {}: {}", financeId, e.getMessage());
+            throw new ErrorSelectSqlException("Error streaming transactions from database", e);
+        }
+    }
 
-        if (startDate != null) sqlBuilder.append(" AND date >= ?");
-        if (endDate != null) sqlBuilder.append(" AND date <= ?");
-        if (!category.isEmpty()) sqlBuilder.append(" AND category = ?");
-        if (!typeTransaction.isEmpty()) sqlBuilder.append(" AND type_transaction = ?");
+    @Override
+    public List<Transaction> findByCriteria(TransactionCriteria criteria) {
+        try {
+            return jdbcTemplate.query(criteria.toSql(), criteria::bind, rowMapper);
+        } catch (Exception e) {
+            log.error("Error filtering transactions for finance ID {}: {}", criteria.getFinanceId(), e.getMessage());
+            throw new ErrorSelectSqlException("Error filtering transactions", e);
+        }
+    }
 
-        return jdbcTemplate.query(sqlBuilder.toString(), transactionRowMapper, financeId, Timestamp.from(startDate), Timestamp.from(endDate), category, typeTransaction);
+    @Override
+    public BigDecimal sumAmount(Long financeId, TypeTransaction typeTransaction, Instant from, Instant to) {
+        String sql = sumAmountSql(typeTransaction, from != null, to != null);
+        try {
+            return jdbcTemplate.queryForObject(sql, BigDecimal.class, aggregateParams(financeId, from, to));
+        } catch (Exception e) {
+            log.error("Error summing transactions for finance ID {}: {}", financeId, e.getMessage());
+            throw new ErrorSelectSqlException("Error summing transactions", e);
+        }
     }
 
+    @Override
+    public Map<String, BigDecimal> sumAmountByCategory(Long financeId, TypeTransaction typeTransaction, Instant from, Instant to) {
+        String sql = sumAmountByCategorySql(typeTransaction, from != null, to != null);
+        try {
+            Map<String, BigDecimal> totals = new LinkedHashMap<>();
+            jdbcTemplate.query(sql, rs -> {
+                totals.put(rs.getString("category"), rs.getBigDecimal("total"));
+            }, aggregateParams(financeId, from, to));
+            return totals;
+        } catch (Exception e) {
+            log.error("Error grouping transactions for finance ID {}: {}", financeId, e.getMessage());
+            throw new ErrorSelectSqlException("Error grouping transactions by category", e);
+        }
+    }
+
+    /**
+     * Запрос {@link #sumAmount}; параметры - finance_id и заданные границы периода.
+     */
+    public static String sumAmountSql(TypeTransaction typeTransaction, boolean hasFrom, boolean hasTo) {
+        return "SELECT COALESCE(SUM(amount), 0) FROM business.transactions"
+                + aggregateCondition(typeTransaction, hasFrom, hasTo);
+    }
+
+    /**
+     * Запрос {@link #sumAmountByCategory}; параметры - finance_id и заданные границы периода.
+     */
+    public static String sumAmountByCategorySql(TypeTransaction typeTransaction, boolean hasFrom, boolean hasTo) {
+        return "SELECT category, SUM(amount) AS total FROM business.transactions"
+                + aggregateCondition(typeTransaction, hasFrom, hasTo)
+                + " GROUP BY category ORDER BY category";
+    }
+
+    private static String aggregateCondition(TypeTransaction typeTransaction, boolean hasFrom, boolean hasTo) {
+        // Тип подставляется литералом из enum: с параметром PostgreSQL не сможет выбрать
+        // частичный индекс по type_transaction для подготовленного (generic) плана.
+        StringBuilder condition = new StringBuilder(" WHERE finance_id = ? AND type_transaction = '")
+                .append(typeTransaction.name()).append("'");
+        if (hasFrom) {
+            condition.append(" AND date >= ?");
+        }
+        if (hasTo) {
+            condition.append(" AND date < ?");
+        }
+        return condition.toString();
+    }
+
+    private static Object[] aggregateParams(Long financeId, Instant from, Instant to) {
+        List<Object> params = new ArrayList<>();
+        params.add(financeId);
+        if (from != null) {
+            params.add(Timestamp.from(from));
+        }
+        if (to != null) {
+            params.add(Timestamp.from(to));
+        }
+        return params.toArray();
+    }
+
+    /**
+     * Один запрос к родительской таблице: секции обходит сам PostgreSQL (Parallel Append при
+     * включённых параллельных планах), а чтение идёт на соединении и в транзакции вызывающего.
+     */
     @Override
     public Collection<Transaction> getAll() {
         try {
-            String sql = "SELECT * FROM business.transactions";
-            return jdbcTemplate.query(sql, transactionRowMapper);
+            return queryForList(selectSql);
         } catch (Exception e) {
             log.error("Error fetching all transactions: {}", e.getMessage());
             throw new ErrorSelectSqlException("Error fetching all transactions from database", e);
@@ -91,47 +258,170 @@ public class TransactionJdbcRepository implements TransactionRepository {
 
     @Override
     public Transaction save(Transaction entity) {
+        if (entity.getId() != null) {
+            return update(entity);
+        }
+
+        try {
+            long id = idGenerator.nextId();
+            jdbcTemplate.update(INSERT_SQL,
+                    id,
+                    entity.getAmount(),
+                    entity.getCategory(),
+                    Timestamp.from(entity.getDate()),
+                    entity.getDescription(),
+                    entity.getTypeTransaction().toString(),
+                    entity.getFinanceId());
+            entity.setId(id);
+            return entity;
+        } catch (Exception e) {
+            log.error("Error saving transaction: {}", e.getMessage());
+            throw new ErrorInsertSqlException("Error saving transaction", e);
+        }
+    }
+
+    /**
+     * UPDATE в CTE берёт блокировку строки финансов и перепроверяет условие по актуальному значению,
+     * поэтому конкурирующие списания выполняются по очереди. INSERT выбирает id из CTE и не
+     * срабатывает, если строка не обновилась.
+     */
+    @Override
+    public Optional<Transaction> saveWithSavingsChange(Transaction entity) {
         String sql = """
-                    INSERT INTO business.transactions (amount, category, date, description, type_transaction, finance_id)
-                    VALUES (?, ?, ?, ?, ?, ?)
+                    WITH finance AS (
+                        UPDATE business.finances
+                        SET current_savings = current_savings + ?, version = version + 1
+                        WHERE id = ? AND current_savings >= COALESCE(?::numeric, current_savings)
+                        RETURNING id
+                    )
+                    INSERT INTO business.transactions (id, amount, category, date, description, type_transaction, finance_id)
+                    SELECT ?, ?, ?, ?, ?, ?, id FROM finance
                     RETURNING id
                 """;
+        boolean expense = entity.getTypeTransaction() == TypeTransaction.EXPENSE;
+        long id = idGenerator.nextId();
+        try {
+            List<Long> ids = jdbcTemplate.query(sql, (rs, rowNum) -> rs.getLong(1),
+                    expense ? entity.getAmount().negate() : entity.getAmount(),
+                    entity.getFinanceId(),
+                    expense ? entity.getAmount() : null,
+                    id,
+                    entity.getAmount(),
+                    entity.getCategory(),
+                    Timestamp.from(entity.getDate()),
+                    entity.getDescription(),
+                    entity.getTypeTransaction().toString());
+            if (ids.isEmpty()) {
+                return Optional.empty();
+            }
+            entity.setId(id);
+            return Optional.of(entity);
+        } catch (Exception e) {
+            log.error("Error saving transaction with savings change: {}", e.getMessage());
+            throw new ErrorInsertSqlException("Error saving transaction with savings change", e);
+        }
+    }
 
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-
-        int update = jdbcTemplate.update(con -> {
-            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            ps.setBigDecimal(1, entity.getAmount());
-            ps.setString(2, entity.getCategory());
-            ps.setTimestamp(3, Timestamp.from(entity.getDate()));
-            ps.setString(4, entity.getDescription());
-            ps.setString(5, entity.getTypeTransaction().toString());
-            ps.setLong(6, entity.getFinanceId());
-            return ps;
-        }, keyHolder);
-
-        if (update > 0) {
-            List<Map<String, Object>> keys = keyHolder.getKeyList();
-            if (!keys.isEmpty()) {
-                Map<String, Object> generatedKey = keys.get(0);
-                Number generatedId = (Number) generatedKey.get("id");
-                if (generatedId != null) {
-                    long id = generatedId.longValue();
-                    entity.setId(id);
-                    return entity;
+    /**
+     * Вставка идёт пакетами по {@value #BATCH_SIZE} строк; с reWriteBatchedInserts драйвер
+     * собирает пакет в многострочный INSERT. Вне внешней транзакции все пакеты
+     * фиксируются одним commit.
+     */
+    @Override
+    public void saveAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        String sql = """
+                    INSERT INTO business.transactions (id, amount, category, date, description, type_transaction, finance_id)
+                    VALUES (?, ?, ?, ?, ?, ?, ?)
+                """;
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                boolean autoCommit = connection.getAutoCommit();
+                if (autoCommit) {
+                    connection.setAutoCommit(false);
                 }
-            }
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    int pending = 0;
+                    for (Transaction entity : transactions) {
+                        entity.setId(idGenerator.nextId());
+                        ps.setLong(1, entity.getId());
+                        ps.setBigDecimal(2, entity.getAmount());
+                        ps.setString(3, entity.getCategory());
+                        ps.setTimestamp(4, Timestamp.from(entity.getDate()));
+                        ps.setString(5, entity.getDescription());
+                        ps.setString(6, entity.getTypeTransaction().toString());
+                        ps.setLong(7, entity.getFinanceId());
+                        ps.addBatch();
+                        if (++pending == BATCH_SIZE) {
+                            ps.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        ps.executeBatch();
+                    }
+                    if (autoCommit) {
+                        connection.commit();
+                    }
+                } catch (Exception e) {
+                    if (autoCommit) {
+                        connection.rollback();
+                    }
+                    throw e;
+                } finally {
+                    if (autoCommit) {
+                        connection.setAutoCommit(true);
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("Error saving transactions batch: {}", e.getMessage());
+            throw new ErrorInsertSqlException("Error saving transactions batch", e);
         }
+    }
 
-        return entity;
+    private Transaction update(Transaction entity) {
+        return update(entity, updateByIdSql, entity.getId());
     }
 
+    /**
+     * Условие по полному ключу выбирает одну секцию; без него UPDATE проверяет индекс каждой.
+     */
+    @Override
+    public Transaction update(Transaction entity, Instant previousDate) {
+        return update(entity, updateByKeySql, entity.getId(), entity.getFinanceId(), Timestamp.from(previousDate));
+    }
+
+    private Transaction update(Transaction entity, String sql, Object... key) {
+        List<Object> params = new ArrayList<>(List.of(
+                entity.getAmount(),
+                entity.getCategory(),
+                Timestamp.from(entity.getDate()),
+                entity.getDescription(),
+                entity.getTypeTransaction().toString(),
+                entity.getFinanceId()));
+        params.addAll(List.of(key));
+        try {
+            int affectedRows = jdbcTemplate.update(sql, params.toArray());
+            if (affectedRows == 0) {
+                throw new ErrorUpdateSqlException("Transaction not found, id=" + entity.getId());
+            }
+            return entity;
+        } catch (ErrorUpdateSqlException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error updating transaction: {}", e.getMessage());
+            throw new ErrorUpdateSqlException("Error updating transaction in database", e);
+        }
+    }
 
     @Override
     public void deleteById(Long id) {
         try {
-            String sql = "DELETE FROM business.transactions WHERE id = ?";
-            int affectedRows = jdbcTemplate.update(sql, id);
+            int affectedRows = jdbcTemplate.update(deleteByIdSql, id);
             if (affectedRows == 0) {
                 throw new ErrorDeleteSqlException("Transaction not found, nothing deleted.");
             }
@@ -141,9 +431,23 @@ public class TransactionJdbcRepository implements TransactionRepository {
         }
     }
 
+    /**
+     * Удаление по полному ключу: finance_id и date выбирают одну секцию, а не проверяют индекс каждой.
+     */
     @Override
     public void delete(Transaction entity) {
-        deleteById(entity.getId());
+        try {
+            int affectedRows = jdbcTemplate.update(deleteByKeySql,
+                    entity.getId(),
+                    entity.getFinanceId(),
+                    Timestamp.from(entity.getDate()));
+            if (affectedRows == 0) {
+                throw new ErrorDeleteSqlException("Transaction not found, nothing deleted.");
+            }
+        } catch (Exception e) {
+            log.error("Error deleting transaction: {}", e.getMessage());
+            throw new ErrorDeleteSqlException("Error deleting transaction from database", e);
+        }
     }
 
     @Override
@@ -0,0 +1,74 @@
+package app.repository.jdbc;
+
+import app.exception.db.ErrorInsertSqlException;
+import app.exception.db.ErrorSelectSqlException;
+import app.exception.db.ErrorUpdateSqlException;
+import app.repository.TransactionPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Секции создаются и архивируются функциями базы из changeSet 010_partition_transactions_by_month.
+ */
+@Repository
+public class TransactionPartitionJdbcRepository implements TransactionPartitionRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionJdbcRepository.class);
+
+    private static final String CREATE_MONTH_SQL = "SELECT business.create_transactions_partition(?)";
+
+    private static final String DEFAULT_PARTITION_MONTHS_SQL = """
+            SELECT DISTINCT date_trunc('month', date)::date AS month
+            FROM business.transactions_default
+            ORDER BY month
+            """;
+
+    private static final String ARCHIVE_SQL = "SELECT business.archive_transactions_partitions(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionPartitionJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean createMonth(YearMonth month) {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(CREATE_MONTH_SQL, Boolean.class, firstDay(month)));
+        } catch (Exception e) {
+            log.error("Error creating transactions partition for {}: {}", month, e.getMessage());
+            throw new ErrorInsertSqlException("Error creating transactions partition", e);
+        }
+    }
+
+    @Override
+    public List<YearMonth> findMonthsInDefaultPartition() {
+        try {
+            return jdbcTemplate.query(DEFAULT_PARTITION_MONTHS_SQL,
+                    (rs, rowNum) -> YearMonth.from(rs.getDate(1).toLocalDate()));
+        } catch (Exception e) {
+            log.error("Error reading default transactions partition: {}", e.getMessage());
+            throw new ErrorSelectSqlException("Error reading default transactions partition", e);
+        }
+    }
+
+    @Override
+    public List<String> archiveBefore(YearMonth month) {
+        try {
+            return jdbcTemplate.queryForList(ARCHIVE_SQL, String.class, firstDay(month));
+        } catch (Exception e) {
+            log.error("Error archiving transactions partitions before {}: {}", month, e.getMessage());
+            throw new ErrorUpdateSqlException("Error archiving transactions partitions", e);
+        }
+    }
+
+    private static Date firstDay(YearMonth month) {
+        return Date.valueOf(month.atDay(1));
+    }
+}
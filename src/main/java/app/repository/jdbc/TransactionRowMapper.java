@@ -0,0 +1,30 @@
+package app.repository.jdbc;
+
+import app.entity.Transaction;
+import app.entity.TypeTransaction;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Отображение строки business.transactions в сущность {@link Transaction}.
+ * Колонки читаются по позиции, запрос должен выбирать их в порядке {@link #COLUMNS}.
+ */
+public class TransactionRowMapper implements RowMapper<Transaction> {
+
+    public static final String COLUMNS = "id, amount, category, date, description, type_transaction, finance_id";
+
+    @Override
+    public Transaction mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Transaction transaction = new Transaction();
+        transaction.setId(rs.getLong(1));
+        transaction.setAmount(rs.getBigDecimal(2));
+        transaction.setCategory(rs.getString(3));
+        transaction.setDate(rs.getTimestamp(4).toInstant());
+        transaction.setDescription(rs.getString(5));
+        transaction.setTypeTransaction(TypeTransaction.valueOf(rs.getString(6).toUpperCase()));
+        transaction.setFinanceId(rs.getLong(7));
+        return transaction;
+    }
+}
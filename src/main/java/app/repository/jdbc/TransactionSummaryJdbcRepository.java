@@ -0,0 +1,297 @@
+package app.repository.jdbc;
+
+import app.entity.BudgetUsage;
+import app.entity.DailyExpense;
+import app.entity.Finance;
+import app.entity.FinanceTotals;
+import app.entity.TransactionSummary;
+import app.entity.TypeTransaction;
+import app.exception.db.ErrorInsertSqlException;
+import app.exception.db.ErrorSelectSqlException;
+import app.exception.db.ErrorUpdateSqlException;
+import app.repository.TransactionSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+@Repository
+public class TransactionSummaryJdbcRepository implements TransactionSummaryRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSummaryJdbcRepository.class);
+
+    private static final String REBUILD_SELECT = """
+                SELECT finance_id, date_trunc('month', date)::date, COALESCE(category, ''), upper(type_transaction),
+                       COALESCE(SUM(amount), 0), COUNT(*)
+                FROM business.transactions
+                WHERE finance_id IS NOT NULL AND date IS NOT NULL AND type_transaction IS NOT NULL
+            """;
+
+    private static final String REBUILD_DAILY_SELECT = """
+                SELECT finance_id, date::date, COALESCE(SUM(amount), 0), COUNT(*)
+                FROM business.transactions
+                WHERE finance_id IS NOT NULL AND date IS NOT NULL AND upper(type_transaction) = 'EXPENSE'
+            """;
+
+    /**
+     * Инкрементальное применение берёт FOR KEY SHARE: оно не мешает другим приращениям и обновлению
+     * баланса, но ждёт пересчёта, который держит строку финансов FOR UPDATE.
+     */
+    private static final String LOCK_FINANCE_FOR_APPLY_SQL = "SELECT id FROM business.finances WHERE id = ? FOR KEY SHARE";
+
+    private static final String LOCK_FINANCE_FOR_REBUILD_SQL = "SELECT id FROM business.finances WHERE id = ? FOR UPDATE";
+
+    /**
+     * SHARE ROW EXCLUSIVE конфликтует с ROW EXCLUSIVE, который берут INSERT ... ON CONFLICT,
+     * поэтому полный пересчёт не пересекается с инкрементальными приращениями.
+     */
+    private static final String LOCK_SUMMARIES_FOR_REBUILD_SQL =
+            "LOCK TABLE business.transaction_summaries, business.daily_expenses IN SHARE ROW EXCLUSIVE MODE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionSummaryJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applyAll(List<TransactionSummary> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        String sql = """
+                    INSERT INTO business.transaction_summaries AS s (finance_id, month, category, type_transaction, total, transaction_count)
+                    VALUES (?, ?, ?, ?, ?, ?)
+                    ON CONFLICT (finance_id, month, category, type_transaction)
+                    DO UPDATE SET total = s.total + EXCLUDED.total,
+                                  transaction_count = s.transaction_count + EXCLUDED.transaction_count
+                """;
+        try {
+            lockFinancesForApply(deltas.stream().map(TransactionSummary::getFinanceId).toList());
+            jdbcTemplate.batchUpdate(sql, deltas, deltas.size(), (ps, delta) -> {
+                ps.setLong(1, delta.getFinanceId());
+                ps.setDate(2, Date.valueOf(delta.getMonth()));
+                ps.setString(3, delta.getCategory() == null ? "" : delta.getCategory());
+                ps.setString(4, delta.getTypeTransaction().name());
+                ps.setBigDecimal(5, delta.getTotal());
+                ps.setLong(6, delta.getTransactionCount());
+            });
+        } catch (Exception e) {
+            log.error("Error applying transaction summaries: {}", e.getMessage());
+            throw new ErrorInsertSqlException("Error updating transaction summaries", e);
+        }
+    }
+
+    @Override
+    public void applyDailyExpenses(List<DailyExpense> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        String sql = """
+                    INSERT INTO business.daily_expenses AS d (finance_id, day, total, transaction_count)
+                    VALUES (?, ?, ?, ?)
+                    ON CONFLICT (finance_id, day)
+                    DO UPDATE SET total = d.total + EXCLUDED.total,
+                                  transaction_count = d.transaction_count + EXCLUDED.transaction_count
+                """;
+        try {
+            lockFinancesForApply(deltas.stream().map(DailyExpense::getFinanceId).toList());
+            jdbcTemplate.batchUpdate(sql, deltas, deltas.size(), (ps, delta) -> {
+                ps.setLong(1, delta.getFinanceId());
+                ps.setDate(2, Date.valueOf(delta.getDay()));
+                ps.setBigDecimal(3, delta.getTotal());
+                ps.setLong(4, delta.getTransactionCount());
+            });
+        } catch (Exception e) {
+            log.error("Error applying daily expenses: {}", e.getMessage());
+            throw new ErrorInsertSqlException("Error updating daily expenses", e);
+        }
+    }
+
+    /**
+     * Блокирует строки финансов в порядке возрастания id, чтобы параллельные пакеты
+     * по нескольким финансам не взаимоблокировались.
+     */
+    private void lockFinancesForApply(List<Long> financeIds) {
+        for (Long financeId : new TreeSet<>(financeIds)) {
+            jdbcTemplate.queryForList(LOCK_FINANCE_FOR_APPLY_SQL, Long.class, financeId);
+        }
+    }
+
+    @Override
+    public Optional<BudgetUsage> findBudgetUsage(Long financeId, LocalDate monthStart, LocalDate windowStart, LocalDate today) {
+        String sql = """
+                    SELECT f.monthly_budget,
+                           COALESCE(SUM(d.total) FILTER (WHERE d.day >= ?), 0) AS month_expenses,
+                           COALESCE(SUM(d.total) FILTER (WHERE d.day >= ?), 0) AS window_expenses
+                    FROM business.finances f
+                    LEFT JOIN business.daily_expenses d
+                           ON d.finance_id = f.id AND d.day >= LEAST(?::date, ?::date) AND d.day <= ?
+                    WHERE f.id = ?
+                    GROUP BY f.id, f.monthly_budget
+                """;
+        try {
+            Date month = Date.valueOf(monthStart);
+            Date window = Date.valueOf(windowStart);
+            return jdbcTemplate.query(sql, (rs, rowNum) -> BudgetUsage.builder()
+                                    .monthlyBudget(rs.getBigDecimal("monthly_budget"))
+                                    .monthExpenses(rs.getBigDecimal("month_expenses"))
+                                    .windowExpenses(rs.getBigDecimal("window_expenses"))
+                                    .build(),
+                            month, window, month, window, Date.valueOf(today), financeId)
+                    .stream()
+                    .findFirst();
+        } catch (Exception e) {
+            log.error("Error reading budget usage for finance ID {}: {}", financeId, e.getMessage());
+            throw new ErrorSelectSqlException("Error reading budget usage", e);
+        }
+    }
+
+    @Override
+    public long countTransactions(Long financeId) {
+        String sql = "SELECT COALESCE(SUM(transaction_count), 0) FROM business.transaction_summaries WHERE finance_id = ?";
+        try {
+            Long count = jdbcTemplate.queryForObject(sql, Long.class, financeId);
+            return count == null ? 0 : count;
+        } catch (Exception e) {
+            log.error("Error counting transactions for finance ID {}: {}", financeId, e.getMessage());
+            throw new ErrorSelectSqlException("Error reading transaction summaries", e);
+        }
+    }
+
+    @Override
+    public BigDecimal sumTotal(Long financeId, TypeTransaction typeTransaction, LocalDate fromMonth, LocalDate toMonth) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT COALESCE(SUM(total), 0) FROM business.transaction_summaries"
+                + condition(params, financeId, typeTransaction, fromMonth, toMonth);
+        try {
+            return jdbcTemplate.queryForObject(sql, BigDecimal.class, params.toArray());
+        } catch (Exception e) {
+            log.error("Error reading summaries for finance ID {}: {}", financeId, e.getMessage());
+            throw new ErrorSelectSqlException("Error reading transaction summaries", e);
+        }
+    }
+
+    @Override
+    public Map<String, BigDecimal> sumTotalByCategory(Long financeId, TypeTransaction typeTransaction, LocalDate fromMonth, LocalDate toMonth) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT category, SUM(total) AS total FROM business.transaction_summaries"
+                + condition(params, financeId, typeTransaction, fromMonth, toMonth)
+                + " GROUP BY category HAVING SUM(transaction_count) > 0 ORDER BY category";
+        try {
+            Map<String, BigDecimal> totals = new LinkedHashMap<>();
+            jdbcTemplate.query(sql, rs -> {
+                totals.put(rs.getString("category"), rs.getBigDecimal("total"));
+            }, params.toArray());
+            return totals;
+        } catch (Exception e) {
+            log.error("Error reading category summaries for finance ID {}: {}", financeId, e.getMessage());
+            throw new ErrorSelectSqlException("Error reading transaction summaries", e);
+        }
+    }
+
+    @Override
+    public Optional<FinanceTotals> findFinanceTotals(Long financeId, LocalDate fromMonth, LocalDate toMonth) {
+        String sql = """
+                    SELECT f.id, f.monthly_budget, f.savings_goal, f.current_savings, f.total_expenses, f.version,
+                           s.type_transaction, s.category, s.total, s.transaction_count
+                    FROM business.finances f
+                    LEFT JOIN LATERAL (
+                        SELECT type_transaction, category, SUM(total) AS total, SUM(transaction_count) AS transaction_count
+                        FROM business.transaction_summaries
+                        WHERE finance_id = f.id AND month >= ? AND month <= ?
+                        GROUP BY type_transaction, category
+                        HAVING SUM(transaction_count) > 0
+                    ) s ON TRUE
+                    WHERE f.id = ?
+                """;
+        try {
+            List<FinanceTotals> result = new ArrayList<>(1);
+            jdbcTemplate.query(sql, rs -> {
+                if (result.isEmpty()) {
+                    Finance finance = new Finance();
+                    finance.setId(rs.getLong("id"));
+                    finance.setMonthlyBudget(rs.getBigDecimal("monthly_budget"));
+                    finance.setSavingsGoal(rs.getBigDecimal("savings_goal"));
+                    finance.setCurrentSavings(rs.getBigDecimal("current_savings"));
+                    finance.setTotalExpenses(rs.getBigDecimal("total_expenses"));
+                    finance.setVersion(rs.getLong("version"));
+                    result.add(new FinanceTotals(finance, new ArrayList<>()));
+                }
+                String type = rs.getString("type_transaction");
+                if (type != null) {
+                    result.get(0).getSummaries().add(TransactionSummary.builder()
+                            .financeId(financeId)
+                            .category(rs.getString("category"))
+                            .typeTransaction(TypeTransaction.valueOf(type))
+                            .total(rs.getBigDecimal("total"))
+                            .transactionCount(rs.getLong("transaction_count"))
+                            .build());
+                }
+            }, Date.valueOf(fromMonth.withDayOfMonth(1)), Date.valueOf(toMonth.withDayOfMonth(1)), financeId);
+            return result.stream().findFirst();
+        } catch (Exception e) {
+            log.error("Error reading finance totals for finance ID {}: {}", financeId, e.getMessage());
+            throw new ErrorSelectSqlException("Error reading finance totals", e);
+        }
+    }
+
+    private String condition(List<Object> params, Long financeId, TypeTransaction typeTransaction, LocalDate fromMonth, LocalDate toMonth) {
+        StringBuilder condition = new StringBuilder(" WHERE finance_id = ? AND type_transaction = ?");
+        params.add(financeId);
+        params.add(typeTransaction.name());
+        if (fromMonth != null) {
+            condition.append(" AND month >= ?");
+            params.add(Date.valueOf(fromMonth.withDayOfMonth(1)));
+        }
+        if (toMonth != null) {
+            condition.append(" AND month <= ?");
+            params.add(Date.valueOf(toMonth.withDayOfMonth(1)));
+        }
+        return condition.toString();
+    }
+
+    @Override
+    public int rebuild(Long financeId) {
+        try {
+            jdbcTemplate.queryForList(LOCK_FINANCE_FOR_REBUILD_SQL, Long.class, financeId);
+            jdbcTemplate.update("DELETE FROM business.transaction_summaries WHERE finance_id = ?", financeId);
+            jdbcTemplate.update("DELETE FROM business.daily_expenses WHERE finance_id = ?", financeId);
+            return jdbcTemplate.update("INSERT INTO business.transaction_summaries "
+                    + "(finance_id, month, category, type_transaction, total, transaction_count) "
+                    + REBUILD_SELECT + " AND finance_id = ? GROUP BY 1, 2, 3, 4", financeId)
+                    + jdbcTemplate.update("INSERT INTO business.daily_expenses (finance_id, day, total, transaction_count) "
+                    + REBUILD_DAILY_SELECT + " AND finance_id = ? GROUP BY 1, 2", financeId);
+        } catch (Exception e) {
+            log.error("Error rebuilding summaries for finance ID {}: {}", financeId, e.getMessage());
+            throw new ErrorUpdateSqlException("Error rebuilding transaction summaries", e);
+        }
+    }
+
+    @Override
+    public int rebuildAll() {
+        try {
+            jdbcTemplate.execute(LOCK_SUMMARIES_FOR_REBUILD_SQL);
+            jdbcTemplate.update("DELETE FROM business.transaction_summaries");
+            jdbcTemplate.update("DELETE FROM business.daily_expenses");
+            return jdbcTemplate.update("INSERT INTO business.transaction_summaries "
+                    + "(finance_id, month, category, type_transaction, total, transaction_count) "
+                    + REBUILD_SELECT + " GROUP BY 1, 2, 3, 4")
+                    + jdbcTemplate.update("INSERT INTO business.daily_expenses (finance_id, day, total, transaction_count) "
+                    + REBUILD_DAILY_SELECT + " GROUP BY 1, 2");
+        } catch (Exception e) {
+            log.error("Error rebuilding all summaries: {}", e.getMessage());
+            throw new ErrorUpdateSqlException("Error rebuilding transaction summaries", e);
+        }
+    }
+}
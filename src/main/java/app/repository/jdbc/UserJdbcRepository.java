@@ -3,49 +3,67 @@ package app.repository.jdbc;
 import app.entity.Role;
 import app.entity.User;
 import app.exception.db.ErrorDeleteSqlException;
+import app.exception.db.ErrorInsertSqlException;
 import app.exception.db.ErrorSelectSqlException;
 import app.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
-import java.sql.PreparedStatement;
-import java.sql.Statement;
 import java.util.Collection;
-import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 @Repository
-public class UserJdbcRepository implements UserRepository {
+public class UserJdbcRepository extends AbstractJdbcRepository<User> implements UserRepository {
 
     private static final Logger log = LoggerFactory.getLogger(UserJdbcRepository.class);
-    private final JdbcTemplate jdbcTemplate;
+
+    private static final String COLUMNS = "id, name, email, password, is_active, role, finance_id";
+
+    private static final RowMapper<User> ROW_MAPPER = (rs, rowNum) -> new User(
+            rs.getLong(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getBoolean(5),
+            Role.valueOf(rs.getString(6).toUpperCase()),
+            rs.getLong(7)
+    );
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO business.users (name, email, password, is_active, role, finance_id)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (email) DO UPDATE SET
+                name = EXCLUDED.name,
+                password = EXCLUDED.password,
+                is_active = EXCLUDED.is_active,
+                role = EXCLUDED.role,
+                finance_id = EXCLUDED.finance_id
+            RETURNING id
+            """;
+
+    // Открыт, чтобы тесты проверяли план именно того запроса, который выполняет репозиторий.
+    public static final String FIND_BY_EMAIL_SQL = "SELECT " + COLUMNS + " FROM business.users WHERE email = ?";
 
     public UserJdbcRepository(JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
+        super(jdbcTemplate, "business.users", COLUMNS, ROW_MAPPER);
     }
 
     @Override
     public Optional<User> findById(Long id) {
-        String sql = "SELECT * FROM business.users WHERE id = ?";
-        return queryForOptional(sql, id);
+        return findOne(findByIdSql, id);
     }
 
     @Override
     public Optional<User> findByEmail(String email) {
-        String sql = "SELECT * FROM business.users WHERE email = ?";
-        return queryForOptional(sql, email);
+        return findOne(FIND_BY_EMAIL_SQL, email);
     }
 
-    private Optional<User> queryForOptional(String sql, Object param) {
+    private Optional<User> findOne(String sql, Object param) {
         try {
-            List<User> users = jdbcTemplate.query(sql, userRowMapper(), param);
-            return users.stream().findFirst();
+            return queryForOptional(sql, param);
         } catch (Exception e) {
             log.error("Error executing query: {}", e.getMessage());
             throw new ErrorSelectSqlException("Error finding user", e);
@@ -54,53 +72,25 @@ public class UserJdbcRepository implements UserRepository {
 
     @Override
     public User save(User entity) {
-        String sql = """
-        INSERT INTO business.users (name, email, password, is_active, role, finance_id)
-        VALUES (?, ?, ?, ?, ?, ?)
-        ON CONFLICT (email) DO UPDATE SET
-            name = EXCLUDED.name,
-            password = EXCLUDED.password,
-            is_active = EXCLUDED.is_active,
-            role = EXCLUDED.role,
-            finance_id = EXCLUDED.finance_id
-        RETURNING id
-        """;
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-
-        int update = jdbcTemplate.update(con -> {
-            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            ps.setString(1, entity.getName());
-            ps.setString(2, entity.getEmail());
-            ps.setString(3, entity.getPassword());
-            ps.setBoolean(4, entity.isActive());
-            ps.setString(5, entity.getRole().toString());
-            ps.setLong(6, entity.getFinanceId());
-            return ps;
-        }, keyHolder);
-
-        if (update > 0) {
-            List<Map<String, Object>> keys = keyHolder.getKeyList();
-            if (!keys.isEmpty()) {
-                Map<String, Object> generatedKey = keys.get(0);
-                Number generatedId = (Number) generatedKey.get("id");
-                if (generatedId != null) {
-                    long id = generatedId.longValue();
-                    entity.setId(id);
-                    return entity;
-                }
-            }
+        try {
+            entity.setId(insertReturningId(UPSERT_SQL,
+                    entity.getName(),
+                    entity.getEmail(),
+                    entity.getPassword(),
+                    entity.isActive(),
+                    entity.getRole().toString(),
+                    entity.getFinanceId()));
+            return entity;
+        } catch (Exception e) {
+            log.error("Error saving user: {}", e.getMessage());
+            throw new ErrorInsertSqlException("Error saving user", e);
         }
-
-        return entity;
     }
 
-
     @Override
     public void delete(User entity) {
         String sql = "DELETE FROM business.users WHERE email = ?";
         try {
-            Collection<User> all = getAll();
-            log.info(all.toString());
             int affectedRows = jdbcTemplate.update(sql, entity.getEmail());
             if (affectedRows == 0) {
                 throw new ErrorDeleteSqlException("User not found, nothing deleted.");
@@ -122,26 +112,24 @@ public class UserJdbcRepository implements UserRepository {
         }
     }
 
+    @Override
+    public boolean claimBootstrapAdmin() {
+        String sql = "INSERT INTO metadata.admin_bootstrap (id) VALUES (1) ON CONFLICT (id) DO NOTHING";
+        try {
+            return jdbcTemplate.update(sql) == 1;
+        } catch (Exception e) {
+            log.error("Error claiming bootstrap admin: {}", e.getMessage());
+            throw new ErrorInsertSqlException("Error claiming bootstrap admin", e);
+        }
+    }
+
     @Override
     public Collection<User> getAll() {
-        String sql = "SELECT * FROM business.users";
         try {
-            return jdbcTemplate.query(sql, userRowMapper());
+            return queryForList(selectSql);
         } catch (Exception e) {
             log.error("Error fetching all users: {}", e.getMessage());
             throw new ErrorSelectSqlException("Error fetching all users", e);
         }
     }
-
-    private RowMapper<User> userRowMapper() {
-        return (rs, rowNum) -> new User(
-                rs.getLong("id"),
-                rs.getString("name"),
-                rs.getString("email"),
-                rs.getString("password"),
-                rs.getBoolean("is_active"),
-                Role.valueOf(rs.getString("role").toUpperCase()),
-                rs.getLong("finance_id")
-        );
-    }
 }
@@ -5,6 +5,7 @@ import app.dto.finance.FinanceDto;
 import app.dto.transaction.CreateTransactionDto;
 import app.dto.transaction.FilterTransactionDto;
 import app.dto.transaction.TransactionDto;
+import app.dto.transaction.TransactionPageDto;
 import app.dto.transaction.UpdateTransactionDto;
 import app.entity.Finance;
 
@@ -12,7 +13,6 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 public interface FinanceService {
 
@@ -31,7 +31,11 @@ public interface FinanceService {
 
     Finance save(Finance finance);
 
-    Set<TransactionDto> list(Long financeId);
+    List<TransactionDto> list(Long financeId);
+
+    long countTransactions(Long financeId);
+
+    TransactionPageDto listPage(Long financeId, String cursor, int size);
 
     FinanceDto getFinanceById(Long id);
 
@@ -0,0 +1,30 @@
+package app.service;
+
+import app.dto.metrics.AuditMetricsDto;
+import app.dto.metrics.AuthCacheMetricsDto;
+import app.dto.metrics.DataSourceRoutingMetricsDto;
+import app.dto.metrics.FinanceCacheMetricsDto;
+import app.dto.metrics.MethodMetricsDto;
+import app.dto.metrics.PoolMetricsDto;
+
+import java.util.List;
+
+public interface MetricsService {
+
+    List<PoolMetricsDto> getPoolMetrics();
+
+    AuthCacheMetricsDto getAuthCacheMetrics();
+
+    FinanceCacheMetricsDto getFinanceCacheMetrics();
+
+    List<MethodMetricsDto> getMethodMetrics();
+
+    AuditMetricsDto getAuditMetrics();
+
+    DataSourceRoutingMetricsDto getDataSourceRoutingMetrics();
+
+    /**
+     * Все метрики приложения в текстовом формате Prometheus (version 0.0.4).
+     */
+    String scrape();
+}
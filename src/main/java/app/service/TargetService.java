@@ -1,6 +1,10 @@
 package app.service;
 
+import app.dto.report.BudgetStatusDto;
+import app.dto.report.FinancialReportDto;
+
 import java.math.BigDecimal;
+import java.time.YearMonth;
 
 public interface TargetService {
 
@@ -8,9 +12,21 @@ public interface TargetService {
 
     Boolean isMonthBudgetExceeded(Long financeId);
 
+    BudgetStatusDto getBudgetStatus(Long financeId);
+
     Double getProgressTowardsGoal(Long financeId);
 
     String generateFinancialReport();
 
+    /**
+     * Текстовый отчёт за месяцы [from, to]; пустые границы заменяются периодом по умолчанию.
+     */
+    String generateFinancialReport(YearMonth from, YearMonth to);
+
+    /**
+     * Отчёт за месяцы [from, to]; по умолчанию - прошлый и текущий месяц.
+     */
+    FinancialReportDto getFinancialReport(YearMonth from, YearMonth to);
+
     void updateGoalSavings(BigDecimal savingGoal);
 }
@@ -0,0 +1,11 @@
+package app.service;
+
+import app.dto.transaction.ExportFormat;
+
+import java.io.OutputStream;
+import java.time.Instant;
+
+public interface TransactionExportService {
+
+    long export(Long financeId, ExportFormat format, Instant from, Instant to, OutputStream out);
+}
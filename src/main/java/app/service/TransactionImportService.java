@@ -0,0 +1,14 @@
+package app.service;
+
+import app.dto.transaction.CreateTransactionDto;
+import app.dto.transaction.ImportResultDto;
+
+import java.io.Reader;
+import java.util.List;
+
+public interface TransactionImportService {
+
+    ImportResultDto importTransactions(Long financeId, List<CreateTransactionDto> rows, boolean atomic);
+
+    ImportResultDto importCsv(Long financeId, Reader csv, boolean atomic);
+}
@@ -4,13 +4,16 @@ import app.dto.finance.FinanceDto;
 import app.dto.transaction.CreateTransactionDto;
 import app.dto.transaction.FilterTransactionDto;
 import app.dto.transaction.TransactionDto;
+import app.dto.transaction.TransactionPageDto;
 import app.dto.transaction.UpdateTransactionDto;
 import app.entity.Transaction;
 import app.entity.TypeTransaction;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Optional;
 
 public interface TransactionService {
 
@@ -20,11 +23,31 @@ public interface TransactionService {
 
     TransactionDto create(Long financeId, CreateTransactionDto dto);
 
+    /**
+     * Создаёт транзакцию и изменяет текущие накопления финансов одной атомарной операцией.
+     *
+     * @return созданная транзакция или пустой результат, если финансы не найдены или накоплений недостаточно
+     */
+    Optional<TransactionDto> createWithSavingsChange(Long financeId, CreateTransactionDto dto);
+
     void delete(Long id);
 
     List<TransactionDto> findAll(FinanceDto finance);
 
-    List<TransactionDto> getFilteredTransactions(FilterTransactionDto filterTransactionDto);
+    List<TransactionDto> getFilteredTransactions(Long financeId, FilterTransactionDto filterTransactionDto);
+
+    /**
+     * Все транзакции финансов от новых к старым.
+     */
+    List<TransactionDto> getTransactionsByFinanceId(Long id);
+
+    long countByFinanceId(Long financeId);
+
+    boolean existsByIdAndFinanceId(Long id, Long financeId);
+
+    TransactionPageDto getTransactionsPage(Long financeId, String cursor, int size);
+
+    BigDecimal getTotalAmount(Long financeId, TypeTransaction typeTransaction, Instant from, Instant to);
 
-    Set<TransactionDto> getTransactionsByFinanceId(Long id);
+    Map<String, BigDecimal> getAmountByCategory(Long financeId, TypeTransaction typeTransaction, Instant from, Instant to);
 }
@@ -0,0 +1,38 @@
+package app.service;
+
+import app.dto.transaction.TransactionDto;
+import app.entity.BudgetUsage;
+import app.entity.FinanceTotals;
+import app.entity.TypeTransaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface TransactionSummaryService {
+
+    void onCreated(TransactionDto transaction);
+
+    void onCreatedAll(List<TransactionDto> transactions);
+
+    void onEdited(TransactionDto before, TransactionDto after);
+
+    void onDeleted(TransactionDto transaction);
+
+    long countTransactions(Long financeId);
+
+    BigDecimal getMonthTotal(Long financeId, TypeTransaction typeTransaction, YearMonth month);
+
+    Map<String, BigDecimal> getTotalsByCategory(Long financeId, TypeTransaction typeTransaction, YearMonth from, YearMonth to);
+
+    Optional<FinanceTotals> getFinanceTotals(Long financeId, YearMonth from, YearMonth to);
+
+    Optional<BudgetUsage> getBudgetUsage(Long financeId, LocalDate today, int windowDays);
+
+    int rebuild(Long financeId);
+
+    int rebuildAll();
+}
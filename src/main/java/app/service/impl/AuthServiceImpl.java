@@ -1,6 +1,7 @@
 package app.service.impl;
 
 import app.aspect.auditable.Auditable;
+import app.auth.AuthenticationCache;
 import app.aspect.loggable.CustomLogging;
 import app.context.UserContext;
 import app.dto.auth.ResponseLogin;
@@ -31,6 +32,7 @@ public class AuthServiceImpl implements AuthService {
 
     private final UserService userService;
     private final TokenService tokenService;
+    private final AuthenticationCache authenticationCache;
 
     @Override
     @Auditable
@@ -85,6 +87,7 @@ public class AuthServiceImpl implements AuthService {
             throw new ErrorLogoutException("You are not logged in");
 
         tokenService.deleteTokenByUserId(user.id());
+        authenticationCache.invalidateUser(user.id());
 
         UserContext.clear();
     }
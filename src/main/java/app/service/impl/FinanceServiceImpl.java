@@ -1,12 +1,15 @@
 package app.service.impl;
 
 import app.aspect.auditable.Auditable;
+import app.cache.FinanceCache;
 import app.aspect.loggable.CustomLogging;
+import app.aspect.replica.ReplicaRead;
 import app.dto.finance.CreateFinanceDto;
 import app.dto.finance.FinanceDto;
 import app.dto.transaction.CreateTransactionDto;
 import app.dto.transaction.FilterTransactionDto;
 import app.dto.transaction.TransactionDto;
+import app.dto.transaction.TransactionPageDto;
 import app.dto.transaction.UpdateTransactionDto;
 import app.entity.Finance;
 import app.entity.TypeTransaction;
@@ -14,6 +17,7 @@ import app.exception.common.CreateException;
 import app.exception.common.DeleteException;
 import app.exception.common.NotFoundException;
 import app.exception.common.UpdateException;
+import app.exception.db.ErrorStaleVersionSqlException;
 import app.mapper.FinanceMapper;
 import app.repository.FinanceRepository;
 import app.service.FinanceService;
@@ -31,8 +35,6 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -43,13 +45,15 @@ public class FinanceServiceImpl implements FinanceService {
     private final FinanceRepository financeRepository;
     private final TransactionService transactionService;
     private final FinanceMapper financeMapper;
+    private final FinanceCache financeCache;
 
     @Override
     @Auditable
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
     public Long createEmptyFinance(CreateFinanceDto dto) {
         Finance finance = financeMapper.toEntity(dto);
         finance = financeRepository.save(finance);
+        financeCache.put(finance);
         return finance.getId();
     }
 
@@ -57,61 +61,37 @@ public class FinanceServiceImpl implements FinanceService {
     @Auditable
     @Transactional(rollbackFor = Exception.class)
     public TransactionDto createTransaction(Long financeId, CreateTransactionDto dto) {
-        Finance finance = find(financeId);
-
-        if (dto.typeTransaction().equals(TypeTransaction.EXPENSE) &&
-                finance.getCurrentSavings().compareTo(dto.amount()) < 0) {
-            BigDecimal diff = dto.amount().subtract(finance.getCurrentSavings());
-            System.out.println("Недостаточно средств, не хватает: " + diff);
-            throw new CreateException("Недостаточно средств");
-        }
-
-        TransactionDto transaction = transactionService.create(financeId, dto);
-        finance.getTransactionsId().add(transaction.id());
-
-        updateCurrentSavings(finance, transaction.amount(), transaction.typeTransaction());
-        financeRepository.save(finance);
+        TransactionDto transaction = transactionService.createWithSavingsChange(financeId, dto)
+                .orElseThrow(() -> {
+                    Finance finance = find(financeId);
+                    BigDecimal diff = dto.amount().subtract(finance.getCurrentSavings());
+                    log.debug("Недостаточно средств в финансах {}, не хватает: {}", financeId, diff);
+                    return new CreateException("Недостаточно средств");
+                });
+        financeCache.invalidate(financeId);
         return transaction;
     }
 
-    private void updateCurrentSavings(Finance finance, BigDecimal amount, TypeTransaction type) {
-        if (type == TypeTransaction.PROFIT) {
-            finance.setCurrentSavings(finance.getCurrentSavings().add(amount));
-        } else {
-            finance.setCurrentSavings(finance.getCurrentSavings().subtract(amount));
-        }
-    }
-
     private Finance find(Long id) {
-        return financeRepository.findById(id)
+        return financeCache.find(id, financeRepository::findById)
                 .orElseThrow(() -> new NotFoundException("Finance not found id=" + id));
     }
 
     @Override
     @Auditable
-    @Transactional
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public Map<String, BigDecimal> getExpensesByCategory(Long financeId) {
-        FinanceDto finance = getFinance(financeId);
-        return finance.transactionsId().stream()
-                .map(transactionService::getTransactionById)
-                .filter(t -> t.typeTransaction() == TypeTransaction.EXPENSE)
-                .collect(Collectors.groupingBy(TransactionDto::category,
-                        Collectors.reducing(BigDecimal.ZERO, TransactionDto::amount, BigDecimal::add)));
+        find(financeId);
+        return transactionService.getAmountByCategory(financeId, TypeTransaction.EXPENSE, null, null);
     }
 
     @Override
     @Auditable
     @Transactional(rollbackFor = Exception.class)
     public void delete(Long financeId, Long idTransaction) {
-        Set<TransactionDto> transactionsByFinanceId = transactionService.getTransactionsByFinanceId(financeId);
-        boolean transactionExists = transactionsByFinanceId.stream()
-                .anyMatch(transaction -> transaction.id().equals(idTransaction));
-
-        if (transactionExists) {
+        if (transactionService.existsByIdAndFinanceId(idTransaction, financeId)) {
             transactionService.delete(idTransaction);
-            Finance finance = this.find(financeId);
-            finance.getTransactionsId().remove(idTransaction);
-            financeRepository.save(finance);
         } else {
             throw new DeleteException("Transaction in finance: " + financeId + " not found, id transaction: " + idTransaction);
         }
@@ -128,50 +108,43 @@ public class FinanceServiceImpl implements FinanceService {
 
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
     public List<TransactionDto> filterTransactions(Long financeId, FilterTransactionDto filterTransactionDto) {
-        return transactionService.getFilteredTransactions(filterTransactionDto);
-    }
-
-    private boolean isWithinDateRange(Instant date, LocalDate startDate, LocalDate endDate) {
-        LocalDate transactionDate = date.atZone(ZoneId.systemDefault()).toLocalDate();
-        return (transactionDate.isEqual(startDate) || transactionDate.isEqual(endDate) ||
-                (transactionDate.isAfter(startDate) && transactionDate.isBefore(endDate)));
+        return transactionService.getFilteredTransactions(financeId, filterTransactionDto);
     }
 
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
     public BigDecimal getTotalProfit(LocalDate startDate, LocalDate endDate, Long financeId) {
-        FinanceDto finance = getFinance(financeId);
-        return getTotal(finance, startDate, endDate, TypeTransaction.PROFIT);
+        return getTotal(financeId, startDate, endDate, TypeTransaction.PROFIT);
     }
 
     @Override
     @Auditable
+    @Transactional(readOnly = true)
     public BigDecimal getTotalExpenses(LocalDate startDate, LocalDate endDate, Long financeId) {
-        FinanceDto finance = getFinance(financeId);
-        return getTotal(finance, startDate, endDate, TypeTransaction.EXPENSE);
+        return getTotal(financeId, startDate, endDate, TypeTransaction.EXPENSE);
     }
 
-    private BigDecimal getTotal(FinanceDto finance, LocalDate startDate, LocalDate endDate, TypeTransaction typeTransaction) {
-        return finance.transactionsId().stream()
-                .map(transactionService::getTransactionById)
-                .filter(t -> t.typeTransaction().equals(typeTransaction))
-                .filter(t -> isWithinDateRange(t.date(), startDate, endDate))
-                .map(TransactionDto::amount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Период включает обе даты целиком, поэтому в базу передаётся полуинтервал
+     * [начало startDate, начало дня после endDate) в часовом поясе системы.
+     * Для неизвестных финансов выбрасывается NotFoundException, а не возвращается ноль.
+     */
+    private BigDecimal getTotal(Long financeId, LocalDate startDate, LocalDate endDate, TypeTransaction typeTransaction) {
+        find(financeId);
+        ZoneId zone = ZoneId.systemDefault();
+        Instant from = startDate.atStartOfDay(zone).toInstant();
+        Instant to = endDate.plusDays(1).atStartOfDay(zone).toInstant();
+        return transactionService.getTotalAmount(financeId, typeTransaction, from, to);
     }
 
     @Override
     @Auditable
     @Transactional(rollbackFor = Exception.class)
     public TransactionDto editTransaction(Long financeId, UpdateTransactionDto updateTransactionDto) {
-        Set<TransactionDto> transactionsByFinanceId = transactionService.getTransactionsByFinanceId(financeId);
-        boolean transactionExists = transactionsByFinanceId.stream()
-                .anyMatch(transaction -> transaction.id().equals(updateTransactionDto.id()));
-
-        if (transactionExists) {
+        if (transactionService.existsByIdAndFinanceId(updateTransactionDto.id(), financeId)) {
             TransactionDto transaction = transactionService.edit(updateTransactionDto);
             log.debug("Edited transaction: {}", updateTransactionDto);
             return transaction;
@@ -185,34 +158,49 @@ public class FinanceServiceImpl implements FinanceService {
     @Auditable
     @Transactional(rollbackFor = Exception.class)
     public Finance save(Finance finance) {
-        return financeRepository.save(finance);
+        try {
+            Finance saved = financeRepository.save(finance);
+            financeCache.put(saved);
+            return saved;
+        } catch (ErrorStaleVersionSqlException e) {
+            financeCache.invalidate(finance.getId());
+            throw new UpdateException("Финансы id=" + finance.getId() + " изменены другим запросом, повторите операцию", e);
+        }
     }
 
     @Override
     @Auditable
-    @Transactional
-    public Set<TransactionDto> list(Long financeId) {
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public List<TransactionDto> list(Long financeId) {
         return transactionService.getTransactionsByFinanceId(financeId);
     }
 
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
+    public long countTransactions(Long financeId) {
+        return transactionService.countByFinanceId(financeId);
+    }
+
+    @Override
+    @Auditable
+    @Transactional(readOnly = true)
+    public TransactionPageDto listPage(Long financeId, String cursor, int size) {
+        return transactionService.getTransactionsPage(financeId, cursor, size);
+    }
+
+    @Override
+    @Auditable
+    @Transactional(readOnly = true)
     public FinanceDto getFinanceById(Long id) {
         return financeMapper.toDto(this.find(id));
     }
 
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
     public Finance findFinanceById(Long id) {
         return this.find(id);
     }
-
-    private FinanceDto getFinance(Long financeId) {
-        Finance finance = find(financeId);
-        Set<TransactionDto> transactions = transactionService.getTransactionsByFinanceId(finance.getId());
-        finance.setTransactionsId(transactions.stream().map(TransactionDto::id).collect(Collectors.toList()));
-        return financeMapper.toDto(finance);
-    }
 }
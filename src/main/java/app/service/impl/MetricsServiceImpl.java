@@ -0,0 +1,257 @@
+package app.service.impl;
+
+import app.audit.AuditLogWriter;
+import app.auth.AuthenticationCache;
+import app.cache.FinanceCache;
+import app.datasource.ReadWriteRoutingDataSource;
+import app.dto.metrics.AuditMetricsDto;
+import app.dto.metrics.AuthCacheMetricsDto;
+import app.dto.metrics.DataSourceRoutingMetricsDto;
+import app.dto.metrics.FinanceCacheMetricsDto;
+import app.dto.metrics.HistogramDto;
+import app.dto.metrics.MethodMetricsDto;
+import app.dto.metrics.PoolMetricsDto;
+import app.metrics.LatencyHistogram;
+import app.metrics.MethodMetricsRegistry;
+import app.metrics.MethodTimer;
+import app.metrics.PoolMetricsTracker;
+import app.metrics.PoolMetricsTrackerFactory;
+import app.service.MetricsService;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сервис чтения метрик приложения. Не помечен {@code @CustomLogging} и {@code @Auditable},
+ * чтобы опрос метрик не искажал их самих.
+ */
+@Service
+@RequiredArgsConstructor
+public class MetricsServiceImpl implements MetricsService {
+
+    private static final long[] BUCKET_BOUNDS_MILLIS = {1, 5, 10, 50, 100, 500, 1000, 5000, 30000};
+
+    private final PoolMetricsTrackerFactory poolMetricsTrackerFactory;
+    private final AuthenticationCache authenticationCache;
+    private final MethodMetricsRegistry methodMetricsRegistry;
+    private final AuditLogWriter auditLogWriter;
+    private final FinanceCache financeCache;
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    @Override
+    public List<PoolMetricsDto> getPoolMetrics() {
+        return poolMetricsTrackerFactory.getTrackers().stream()
+                .sorted(Comparator.comparing(PoolMetricsTracker::getPoolName))
+                .map(this::toDto)
+                .toList();
+    }
+
+    @Override
+    public AuthCacheMetricsDto getAuthCacheMetrics() {
+        return authenticationCache.getMetrics();
+    }
+
+    @Override
+    public FinanceCacheMetricsDto getFinanceCacheMetrics() {
+        return financeCache.getMetrics();
+    }
+
+    @Override
+    public List<MethodMetricsDto> getMethodMetrics() {
+        return methodMetricsRegistry.getTimers().stream()
+                .map(timer -> new MethodMetricsDto(timer.getClassName(), timer.getMethodName(), timer.getErrors(), toDto(timer.getLatency())))
+                .toList();
+    }
+
+    @Override
+    public AuditMetricsDto getAuditMetrics() {
+        return new AuditMetricsDto(
+                auditLogWriter.getQueued(),
+                auditLogWriter.getCapacity(),
+                auditLogWriter.getEnqueued(),
+                auditLogWriter.getWritten(),
+                auditLogWriter.getDropped(),
+                auditLogWriter.getFailed(),
+                toDto(auditLogWriter.getWriteTime()),
+                toDto(auditLogWriter.getDelay())
+        );
+    }
+
+    @Override
+    public DataSourceRoutingMetricsDto getDataSourceRoutingMetrics() {
+        return routingDataSource.getMetrics();
+    }
+
+    @Override
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+
+        List<MethodTimer> timers = methodMetricsRegistry.getTimers();
+        header(out, "app_method_duration_seconds", "summary", "Время выполнения методов сервисов");
+        for (MethodTimer timer : timers) {
+            String labels = labels("class", timer.getClassName(), "method", timer.getMethodName());
+            LatencyHistogram.Snapshot snapshot = timer.getLatency().snapshot();
+            sample(out, "app_method_duration_seconds", labels + ",quantile=\"0.5\"", toSeconds(snapshot.p50()));
+            sample(out, "app_method_duration_seconds", labels + ",quantile=\"0.99\"", toSeconds(snapshot.p99()));
+            sample(out, "app_method_duration_seconds_sum", labels, toSeconds(timer.getLatency().getSum()));
+            sample(out, "app_method_duration_seconds_count", labels, snapshot.count());
+        }
+        header(out, "app_method_duration_max_seconds", "gauge", "Максимальное время выполнения метода");
+        for (MethodTimer timer : timers) {
+            sample(out, "app_method_duration_max_seconds", labels("class", timer.getClassName(), "method", timer.getMethodName()),
+                    toSeconds(timer.getLatency().getMax()));
+        }
+        header(out, "app_method_errors_total", "counter", "Число вызовов, завершившихся исключением");
+        for (MethodTimer timer : timers) {
+            sample(out, "app_method_errors_total", labels("class", timer.getClassName(), "method", timer.getMethodName()), timer.getErrors());
+        }
+
+        List<PoolMetricsDto> pools = getPoolMetrics();
+        header(out, "app_pool_connections", "gauge", "Соединения пула по состоянию");
+        for (PoolMetricsDto pool : pools) {
+            sample(out, "app_pool_connections", labels("pool", pool.poolName(), "state", "active"), pool.activeConnections());
+            sample(out, "app_pool_connections", labels("pool", pool.poolName(), "state", "idle"), pool.idleConnections());
+            sample(out, "app_pool_connections", labels("pool", pool.poolName(), "state", "pending"), pool.pendingThreads());
+        }
+        header(out, "app_pool_connection_timeouts_total", "counter", "Число превышений времени ожидания соединения");
+        for (PoolMetricsDto pool : pools) {
+            sample(out, "app_pool_connection_timeouts_total", labels("pool", pool.poolName()), pool.connectionTimeouts());
+        }
+
+        AuthCacheMetricsDto authCache = getAuthCacheMetrics();
+        header(out, "app_auth_cache_requests_total", "counter", "Обращения к кэшу аутентификации");
+        sample(out, "app_auth_cache_requests_total", labels("result", "hit"), authCache.hits());
+        sample(out, "app_auth_cache_requests_total", labels("result", "miss"), authCache.misses());
+        header(out, "app_auth_cache_evictions_total", "counter", "Вытеснения из кэша аутентификации");
+        sample(out, "app_auth_cache_evictions_total", "", authCache.evictions());
+        header(out, "app_auth_cache_size", "gauge", "Записей в кэше аутентификации");
+        sample(out, "app_auth_cache_size", "", authCache.size());
+
+        FinanceCacheMetricsDto financeCacheMetrics = getFinanceCacheMetrics();
+        header(out, "app_finance_cache_requests_total", "counter", "Обращения к кэшу финансов по уровню, на котором найдена запись");
+        sample(out, "app_finance_cache_requests_total", labels("result", "request_hit"), financeCacheMetrics.requestHits());
+        sample(out, "app_finance_cache_requests_total", labels("result", "hit"), financeCacheMetrics.hits());
+        sample(out, "app_finance_cache_requests_total", labels("result", "miss"), financeCacheMetrics.misses());
+        header(out, "app_finance_cache_evictions_total", "counter", "Вытеснения из кэша финансов");
+        sample(out, "app_finance_cache_evictions_total", "", financeCacheMetrics.evictions());
+        header(out, "app_finance_cache_rejected_writes_total", "counter", "Отклонённые устаревшие записи в кэш финансов");
+        sample(out, "app_finance_cache_rejected_writes_total", "", financeCacheMetrics.rejectedWrites());
+        header(out, "app_finance_cache_size", "gauge", "Записей в кэше финансов");
+        sample(out, "app_finance_cache_size", "", financeCacheMetrics.size());
+
+        DataSourceRoutingMetricsDto routing = getDataSourceRoutingMetrics();
+        header(out, "app_datasource_route_total", "counter", "Соединения, выданные основной базой и репликой");
+        sample(out, "app_datasource_route_total", labels("route", "primary"), routing.primaryConnections());
+        sample(out, "app_datasource_route_total", labels("route", "replica"), routing.replicaConnections());
+        header(out, "app_datasource_replica_fallback_total", "counter", "Чтения с реплики, отправленные на основную базу из-за недоступности или отставания реплики");
+        sample(out, "app_datasource_replica_fallback_total", "", routing.replicaFallbacks());
+        if (routing.replicaEnabled()) {
+            header(out, "app_datasource_replica_up", "gauge", "Реплика отвечает на проверку отставания");
+            sample(out, "app_datasource_replica_up", "", routing.replicaAvailable() ? 1 : 0);
+            header(out, "app_datasource_replica_lag_seconds", "gauge", "Отставание реплики по последней проверке");
+            sample(out, "app_datasource_replica_lag_seconds", "", routing.replicaLagMillis() / 1000.0);
+        }
+
+        header(out, "app_audit_events_total", "counter", "События аудита по результату");
+        sample(out, "app_audit_events_total", labels("result", "enqueued"), auditLogWriter.getEnqueued());
+        sample(out, "app_audit_events_total", labels("result", "written"), auditLogWriter.getWritten());
+        sample(out, "app_audit_events_total", labels("result", "dropped"), auditLogWriter.getDropped());
+        sample(out, "app_audit_events_total", labels("result", "failed"), auditLogWriter.getFailed());
+        header(out, "app_audit_queue_size", "gauge", "События аудита, ожидающие записи");
+        sample(out, "app_audit_queue_size", "", auditLogWriter.getQueued());
+        LatencyHistogram.Snapshot delay = auditLogWriter.getDelay().snapshot();
+        header(out, "app_audit_delay_seconds", "summary", "Время от постановки события аудита в очередь до записи");
+        sample(out, "app_audit_delay_seconds", "quantile=\"0.5\"", toSeconds(delay.p50()));
+        sample(out, "app_audit_delay_seconds", "quantile=\"0.99\"", toSeconds(delay.p99()));
+        sample(out, "app_audit_delay_seconds_sum", "", toSeconds(auditLogWriter.getDelay().getSum()));
+        sample(out, "app_audit_delay_seconds_count", "", delay.count());
+
+        return out.toString();
+    }
+
+    private PoolMetricsDto toDto(PoolMetricsTracker tracker) {
+        PoolStats stats = tracker.getPoolStats();
+        return new PoolMetricsDto(
+                tracker.getPoolName(),
+                stats.getTotalConnections(),
+                stats.getActiveConnections(),
+                stats.getIdleConnections(),
+                stats.getPendingThreads(),
+                stats.getMaxConnections(),
+                stats.getMinConnections(),
+                tracker.getTimeouts(),
+                toDto(tracker.getAcquireTime()),
+                toDto(tracker.getUsageTime()),
+                toDto(tracker.getCreationTime())
+        );
+    }
+
+    private HistogramDto toDto(LatencyHistogram histogram) {
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (long bound : BUCKET_BOUNDS_MILLIS) {
+            buckets.put("le_" + bound + "ms", histogram.countAtMost(TimeUnit.MILLISECONDS.toNanos(bound)));
+        }
+        buckets.put("le_inf", snapshot.count());
+
+        return new HistogramDto(
+                snapshot.count(),
+                toMillis(snapshot.mean()),
+                toMillis(snapshot.p50()),
+                toMillis(snapshot.p90()),
+                toMillis(snapshot.p99()),
+                toMillis(snapshot.max()),
+                buckets
+        );
+    }
+
+    private double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private double toSeconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static String labels(String... namesAndValues) {
+        StringBuilder labels = new StringBuilder();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            if (i > 0) {
+                labels.append(',');
+            }
+            labels.append(namesAndValues[i]).append("=\"").append(escape(namesAndValues[i + 1])).append('"');
+        }
+        return labels.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -2,14 +2,21 @@ package app.service.impl;
 
 import app.aspect.auditable.Auditable;
 import app.aspect.loggable.CustomLogging;
+import app.aspect.replica.ReplicaRead;
 import app.context.UserContext;
 import app.dto.finance.FinanceDto;
-import app.dto.transaction.TransactionDto;
+import app.dto.report.BudgetStatusDto;
+import app.dto.report.FinancialReportDto;
 import app.dto.user.UserDto;
+import app.entity.BudgetUsage;
 import app.entity.Finance;
+import app.entity.FinanceTotals;
+import app.entity.TransactionSummary;
 import app.entity.TypeTransaction;
+import app.exception.common.NotFoundException;
 import app.service.FinanceService;
 import app.service.TargetService;
+import app.service.TransactionSummaryService;
 import app.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,10 +26,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.Duration;
-import java.time.Instant;
+import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.util.Set;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Реализация сервиса управления финансовыми целями пользователя.
@@ -34,8 +44,11 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class TargetServiceImpl implements TargetService {
 
+    private static final int BURN_RATE_WINDOW_DAYS = 30;
+
     private final UserService userService;
     private final FinanceService financeService;
+    private final TransactionSummaryService transactionSummaryService;
 
     /**
      * Устанавливает месячный бюджет пользователя.
@@ -50,36 +63,92 @@ public class TargetServiceImpl implements TargetService {
         log.debug("Месячный бюджет установлен: {}", budget);
     }
 
+    /**
+     * Проверяет, превышают ли расходы за последние {@value #BURN_RATE_WINDOW_DAYS} дней (включая сегодня)
+     * месячный бюджет. Окно скользящее, как и до перехода на агрегаты, поэтому на границе месяца
+     * результат может отличаться от {@link BudgetStatusDto#exceeded()}, который считает календарный месяц.
+     * Расходы берутся из дневных агрегатов, а не из полной истории транзакций.
+     *
+     * @param financeId идентификатор финансов
+     * @return true, если бюджет превышен
+     */
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
     public Boolean isMonthBudgetExceeded(Long financeId) {
-        Finance finance = findFinance(UserContext.getCurrentUser().email());
+        BudgetUsage usage = transactionSummaryService.getBudgetUsage(financeId, LocalDate.now(), BURN_RATE_WINDOW_DAYS)
+                .orElseThrow(() -> new NotFoundException("Finance not found id=" + financeId));
+        BigDecimal overspend = usage.getWindowExpenses().subtract(usage.getMonthlyBudget());
+        if (overspend.signum() > 0) {
+            log.debug("Месячный бюджет финансов {} превышен на {}", financeId, overspend);
+            return true;
+        }
+        return false;
+    }
 
-        Set<TransactionDto> transactions = financeService.list(financeId);
-        Instant thirtyDaysAgo = Instant.now().minus(Duration.ofDays(30));
-        BigDecimal totalExpenses = transactions.stream()
-                .filter(t -> t.typeTransaction() == TypeTransaction.EXPENSE && t.date().isAfter(thirtyDaysAgo))
-                .map(TransactionDto::amount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Возвращает остаток бюджета, скорость трат за последние {@value #BURN_RATE_WINDOW_DAYS} дней
+     * и прогноз даты превышения. Бюджет и расходы читаются одним запросом по дневным агрегатам.
+     *
+     * @param financeId идентификатор финансов
+     * @return состояние бюджета на сегодня
+     */
+    @Override
+    @Auditable
+    @Transactional(readOnly = true)
+    public BudgetStatusDto getBudgetStatus(Long financeId) {
+        LocalDate today = LocalDate.now();
+        BudgetUsage usage = transactionSummaryService.getBudgetUsage(financeId, today, BURN_RATE_WINDOW_DAYS)
+                .orElseThrow(() -> new NotFoundException("Finance not found id=" + financeId));
 
-        BigDecimal monthlyBudget = finance.getMonthlyBudget();
+        BigDecimal budget = usage.getMonthlyBudget();
+        BigDecimal spent = usage.getMonthExpenses();
+        BigDecimal remaining = budget.subtract(spent);
+        boolean exceeded = spent.compareTo(budget) > 0;
+        BigDecimal burnRate = usage.getWindowExpenses()
+                .divide(BigDecimal.valueOf(BURN_RATE_WINDOW_DAYS), 2, RoundingMode.HALF_UP);
+        LocalDate monthEnd = YearMonth.from(today).atEndOfMonth();
+        long daysLeft = ChronoUnit.DAYS.between(today, monthEnd);
 
-        if (totalExpenses.compareTo(monthlyBudget) > 0) {
-            System.out.println("Внимание! Вы превысили месячный бюджет на " + totalExpenses.subtract(monthlyBudget) + "!");
-            return true;
-        }
+        return new BudgetStatusDto(
+                financeId,
+                today,
+                budget,
+                spent,
+                remaining,
+                exceeded,
+                BURN_RATE_WINDOW_DAYS,
+                burnRate,
+                spent.add(burnRate.multiply(BigDecimal.valueOf(daysLeft))),
+                projectOverspendDate(today, monthEnd, remaining, exceeded, burnRate)
+        );
+    }
 
-        return false;
+    /**
+     * Первый день, к концу которого расходы превысят бюджет при постоянной скорости трат.
+     */
+    private static LocalDate projectOverspendDate(LocalDate today, LocalDate monthEnd, BigDecimal remaining,
+                                                  boolean exceeded, BigDecimal burnRate) {
+        if (exceeded) {
+            return today;
+        }
+        if (burnRate.signum() <= 0) {
+            return null;
+        }
+        long days = remaining.divide(burnRate, 0, RoundingMode.FLOOR).longValue() + 1;
+        LocalDate date = today.plusDays(days);
+        return date.isAfter(monthEnd) ? null : date;
     }
 
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
     public Double getProgressTowardsGoal(Long financeId) {
         FinanceDto finance = financeService.getFinanceById(financeId);
-        BigDecimal current = finance.currentSavings();
-        BigDecimal goal = finance.savingsGoal();
+        return progress(finance.currentSavings(), finance.savingsGoal());
+    }
+
+    private static Double progress(BigDecimal current, BigDecimal goal) {
         if (goal.compareTo(BigDecimal.ZERO) == 0) {
             return 0.0;
         }
@@ -87,30 +156,34 @@ public class TargetServiceImpl implements TargetService {
     }
 
     /**
-     * Генерирует финансовый отчет пользователя.
+     * Генерирует финансовый отчет пользователя за прошлый и текущий месяц.
      *
      * @return строковое представление финансового отчета
      */
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
     public String generateFinancialReport() {
-        UserDto user = userService.getUserByEmail(UserContext.getCurrentUser().email());
-        Finance finance = financeService.findFinanceById(user.financeId());
+        return generateFinancialReport(null, null);
+    }
+
+    @Override
+    @Auditable
+    @Transactional(readOnly = true)
+    public String generateFinancialReport(YearMonth from, YearMonth to) {
+        FinancialReportDto report = getFinancialReport(from, to);
         StringBuilder reportBuilder = new StringBuilder();
 
         reportBuilder.append("==== Финансовый отчет ====\n");
-        reportBuilder.append("Текущие накопления: ").append(finance.getCurrentSavings()).append("\n");
-        reportBuilder.append("Цель накопления: ").append(finance.getSavingsGoal()).append("\n");
-        reportBuilder.append("Прогресс к цели: ").append(getProgressTowardsGoal(user.id())).append("%\n");
-
-        reportBuilder.append("Суммарный доход за период: ")
-                .append(financeService.getTotalProfit(LocalDate.now().minusMonths(1), LocalDate.now(), user.id())).append("\n");
-        reportBuilder.append("Суммарные расходы за период: ")
-                .append(financeService.getTotalExpenses(LocalDate.now().minusMonths(1), LocalDate.now(), user.id())).append("\n");
+        reportBuilder.append("Период: ").append(report.from()).append(" - ").append(report.to()).append("\n");
+        reportBuilder.append("Текущие накопления: ").append(report.currentSavings()).append("\n");
+        reportBuilder.append("Цель накопления: ").append(report.savingsGoal()).append("\n");
+        reportBuilder.append("Прогресс к цели: ").append(report.progressTowardsGoal()).append("%\n");
+        reportBuilder.append("Суммарный доход за период: ").append(report.totalProfit()).append("\n");
+        reportBuilder.append("Суммарные расходы за период: ").append(report.totalExpenses()).append("\n");
 
         reportBuilder.append("Расходы по категориям:\n");
-        financeService.getExpensesByCategory(UserContext.getCurrentUser().id()).forEach((category, total) ->
+        report.expensesByCategory().forEach((category, total) ->
                 reportBuilder.append(category).append(": ").append(total).append("\n"));
 
         reportBuilder.append("===========================\n");
@@ -118,6 +191,63 @@ public class TargetServiceImpl implements TargetService {
         return reportBuilder.toString();
     }
 
+    /**
+     * Строит отчёт по финансам текущего пользователя. Строка финансов и агрегаты за период
+     * читаются одним запросом, все показатели считаются за один проход по агрегатам.
+     */
+    @Override
+    @Auditable
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public FinancialReportDto getFinancialReport(YearMonth from, YearMonth to) {
+        YearMonth periodTo = to != null ? to : YearMonth.now();
+        YearMonth periodFrom = from != null ? from : periodTo.minusMonths(1);
+        if (periodFrom.isAfter(periodTo)) {
+            throw new IllegalArgumentException("Начало периода " + periodFrom + " позже конца " + periodTo);
+        }
+        Long financeId = UserContext.getCurrentUser().financeId();
+        FinanceTotals totals = transactionSummaryService.getFinanceTotals(financeId, periodFrom, periodTo)
+                .orElseThrow(() -> new NotFoundException("Finance not found id=" + financeId));
+
+        BigDecimal totalProfit = BigDecimal.ZERO;
+        BigDecimal totalExpenses = BigDecimal.ZERO;
+        long transactionCount = 0;
+        Map<String, BigDecimal> expensesByCategory = new HashMap<>();
+        for (TransactionSummary summary : totals.getSummaries()) {
+            transactionCount += summary.getTransactionCount();
+            if (summary.getTypeTransaction() == TypeTransaction.PROFIT) {
+                totalProfit = totalProfit.add(summary.getTotal());
+            } else {
+                totalExpenses = totalExpenses.add(summary.getTotal());
+                expensesByCategory.merge(summary.getCategory(), summary.getTotal(), BigDecimal::add);
+            }
+        }
+
+        Finance finance = totals.getFinance();
+        return new FinancialReportDto(
+                financeId,
+                periodFrom,
+                periodTo,
+                finance.getCurrentSavings(),
+                finance.getSavingsGoal(),
+                progress(finance.getCurrentSavings(), finance.getSavingsGoal()),
+                finance.getMonthlyBudget(),
+                totalProfit,
+                totalExpenses,
+                totalProfit.subtract(totalExpenses),
+                transactionCount,
+                sortByTotalDesc(expensesByCategory)
+        );
+    }
+
+    private static Map<String, BigDecimal> sortByTotalDesc(Map<String, BigDecimal> totals) {
+        Map<String, BigDecimal> sorted = new LinkedHashMap<>();
+        totals.entrySet().stream()
+                .sorted(Map.Entry.<String, BigDecimal>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
     /**
      * Устанавливает цель накоплений пользователя.
      *
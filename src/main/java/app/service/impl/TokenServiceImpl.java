@@ -19,21 +19,21 @@ public class TokenServiceImpl implements TokenService {
 
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
     public Token getTokenById(Long id) {
         return tokenRepository.findById(id).orElseThrow(() -> new NotFoundException("Token with id: " + id+ " not found"));
     }
 
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
     public Token getTokenByUserId(Long userId){
         return tokenRepository.findByUserId(userId).orElseThrow(() -> new NotFoundException("Token with userId: " + userId+" not found"));
     }
 
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
     public Token getTokenByUserEmail(String email) {
         return tokenRepository.getTokenByUserEmail(email).orElseThrow(() -> new NotFoundException("Token with email  " + email+ "not found"));
     }
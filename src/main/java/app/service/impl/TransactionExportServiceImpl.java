@@ -0,0 +1,140 @@
+package app.service.impl;
+
+import app.aspect.auditable.Auditable;
+import app.aspect.loggable.CustomLogging;
+import app.dto.transaction.ExportFormat;
+import app.dto.transaction.TransactionDto;
+import app.entity.Transaction;
+import app.mapper.TransactionMapper;
+import app.repository.TransactionRepository;
+import app.service.TransactionExportService;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Выгрузка транзакций в CSV или NDJSON.
+ * <p>
+ * Строки читаются из базы курсором и сразу пишутся в выходной поток,
+ * поэтому расход памяти не зависит от объёма выгрузки.
+ */
+@Slf4j
+@Service
+@CustomLogging
+@RequiredArgsConstructor
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    private static final String CSV_HEADER = "id,date,type_transaction,category,amount,description";
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionMapper transactionMapper;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Выгружает транзакции финансов в поток. Поток не закрывается.
+     *
+     * @param financeId идентификатор финансов
+     * @param format    формат выгрузки
+     * @param from      начало периода включительно, null - без ограничения
+     * @param to        конец периода не включительно, null - без ограничения
+     * @param out       поток для записи
+     * @return количество выгруженных транзакций
+     */
+    @Override
+    @Auditable
+    @Transactional(readOnly = true)
+    public long export(Long financeId, ExportFormat format, Instant from, Instant to, OutputStream out) {
+        AtomicLong count = new AtomicLong();
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(nonClosing(out), StandardCharsets.UTF_8));
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                stream(financeId, from, to, transaction -> {
+                    writeCsvRow(writer, transaction);
+                    count.incrementAndGet();
+                });
+                writer.flush();
+            } else {
+                try (SequenceWriter sequenceWriter = jsonMapper.writer().withRootValueSeparator("\n").writeValues(writer)) {
+                    stream(financeId, from, to, transaction -> {
+                        TransactionDto dto = transactionMapper.toDto(transaction);
+                        try {
+                            sequenceWriter.write(dto);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        count.incrementAndGet();
+                    });
+                    sequenceWriter.flush();
+                    if (count.get() > 0) {
+                        writer.write('\n');
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing transaction export", e);
+        }
+        log.debug("Exported {} transactions of finance {} as {}", count.get(), financeId, format);
+        return count.get();
+    }
+
+    private void stream(Long financeId, Instant from, Instant to, Consumer<Transaction> consumer) {
+        transactionRepository.streamByFinanceId(financeId, from, to, consumer);
+    }
+
+    private void writeCsvRow(Writer writer, Transaction transaction) {
+        try {
+            writer.write(String.valueOf(transaction.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(transaction.getDate()));
+            writer.write(',');
+            writer.write(transaction.getTypeTransaction().name());
+            writer.write(',');
+            writer.write(csv(transaction.getCategory()));
+            writer.write(',');
+            writer.write(transaction.getAmount() == null ? "" : transaction.getAmount().toPlainString());
+            writer.write(',');
+            writer.write(csv(transaction.getDescription()));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Закрытие writer-ов не должно закрывать поток ответа: им управляет вызывающая сторона.
+     */
+    private OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+}
@@ -0,0 +1,245 @@
+package app.service.impl;
+
+import app.aspect.auditable.Auditable;
+import app.aspect.loggable.CustomLogging;
+import app.cache.FinanceCache;
+import app.dto.transaction.CreateTransactionDto;
+import app.dto.transaction.ImportErrorDto;
+import app.dto.transaction.ImportResultDto;
+import app.entity.Finance;
+import app.entity.Transaction;
+import app.entity.TypeTransaction;
+import app.exception.common.CreateException;
+import app.exception.common.NotFoundException;
+import app.mapper.TransactionMapper;
+import app.repository.FinanceRepository;
+import app.repository.TransactionRepository;
+import app.service.TransactionImportService;
+import app.service.TransactionSummaryService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Пакетный импорт транзакций.
+ * <p>
+ * Строки проверяются валидатором и по остатку средств, прошедшие проверку сохраняются
+ * одной пакетной вставкой, а накопления и агрегаты обновляются один раз на весь импорт.
+ * В режиме atomic любая ошибка отменяет импорт целиком.
+ */
+@Slf4j
+@Service
+@CustomLogging
+@RequiredArgsConstructor
+public class TransactionImportServiceImpl implements TransactionImportService {
+
+    public static final int MAX_ROWS = 10_000;
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("amount", "category", "type_transaction");
+
+    private final TransactionRepository transactionRepository;
+    private final FinanceRepository financeRepository;
+    private final TransactionSummaryService transactionSummaryService;
+    private final TransactionMapper transactionMapper;
+    private final Validator validator;
+    private final FinanceCache financeCache;
+
+    /**
+     * Импортирует транзакции.
+     *
+     * @param financeId идентификатор финансов
+     * @param rows      строки импорта
+     * @param atomic    true - сохранить все строки или ни одной
+     * @return результат импорта с ошибками по строкам
+     */
+    @Override
+    @Auditable
+    @Transactional(rollbackFor = Exception.class)
+    public ImportResultDto importTransactions(Long financeId, List<CreateTransactionDto> rows, boolean atomic) {
+        List<ImportRow> importRows = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            importRows.add(new ImportRow(i + 1, rows.get(i), null));
+        }
+        return importRows(financeId, importRows, atomic);
+    }
+
+    /**
+     * Импортирует транзакции из CSV с заголовком. Обязательные колонки: amount, category, type_transaction;
+     * description необязательна, остальные колонки (например, id и date из выгрузки) игнорируются.
+     */
+    @Override
+    @Auditable
+    @Transactional(rollbackFor = Exception.class)
+    public ImportResultDto importCsv(Long financeId, Reader csv, boolean atomic) {
+        return importRows(financeId, parseCsv(csv), atomic);
+    }
+
+    private ImportResultDto importRows(Long financeId, List<ImportRow> rows, boolean atomic) {
+        if (rows.size() > MAX_ROWS) {
+            throw new CreateException("Too many rows in import: " + rows.size() + ", max " + MAX_ROWS);
+        }
+        // Строка финансов заблокирована до конца транзакции: проверки баланса ниже идут по актуальным
+        // накоплениям, и параллельный импорт или создание транзакции не спишут их одновременно с нами.
+        Finance finance = financeRepository.findByIdForUpdate(financeId)
+                .orElseThrow(() -> new NotFoundException("Finance not found id=" + financeId));
+
+        List<ImportErrorDto> errors = new ArrayList<>();
+        List<Transaction> accepted = new ArrayList<>();
+        BigDecimal balance = finance.getCurrentSavings();
+        Instant now = Instant.now();
+
+        for (ImportRow row : rows) {
+            String error = row.error() != null ? row.error() : validate(row.dto());
+            if (error == null && row.dto().typeTransaction() == TypeTransaction.EXPENSE
+                    && balance.compareTo(row.dto().amount()) < 0) {
+                error = "Недостаточно средств, не хватает: " + row.dto().amount().subtract(balance);
+            }
+            if (error != null) {
+                errors.add(new ImportErrorDto(row.number(), error));
+                continue;
+            }
+            balance = row.dto().typeTransaction() == TypeTransaction.PROFIT
+                    ? balance.add(row.dto().amount())
+                    : balance.subtract(row.dto().amount());
+
+            Transaction transaction = transactionMapper.toEntity(row.dto());
+            transaction.setDate(now);
+            transaction.setFinanceId(financeId);
+            accepted.add(transaction);
+        }
+
+        if (accepted.isEmpty() || (atomic && !errors.isEmpty())) {
+            log.debug("Import into finance {} rejected: {} errors", financeId, errors.size());
+            return new ImportResultDto(rows.size(), 0, BigDecimal.ZERO, errors);
+        }
+
+        BigDecimal savingsChange = balance.subtract(finance.getCurrentSavings());
+        transactionRepository.saveAll(accepted);
+        if (!financeRepository.addToCurrentSavings(financeId, savingsChange)) {
+            throw new NotFoundException("Finance not found id=" + financeId);
+        }
+        financeCache.invalidate(financeId);
+        transactionSummaryService.onCreatedAll(transactionMapper.toDtoList(accepted));
+
+        log.debug("Imported {} of {} transactions into finance {}", accepted.size(), rows.size(), financeId);
+        return new ImportResultDto(rows.size(), accepted.size(), savingsChange, errors);
+    }
+
+    private String validate(CreateTransactionDto dto) {
+        if (dto == null) {
+            return "Пустая строка";
+        }
+        Set<ConstraintViolation<CreateTransactionDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private List<ImportRow> parseCsv(Reader csv) {
+        try (BufferedReader reader = new BufferedReader(csv)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return List.of();
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names = splitCsvLine(header.startsWith("\uFEFF") ? header.substring(1) : header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String column : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(column)) {
+                    throw new CreateException("CSV header must contain column: " + column);
+                }
+            }
+
+            List<ImportRow> rows = new ArrayList<>();
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                number++;
+                if (number > MAX_ROWS) {
+                    throw new CreateException("Too many rows in import, max " + MAX_ROWS);
+                }
+                rows.add(parseCsvRow(number, splitCsvLine(line), columns));
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading CSV import", e);
+        }
+    }
+
+    private ImportRow parseCsvRow(int number, List<String> values, Map<String, Integer> columns) {
+        try {
+            String amount = value(values, columns, "amount");
+            String type = value(values, columns, "type_transaction");
+            CreateTransactionDto dto = new CreateTransactionDto(
+                    amount == null || amount.isBlank() ? null : new BigDecimal(amount.trim()),
+                    value(values, columns, "category"),
+                    value(values, columns, "description"),
+                    type == null || type.isBlank() ? null : TypeTransaction.valueOf(type.trim().toUpperCase(Locale.ROOT)));
+            return new ImportRow(number, dto, null);
+        } catch (NumberFormatException e) {
+            return new ImportRow(number, null, "Некорректная сумма");
+        } catch (IllegalArgumentException e) {
+            return new ImportRow(number, null, "Некорректный тип транзакции");
+        }
+    }
+
+    private String value(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= values.size() ? null : values.get(index);
+    }
+
+    /**
+     * Разбор строки CSV по RFC 4180: поля в кавычках могут содержать запятые, кавычки удваиваются.
+     */
+    private List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private record ImportRow(int number, CreateTransactionDto dto, String error) {
+    }
+}
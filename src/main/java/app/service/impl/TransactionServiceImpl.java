@@ -2,19 +2,23 @@ package app.service.impl;
 
 import app.aspect.auditable.Auditable;
 import app.aspect.loggable.CustomLogging;
-import app.context.UserContext;
+import app.aspect.replica.ReplicaRead;
 import app.dto.finance.FinanceDto;
 import app.dto.transaction.CreateTransactionDto;
 import app.dto.transaction.FilterTransactionDto;
+import app.dto.transaction.TransactionCursor;
 import app.dto.transaction.TransactionDto;
+import app.dto.transaction.TransactionPageDto;
 import app.dto.transaction.UpdateTransactionDto;
-import app.dto.user.UserDto;
 import app.entity.Transaction;
+import app.entity.TypeTransaction;
 import app.exception.common.CreateException;
 import app.exception.common.DeleteException;
 import app.mapper.TransactionMapper;
 import app.repository.TransactionRepository;
+import app.repository.criteria.TransactionCriteria;
 import app.service.TransactionService;
+import app.service.TransactionSummaryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
@@ -23,9 +27,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Реализация сервиса управления транзакциями.
@@ -37,8 +43,11 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final TransactionRepository transactionRepository;
     private final TransactionMapper transactionMapper;
+    private final TransactionSummaryService transactionSummaryService;
 
 
     /**
@@ -58,12 +67,36 @@ public class TransactionServiceImpl implements TransactionService {
             transaction = transactionRepository.save(transaction);
 
             log.debug("addTransaction: {}", transaction.toString());
-            return transactionMapper.toDto(transaction);
+            TransactionDto created = transactionMapper.toDto(transaction);
+            transactionSummaryService.onCreated(created);
+            return created;
         } catch (Exception e) {
             throw new CreateException("Error create transaction", e);
         }
     }
 
+    /**
+     * Создает транзакцию и сразу применяет её к текущим накоплениям.
+     *
+     * @param financeId идентификатор финансов
+     * @param dto       данные для создания транзакции
+     * @return созданная транзакция или пустой результат, если операция отклонена
+     */
+    @Override
+    @Auditable
+    @Transactional(rollbackFor = Exception.class)
+    public Optional<TransactionDto> createWithSavingsChange(Long financeId, CreateTransactionDto dto) {
+        Transaction transaction = transactionMapper.toEntity(dto);
+        transaction.setDate(Instant.now());
+        transaction.setFinanceId(financeId);
+
+        Optional<TransactionDto> created = transactionRepository.saveWithSavingsChange(transaction)
+                .map(transactionMapper::toDto);
+        created.ifPresent(transactionSummaryService::onCreated);
+        log.debug("createWithSavingsChange: {}, created: {}", transaction, created.isPresent());
+        return created;
+    }
+
     /**
      * Получает транзакцию по её идентификатору.
      *
@@ -72,7 +105,7 @@ public class TransactionServiceImpl implements TransactionService {
      */
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
     public TransactionDto getTransactionById(Long id) {
         return transactionMapper.toDto(find(id));
     }
@@ -99,10 +132,14 @@ public class TransactionServiceImpl implements TransactionService {
     @Transactional(rollbackFor = Exception.class)
     public TransactionDto edit(UpdateTransactionDto dto) {
         Transaction transaction = this.find(dto.id());
+        TransactionDto before = transactionMapper.toDto(transaction);
+        Instant previousDate = transaction.getDate();
         transactionMapper.updateEntity(transaction, dto);
-        transactionRepository.save(transaction);
+        transactionRepository.update(transaction, previousDate);
         log.debug("Транзакция обновлена: {}", transaction);
-        return transactionMapper.toDto(transaction);
+        TransactionDto after = transactionMapper.toDto(transaction);
+        transactionSummaryService.onEdited(before, after);
+        return after;
     }
 
     /**
@@ -116,7 +153,9 @@ public class TransactionServiceImpl implements TransactionService {
     @Transactional(rollbackFor = Exception.class)
     public void delete(Long id) {
         try {
-            transactionRepository.deleteById(id);
+            Transaction transaction = find(id);
+            transactionRepository.delete(transaction);
+            transactionSummaryService.onDeleted(transactionMapper.toDto(transaction));
             log.debug("deleteTransaction with id: {}", id);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -125,16 +164,16 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     /**
-     * Получает все транзакции пользователя.
+     * Получает все транзакции пользователя одним запросом по finance_id.
      *
      * @param finance финансовые данные пользователя
-     * @return список транзакций
+     * @return список транзакций от новых к старым
      */
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
     public List<TransactionDto> findAll(FinanceDto finance) {
-        return finance.transactionsId().stream().map(this::getTransactionById).toList();
+        return getTransactionsByFinanceId(finance.id());
     }
 
     /**
@@ -142,18 +181,127 @@ public class TransactionServiceImpl implements TransactionService {
      */
     @Override
     @Auditable
-    @Transactional
-    public List<TransactionDto> getFilteredTransactions(FilterTransactionDto f) {
-        UserDto user = UserContext.getCurrentUser();
-        return transactionMapper.toDtoList(transactionRepository.getFilteredTransactions(user.financeId(),
-                f.startDate(), f.endDate(), f.category(), f.typeTransaction()));
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public List<TransactionDto> getFilteredTransactions(Long financeId, FilterTransactionDto f) {
+        TransactionCriteria criteria = new TransactionCriteria.Builder(financeId)
+                .from(f.startDate())
+                .to(f.endDate())
+                .category(f.category())
+                .categories(f.categories())
+                .typeTransaction(parseType(f.typeTransaction()))
+                .minAmount(f.minAmount())
+                .maxAmount(f.maxAmount())
+                .sort(f.sort())
+                .limit(f.limit())
+                .build();
+        return transactionMapper.toDtoList(transactionRepository.findByCriteria(criteria));
+    }
+
+    private static TypeTransaction parseType(String type) {
+        if (type == null || type.isBlank()) {
+            return null;
+        }
+        String normalized = type.trim().toUpperCase();
+        return "INCOME".equals(normalized) ? TypeTransaction.PROFIT : TypeTransaction.valueOf(normalized);
+    }
+
+    @Override
+    @Auditable
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public List<TransactionDto> getTransactionsByFinanceId(Long id) {
+        return transactionMapper.toDtoList(transactionRepository.findByFinanceId(id));
+    }
+
+    /**
+     * Количество транзакций финансов.
+     *
+     * @param financeId идентификатор финансов
+     * @return количество транзакций
+     */
+    @Override
+    @Auditable
+    @Transactional(readOnly = true)
+    public long countByFinanceId(Long financeId) {
+        return transactionSummaryService.countTransactions(financeId);
     }
 
+    /**
+     * Проверяет, что транзакция принадлежит финансам.
+     *
+     * @param id        идентификатор транзакции
+     * @param financeId идентификатор финансов
+     * @return true, если транзакция найдена в этих финансах
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByIdAndFinanceId(Long id, Long financeId) {
+        return transactionRepository.existsByIdAndFinanceId(id, financeId);
+    }
+
+    /**
+     * Возвращает страницу транзакций, упорядоченных от новых к старым.
+     * Выборка идёт по ключу (date, id), поэтому стоимость запроса не зависит от номера страницы,
+     * а в памяти находится не больше одной страницы.
+     *
+     * @param financeId идентификатор финансов
+     * @param cursor    токен продолжения из предыдущего ответа, null для первой страницы
+     * @param size      размер страницы, ограничивается {@value #MAX_PAGE_SIZE}
+     * @return страница транзакций и токен следующей страницы
+     */
+    @Override
+    @Auditable
+    @Transactional(readOnly = true)
+    public TransactionPageDto getTransactionsPage(Long financeId, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        int limit = Math.min(size, MAX_PAGE_SIZE);
+        TransactionCursor after = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+
+        List<Transaction> rows = transactionRepository.findPageByFinanceId(financeId,
+                after == null ? null : after.date(), after == null ? null : after.id(), limit + 1);
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Transaction last = rows.get(limit - 1);
+            nextCursor = new TransactionCursor(last.getDate(), last.getId()).encode();
+        }
+        return new TransactionPageDto(transactionMapper.toDtoList(rows), nextCursor);
+    }
+
+    /**
+     * Считает сумму транзакций одним запросом к базе данных.
+     *
+     * @param financeId       идентификатор финансов
+     * @param typeTransaction тип транзакций
+     * @param from            начало периода включительно, null - без ограничения
+     * @param to              конец периода не включительно, null - без ограничения
+     * @return сумма транзакций, 0 если транзакций нет
+     */
+    @Override
+    @Auditable
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalAmount(Long financeId, TypeTransaction typeTransaction, Instant from, Instant to) {
+        return transactionRepository.sumAmount(financeId, typeTransaction, from, to);
+    }
+
+    /**
+     * Считает суммы транзакций по категориям одним запросом к базе данных.
+     *
+     * @param financeId       идентификатор финансов
+     * @param typeTransaction тип транзакций
+     * @param from            начало периода включительно, null - без ограничения
+     * @param to              конец периода не включительно, null - без ограничения
+     * @return суммы по категориям
+     */
     @Override
     @Auditable
-    @Transactional
-    public Set<TransactionDto> getTransactionsByFinanceId(Long id) {
-        return transactionMapper.toDtoSet(transactionRepository.findByFinanceId(id));
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getAmountByCategory(Long financeId, TypeTransaction typeTransaction, Instant from, Instant to) {
+        return transactionRepository.sumAmountByCategory(financeId, typeTransaction, from, to);
     }
 
 }
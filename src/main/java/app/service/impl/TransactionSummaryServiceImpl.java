@@ -0,0 +1,212 @@
+package app.service.impl;
+
+import app.aspect.auditable.Auditable;
+import app.aspect.loggable.CustomLogging;
+import app.dto.transaction.TransactionDto;
+import app.entity.BudgetUsage;
+import app.entity.DailyExpense;
+import app.entity.FinanceTotals;
+import app.entity.TransactionSummary;
+import app.entity.TypeTransaction;
+import app.repository.TransactionSummaryRepository;
+import app.service.TransactionSummaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Сервис помесячных агрегатов транзакций по категориям и дневных расходов.
+ * <p>
+ * Агрегаты обновляются приращениями при каждом изменении транзакции, поэтому
+ * отчёты читают O(категорий) строк, а проверка бюджета - не больше строки на день окна,
+ * вместо всей истории.
+ */
+@Slf4j
+@Service
+@CustomLogging
+@RequiredArgsConstructor
+public class TransactionSummaryServiceImpl implements TransactionSummaryService {
+
+    private final TransactionSummaryRepository transactionSummaryRepository;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void onCreated(TransactionDto transaction) {
+        transactionSummaryRepository.applyAll(List.of(delta(transaction, 1)));
+        applyDailyExpenses(List.of(transaction), List.of());
+    }
+
+    /**
+     * Приращения складываются по ключу агрегата, поэтому импорт любого размера
+     * обновляет не больше строк, чем в нём различных (месяц, категория, тип).
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void onCreatedAll(List<TransactionDto> transactions) {
+        Map<List<Object>, TransactionSummary> deltas = new LinkedHashMap<>();
+        for (TransactionDto transaction : transactions) {
+            TransactionSummary delta = delta(transaction, 1);
+            List<Object> key = List.of(delta.getFinanceId(), delta.getMonth(),
+                    delta.getCategory() == null ? "" : delta.getCategory(), delta.getTypeTransaction());
+            deltas.merge(key, delta, (left, right) -> {
+                left.setTotal(left.getTotal().add(right.getTotal()));
+                left.setTransactionCount(left.getTransactionCount() + right.getTransactionCount());
+                return left;
+            });
+        }
+        transactionSummaryRepository.applyAll(new ArrayList<>(deltas.values()));
+        applyDailyExpenses(transactions, List.of());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void onEdited(TransactionDto before, TransactionDto after) {
+        transactionSummaryRepository.applyAll(List.of(delta(before, -1), delta(after, 1)));
+        applyDailyExpenses(List.of(after), List.of(before));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void onDeleted(TransactionDto transaction) {
+        transactionSummaryRepository.applyAll(List.of(delta(transaction, -1)));
+        applyDailyExpenses(List.of(), List.of(transaction));
+    }
+
+    /**
+     * Сумма транзакций заданного типа за календарный месяц.
+     *
+     * @param financeId       идентификатор финансов
+     * @param typeTransaction тип транзакций
+     * @param month           месяц
+     * @return сумма транзакций, 0 если транзакций нет
+     */
+    @Override
+    @Auditable
+    @Transactional(readOnly = true)
+    public BigDecimal getMonthTotal(Long financeId, TypeTransaction typeTransaction, YearMonth month) {
+        LocalDate first = month.atDay(1);
+        return transactionSummaryRepository.sumTotal(financeId, typeTransaction, first, first);
+    }
+
+    /**
+     * Количество транзакций финансов. Читает агрегаты, поэтому не зависит от числа транзакций.
+     */
+    @Override
+    @Auditable
+    @Transactional(readOnly = true)
+    public long countTransactions(Long financeId) {
+        return transactionSummaryRepository.countTransactions(financeId);
+    }
+
+    /**
+     * Суммы транзакций по категориям за месяцы [from, to]. Пустые границы не ограничивают период.
+     */
+    @Override
+    @Auditable
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getTotalsByCategory(Long financeId, TypeTransaction typeTransaction, YearMonth from, YearMonth to) {
+        return transactionSummaryRepository.sumTotalByCategory(financeId, typeTransaction,
+                from == null ? null : from.atDay(1), to == null ? null : to.atDay(1));
+    }
+
+    /**
+     * Финансы и суммы агрегатов по типу и категории за месяцы [from, to] одним запросом.
+     */
+    @Override
+    @Auditable
+    @Transactional(readOnly = true)
+    public Optional<FinanceTotals> getFinanceTotals(Long financeId, YearMonth from, YearMonth to) {
+        return transactionSummaryRepository.findFinanceTotals(financeId, from.atDay(1), to.atDay(1));
+    }
+
+    /**
+     * Бюджет и расходы с начала месяца и за {@code windowDays} дней, заканчивающихся {@code today}.
+     */
+    @Override
+    @Auditable
+    @Transactional(readOnly = true)
+    public Optional<BudgetUsage> getBudgetUsage(Long financeId, LocalDate today, int windowDays) {
+        return transactionSummaryRepository.findBudgetUsage(financeId, today.withDayOfMonth(1),
+                today.minusDays(windowDays - 1L), today);
+    }
+
+    /**
+     * Пересчитывает агрегаты финансов из таблицы транзакций.
+     *
+     * @param financeId идентификатор финансов
+     * @return количество строк агрегатов
+     */
+    @Override
+    @Auditable
+    @Transactional(rollbackFor = Exception.class)
+    public int rebuild(Long financeId) {
+        int rows = transactionSummaryRepository.rebuild(financeId);
+        log.info("Transaction summaries rebuilt for finance {}: {} rows", financeId, rows);
+        return rows;
+    }
+
+    /**
+     * Пересчитывает агрегаты всех финансов.
+     *
+     * @return количество строк агрегатов
+     */
+    @Override
+    @Auditable
+    @Transactional(rollbackFor = Exception.class)
+    public int rebuildAll() {
+        int rows = transactionSummaryRepository.rebuildAll();
+        log.info("Transaction summaries rebuilt: {} rows", rows);
+        return rows;
+    }
+
+    /**
+     * Складывает дневные приращения расходов по (финансы, день); нулевые приращения,
+     * например при правке описания, в базу не пишутся.
+     */
+    private void applyDailyExpenses(List<TransactionDto> added, List<TransactionDto> removed) {
+        Map<List<Object>, DailyExpense> deltas = new LinkedHashMap<>();
+        added.forEach(transaction -> mergeDailyExpense(deltas, transaction, 1));
+        removed.forEach(transaction -> mergeDailyExpense(deltas, transaction, -1));
+        deltas.values().removeIf(delta -> delta.getTransactionCount() == 0 && delta.getTotal().signum() == 0);
+        transactionSummaryRepository.applyDailyExpenses(new ArrayList<>(deltas.values()));
+    }
+
+    private static void mergeDailyExpense(Map<List<Object>, DailyExpense> deltas, TransactionDto transaction, int sign) {
+        if (transaction.typeTransaction() != TypeTransaction.EXPENSE) {
+            return;
+        }
+        DailyExpense delta = DailyExpense.builder()
+                .financeId(transaction.financeId())
+                .day(LocalDate.ofInstant(transaction.date(), ZoneId.systemDefault()))
+                .total(sign < 0 ? transaction.amount().negate() : transaction.amount())
+                .transactionCount(sign)
+                .build();
+        deltas.merge(List.of(delta.getFinanceId(), delta.getDay()), delta, (left, right) -> {
+            left.setTotal(left.getTotal().add(right.getTotal()));
+            left.setTransactionCount(left.getTransactionCount() + right.getTransactionCount());
+            return left;
+        });
+    }
+
+    private TransactionSummary delta(TransactionDto transaction, int sign) {
+        return TransactionSummary.builder()
+                .financeId(transaction.financeId())
+                .month(YearMonth.from(transaction.date().atZone(ZoneId.systemDefault())).atDay(1))
+                .category(transaction.category())
+                .typeTransaction(transaction.typeTransaction())
+                .total(sign < 0 ? transaction.amount().negate() : transaction.amount())
+                .transactionCount(sign)
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package app.service.impl;
 
 import app.aspect.auditable.Auditable;
+import app.auth.AuthenticationCache;
 import app.aspect.loggable.CustomLogging;
 import app.context.UserContext;
 import app.dto.finance.CreateFinanceDto;
@@ -23,7 +24,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -39,7 +39,15 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final UserRepository userRepository;
     private final FinanceService financeService;
+    private final AuthenticationCache authenticationCache;
 
+    /**
+     * Регистрирует пользователя и создаёт ему пустые финансы.
+     * Первый зарегистрированный пользователь получает роль ADMIN, остальные - USER.
+     *
+     * @param createUserDto данные нового пользователя
+     * @return DTO созданного пользователя
+     */
     @Override
     @Auditable
     @Transactional(rollbackFor = Exception.class)
@@ -48,8 +56,7 @@ public class UserServiceImpl implements UserService {
             throw new UserAlreadyExistsException(String.format("User with email %s already exists", createUserDto.email()));
 
         User user = userMapper.toEntity(createUserDto);
-        //TODO убрать загрузку всех пользователей
-        user.setRole(userRepository.getAll().isEmpty() ? Role.ADMIN : Role.USER);
+        user.setRole(userRepository.claimBootstrapAdmin() ? Role.ADMIN : Role.USER);
         user.setActive(true);
 
         CreateFinanceDto financeDto = new CreateFinanceDto.Builder()
@@ -57,7 +64,6 @@ public class UserServiceImpl implements UserService {
                 .monthlyBudget(BigDecimal.ZERO)
                 .savingsGoal(BigDecimal.ZERO)
                 .totalExpenses(BigDecimal.ZERO)
-                .transactionsId(new ArrayList<>())
                 .build();
 
         Long financeId = financeService.createEmptyFinance(financeDto);
@@ -84,6 +90,7 @@ public class UserServiceImpl implements UserService {
 
         User user = this.find(email);
         user = userMapper.updateEntity(userDto, user);
+        authenticationCache.invalidateUser(user.getId());
         return userMapper.toDto(user);
     }
 
@@ -98,7 +105,9 @@ public class UserServiceImpl implements UserService {
     @Transactional(rollbackFor = Exception.class)
     public boolean remove(String email) {
         try {
-            userRepository.delete(this.find(email));
+            User user = this.find(email);
+            userRepository.delete(user);
+            authenticationCache.invalidateUser(user.getId());
             log.debug("User {} removed", email);
             return true;
         } catch (Exception e) {
@@ -109,7 +118,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDto getUserByEmail(String email) {
         return userMapper.toDto(this.find(email));
     }
@@ -132,7 +141,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
     public List<UserDto> list() {
         return userMapper.toListDto(userRepository.getAll());
     }
@@ -145,12 +154,13 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     @Auditable
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
     public boolean blockUser(String email) {
         try {
             User user = this.find(email);
             user.setActive(false);
             userRepository.save(user);
+            authenticationCache.invalidateUser(user.getId());
             log.debug("Пользователь {} заблокирован.", email);
             return true;
         } catch (UserException e) {
@@ -168,12 +178,13 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     @Auditable
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
     public boolean changeUserRole(String email, Role role) {
         try {
             User user = this.find(email);
             user.setRole(role);
             userRepository.save(user);
+            authenticationCache.invalidateUser(user.getId());
             UserContext.setCurrentUser(userMapper.toDto(user));
             return true;
         } catch (Exception e) {
@@ -184,7 +195,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Auditable
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDto getUserById(Long id) {
         return userMapper.toDto(find(id));
     }
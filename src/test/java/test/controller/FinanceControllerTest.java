@@ -5,6 +5,7 @@ import app.controller.FinanceController;
 import app.dto.transaction.CreateTransactionDto;
 import app.dto.transaction.FilterTransactionDto;
 import app.dto.transaction.TransactionDto;
+import app.dto.transaction.TransactionPageDto;
 import app.dto.transaction.UpdateTransactionDto;
 import app.dto.user.UserDto;
 import app.entity.Role;
@@ -29,12 +30,12 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -77,7 +78,7 @@ class FinanceControllerTest {
                         .characterEncoding("UTF-8")
                         .content(asJsonString(createTransactionDto)))
                 .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.id").value(transactionDto.id()))
+                .andExpect(jsonPath("$.id").value(String.valueOf(transactionDto.id())))
                 .andExpect(jsonPath("$.category").value(createTransactionDto.category()))
                 .andExpect(jsonPath("$.description").value(createTransactionDto.description()))
                 .andExpect(jsonPath("$.amount").value(createTransactionDto.amount()))
@@ -96,6 +97,15 @@ class FinanceControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void count() throws Exception {
+        when(financeService.countTransactions(1L)).thenReturn(42L);
+
+        mockMvc.perform(get("/api/v1/transaction/count"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("42"));
+    }
+
     @Test
     void delete() throws Exception {
 
@@ -133,7 +143,7 @@ class FinanceControllerTest {
                         .characterEncoding("UTF-8")
                         .content(asJsonString(updateTransactionDto)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(transactionDto.id()))
+                .andExpect(jsonPath("$.id").value(String.valueOf(transactionDto.id())))
                 .andExpect(jsonPath("$.category").value(updateTransactionDto.category()))
                 .andExpect(jsonPath("$.description").value(updateTransactionDto.description()))
                 .andExpect(jsonPath("$.amount").value(updateTransactionDto.amount()))
@@ -141,6 +151,22 @@ class FinanceControllerTest {
                 .andExpect(jsonPath("$.financeId").value(transactionDto.financeId()));
     }
 
+    @Test
+    void update_snowflakeId_isExactAsString() throws Exception {
+        long id = 230_000_000_000_000_123L;
+        UpdateTransactionDto updateTransactionDto = new UpdateTransactionDto(id, BigDecimal.valueOf(50), "category2", Instant.now().truncatedTo(ChronoUnit.MILLIS), "description2", TypeTransaction.EXPENSE);
+        TransactionDto transactionDto = new TransactionDto(id, updateTransactionDto.amount(), updateTransactionDto.category(), updateTransactionDto.date(), updateTransactionDto.description(), TypeTransaction.EXPENSE, 1L);
+
+        when(financeService.editTransaction(1L, updateTransactionDto)).thenReturn(transactionDto);
+
+        mockMvc.perform(put("/api/v1/transaction")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding("UTF-8")
+                        .content(asJsonString(updateTransactionDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("230000000000000123"));
+    }
+
     @Test
     void updateFail() throws Exception {
         UpdateTransactionDto updateTransactionDto = new UpdateTransactionDto(null, BigDecimal.valueOf(50), "category2", Instant.now().truncatedTo(ChronoUnit.MILLIS), "description2", TypeTransaction.EXPENSE);
@@ -173,10 +199,23 @@ class FinanceControllerTest {
     }
 
 
+    @Test
+    void listFilterTransaction_limitTooLarge_returnsBadRequest() throws Exception {
+        FilterTransactionDto filterTransactionDto = new FilterTransactionDto(null, null, null, null,
+                List.of("Food"), null, null, null, 5000);
+
+        mockMvc.perform(post("/api/v1/transaction/filter")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding("UTF-8")
+                        .content(asJsonString(filterTransactionDto)))
+                .andExpect(status().isBadRequest());
+    }
+
+
     @Test
     void listAll() throws Exception {
         TransactionDto transactionDto = new TransactionDto(1L, BigDecimal.valueOf(100), "category", Instant.now(), "description", TypeTransaction.PROFIT, 1L);
-        Set<TransactionDto> transactionDtos = Set.of(transactionDto);
+        List<TransactionDto> transactionDtos = List.of(transactionDto);
         FilterTransactionDto filterTransactionDto = new FilterTransactionDto(Instant.now().minus(Duration.ofDays(1L)), Instant.now(), "category", TypeTransaction.PROFIT.name());
 
         when(financeService.list(anyLong())).thenReturn(transactionDtos);
@@ -188,6 +227,20 @@ class FinanceControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void listPage() throws Exception {
+        TransactionDto transactionDto = new TransactionDto(1L, BigDecimal.valueOf(100), "category", Instant.now(), "description", TypeTransaction.PROFIT, 1L);
+
+        when(financeService.listPage(1L, "cursor", 20)).thenReturn(new TransactionPageDto(List.of(transactionDto), "next"));
+
+        mockMvc.perform(get("/api/v1/transaction/page")
+                        .param("cursor", "cursor")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(String.valueOf(transactionDto.id())))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
     private String asJsonString(Object obj) {
         try {
             String s = objectMapper.writeValueAsString(obj);
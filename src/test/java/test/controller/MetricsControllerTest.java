@@ -0,0 +1,73 @@
+package test.controller;
+
+import app.context.UserContext;
+import app.controller.MetricsController;
+import app.dto.user.UserDto;
+import app.entity.Role;
+import app.service.MetricsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new MetricsController(metricsService)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    private static void loginAs(Role role) {
+        UserContext.setCurrentUser(new UserDto(1L, "name", "email@mail.ru", "password", true, role, 1L));
+    }
+
+    @Test
+    void getPoolMetrics_byAdmin() throws Exception {
+        loginAs(Role.ADMIN);
+        when(metricsService.getPoolMetrics()).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/metrics/pool"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[]"));
+    }
+
+    @Test
+    void getPoolMetrics_byUser_isForbidden() throws Exception {
+        loginAs(Role.USER);
+
+        mockMvc.perform(get("/api/v1/metrics/pool"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    void getMethodMetrics_withoutUser_isForbidden() throws Exception {
+        mockMvc.perform(get("/api/v1/metrics/methods"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(metricsService);
+    }
+}
@@ -0,0 +1,67 @@
+package test.controller;
+
+import app.context.UserContext;
+import app.controller.PrometheusController;
+import app.dto.user.UserDto;
+import app.entity.Role;
+import app.service.MetricsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class PrometheusControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new PrometheusController(metricsService)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    @Test
+    void scrape_byAdmin() throws Exception {
+        UserContext.setCurrentUser(new UserDto(1L, "name", "email@mail.ru", "password", true, Role.ADMIN, 1L));
+        when(metricsService.scrape()).thenReturn("app_up 1\n");
+
+        mockMvc.perform(get("/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("app_up 1\n"));
+    }
+
+    @Test
+    void scrape_byUser_isForbidden() throws Exception {
+        UserContext.setCurrentUser(new UserDto(1L, "name", "email@mail.ru", "password", true, Role.USER, 1L));
+
+        mockMvc.perform(get("/metrics"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    void scrape_withoutUser_isForbidden() throws Exception {
+        mockMvc.perform(get("/metrics"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(metricsService);
+    }
+}
@@ -0,0 +1,92 @@
+package test.controller;
+
+import app.context.UserContext;
+import app.controller.SummaryController;
+import app.dto.user.UserDto;
+import app.entity.Role;
+import app.service.TransactionSummaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class SummaryControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TransactionSummaryService transactionSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new SummaryController(transactionSummaryService)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    private static void loginAs(Role role, Long financeId) {
+        UserContext.setCurrentUser(new UserDto(1L, "name", "email@mail.ru", "password", true, role, financeId));
+    }
+
+    @Test
+    void rebuildAll_byAdmin() throws Exception {
+        loginAs(Role.ADMIN, 1L);
+        when(transactionSummaryService.rebuildAll()).thenReturn(5);
+
+        mockMvc.perform(post("/api/v1/summary/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("5"));
+    }
+
+    @Test
+    void rebuildAll_byUser_isForbidden() throws Exception {
+        loginAs(Role.USER, 1L);
+
+        mockMvc.perform(post("/api/v1/summary/rebuild"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(transactionSummaryService);
+    }
+
+    @Test
+    void rebuild_ownFinance_byUser() throws Exception {
+        loginAs(Role.USER, 7L);
+        when(transactionSummaryService.rebuild(7L)).thenReturn(2);
+
+        mockMvc.perform(post("/api/v1/summary/rebuild").param("financeId", "7"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+    }
+
+    @Test
+    void rebuild_otherFinance_byUser_isForbidden() throws Exception {
+        loginAs(Role.USER, 7L);
+
+        mockMvc.perform(post("/api/v1/summary/rebuild").param("financeId", "8"))
+                .andExpect(status().isForbidden());
+
+        verify(transactionSummaryService, never()).rebuild(anyLong());
+    }
+
+    @Test
+    void rebuild_otherFinance_byAdmin() throws Exception {
+        loginAs(Role.ADMIN, 7L);
+        when(transactionSummaryService.rebuild(8L)).thenReturn(1);
+
+        mockMvc.perform(post("/api/v1/summary/rebuild").param("financeId", "8"))
+                .andExpect(status().isOk());
+    }
+}
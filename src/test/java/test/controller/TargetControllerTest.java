@@ -2,6 +2,8 @@ package test.controller;
 
 import app.context.UserContext;
 import app.controller.TargetController;
+import app.dto.report.BudgetStatusDto;
+import app.dto.report.FinancialReportDto;
 import app.dto.user.UserDto;
 import app.entity.Role;
 import app.service.TargetService;
@@ -16,11 +18,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,12 +53,42 @@ class TargetControllerTest {
 
     @Test
     public void testGetFinanceReport() throws Exception {
-        when(targetService.generateFinancialReport()).thenReturn("Report");
+        when(targetService.generateFinancialReport(null, null)).thenReturn("Report");
 
         mockMvc.perform(get("/api/v1/target/report"))
                 .andExpect(status().isOk());
 
-        verify(targetService).generateFinancialReport();
+        verify(targetService).generateFinancialReport(null, null);
+    }
+
+    @Test
+    public void testGetFinanceReportJsonForPeriod() throws Exception {
+        FinancialReportDto report = new FinancialReportDto(1L, YearMonth.of(2025, 1), YearMonth.of(2025, 3),
+                new BigDecimal("500.00"), new BigDecimal("1000.00"), 50.0, new BigDecimal("300.00"),
+                new BigDecimal("200.00"), new BigDecimal("150.00"), new BigDecimal("50.00"), 3,
+                Map.of("Food", new BigDecimal("150.00")));
+        when(targetService.getFinancialReport(YearMonth.of(2025, 1), YearMonth.of(2025, 3))).thenReturn(report);
+
+        mockMvc.perform(get("/api/v1/target/report/json").param("from", "2025-01").param("to", "2025-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2025-01"))
+                .andExpect(jsonPath("$.totalExpenses").value(150.00))
+                .andExpect(jsonPath("$.expensesByCategory.Food").value(150.00));
+    }
+
+    @Test
+    public void testGetBudgetStatus() throws Exception {
+        BudgetStatusDto status = new BudgetStatusDto(1L, LocalDate.of(2025, 3, 10), new BigDecimal("1000.00"),
+                new BigDecimal("400.00"), new BigDecimal("600.00"), false, 30, new BigDecimal("50.00"),
+                new BigDecimal("1450.00"), LocalDate.of(2025, 3, 23));
+        when(targetService.getBudgetStatus(1L)).thenReturn(status);
+
+        mockMvc.perform(get("/api/v1/target/budget"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.remainingBudget").value(600.00))
+                .andExpect(jsonPath("$.burnRatePerDay").value(50.00))
+                .andExpect(jsonPath("$.projectedOverspendDate").value("2025-03-23"))
+                .andExpect(jsonPath("$.exceeded").value(false));
     }
 
     @Test
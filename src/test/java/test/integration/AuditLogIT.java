@@ -0,0 +1,55 @@
+package test.integration;
+
+import app.audit.AuditArgs;
+import app.audit.AuditEvent;
+import app.audit.AuditLogWriter;
+import app.audit.JdbcAuditSink;
+import app.audit.OverflowPolicy;
+import app.repository.jdbc.AuditLogJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import test.integration.db.TestDatabase;
+import test.integration.db.TestDatabaseFactory;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AuditLogIT {
+
+    private TestDatabase database;
+    private AuditLogJdbcRepository auditLogRepository;
+
+    @BeforeEach
+    void setup() {
+        database = TestDatabaseFactory.create();
+        auditLogRepository = new AuditLogJdbcRepository(database.jdbcTemplate());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestDatabaseFactory.reset();
+    }
+
+    @Test
+    void writer_close_persistsAllQueuedEvents() {
+        long before = auditLogRepository.count();
+        AuditLogWriter writer = new AuditLogWriter(new JdbcAuditSink(auditLogRepository), 1024, 50, 60_000, OverflowPolicy.BLOCK);
+        writer.start();
+
+        for (int i = 0; i < 120; i++) {
+            writer.record(new AuditEvent(Instant.now(), "audit@mail.ru", "Тест аудита", AuditLogIT.class, "call",
+                    AuditArgs.render(new Object[]{i, Map.of("key", i)}), System.nanoTime()));
+        }
+        writer.close();
+
+        assertEquals(120, writer.getWritten());
+        assertEquals(0, writer.getFailed());
+        assertEquals(before + 120, auditLogRepository.count());
+        String method = database.jdbcTemplate().queryForObject(
+                "SELECT method FROM metadata.audit_log WHERE user_email = 'audit@mail.ru' LIMIT 1", String.class);
+        assertEquals("AuditLogIT.call", method);
+    }
+}
@@ -1,5 +1,7 @@
 package test.integration;
 
+import app.auth.AuthenticationCache;
+import app.cache.FinanceCache;
 import app.context.UserContext;
 import app.dto.auth.ResponseLogin;
 import app.dto.auth.SignIn;
@@ -14,9 +16,11 @@ import app.mapper.UserMapper;
 import app.repository.jdbc.FinanceJdbcRepository;
 import app.repository.jdbc.TokenJdbcRepository;
 import app.repository.jdbc.TransactionJdbcRepository;
+import app.repository.jdbc.TransactionSummaryJdbcRepository;
 import app.repository.jdbc.UserJdbcRepository;
 import app.service.*;
 import app.service.impl.*;
+import app.util.SnowflakeIdGenerator;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,11 +37,13 @@ class AuthServiceIT {
     @BeforeEach
     void setup() {
         TestDatabase database = TestDatabaseFactory.create();
-        TransactionService transactionService = new TransactionServiceImpl(new TransactionJdbcRepository(database.jdbcTemplate()), Mappers.getMapper(TransactionMapper.class));
-        FinanceService financeService = new FinanceServiceImpl(new FinanceJdbcRepository(database.jdbcTemplate()), transactionService, Mappers.getMapper(FinanceMapper.class));
-        UserService userService = new UserServiceImpl(Mappers.getMapper(UserMapper.class), new UserJdbcRepository(database.jdbcTemplate()), financeService);
+        TransactionService transactionService = new TransactionServiceImpl(new TransactionJdbcRepository(database.jdbcTemplate(), new SnowflakeIdGenerator(0)), Mappers.getMapper(TransactionMapper.class),
+                new TransactionSummaryServiceImpl(new TransactionSummaryJdbcRepository(database.jdbcTemplate())));
+        FinanceService financeService = new FinanceServiceImpl(new FinanceJdbcRepository(database.jdbcTemplate()), transactionService, Mappers.getMapper(FinanceMapper.class), new FinanceCache(300, 100));
+        UserService userService = new UserServiceImpl(Mappers.getMapper(UserMapper.class), new UserJdbcRepository(database.jdbcTemplate()), financeService,
+                new AuthenticationCache(60, 100));
         TokenService tokenService = new TokenServiceImpl(new TokenJdbcRepository(database.jdbcTemplate()));
-        authService = new AuthServiceImpl(userService, tokenService);
+        authService = new AuthServiceImpl(userService, tokenService, new AuthenticationCache(60, 100));
 
     }
 
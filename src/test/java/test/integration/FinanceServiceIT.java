@@ -1,33 +1,59 @@
 package test.integration;
 
+import app.cache.FinanceCache;
 import app.context.UserContext;
 import app.dto.finance.CreateFinanceDto;
 import app.dto.transaction.CreateTransactionDto;
 import app.dto.transaction.FilterTransactionDto;
+import app.dto.transaction.ImportResultDto;
 import app.dto.transaction.TransactionDto;
+import app.dto.transaction.UpdateTransactionDto;
 import app.dto.user.UserDto;
+import app.entity.Finance;
 import app.entity.Role;
 import app.entity.TypeTransaction;
 import app.exception.common.CreateException;
+import app.exception.common.DeleteException;
+import app.exception.common.UpdateException;
 import app.mapper.FinanceMapper;
 import app.mapper.TransactionMapper;
 import app.repository.jdbc.FinanceJdbcRepository;
 import app.repository.jdbc.TransactionJdbcRepository;
+import app.repository.jdbc.TransactionSummaryJdbcRepository;
 import app.service.FinanceService;
+import app.service.TransactionImportService;
 import app.service.TransactionService;
+import app.service.TransactionSummaryService;
 import app.service.impl.FinanceServiceImpl;
+import app.service.impl.TransactionImportServiceImpl;
 import app.service.impl.TransactionServiceImpl;
+import app.service.impl.TransactionSummaryServiceImpl;
+import app.util.SnowflakeIdGenerator;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
 import test.integration.db.TestDatabase;
 import test.integration.db.TestDatabaseFactory;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,6 +61,9 @@ class FinanceServiceIT {
 
     private FinanceService financeService;
     private TransactionService transactionService;
+    private TransactionSummaryService transactionSummaryService;
+    private TransactionImportService transactionImportService;
+    private FinanceCache financeCache;
     private TestDatabase database;
 
     @BeforeEach
@@ -52,8 +81,13 @@ class FinanceServiceIT {
                 .build();
 
         UserContext.setCurrentUser(userDto);
-        transactionService = new TransactionServiceImpl(new TransactionJdbcRepository(database.jdbcTemplate()), Mappers.getMapper(TransactionMapper.class));
-        financeService = new FinanceServiceImpl(new FinanceJdbcRepository(database.jdbcTemplate()), transactionService, Mappers.getMapper(FinanceMapper.class));
+        financeCache = new FinanceCache(300, 100);
+        transactionSummaryService = new TransactionSummaryServiceImpl(new TransactionSummaryJdbcRepository(database.jdbcTemplate()));
+        transactionService = new TransactionServiceImpl(new TransactionJdbcRepository(database.jdbcTemplate(), new SnowflakeIdGenerator(0)), Mappers.getMapper(TransactionMapper.class), transactionSummaryService);
+        transactionImportService = new TransactionImportServiceImpl(new TransactionJdbcRepository(database.jdbcTemplate(), new SnowflakeIdGenerator(0)),
+                new FinanceJdbcRepository(database.jdbcTemplate()), transactionSummaryService,
+                Mappers.getMapper(TransactionMapper.class), Validation.buildDefaultValidatorFactory().getValidator(), financeCache);
+        financeService = new FinanceServiceImpl(new FinanceJdbcRepository(database.jdbcTemplate()), transactionService, Mappers.getMapper(FinanceMapper.class), financeCache);
     }
 
 
@@ -66,7 +100,7 @@ class FinanceServiceIT {
     @Test
     void createTransaction_shouldAddTransactionSuccessfully() {
         // Arrange
-        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO, List.of(1L)));
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO));
         CreateTransactionDto transactionDto = new CreateTransactionDto(
                 BigDecimal.valueOf(1000),
                 "Food",
@@ -87,7 +121,7 @@ class FinanceServiceIT {
     @Test
     void createTransaction_shouldThrowExceptionWhenInsufficientFunds() {
         // Arrange
-        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(500), BigDecimal.ZERO, List.of(1L)));
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(500), BigDecimal.ZERO));
         CreateTransactionDto transactionDto = new CreateTransactionDto(
                 BigDecimal.valueOf(2000),
                 "Rent",
@@ -99,10 +133,122 @@ class FinanceServiceIT {
         assertThrows(CreateException.class, () -> financeService.createTransaction(financeId, transactionDto));
     }
 
+    @Test
+    void findFinanceById_repeated_shouldBeServedFromCache() {
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO));
+
+        financeService.findFinanceById(financeId);
+        financeService.getFinanceById(financeId);
+
+        assertEquals(0, financeCache.getMetrics().misses());
+        assertEquals(2, financeCache.getMetrics().hits());
+    }
+
+    @Test
+    void getFinanceById_afterCreateTransaction_shouldReturnNewSavings() {
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO));
+        financeService.getFinanceById(financeId);
+
+        financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(1000), "Food", "Groceries", TypeTransaction.EXPENSE));
+
+        assertEquals(0, BigDecimal.valueOf(2000).compareTo(financeService.getFinanceById(financeId).currentSavings()));
+    }
+
+    @Test
+    void save_withOutdatedVersion_shouldBeRejected() {
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO));
+        Finance first = financeService.findFinanceById(financeId);
+        Finance second = financeService.findFinanceById(financeId);
+
+        first.setSavingsGoal(BigDecimal.valueOf(20000));
+        financeService.save(first);
+        second.setMonthlyBudget(BigDecimal.valueOf(1));
+
+        assertThrows(UpdateException.class, () -> financeService.save(second));
+        Finance current = financeService.findFinanceById(financeId);
+        assertEquals(0, BigDecimal.valueOf(20000).compareTo(current.getSavingsGoal()));
+        assertEquals(0, BigDecimal.valueOf(5000).compareTo(current.getMonthlyBudget()));
+    }
+
+    @Test
+    void createTransaction_concurrentDeposits_shouldNotLoseUpdates() throws Exception {
+        // Arrange
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.valueOf(100), BigDecimal.ZERO));
+        int threads = 8;
+        int depositsPerThread = 25;
+
+        // Act
+        List<Boolean> results = runConcurrently(threads, depositsPerThread, () ->
+                financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.TEN, "Salary", "Deposit", TypeTransaction.PROFIT)));
+
+        // Assert
+        assertTrue(results.stream().allMatch(Boolean::booleanValue));
+        assertEquals(0, BigDecimal.valueOf(100 + 10L * threads * depositsPerThread).compareTo(financeService.getFinanceById(financeId).currentSavings()));
+        assertEquals(threads * depositsPerThread, financeService.list(financeId).size());
+    }
+
+    @Test
+    void createTransaction_concurrentExpenses_shouldNeverOverdraw() throws Exception {
+        // Arrange
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.valueOf(1000), BigDecimal.ZERO));
+
+        // Act
+        List<Boolean> results = runConcurrently(10, 5, () ->
+                financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(100), "Food", "Lunch", TypeTransaction.EXPENSE)));
+
+        // Assert
+        assertEquals(10, results.stream().filter(Boolean::booleanValue).count());
+        assertEquals(0, BigDecimal.ZERO.compareTo(financeService.getFinanceById(financeId).currentSavings()));
+        assertEquals(10, financeService.list(financeId).size());
+    }
+
+    @Test
+    void importTransactions_concurrentImports_shouldNeverOverdraw() throws Exception {
+        // Arrange
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.valueOf(1000), BigDecimal.ZERO));
+        TransactionImportService importService = transactional(transactionImportService, TransactionImportService.class);
+        AtomicInteger imported = new AtomicInteger();
+
+        // Act
+        runConcurrently(10, 1, () -> imported.addAndGet(importService.importTransactions(financeId,
+                List.of(new CreateTransactionDto(BigDecimal.valueOf(300), "Rent", "Import", TypeTransaction.EXPENSE)), true).imported()));
+
+        // Assert
+        assertEquals(3, imported.get());
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(financeService.getFinanceById(financeId).currentSavings()));
+    }
+
+    @Test
+    void delete_transactionOfAnotherFinance_shouldBeRejected() {
+        // Arrange
+        Long ownerFinanceId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.valueOf(1000), BigDecimal.ZERO));
+        Long otherFinanceId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.valueOf(1000), BigDecimal.ZERO));
+        TransactionDto transaction = financeService.createTransaction(ownerFinanceId, new CreateTransactionDto(BigDecimal.TEN, "Food", "Lunch", TypeTransaction.EXPENSE));
+
+        // Act & Assert
+        assertThrows(DeleteException.class, () -> financeService.delete(otherFinanceId, transaction.id()));
+        financeService.delete(ownerFinanceId, transaction.id());
+        assertTrue(financeService.list(ownerFinanceId).isEmpty());
+    }
+
+    @Test
+    void list_shouldReturnNewestFirst() {
+        // Arrange
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.valueOf(1000), BigDecimal.ZERO));
+        TransactionDto first = financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.TEN, "Food", "Breakfast", TypeTransaction.EXPENSE));
+        TransactionDto second = financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.TEN, "Food", "Lunch", TypeTransaction.EXPENSE));
+
+        // Act
+        List<TransactionDto> transactions = financeService.list(financeId);
+
+        // Assert
+        assertEquals(List.of(second.id(), first.id()), transactions.stream().map(TransactionDto::id).toList());
+    }
+
     @Test
     void getExpensesByCategory_shouldReturnCorrectExpenses() {
         // Arrange
-        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO, List.of(1L)));
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO));
         financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(1000), "Food", "Lunch", TypeTransaction.EXPENSE));
         financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(500), "Entertainment", "Movie", TypeTransaction.EXPENSE));
         financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(200), "Food", "Snacks", TypeTransaction.EXPENSE));
@@ -115,10 +261,123 @@ class FinanceServiceIT {
         assertEquals(BigDecimal.valueOf(500).stripTrailingZeros(), expenses.get("Entertainment").stripTrailingZeros());
     }
 
+    @Test
+    void getTotals_shouldSumTransactionsOfTypeWithinPeriod() {
+        // Arrange
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO));
+        financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(1000), "Food", "Lunch", TypeTransaction.EXPENSE));
+        financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(200), "Food", "Snacks", TypeTransaction.EXPENSE));
+        financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(700), "Salary", "Bonus", TypeTransaction.PROFIT));
+
+        // Act
+        BigDecimal expenses = financeService.getTotalExpenses(LocalDate.now().minusDays(1), LocalDate.now(), financeId);
+        BigDecimal profit = financeService.getTotalProfit(LocalDate.now().minusDays(1), LocalDate.now(), financeId);
+        BigDecimal pastExpenses = financeService.getTotalExpenses(LocalDate.now().minusDays(10), LocalDate.now().minusDays(2), financeId);
+
+        // Assert
+        assertEquals(BigDecimal.valueOf(1200).stripTrailingZeros(), expenses.stripTrailingZeros());
+        assertEquals(BigDecimal.valueOf(700).stripTrailingZeros(), profit.stripTrailingZeros());
+        assertEquals(0, pastExpenses.signum());
+    }
+
+    @Test
+    void countTransactions_shouldFollowCreateAndDelete() {
+        // Arrange
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO));
+        Long otherFinanceId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO));
+        TransactionDto lunch = financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(100), "Food", "Lunch", TypeTransaction.EXPENSE));
+        financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(700), "Salary", "Bonus", TypeTransaction.PROFIT));
+        financeService.createTransaction(otherFinanceId, new CreateTransactionDto(BigDecimal.valueOf(50), "Food", "Snacks", TypeTransaction.EXPENSE));
+
+        // Act
+        long before = financeService.countTransactions(financeId);
+        financeService.delete(financeId, lunch.id());
+
+        // Assert
+        assertEquals(2, before);
+        assertEquals(1, financeService.countTransactions(financeId));
+        assertEquals(1, financeService.countTransactions(otherFinanceId));
+    }
+
+    @Test
+    void summaries_shouldFollowCreateEditAndDelete() {
+        // Arrange
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO));
+        TransactionDto lunch = financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(1000), "Food", "Lunch", TypeTransaction.EXPENSE));
+        TransactionDto movie = financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(500), "Entertainment", "Movie", TypeTransaction.EXPENSE));
+        financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(200), "Food", "Snacks", TypeTransaction.EXPENSE));
+
+        // Act
+        financeService.editTransaction(financeId, new UpdateTransactionDto(lunch.id(), BigDecimal.valueOf(300), "Travel", lunch.date(), "Taxi", TypeTransaction.EXPENSE));
+        financeService.delete(financeId, movie.id());
+
+        // Assert
+        Map<String, BigDecimal> incremental = transactionSummaryService.getTotalsByCategory(financeId, TypeTransaction.EXPENSE, null, null);
+        assertEquals(2, incremental.size());
+        assertEquals(BigDecimal.valueOf(200).stripTrailingZeros(), incremental.get("Food").stripTrailingZeros());
+        assertEquals(BigDecimal.valueOf(300).stripTrailingZeros(), incremental.get("Travel").stripTrailingZeros());
+        assertEquals(BigDecimal.valueOf(500).stripTrailingZeros(),
+                transactionSummaryService.getMonthTotal(financeId, TypeTransaction.EXPENSE, YearMonth.now()).stripTrailingZeros());
+
+        transactionSummaryService.rebuild(financeId);
+        assertEquals(incremental, transactionSummaryService.getTotalsByCategory(financeId, TypeTransaction.EXPENSE, null, null));
+    }
+
+    @Test
+    void rebuild_concurrentWithCreate_shouldKeepSummariesConsistent() throws Exception {
+        // Arrange
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.valueOf(100), BigDecimal.ZERO));
+        TransactionService service = transactional(transactionService, TransactionService.class);
+        TransactionSummaryService summaryService = transactional(transactionSummaryService, TransactionSummaryService.class);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        List<Boolean> results = runConcurrently(6, 20, () -> {
+            if (calls.getAndIncrement() % 4 == 0) {
+                summaryService.rebuild(financeId);
+            } else {
+                service.create(financeId, new CreateTransactionDto(BigDecimal.ONE, "Salary", "Deposit", TypeTransaction.PROFIT));
+            }
+        });
+
+        // Assert
+        assertTrue(results.stream().allMatch(Boolean::booleanValue));
+        Map<String, BigDecimal> incremental = transactionSummaryService.getTotalsByCategory(financeId, TypeTransaction.PROFIT, null, null);
+        assertEquals(0, BigDecimal.valueOf(90).compareTo(incremental.get("Salary")));
+        transactionSummaryService.rebuild(financeId);
+        assertEquals(incremental, transactionSummaryService.getTotalsByCategory(financeId, TypeTransaction.PROFIT, null, null));
+    }
+
+    @Test
+    void importTransactions_shouldBatchInsertAndUpdateSavingsOnce() {
+        // Arrange
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(1000), BigDecimal.ZERO));
+        List<CreateTransactionDto> rows = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            rows.add(new CreateTransactionDto(BigDecimal.ONE, i % 2 == 0 ? "Food" : "Travel", "Row " + i, TypeTransaction.EXPENSE));
+        }
+        rows.add(new CreateTransactionDto(BigDecimal.valueOf(-5), "Food", "Invalid", TypeTransaction.EXPENSE));
+
+        // Act
+        ImportResultDto rejected = transactionImportService.importTransactions(financeId, rows, true);
+        ImportResultDto imported = transactionImportService.importTransactions(financeId, rows, false);
+
+        // Assert
+        assertEquals(0, rejected.imported());
+        assertEquals(1000, imported.imported());
+        assertEquals(201, imported.errors().size());
+        assertEquals(1000, transactionService.getTransactionsByFinanceId(financeId).size());
+        assertEquals(0, financeService.getFinanceById(financeId).currentSavings().signum());
+
+        Map<String, BigDecimal> totals = transactionSummaryService.getTotalsByCategory(financeId, TypeTransaction.EXPENSE, null, null);
+        assertEquals(BigDecimal.valueOf(500).stripTrailingZeros(), totals.get("Food").stripTrailingZeros());
+        assertEquals(BigDecimal.valueOf(500).stripTrailingZeros(), totals.get("Travel").stripTrailingZeros());
+    }
+
     @Test
     void filterTransactions_shouldReturnCorrectTransactions() {
         // Arrange
-        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO, List.of(1L)));
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO));
         financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(1000), "Food", "Lunch", TypeTransaction.EXPENSE));
         financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(500), "Entertainment", "Movie", TypeTransaction.EXPENSE));
         FilterTransactionDto filterDto = new FilterTransactionDto(Instant.now().minusSeconds(86400), Instant.now().plusSeconds(86400), "Food", "EXPENSE");
@@ -134,7 +393,7 @@ class FinanceServiceIT {
     @Test
     void createTransaction_shouldReturnCorrectTransactionType() {
         // Arrange
-        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(1000), BigDecimal.valueOf(5000), BigDecimal.valueOf(1000), BigDecimal.ZERO, List.of(1L)));
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(1000), BigDecimal.valueOf(5000), BigDecimal.valueOf(1000), BigDecimal.ZERO));
         CreateTransactionDto transactionDto = new CreateTransactionDto(
                 BigDecimal.valueOf(500),
                 "Salary",
@@ -153,7 +412,7 @@ class FinanceServiceIT {
     @Test
     void createTransaction_shouldHandleMultipleTransactions() {
         // Arrange
-        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO, List.of(1L)));
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO));
         CreateTransactionDto transactionDto1 = new CreateTransactionDto(BigDecimal.valueOf(1000), "Food", "Dinner", TypeTransaction.EXPENSE);
         CreateTransactionDto transactionDto2 = new CreateTransactionDto(BigDecimal.valueOf(1500), "Entertainment", "Concert", TypeTransaction.EXPENSE);
 
@@ -171,7 +430,7 @@ class FinanceServiceIT {
     @Test
     void filterTransactions_shouldReturnNoTransactionsWhenNoMatch() {
         // Arrange
-        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO, List.of(1L)));
+        Long financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO));
         financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(1000), "Food", "Lunch", TypeTransaction.EXPENSE));
         financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(500), "Entertainment", "Movie", TypeTransaction.EXPENSE));
         FilterTransactionDto filterDto = new FilterTransactionDto(Instant.now().minusSeconds(86400), Instant.now().plusSeconds(86400), "Travel", "EXPENSE");
@@ -183,4 +442,51 @@ class FinanceServiceIT {
         assertTrue(transactions.isEmpty());
     }
 
-}
\ No newline at end of file
+    /**
+     * Запускает действие одновременно в нескольких потоках.
+     *
+     * @return для каждого вызова - true, если он завершился без {@link CreateException}
+     */
+    /**
+     * Сервис за прокси с {@code @Transactional}, как в приложении: блокировки держатся до commit.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T transactional(T target, Class<T> type) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addInterface(type);
+        factory.addAdvice(new TransactionInterceptor(new DataSourceTransactionManager(database.jdbcTemplate().getDataSource()),
+                new AnnotationTransactionAttributeSource()));
+        return (T) factory.getProxy();
+    }
+
+    private List<Boolean> runConcurrently(int threads, int callsPerThread, Runnable action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<Boolean>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Boolean> results = new ArrayList<>();
+                    for (int j = 0; j < callsPerThread; j++) {
+                        try {
+                            action.run();
+                            results.add(true);
+                        } catch (CreateException e) {
+                            results.add(false);
+                        }
+                    }
+                    return results;
+                }));
+            }
+            start.countDown();
+            List<Boolean> results = new ArrayList<>();
+            for (Future<List<Boolean>> future : futures) {
+                results.addAll(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package test.integration;
+
+import app.dto.transaction.TransactionSort;
+import app.entity.TypeTransaction;
+import app.repository.criteria.TransactionCriteria;
+import app.repository.jdbc.TokenJdbcRepository;
+import app.repository.jdbc.TransactionJdbcRepository;
+import app.repository.jdbc.UserJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import test.integration.db.QueryPlan;
+import test.integration.db.TestDatabase;
+import test.integration.db.TestDatabaseFactory;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexUsageIT {
+
+    private TestDatabase database;
+
+    @BeforeEach
+    void setup() {
+        database = TestDatabaseFactory.create();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestDatabaseFactory.reset();
+    }
+
+    @Test
+    void findByFinanceId_shouldUseFinanceDateIndex() {
+        String plan = QueryPlan.explain(database.jdbcTemplate(), TransactionJdbcRepository.FIND_BY_FINANCE_ID_SQL, 1L);
+
+        assertTrue(plan.contains("idx_transactions_finance_id_date"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    @Test
+    void dateRangeByFinance_shouldUseFinanceDateIndex() {
+        TransactionCriteria criteria = new TransactionCriteria.Builder(1L)
+                .from(Instant.now().minusSeconds(86400))
+                .to(Instant.now())
+                .sort(TransactionSort.DATE_ASC)
+                .build();
+
+        String plan = QueryPlan.explain(database.jdbcTemplate(), criteria.toSql(), criteria::bind);
+
+        assertTrue(plan.contains("idx_transactions_finance_id_date"), plan);
+        assertFalse(QueryPlan.hasSortNode(plan), plan);
+    }
+
+    @Test
+    void keysetPage_shouldReadIndexInOrderWithoutSort() {
+        Timestamp after = Timestamp.from(Instant.now());
+        String plan = QueryPlan.explain(database.jdbcTemplate(), TransactionJdbcRepository.NEXT_PAGE_SQL,
+                1L, after, after, 10L, 51);
+
+        assertTrue(plan.contains("Index Scan Backward using idx_transactions_finance_id_date"), plan);
+        assertFalse(QueryPlan.hasSortNode(plan), plan);
+    }
+
+    @Test
+    void expenseTotal_shouldUsePartialExpenseIndex() {
+        String plan = QueryPlan.explain(database.jdbcTemplate(),
+                TransactionJdbcRepository.sumAmountSql(TypeTransaction.EXPENSE, true, false),
+                1L, Timestamp.from(Instant.now().minusSeconds(86400)));
+
+        assertTrue(plan.contains("idx_transactions_expense_finance_id_date"), plan);
+    }
+
+    @Test
+    void profitTotal_shouldUsePartialProfitIndex() {
+        String plan = QueryPlan.explain(database.jdbcTemplate(),
+                TransactionJdbcRepository.sumAmountByCategorySql(TypeTransaction.PROFIT, false, false), 1L);
+
+        assertTrue(plan.contains("idx_transactions_profit_finance_id_date"), plan);
+    }
+
+    @Test
+    void activeTokenByUserId_shouldUsePartialTokensIndex() {
+        String plan = QueryPlan.explain(database.jdbcTemplate(),
+                TokenJdbcRepository.FIND_ACTIVE_BY_USER_ID_SQL, 1L);
+
+        assertTrue(plan.contains("idx_tokens_user_id_active"), plan);
+    }
+
+    @Test
+    void userByEmail_shouldUseUniqueEmailIndex() {
+        String plan = QueryPlan.explain(database.jdbcTemplate(),
+                UserJdbcRepository.FIND_BY_EMAIL_SQL, "test@example.com");
+
+        assertTrue(plan.contains("Index Scan"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+}
@@ -0,0 +1,156 @@
+package test.integration;
+
+import app.aspect.replica.ReplicaReadAspect;
+import app.context.UserContext;
+import app.datasource.ReadWriteRoutingDataSource;
+import app.datasource.ReplicaLagMonitor;
+import app.dto.metrics.DataSourceRoutingMetricsDto;
+import app.dto.transaction.CreateTransactionDto;
+import app.dto.transaction.TransactionDto;
+import app.dto.user.UserDto;
+import app.entity.Finance;
+import app.entity.Role;
+import app.entity.TypeTransaction;
+import app.mapper.TransactionMapper;
+import app.repository.jdbc.FinanceJdbcRepository;
+import app.repository.jdbc.TransactionJdbcRepository;
+import app.repository.jdbc.TransactionSummaryJdbcRepository;
+import app.service.TransactionService;
+import app.service.impl.TransactionServiceImpl;
+import app.service.impl.TransactionSummaryServiceImpl;
+import app.util.SnowflakeIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import test.integration.db.TestDatabase;
+import test.integration.db.TestDatabaseFactory;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Основная база и реплика - две независимые базы. Реплика заполняется отдельно, поэтому
+ * по возвращённым данным видно, с какой базы выполнено чтение.
+ */
+class ReadReplicaRoutingIT {
+
+    private TestDatabase primary;
+    private TestDatabase replica;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadWriteRoutingDataSource routingDataSource;
+    private TransactionService transactionService;
+
+    @BeforeEach
+    void setup() {
+        primary = TestDatabaseFactory.create();
+        replica = TestDatabaseFactory.createStandalone();
+        createFinance(primary.jdbcTemplate());
+        createFinance(replica.jdbcTemplate());
+
+        lagMonitor = new ReplicaLagMonitor(replica.jdbcTemplate().getDataSource(), 5000, 1000);
+        lagMonitor.check();
+        routingDataSource = new ReadWriteRoutingDataSource(primary.jdbcTemplate().getDataSource(),
+                replica.jdbcTemplate().getDataSource(), lagMonitor);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        TransactionServiceImpl target = new TransactionServiceImpl(new TransactionJdbcRepository(jdbcTemplate, new SnowflakeIdGenerator(0)),
+                Mappers.getMapper(TransactionMapper.class),
+                new TransactionSummaryServiceImpl(new TransactionSummaryJdbcRepository(jdbcTemplate)));
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(TransactionService.class);
+        factory.addAspect(new ReplicaReadAspect());
+        factory.addAdvice(new TransactionInterceptor(new DataSourceTransactionManager(dataSource),
+                new AnnotationTransactionAttributeSource()));
+        transactionService = factory.getProxy();
+
+        UserContext.setCurrentUser(new UserDto(1L, "name", "test@example.com", "password", true, Role.USER, 1L));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        UserContext.clear();
+        routingDataSource.close();
+        replica.stop();
+        TestDatabaseFactory.reset();
+    }
+
+    private static void createFinance(JdbcTemplate jdbcTemplate) {
+        new FinanceJdbcRepository(jdbcTemplate).save(new Finance.Builder()
+                .monthlyBudget(BigDecimal.ZERO)
+                .savingsGoal(BigDecimal.ZERO)
+                .currentSavings(BigDecimal.ZERO)
+                .totalExpenses(BigDecimal.ZERO)
+                .build());
+    }
+
+    private static long countTransactions(TestDatabase database) {
+        return database.jdbcTemplate().queryForObject("SELECT count(*) FROM business.transactions", Long.class);
+    }
+
+    private static void insertOnReplica(TestDatabase replica, String description) {
+        replica.jdbcTemplate().update("""
+                INSERT INTO business.transactions (id, amount, category, date, description, type_transaction, finance_id)
+                VALUES (?, 10, 'Food', now(), ?, 'EXPENSE', 1)
+                """, new SnowflakeIdGenerator(1).nextId(), description);
+    }
+
+    @Test
+    void create_shouldWriteToPrimary() {
+        transactionService.create(1L, new CreateTransactionDto(new BigDecimal("150.00"), "Food", "primary", TypeTransaction.EXPENSE));
+
+        assertEquals(1, countTransactions(primary));
+        assertEquals(0, countTransactions(replica));
+        assertEquals(0, routingDataSource.getMetrics().replicaConnections());
+    }
+
+    @Test
+    void getTransactionsByFinanceId_shouldReadFromReplica() {
+        transactionService.create(1L, new CreateTransactionDto(new BigDecimal("150.00"), "Food", "primary", TypeTransaction.EXPENSE));
+        insertOnReplica(replica, "replica");
+
+        List<TransactionDto> transactions = transactionService.getTransactionsByFinanceId(1L);
+
+        assertEquals(List.of("replica"), transactions.stream().map(TransactionDto::description).toList());
+        DataSourceRoutingMetricsDto metrics = routingDataSource.getMetrics();
+        assertEquals(1, metrics.replicaConnections());
+        assertTrue(metrics.replicaAvailable());
+        assertEquals(0, metrics.replicaLagMillis());
+    }
+
+    @Test
+    void readOnlyMethodWithoutReplicaRead_shouldReadFromPrimary() {
+        TransactionDto created = transactionService.create(1L, new CreateTransactionDto(new BigDecimal("150.00"), "Food", "primary", TypeTransaction.EXPENSE));
+        insertOnReplica(replica, "replica");
+
+        TransactionDto found = transactionService.getTransactionById(created.id());
+
+        assertEquals("primary", found.description());
+        assertEquals(0, routingDataSource.getMetrics().replicaConnections());
+    }
+
+    @Test
+    void getTransactionsByFinanceId_whenReplicaUnavailable_shouldFallBackToPrimary() {
+        transactionService.create(1L, new CreateTransactionDto(new BigDecimal("150.00"), "Food", "primary", TypeTransaction.EXPENSE));
+        replica.stop();
+        lagMonitor.check();
+
+        List<TransactionDto> transactions = transactionService.getTransactionsByFinanceId(1L);
+
+        assertEquals(List.of("primary"), transactions.stream().map(TransactionDto::description).toList());
+        DataSourceRoutingMetricsDto metrics = routingDataSource.getMetrics();
+        assertFalse(metrics.replicaAvailable());
+        assertEquals(0, metrics.replicaConnections());
+        assertEquals(1, metrics.replicaFallbacks());
+    }
+}
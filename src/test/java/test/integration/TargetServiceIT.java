@@ -0,0 +1,214 @@
+package test.integration;
+
+import app.auth.AuthenticationCache;
+import app.cache.FinanceCache;
+import app.context.UserContext;
+import app.dto.finance.CreateFinanceDto;
+import app.dto.report.BudgetStatusDto;
+import app.dto.report.FinancialReportDto;
+import app.dto.transaction.CreateTransactionDto;
+import app.dto.transaction.TransactionDto;
+import app.dto.user.UserDto;
+import app.entity.DailyExpense;
+import app.entity.Role;
+import app.entity.TransactionSummary;
+import app.entity.TypeTransaction;
+import app.exception.common.NotFoundException;
+import app.mapper.FinanceMapper;
+import app.mapper.TransactionMapper;
+import app.mapper.UserMapper;
+import app.repository.jdbc.FinanceJdbcRepository;
+import app.repository.jdbc.TransactionJdbcRepository;
+import app.repository.jdbc.TransactionSummaryJdbcRepository;
+import app.repository.jdbc.UserJdbcRepository;
+import app.service.FinanceService;
+import app.service.TargetService;
+import app.service.TransactionService;
+import app.service.TransactionSummaryService;
+import app.service.impl.FinanceServiceImpl;
+import app.service.impl.TargetServiceImpl;
+import app.service.impl.TransactionServiceImpl;
+import app.service.impl.TransactionSummaryServiceImpl;
+import app.service.impl.UserServiceImpl;
+import app.util.SnowflakeIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import test.integration.db.TestDatabase;
+import test.integration.db.TestDatabaseFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetServiceIT {
+
+    private FinanceService financeService;
+    private TargetService targetService;
+    private TransactionSummaryJdbcRepository transactionSummaryRepository;
+    private Long financeId;
+
+    @BeforeEach
+    void setup() {
+        TestDatabase database = TestDatabaseFactory.create();
+        transactionSummaryRepository = new TransactionSummaryJdbcRepository(database.jdbcTemplate());
+        TransactionSummaryService transactionSummaryService = new TransactionSummaryServiceImpl(transactionSummaryRepository);
+        TransactionService transactionService = new TransactionServiceImpl(new TransactionJdbcRepository(database.jdbcTemplate(), new SnowflakeIdGenerator(0)),
+                Mappers.getMapper(TransactionMapper.class), transactionSummaryService);
+        financeService = new FinanceServiceImpl(new FinanceJdbcRepository(database.jdbcTemplate()), transactionService,
+                Mappers.getMapper(FinanceMapper.class), new FinanceCache(300, 100));
+        UserServiceImpl userService = new UserServiceImpl(Mappers.getMapper(UserMapper.class), new UserJdbcRepository(database.jdbcTemplate()),
+                financeService, new AuthenticationCache(60, 100));
+        targetService = new TargetServiceImpl(userService, financeService, transactionSummaryService);
+
+        financeId = financeService.createEmptyFinance(new CreateFinanceDto(BigDecimal.valueOf(5000), BigDecimal.valueOf(10000), BigDecimal.valueOf(3000), BigDecimal.ZERO));
+        UserContext.setCurrentUser(new UserDto(1L, "name", "test@example.com", "password", true, Role.USER, financeId));
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+        TestDatabaseFactory.reset();
+    }
+
+    @Test
+    void getFinancialReport_shouldAggregatePeriodInOnePass() {
+        financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(1000), "Salary", "Salary", TypeTransaction.PROFIT));
+        financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(200), "Food", "Groceries", TypeTransaction.EXPENSE));
+        financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(300), "Rent", "Rent", TypeTransaction.EXPENSE));
+        YearMonth oldMonth = YearMonth.now().minusMonths(6);
+        transactionSummaryRepository.applyAll(List.of(TransactionSummary.builder()
+                .financeId(financeId)
+                .month(oldMonth.atDay(1))
+                .category("Food")
+                .typeTransaction(TypeTransaction.EXPENSE)
+                .total(BigDecimal.valueOf(700))
+                .transactionCount(1)
+                .build()));
+
+        FinancialReportDto report = targetService.getFinancialReport(null, null);
+
+        assertEquals(YearMonth.now(), report.to());
+        assertEquals(YearMonth.now().minusMonths(1), report.from());
+        assertEquals(0, BigDecimal.valueOf(3500).compareTo(report.currentSavings()));
+        assertEquals(35.0, report.progressTowardsGoal());
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(report.totalProfit()));
+        assertEquals(0, BigDecimal.valueOf(500).compareTo(report.totalExpenses()));
+        assertEquals(0, BigDecimal.valueOf(500).compareTo(report.netIncome()));
+        assertEquals(3, report.transactionCount());
+        assertEquals(List.of("Rent", "Food"), List.copyOf(report.expensesByCategory().keySet()));
+
+        FinancialReportDto withHistory = targetService.getFinancialReport(oldMonth, YearMonth.now());
+        assertEquals(0, BigDecimal.valueOf(900).compareTo(withHistory.expensesByCategory().get("Food")));
+        assertEquals(4, withHistory.transactionCount());
+    }
+
+    @Test
+    void generateFinancialReport_shouldRenderLegacyText() {
+        financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(200), "Food", "Groceries", TypeTransaction.EXPENSE));
+
+        String report = targetService.generateFinancialReport();
+
+        assertTrue(report.startsWith("==== Финансовый отчет ====\n"));
+        assertTrue(report.contains("Текущие накопления: 2800"));
+        assertTrue(report.contains("Суммарные расходы за период: 200"));
+        assertTrue(report.contains("Food: 200"));
+    }
+
+    @Test
+    void getFinancialReport_withoutTransactions_shouldReturnZeros() {
+        FinancialReportDto report = targetService.getFinancialReport(YearMonth.now(), YearMonth.now());
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(report.totalExpenses()));
+        assertEquals(0, report.transactionCount());
+        assertTrue(report.expensesByCategory().isEmpty());
+    }
+
+    @Test
+    void getFinancialReport_unknownFinance_shouldThrow() {
+        UserContext.setCurrentUser(new UserDto(1L, "name", "test@example.com", "password", true, Role.USER, 999_999L));
+
+        assertThrows(NotFoundException.class, () -> targetService.getFinancialReport(null, null));
+    }
+
+    @Test
+    void getFinancialReport_reversedPeriod_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> targetService.getFinancialReport(YearMonth.now(), YearMonth.now().minusMonths(1)));
+    }
+
+    @Test
+    void getBudgetStatus_shouldReadMonthAndWindowFromDailyBuckets() {
+        LocalDate today = LocalDate.now();
+        LocalDate tenDaysAgo = today.minusDays(10);
+        financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(1000), "Salary", "Salary", TypeTransaction.PROFIT));
+        financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(200), "Food", "Groceries", TypeTransaction.EXPENSE));
+        financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(100), "Rent", "Rent", TypeTransaction.EXPENSE));
+        transactionSummaryRepository.applyDailyExpenses(List.of(
+                new DailyExpense(financeId, tenDaysAgo, BigDecimal.valueOf(600), 1),
+                new DailyExpense(financeId, today.minusDays(40), BigDecimal.valueOf(9000), 1)));
+
+        BudgetStatusDto status = targetService.getBudgetStatus(financeId);
+
+        BigDecimal spent = tenDaysAgo.getMonth() == today.getMonth() ? BigDecimal.valueOf(900) : BigDecimal.valueOf(300);
+        assertEquals(today, status.date());
+        assertEquals(0, BigDecimal.valueOf(5000).compareTo(status.monthlyBudget()));
+        assertEquals(0, spent.compareTo(status.spentThisMonth()));
+        assertEquals(0, BigDecimal.valueOf(5000).subtract(spent).compareTo(status.remainingBudget()));
+        assertEquals(0, new BigDecimal("30.00").compareTo(status.burnRatePerDay()));
+        assertFalse(status.exceeded());
+        assertFalse(targetService.isMonthBudgetExceeded(financeId));
+    }
+
+    @Test
+    void getBudgetStatus_shouldFollowEditAndDelete() {
+        financeService.updatetMonthlyBudget(financeId, BigDecimal.valueOf(150));
+        TransactionDto food = financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(200), "Food", "Groceries", TypeTransaction.EXPENSE));
+
+        BudgetStatusDto exceeded = targetService.getBudgetStatus(financeId);
+        assertTrue(exceeded.exceeded());
+        assertTrue(targetService.isMonthBudgetExceeded(financeId));
+        assertEquals(0, BigDecimal.valueOf(-50).compareTo(exceeded.remainingBudget()));
+        assertEquals(LocalDate.now(), exceeded.projectedOverspendDate());
+
+        financeService.delete(financeId, food.id());
+
+        BudgetStatusDto afterDelete = targetService.getBudgetStatus(financeId);
+        assertFalse(afterDelete.exceeded());
+        assertEquals(0, BigDecimal.ZERO.compareTo(afterDelete.spentThisMonth()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(afterDelete.burnRatePerDay()));
+        assertNull(afterDelete.projectedOverspendDate());
+    }
+
+    @Test
+    void isMonthBudgetExceeded_shouldUseTrailingThirtyDays() {
+        financeService.updatetMonthlyBudget(financeId, BigDecimal.valueOf(150));
+        transactionSummaryRepository.applyDailyExpenses(List.of(
+                new DailyExpense(financeId, LocalDate.now().minusDays(35), BigDecimal.valueOf(500), 1)));
+
+        assertFalse(targetService.isMonthBudgetExceeded(financeId));
+
+        transactionSummaryRepository.applyDailyExpenses(List.of(
+                new DailyExpense(financeId, LocalDate.now().minusDays(29), BigDecimal.valueOf(200), 1)));
+
+        assertTrue(targetService.isMonthBudgetExceeded(financeId));
+    }
+
+    @Test
+    void getBudgetStatus_afterRebuild_shouldMatchTransactions() {
+        financeService.createTransaction(financeId, new CreateTransactionDto(BigDecimal.valueOf(300), "Food", "Groceries", TypeTransaction.EXPENSE));
+        transactionSummaryRepository.applyDailyExpenses(List.of(new DailyExpense(financeId, LocalDate.now(), BigDecimal.valueOf(999), 1)));
+
+        transactionSummaryRepository.rebuild(financeId);
+
+        assertEquals(0, BigDecimal.valueOf(300).compareTo(targetService.getBudgetStatus(financeId).spentThisMonth()));
+    }
+
+    @Test
+    void getBudgetStatus_unknownFinance_shouldThrow() {
+        assertThrows(NotFoundException.class, () -> targetService.getBudgetStatus(999_999L));
+    }
+}
@@ -0,0 +1,219 @@
+package test.integration;
+
+import app.entity.Finance;
+import app.entity.Transaction;
+import app.entity.TypeTransaction;
+import app.exception.db.ErrorUpdateSqlException;
+import app.repository.jdbc.FinanceJdbcRepository;
+import app.repository.criteria.TransactionCriteria;
+import app.repository.jdbc.TransactionJdbcRepository;
+import app.repository.jdbc.TransactionPartitionJdbcRepository;
+import app.util.SnowflakeIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import test.integration.db.QueryPlan;
+import test.integration.db.TestDatabase;
+import test.integration.db.TestDatabaseFactory;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionPartitioningIT {
+
+    private static final int FINANCES = 20;
+
+    private TestDatabase database;
+    private TransactionJdbcRepository transactionRepository;
+
+    @BeforeEach
+    void setup() {
+        database = TestDatabaseFactory.create();
+        transactionRepository = new TransactionJdbcRepository(database.jdbcTemplate(), new SnowflakeIdGenerator(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestDatabaseFactory.reset();
+    }
+
+    private List<Long> createFinances() {
+        FinanceJdbcRepository financeRepository = new FinanceJdbcRepository(database.jdbcTemplate());
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < FINANCES; i++) {
+            ids.add(financeRepository.save(new Finance.Builder()
+                    .monthlyBudget(BigDecimal.ZERO)
+                    .savingsGoal(BigDecimal.ZERO)
+                    .currentSavings(BigDecimal.ZERO)
+                    .totalExpenses(BigDecimal.ZERO)
+                    .build()).getId());
+        }
+        return ids;
+    }
+
+    private static Transaction transaction(Long financeId, String description) {
+        return new Transaction(null, BigDecimal.TEN, "Food", Instant.now(), description, TypeTransaction.EXPENSE, financeId);
+    }
+
+    @Test
+    void transactions_shouldBeSpreadOverHashPartitions() {
+        List<Transaction> transactions = new ArrayList<>();
+        for (Long financeId : createFinances()) {
+            transactions.add(transaction(financeId, "t" + financeId));
+        }
+        transactionRepository.saveAll(transactions);
+
+        Long partitionsWithRows = database.jdbcTemplate().queryForObject(
+                "SELECT count(DISTINCT tableoid) FROM business.transactions", Long.class);
+
+        assertTrue(partitionsWithRows > 1, "rows in " + partitionsWithRows + " partition(s)");
+    }
+
+    @Test
+    void getAll_shouldGatherRowsFromAllPartitions() {
+        List<Transaction> transactions = new ArrayList<>();
+        for (Long financeId : createFinances()) {
+            transactions.add(transaction(financeId, "first"));
+            transactions.add(transaction(financeId, "second"));
+        }
+        transactionRepository.saveAll(transactions);
+
+        Collection<Transaction> all = transactionRepository.getAll();
+
+        Set<Long> expectedIds = transactions.stream().map(Transaction::getId).collect(Collectors.toSet());
+        Set<Long> ids = all.stream().map(Transaction::getId).collect(Collectors.toSet());
+        assertTrue(ids.containsAll(expectedIds));
+        assertEquals(all.size(), ids.size());
+    }
+
+    @Test
+    void save_shouldAssignApplicationGeneratedIds() {
+        Long financeId = createFinances().get(0);
+
+        Transaction first = transactionRepository.save(transaction(financeId, "first"));
+        Transaction second = transactionRepository.save(transaction(financeId, "second"));
+
+        assertTrue(second.getId() > first.getId());
+        assertEquals("second", transactionRepository.findById(second.getId()).orElseThrow().getDescription());
+    }
+
+    private static long scannedPartitions(String plan) {
+        return plan.lines().filter(line -> line.contains(" on transactions_")).count();
+    }
+
+    private String partitionOf(Long id) {
+        return database.jdbcTemplate().queryForObject(
+                "SELECT c.relname FROM business.transactions t JOIN pg_class c ON c.oid = t.tableoid WHERE t.id = ?",
+                String.class, id);
+    }
+
+    @Test
+    void sumAmountForMonth_shouldScanSinglePartition() {
+        YearMonth month = YearMonth.now(ZoneOffset.UTC);
+
+        String plan = QueryPlan.explain(database.jdbcTemplate(),
+                TransactionJdbcRepository.sumAmountSql(TypeTransaction.EXPENSE, true, true),
+                1L, Timestamp.valueOf(month.atDay(1).atStartOfDay()), Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+
+        assertEquals(1, scannedPartitions(plan), plan);
+        assertTrue(plan.contains("on transactions_" + month.format(DateTimeFormatter.ofPattern("yyyy_MM")) + "_p"), plan);
+    }
+
+    @Test
+    void criteriaForMonth_shouldScanSinglePartition() {
+        YearMonth month = YearMonth.now(ZoneOffset.UTC);
+        TransactionCriteria criteria = new TransactionCriteria.Builder(1L)
+                .from(month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC))
+                .to(month.atEndOfMonth().atStartOfDay().toInstant(ZoneOffset.UTC))
+                .build();
+
+        String plan = QueryPlan.explain(database.jdbcTemplate(), criteria.toSql(), criteria::bind);
+
+        assertEquals(1, scannedPartitions(plan), plan);
+    }
+
+    @Test
+    void keysetPage_shouldSkipLaterMonths() {
+        YearMonth next = YearMonth.now(ZoneOffset.UTC).plusMonths(1);
+        Timestamp after = Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC));
+
+        String plan = QueryPlan.explain(database.jdbcTemplate(), TransactionJdbcRepository.NEXT_PAGE_SQL,
+                1L, after, after, Long.MAX_VALUE, 51);
+
+        assertFalse(plan.contains("transactions_" + next.format(DateTimeFormatter.ofPattern("yyyy_MM"))), plan);
+    }
+
+    @Test
+    void createMonth_shouldMoveRowsFromDefaultPartition() {
+        Long financeId = createFinances().get(0);
+        Transaction old = transaction(financeId, "old");
+        old.setDate(Instant.parse("2020-05-10T12:00:00Z"));
+        transactionRepository.save(old);
+        assertEquals("transactions_default", partitionOf(old.getId()));
+        TransactionPartitionJdbcRepository partitionRepository = new TransactionPartitionJdbcRepository(database.jdbcTemplate());
+        assertEquals(List.of(YearMonth.of(2020, 5)), partitionRepository.findMonthsInDefaultPartition());
+
+        assertTrue(partitionRepository.createMonth(YearMonth.of(2020, 5)));
+
+        assertTrue(partitionOf(old.getId()).startsWith("transactions_2020_05_p"));
+        assertEquals(List.of(), partitionRepository.findMonthsInDefaultPartition());
+        assertFalse(partitionRepository.createMonth(YearMonth.of(2020, 5)));
+    }
+
+    @Test
+    void archiveBefore_shouldMoveOldMonthsToArchiveSchema() {
+        Long financeId = createFinances().get(0);
+        Transaction old = transaction(financeId, "old");
+        old.setDate(Instant.parse("2020-05-10T12:00:00Z"));
+        TransactionPartitionJdbcRepository partitionRepository = new TransactionPartitionJdbcRepository(database.jdbcTemplate());
+        partitionRepository.createMonth(YearMonth.of(2020, 5));
+        transactionRepository.save(old);
+        Transaction recent = transactionRepository.save(transaction(financeId, "recent"));
+
+        List<String> archived = partitionRepository.archiveBefore(YearMonth.of(2020, 6));
+
+        assertEquals(List.of("transactions_2020_05"), archived);
+        assertEquals(List.of("recent"), transactionRepository.findByFinanceId(financeId).stream()
+                .map(Transaction::getDescription).toList());
+        assertEquals(1, database.jdbcTemplate().queryForObject(
+                "SELECT count(*) FROM archive.transactions_2020_05 WHERE id = ?", Long.class, old.getId()));
+        assertEquals(recent.getId(), transactionRepository.findById(recent.getId()).orElseThrow().getId());
+    }
+
+    @Test
+    void delete_shouldRemoveRowByFullKey() {
+        Long financeId = createFinances().get(0);
+        Transaction saved = transactionRepository.save(transaction(financeId, "first"));
+
+        transactionRepository.delete(transactionRepository.findById(saved.getId()).orElseThrow());
+
+        assertTrue(transactionRepository.findById(saved.getId()).isEmpty());
+    }
+
+    @Test
+    void update_shouldMoveRowToMonthOfNewDate() {
+        Long financeId = createFinances().get(0);
+        Transaction saved = transactionRepository.save(transaction(financeId, "first"));
+        Instant previousDate = saved.getDate();
+        saved.setDate(Instant.parse("2020-05-10T12:00:00Z"));
+        saved.setDescription("moved");
+
+        transactionRepository.update(saved, previousDate);
+
+        assertEquals("transactions_default", partitionOf(saved.getId()));
+        assertEquals("moved", transactionRepository.findById(saved.getId()).orElseThrow().getDescription());
+        assertThrows(ErrorUpdateSqlException.class, () -> transactionRepository.update(saved, previousDate));
+    }
+}
@@ -1,17 +1,28 @@
 package test.integration;
 
 import app.context.UserContext;
+import app.config.JsonMapperConfig;
 import app.dto.transaction.CreateTransactionDto;
+import app.dto.transaction.ExportFormat;
 import app.dto.transaction.FilterTransactionDto;
 import app.dto.transaction.TransactionDto;
+import app.dto.transaction.TransactionPageDto;
+import app.dto.transaction.TransactionSort;
 import app.dto.transaction.UpdateTransactionDto;
 import app.dto.user.UserDto;
+import app.entity.Finance;
 import app.entity.Role;
 import app.entity.TypeTransaction;
 import app.mapper.TransactionMapper;
+import app.repository.jdbc.FinanceJdbcRepository;
 import app.repository.jdbc.TransactionJdbcRepository;
+import app.repository.jdbc.TransactionSummaryJdbcRepository;
+import app.service.TransactionExportService;
 import app.service.TransactionService;
+import app.service.impl.TransactionExportServiceImpl;
 import app.service.impl.TransactionServiceImpl;
+import app.service.impl.TransactionSummaryServiceImpl;
+import app.util.SnowflakeIdGenerator;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,8 +30,11 @@ import org.mapstruct.factory.Mappers;
 import test.integration.db.TestDatabase;
 import test.integration.db.TestDatabaseFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,7 +59,14 @@ class TransactionServiceIT {
                 .build();
 
         UserContext.setCurrentUser(userDto);
-        transactionService = new TransactionServiceImpl(new TransactionJdbcRepository(database.jdbcTemplate()), Mappers.getMapper(TransactionMapper.class));
+        new FinanceJdbcRepository(database.jdbcTemplate()).save(new Finance.Builder()
+                .monthlyBudget(BigDecimal.ZERO)
+                .savingsGoal(BigDecimal.ZERO)
+                .currentSavings(BigDecimal.ZERO)
+                .totalExpenses(BigDecimal.ZERO)
+                .build());
+        transactionService = new TransactionServiceImpl(new TransactionJdbcRepository(database.jdbcTemplate(), new SnowflakeIdGenerator(0)), Mappers.getMapper(TransactionMapper.class),
+                new TransactionSummaryServiceImpl(new TransactionSummaryJdbcRepository(database.jdbcTemplate())));
     }
 
     @AfterEach
@@ -71,24 +92,24 @@ class TransactionServiceIT {
     @Test
     void getTransactionById_shouldReturnTransaction() {
         // Arrange
-        transactionService.create(1L, new CreateTransactionDto(new BigDecimal("150.00"), "Groceries", "Supermarket purchase", TypeTransaction.EXPENSE));
+        TransactionDto created = transactionService.create(1L, new CreateTransactionDto(new BigDecimal("150.00"), "Groceries", "Supermarket purchase", TypeTransaction.EXPENSE));
 
         // Act
-        TransactionDto transaction = transactionService.getTransactionById(1L);
+        TransactionDto transaction = transactionService.getTransactionById(created.id());
 
         // Assert
         assertNotNull(transaction);
-        assertEquals(1L, transaction.id());
+        assertEquals(created.id(), transaction.id());
     }
 
     @Test
     void editTransaction_shouldUpdateTransactionDetails() {
         // Arrange
-        transactionService.create(1L, new CreateTransactionDto(new BigDecimal("150.00"), "Groceries", "Supermarket purchase", TypeTransaction.EXPENSE));
+        TransactionDto created = transactionService.create(1L, new CreateTransactionDto(new BigDecimal("150.00"), "Groceries", "Supermarket purchase", TypeTransaction.EXPENSE));
 
 
         // Act
-        TransactionDto updatedTransaction = transactionService.edit(new UpdateTransactionDto(1L, new BigDecimal("200.00"), "Bills", Instant.now(), "Electricity bill", TypeTransaction.EXPENSE));
+        TransactionDto updatedTransaction = transactionService.edit(new UpdateTransactionDto(created.id(), new BigDecimal("200.00"), "Bills", Instant.now(), "Electricity bill", TypeTransaction.EXPENSE));
 
         // Assert
         assertNotNull(updatedTransaction);
@@ -100,13 +121,13 @@ class TransactionServiceIT {
     @Test
     void deleteTransaction_shouldRemoveTransaction() {
         // Arrange
-        transactionService.create(1L, new CreateTransactionDto(new BigDecimal("150.00"), "Groceries", "Supermarket purchase", TypeTransaction.EXPENSE));
+        TransactionDto created = transactionService.create(1L, new CreateTransactionDto(new BigDecimal("150.00"), "Groceries", "Supermarket purchase", TypeTransaction.EXPENSE));
 
         // Act
-        assertDoesNotThrow(() -> transactionService.delete(1L));
+        assertDoesNotThrow(() -> transactionService.delete(created.id()));
 
         // Assert
-        Exception exception = assertThrows(RuntimeException.class, () -> transactionService.getTransactionById(1L));
+        Exception exception = assertThrows(RuntimeException.class, () -> transactionService.getTransactionById(created.id()));
         assertTrue(exception.getMessage().contains("Transaction not found"));
     }
 
@@ -116,7 +137,7 @@ class TransactionServiceIT {
         transactionService.create(1L, new CreateTransactionDto(new BigDecimal("150.00"), "Groceries", "Supermarket purchase", TypeTransaction.EXPENSE));
 
         // Act
-        List<TransactionDto> transactions = transactionService.getFilteredTransactions(new FilterTransactionDto(Instant.now().minusSeconds(86400), Instant.now(), "Groceries", "EXPENSE"));
+        List<TransactionDto> transactions = transactionService.getFilteredTransactions(1L, new FilterTransactionDto(Instant.now().minusSeconds(86400), Instant.now(), "Groceries", "EXPENSE"));
 
         // Assert
         assertNotNull(transactions);
@@ -127,17 +148,97 @@ class TransactionServiceIT {
     @Test
     void filterTransactions_shouldReturnEmptyListWhenNoMatch() {
         // Act
-        List<TransactionDto> transactions = transactionService.getFilteredTransactions(new FilterTransactionDto(Instant.now().minusSeconds(86400), Instant.now(), "Entertainment", "EXPENSE"));
+        List<TransactionDto> transactions = transactionService.getFilteredTransactions(1L, new FilterTransactionDto(Instant.now().minusSeconds(86400), Instant.now(), "Entertainment", "EXPENSE"));
 
         // Assert
         assertNotNull(transactions);
         assertTrue(transactions.isEmpty());
     }
 
+    @Test
+    void filterTransactions_partialCriteria_shouldBindOnlyPresentValues() {
+        // Arrange
+        transactionService.create(1L, new CreateTransactionDto(new BigDecimal("150.00"), "Groceries", "Supermarket", TypeTransaction.EXPENSE));
+        transactionService.create(1L, new CreateTransactionDto(new BigDecimal("40.00"), "Groceries", "Bakery", TypeTransaction.EXPENSE));
+        transactionService.create(1L, new CreateTransactionDto(new BigDecimal("300.00"), "Travel", "Train", TypeTransaction.EXPENSE));
+        transactionService.create(1L, new CreateTransactionDto(new BigDecimal("900.00"), "Salary", "Bonus", TypeTransaction.PROFIT));
+
+        // Act
+        List<TransactionDto> onlyCategory = transactionService.getFilteredTransactions(1L,
+                new FilterTransactionDto(null, null, "Groceries", null));
+        List<TransactionDto> categoriesAndAmount = transactionService.getFilteredTransactions(1L,
+                new FilterTransactionDto(null, null, null, "", List.of("Groceries", "Travel"),
+                        new BigDecimal("100.00"), null, TransactionSort.AMOUNT_DESC, null));
+        List<TransactionDto> income = transactionService.getFilteredTransactions(1L,
+                new FilterTransactionDto(null, Instant.now().plusSeconds(60), null, "INCOME"));
+        List<TransactionDto> cheapest = transactionService.getFilteredTransactions(1L,
+                new FilterTransactionDto(null, null, null, null, null, null, null, TransactionSort.AMOUNT_ASC, 1));
+
+        // Assert
+        assertEquals(2, onlyCategory.size());
+        assertEquals(List.of("Travel", "Groceries"), categoriesAndAmount.stream().map(TransactionDto::category).toList());
+        assertEquals(1, income.size());
+        assertEquals("Salary", income.get(0).category());
+        assertEquals(1, cheapest.size());
+        assertEquals(0, new BigDecimal("40.00").compareTo(cheapest.get(0).amount()));
+    }
+
     @Test
     void editTransaction_shouldFailIfTransactionNotFound() {
         // Act & Assert
         assertThrows(RuntimeException.class, () -> transactionService.edit(new UpdateTransactionDto(999L, new BigDecimal("200.00"), "Bills", Instant.now(), "Electricity bill", TypeTransaction.EXPENSE)));
     }
 
+    @Test
+    void getTransactionsPage_shouldWalkAllTransactionsWithoutGapsOrDuplicates() {
+        // Arrange
+        List<Long> createdIds = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            createdIds.add(0, transactionService.create(1L, new CreateTransactionDto(new BigDecimal(i), "Category" + i, "Description", TypeTransaction.EXPENSE)).id());
+        }
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        List<Instant> dates = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionPageDto page = transactionService.getTransactionsPage(1L, cursor, 2);
+            page.items().forEach(t -> {
+                ids.add(t.id());
+                dates.add(t.date());
+            });
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(3, pages);
+        assertEquals(createdIds, ids);
+        for (int i = 1; i < dates.size(); i++) {
+            assertFalse(dates.get(i).isAfter(dates.get(i - 1)));
+        }
+    }
+
+    @Test
+    void export_shouldStreamAllTransactionsAsCsv() {
+        // Arrange
+        List<Long> createdIds = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            createdIds.add(transactionService.create(1L, new CreateTransactionDto(new BigDecimal(i), "Category" + i, "Description", TypeTransaction.EXPENSE)).id());
+        }
+        TransactionExportService exportService = new TransactionExportServiceImpl(new TransactionJdbcRepository(database.jdbcTemplate(), new SnowflakeIdGenerator(0)),
+                Mappers.getMapper(TransactionMapper.class), new JsonMapperConfig().jsonMapper());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = exportService.export(1L, ExportFormat.CSV, null, null, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, count);
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].startsWith(createdIds.get(0) + ","));
+        assertTrue(lines[3].startsWith(createdIds.get(2) + ","));
+    }
 }
@@ -1,21 +1,27 @@
 package test.integration;
 
+import app.auth.AuthenticationCache;
+import app.cache.FinanceCache;
 import app.context.UserContext;
 import app.dto.user.CreateUserDto;
 import app.dto.user.UpdateUserDto;
+import app.dto.user.UserDto;
 import app.entity.Role;
 import app.mapper.FinanceMapper;
 import app.mapper.TransactionMapper;
 import app.mapper.UserMapper;
 import app.repository.jdbc.FinanceJdbcRepository;
 import app.repository.jdbc.TransactionJdbcRepository;
+import app.repository.jdbc.TransactionSummaryJdbcRepository;
 import app.repository.jdbc.UserJdbcRepository;
 import app.service.FinanceService;
 import app.service.TransactionService;
 import app.service.UserService;
 import app.service.impl.FinanceServiceImpl;
 import app.service.impl.TransactionServiceImpl;
+import app.service.impl.TransactionSummaryServiceImpl;
 import app.service.impl.UserServiceImpl;
+import app.util.SnowflakeIdGenerator;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,7 +29,13 @@ import org.mapstruct.factory.Mappers;
 import test.integration.db.TestDatabase;
 import test.integration.db.TestDatabaseFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,9 +46,11 @@ public class UserServiceIT {
     @BeforeEach
     void setup() {
         TestDatabase database = TestDatabaseFactory.create();
-        TransactionService transactionService = new TransactionServiceImpl(new TransactionJdbcRepository(database.jdbcTemplate()), Mappers.getMapper(TransactionMapper.class));
-        FinanceService financeService = new FinanceServiceImpl(new FinanceJdbcRepository(database.jdbcTemplate()), transactionService, Mappers.getMapper(FinanceMapper.class));
-        userService = new UserServiceImpl(Mappers.getMapper(UserMapper.class), new UserJdbcRepository(database.jdbcTemplate()), financeService);
+        TransactionService transactionService = new TransactionServiceImpl(new TransactionJdbcRepository(database.jdbcTemplate(), new SnowflakeIdGenerator(0)), Mappers.getMapper(TransactionMapper.class),
+                new TransactionSummaryServiceImpl(new TransactionSummaryJdbcRepository(database.jdbcTemplate())));
+        FinanceService financeService = new FinanceServiceImpl(new FinanceJdbcRepository(database.jdbcTemplate()), transactionService, Mappers.getMapper(FinanceMapper.class), new FinanceCache(300, 100));
+        userService = new UserServiceImpl(Mappers.getMapper(UserMapper.class), new UserJdbcRepository(database.jdbcTemplate()), financeService,
+                new AuthenticationCache(60, 100));
     }
 
     @AfterEach
@@ -168,6 +182,51 @@ public class UserServiceIT {
         assertEquals(Role.USER, user.role());
     }
 
+    @Test
+    void testCreateUser_FirstUser_ShouldBeAdmin() {
+        var first = userService.createUser(new CreateUserDto("First", "first@example.com", "pass"));
+
+        assertEquals(Role.ADMIN, first.role());
+    }
+
+    @Test
+    void testCreateUser_AfterAdminRemoved_ShouldStayUser() {
+        userService.createUser(new CreateUserDto("First", "first@example.com", "pass"));
+        userService.remove("first@example.com");
+
+        var next = userService.createUser(new CreateUserDto("Next", "next@example.com", "pass"));
+
+        assertEquals(Role.USER, next.role());
+    }
+
+    @Test
+    void testCreateUser_ConcurrentFirstRegistrations_ShouldCreateOneAdmin() throws Exception {
+        int registrations = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(registrations);
+        try {
+            List<Future<UserDto>> futures = new ArrayList<>();
+            for (int i = 0; i < registrations; i++) {
+                String email = "user" + i + "@example.com";
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return userService.createUser(new CreateUserDto("User", email, "pass"));
+                }));
+            }
+            start.countDown();
+
+            long admins = 0;
+            for (Future<UserDto> future : futures) {
+                if (future.get(30, TimeUnit.SECONDS).role() == Role.ADMIN) {
+                    admins++;
+                }
+            }
+            assertEquals(1, admins);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void testRemoveUser_ShouldReturnTrueIfUserRemoved() {
         // Arrange
@@ -0,0 +1,60 @@
+package test.integration.db;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Получение плана запроса через EXPLAIN.
+ * <p>
+ * В тестовой базе таблицы маленькие, и планировщик честно выбирает последовательное
+ * чтение. Поэтому план строится с enable_seqscan = off: если подходящего индекса нет,
+ * в плане всё равно останется Seq Scan.
+ */
+public final class QueryPlan {
+
+    private QueryPlan() {
+    }
+
+    /**
+     * Есть ли в плане отдельный узел сортировки. Строка "Sort Key" у Merge Append, который
+     * сливает уже упорядоченные секции, сортировкой не считается.
+     */
+    public static boolean hasSortNode(String plan) {
+        return plan.lines().map(String::strip).anyMatch(line -> line.matches("(->  )?(Incremental )?Sort  \\(.*"));
+    }
+
+    public static String explain(JdbcTemplate jdbcTemplate, String sql, Object... args) {
+        return explain(jdbcTemplate, sql, ps -> {
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+        });
+    }
+
+    public static String explain(JdbcTemplate jdbcTemplate, String sql, PreparedStatementSetter setter) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+            }
+            try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+                setter.setValues(ps);
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+        });
+    }
+}
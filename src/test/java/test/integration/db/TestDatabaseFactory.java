@@ -30,6 +30,26 @@ public class TestDatabaseFactory {
         return new TestDatabase(jdbcTemplate, container, liquibaseConfig);
     }
 
+    /**
+     * Отдельная база со своим контейнером, например реплика рядом с основной базой из {@link #create()}.
+     * Останавливается через {@link TestDatabase#stop()}.
+     */
+    public static TestDatabase createStandalone() {
+        if (appProperties == null) {
+            appProperties = ConfigLoader.loadConfig("application-test.yml", AppProperties.class);
+        }
+        PostgresContainer standalone = new PostgresContainer(appProperties.getPostgresContainer());
+        standalone.startContainer();
+
+        DriverManagerDataSource dataSource = standalone.driverManagerDataSource();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        LiquibaseConfig liquibaseConfig = new LiquibaseConfig(jdbcTemplate, dataSource, appProperties.getLiquibase());
+        liquibaseConfig.initializeAndMigrate();
+
+        return new TestDatabase(jdbcTemplate, standalone, liquibaseConfig);
+    }
+
     public static void reset() {
         container.stopContainer();
         container = null;
@@ -10,7 +10,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 public class PostgresContainer {
 
     private final Logger log = LoggerFactory.getLogger(PostgresContainer.class);
-    private static PostgreSQLContainer<?> postgres;
+    private PostgreSQLContainer<?> postgres;
     private final AppProperties.PostgresContainerProperties prop;
 
     public PostgresContainer(AppProperties.PostgresContainerProperties prop) {
@@ -0,0 +1,148 @@
+package test.unit;
+
+import app.audit.AuditArgs;
+import app.audit.AuditEvent;
+import app.audit.AuditLogWriter;
+import app.audit.AuditRingBuffer;
+import app.audit.OverflowPolicy;
+import app.dto.auth.SignIn;
+import app.dto.user.CreateUserDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditLogWriterTest {
+
+    private final List<List<AuditEvent>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    void ringBuffer_roundsCapacityAndKeepsOrder() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(3);
+
+        assertEquals(4, buffer.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+        assertEquals(List.of(1, 2, 3, 4), List.of(buffer.poll(), buffer.poll(), buffer.poll(), buffer.poll()));
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void record_writesInBatches_andCloseDrainsQueue() {
+        AuditLogWriter writer = new AuditLogWriter(this::capture, 64, 4, 60_000, OverflowPolicy.DROP_NEWEST);
+        writer.start();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(writer.record(event("m" + i)));
+        }
+        writer.close();
+
+        assertEquals(10, writer.getEnqueued());
+        assertEquals(10, writer.getWritten());
+        assertEquals(0, writer.getQueued());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 4));
+        assertEquals("m0", batches.get(0).get(0).method());
+        assertEquals(10, writer.getDelay().getCount());
+    }
+
+    @Test
+    void record_dropNewest_whenBufferFull() {
+        AuditLogWriter writer = new AuditLogWriter(this::capture, 2, 2, 60_000, OverflowPolicy.DROP_NEWEST);
+
+        assertTrue(writer.record(event("a")));
+        assertTrue(writer.record(event("b")));
+        assertFalse(writer.record(event("c")));
+
+        writer.start();
+        writer.close();
+
+        assertEquals(1, writer.getDropped());
+        assertEquals(List.of("a", "b"), writtenMethods());
+    }
+
+    @Test
+    void record_dropOldest_keepsNewestEvents() {
+        AuditLogWriter writer = new AuditLogWriter(this::capture, 2, 2, 60_000, OverflowPolicy.DROP_OLDEST);
+
+        writer.record(event("a"));
+        writer.record(event("b"));
+        assertTrue(writer.record(event("c")));
+
+        writer.start();
+        writer.close();
+
+        assertEquals(1, writer.getDropped());
+        assertEquals(List.of("b", "c"), writtenMethods());
+    }
+
+    @Test
+    void flush_sinkFailure_countsFailedEvents() {
+        AuditLogWriter writer = new AuditLogWriter(events -> {
+            throw new IllegalStateException("disk full");
+        }, 8, 8, 60_000, OverflowPolicy.DROP_NEWEST);
+        writer.start();
+
+        writer.record(event("a"));
+        writer.record(event("b"));
+        writer.close();
+
+        assertEquals(2, writer.getFailed());
+        assertEquals(0, writer.getWritten());
+        assertEquals(1, writer.getWriteTime().getCount());
+    }
+
+    private void capture(List<AuditEvent> batch) {
+        batches.add(List.copyOf(batch));
+    }
+
+    @Test
+    void renderArgs_masksPasswords() {
+        String rendered = AuditArgs.render(new Object[]{
+                new CreateUserDto("Имя", "user@mail.ru", "secret, with comma"),
+                new SignIn("user@mail.ru", "secret2")});
+
+        assertFalse(rendered.contains("secret"), rendered);
+        assertTrue(rendered.contains("email=user@mail.ru"), rendered);
+        assertTrue(rendered.contains("password=***"), rendered);
+    }
+
+    @Test
+    void renderArgs_capturesStateAtCallTime() {
+        List<String> categories = new ArrayList<>(List.of("Food"));
+
+        String rendered = AuditArgs.render(new Object[]{categories});
+        categories.add("Taxi");
+
+        assertEquals("[[Food]]", rendered);
+    }
+
+    @Test
+    void renderArgs_limitsLength() {
+        String rendered = AuditArgs.render(new Object[]{Collections.nCopies(10_000, "row"), "x".repeat(10_000)});
+
+        assertTrue(rendered.length() <= 4000, "length " + rendered.length());
+        assertTrue(rendered.contains("(10000 items)"), rendered);
+    }
+
+    private List<String> writtenMethods() {
+        return batches.stream().flatMap(List::stream).map(AuditEvent::method).toList();
+    }
+
+    private static AuditEvent event(String method) {
+        return new AuditEvent(Instant.now(), "user@mail.ru", "test", AuditLogWriterTest.class, method,
+                "[" + method + "]", System.nanoTime());
+    }
+}
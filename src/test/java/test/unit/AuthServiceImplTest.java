@@ -1,5 +1,6 @@
 package test.unit;
 
+import app.auth.AuthenticationCache;
 import app.context.UserContext;
 import app.dto.auth.ResponseLogin;
 import app.dto.auth.SignIn;
@@ -32,6 +33,9 @@ class AuthServiceImplTest {
     @Mock
     private TokenService tokenService;
 
+    @Mock
+    private AuthenticationCache authenticationCache;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -153,6 +157,7 @@ class AuthServiceImplTest {
         // Assert
         assertNull(UserContext.getCurrentUser());
         verify(tokenService, times(1)).deleteTokenByUserId(userDto.id());
+        verify(authenticationCache).invalidateUser(userDto.id());
     }
 
     @Test
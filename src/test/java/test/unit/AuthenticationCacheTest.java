@@ -0,0 +1,109 @@
+package test.unit;
+
+import app.auth.AuthenticationCache;
+import app.dto.metrics.AuthCacheMetricsDto;
+import app.dto.user.UserDto;
+import app.entity.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AuthenticationCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private AuthenticationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        this.cache = new AuthenticationCache(Duration.ofSeconds(60), 2, clock::get);
+    }
+
+    @Test
+    void get_afterPut_returnsUserAndCountsHit() {
+        UserDto user = user(1L);
+        assertNull(cache.get("1"));
+
+        cache.put("1", user, cache.generation());
+
+        assertEquals(user, cache.get("1"));
+        AuthCacheMetricsDto metrics = cache.getMetrics();
+        assertEquals(1, metrics.hits());
+        assertEquals(1, metrics.misses());
+        assertEquals(0.5, metrics.hitRate());
+    }
+
+    @Test
+    void get_afterTtl_returnsNullAndCountsEviction() {
+        cache.put("1", user(1L), cache.generation());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        assertNull(cache.get("1"));
+        assertEquals(1, cache.getMetrics().evictions());
+        assertEquals(0, cache.getMetrics().size());
+    }
+
+    @Test
+    void put_whenFull_evictsEntryExpiringFirst() {
+        cache.put("1", user(1L), cache.generation());
+        clock.addAndGet(1);
+        cache.put("2", user(2L), cache.generation());
+        clock.addAndGet(1);
+        cache.put("3", user(3L), cache.generation());
+
+        assertNull(cache.get("1"));
+        assertEquals(3L, cache.get("3").id());
+        assertEquals(2, cache.getMetrics().size());
+        assertEquals(1, cache.getMetrics().evictions());
+    }
+
+    @Test
+    void invalidateUser_removesEntriesOfUser() {
+        cache.put("1", user(1L), cache.generation());
+        cache.put("2", user(2L), cache.generation());
+
+        cache.invalidateUser(1L);
+
+        assertNull(cache.get("1"));
+        assertEquals(2L, cache.get("2").id());
+    }
+
+    @Test
+    void put_loadedBeforeInvalidation_isIgnored() {
+        long generation = cache.generation();
+
+        cache.invalidateUser(1L);
+        cache.put("1", user(1L), generation);
+
+        assertNull(cache.get("1"));
+    }
+
+    @Test
+    void invalidateUser_insideTransaction_repeatsAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidateUser(1L);
+            cache.put("1", user(1L), cache.generation());
+            assertEquals(user(1L), cache.get("1"));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            assertNull(cache.get("1"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private UserDto user(Long id) {
+        return new UserDto(id, "name", "user" + id + "@mail.ru", "password", true, Role.USER, id);
+    }
+}
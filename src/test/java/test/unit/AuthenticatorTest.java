@@ -0,0 +1,77 @@
+package test.unit;
+
+import app.auth.AuthenticationCache;
+import app.auth.Authenticator;
+import app.dto.user.UserDto;
+import app.entity.Role;
+import app.entity.Token;
+import app.exception.common.NotFoundException;
+import app.service.TokenService;
+import app.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticatorTest {
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private UserService userService;
+
+    private AuthenticationCache authenticationCache;
+    private Authenticator authenticator;
+    private UserDto userDto;
+
+    @BeforeEach
+    void setUp() {
+        this.authenticationCache = new AuthenticationCache(60, 100);
+        this.authenticator = new Authenticator(tokenService, userService, authenticationCache);
+        this.userDto = new UserDto(1L, "name", "email@mail.ru", "password", true, Role.USER, 1L);
+    }
+
+    @Test
+    void authenticate_repeatedToken_loadsUserOnce() {
+        when(tokenService.getTokenByUserId(1L)).thenReturn(new Token.Builder().userId(1L).value("42").build());
+        when(userService.getUserById(1L)).thenReturn(userDto);
+
+        assertEquals(userDto, authenticator.authenticate("1"));
+        assertEquals(userDto, authenticator.authenticate("1"));
+
+        verify(tokenService, times(1)).getTokenByUserId(1L);
+        verify(userService, times(1)).getUserById(1L);
+        assertEquals(1, authenticationCache.getMetrics().hits());
+    }
+
+    @Test
+    void authenticate_afterInvalidation_loadsUserAgain() {
+        when(tokenService.getTokenByUserId(1L)).thenReturn(new Token.Builder().userId(1L).value("42").build());
+        when(userService.getUserById(1L)).thenReturn(userDto);
+
+        authenticator.authenticate("1");
+        authenticationCache.invalidateUser(1L);
+        authenticator.authenticate("1");
+
+        verify(userService, times(2)).getUserById(1L);
+    }
+
+    @Test
+    void authenticate_unknownToken_isNotCached() {
+        when(tokenService.getTokenByUserId(2L)).thenThrow(new NotFoundException("Token not found"));
+
+        assertNull(authenticator.authenticate("2"));
+        assertNull(authenticator.authenticate("2"));
+
+        verify(tokenService, times(2)).getTokenByUserId(2L);
+    }
+}
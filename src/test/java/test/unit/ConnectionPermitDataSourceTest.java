@@ -0,0 +1,76 @@
+package test.unit;
+
+import app.concurrent.ConnectionPermitDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionPermitDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection connection;
+
+    private ConnectionPermitDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionPermitDataSource(pool, 2, 50);
+    }
+
+    @Test
+    void getConnection_whenPermitsExhausted_timesOut() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertEquals(0, dataSource.getAvailable());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+    }
+
+    @Test
+    void close_releasesPermitOnce() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+
+        assertEquals(2, dataSource.getAvailable());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void getConnection_poolFailure_releasesPermit() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("pool closed"));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(2, dataSource.getAvailable());
+    }
+
+    @Test
+    void connection_delegatesCalls() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(false);
+
+        assertEquals(false, dataSource.getConnection().getAutoCommit());
+    }
+}
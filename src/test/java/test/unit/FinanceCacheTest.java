@@ -0,0 +1,164 @@
+package test.unit;
+
+import app.cache.FinanceCache;
+import app.dto.metrics.FinanceCacheMetricsDto;
+import app.entity.Finance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FinanceCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<Long, Finance> database = new ConcurrentHashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private FinanceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new FinanceCache(Duration.ofSeconds(60), 2, clock::get);
+        database.put(1L, finance(1L, 100, 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void find_repeated_loadsOnceAndReturnsCopies() {
+        find(1L).setCurrentSavings(BigDecimal.ZERO);
+
+        Finance second = find(1L);
+
+        assertEquals(1, loads.get());
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(second.getCurrentSavings()));
+        FinanceCacheMetricsDto metrics = cache.getMetrics();
+        assertEquals(1, metrics.hits());
+        assertEquals(1, metrics.misses());
+    }
+
+    @Test
+    void find_withinRequest_countsRequestHit() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        find(1L);
+        find(1L);
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getMetrics().requestHits());
+        assertEquals(0, cache.getMetrics().hits());
+    }
+
+    @Test
+    void find_afterTtl_reloads() {
+        find(1L);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        find(1L);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getMetrics().evictions());
+    }
+
+    @Test
+    void put_olderVersion_isRejected() {
+        cache.put(finance(1L, 300, 5));
+
+        cache.put(finance(1L, 200, 4));
+
+        assertEquals(0, BigDecimal.valueOf(300).compareTo(find(1L).getCurrentSavings()));
+        assertEquals(0, loads.get());
+        assertEquals(1, cache.getMetrics().rejectedWrites());
+    }
+
+    @Test
+    void find_whenInvalidatedDuringLoad_doesNotCacheLoadedValue() {
+        cache.find(1L, id -> {
+            Optional<Finance> loaded = Optional.of(database.get(id));
+            cache.invalidate(id);
+            return loaded;
+        });
+
+        find(1L);
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getMetrics().rejectedWrites());
+    }
+
+    @Test
+    void find_whenOtherAccountInvalidatedDuringLoad_cachesLoadedValue() {
+        database.put(2L, finance(2L, 200, 0));
+        cache.find(2L, id -> {
+            Optional<Finance> loaded = Optional.of(database.get(id));
+            cache.invalidate(1L);
+            return loaded;
+        });
+
+        find(2L);
+
+        assertEquals(0, loads.get());
+        assertEquals(1, cache.getMetrics().hits());
+        assertEquals(0, cache.getMetrics().rejectedWrites());
+    }
+
+    @Test
+    void put_inTransaction_isAppliedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put(finance(1L, 500, 1));
+
+        assertEquals(0, cache.getMetrics().size());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(0, BigDecimal.valueOf(500).compareTo(find(1L).getCurrentSavings()));
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void find_inWriteTransaction_bypassesCache() {
+        find(1L);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        find(1L);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getMetrics().hits());
+    }
+
+    private Finance find(Long id) {
+        return cache.find(id, key -> {
+            loads.incrementAndGet();
+            return Optional.ofNullable(database.get(key));
+        }).orElseThrow();
+    }
+
+    private Finance finance(Long id, long savings, long version) {
+        Finance finance = new Finance.Builder()
+                .id(id)
+                .currentSavings(BigDecimal.valueOf(savings))
+                .build();
+        finance.setVersion(version);
+        return finance;
+    }
+}
@@ -1,5 +1,6 @@
 package test.unit;
 
+import app.cache.FinanceCache;
 import app.context.UserContext;
 import app.dto.finance.CreateFinanceDto;
 import app.dto.finance.FinanceDto;
@@ -12,7 +13,9 @@ import app.entity.Finance;
 import app.entity.Role;
 import app.entity.Transaction;
 import app.entity.TypeTransaction;
+import app.exception.common.CreateException;
 import app.exception.common.DeleteException;
+import app.exception.common.NotFoundException;
 import app.mapper.FinanceMapper;
 import app.mapper.TransactionMapper;
 import app.mapper.UserMapper;
@@ -26,16 +29,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -54,6 +61,9 @@ class FinanceServiceImplTest {
     @Mock
     private FinanceMapper financeMapper;
 
+    @Spy
+    private FinanceCache financeCache = new FinanceCache(300, 100);
+
     @InjectMocks
     private FinanceServiceImpl financeService;
 
@@ -79,19 +89,18 @@ class FinanceServiceImplTest {
                 .currentSavings(BigDecimal.valueOf(1000))
                 .monthlyBudget(BigDecimal.valueOf(500))
                 .totalExpenses(BigDecimal.valueOf(600))
-                .transactionsId(new ArrayList<>(List.of(1L, 2L)))
                 .build();
 
         UserContext.setCurrentUser(userDto);
 
-        financeDto = new FinanceDto(1L, BigDecimal.valueOf(1000), BigDecimal.valueOf(500), BigDecimal.valueOf(600), BigDecimal.valueOf(2000), List.of(1L, 2L));
+        financeDto = new FinanceDto(1L, BigDecimal.valueOf(1000), BigDecimal.valueOf(500), BigDecimal.valueOf(600), BigDecimal.valueOf(2000));
         transactionDto = new TransactionDto(1L, BigDecimal.valueOf(400), "Food", Instant.now(), "", TypeTransaction.EXPENSE, 1L);
     }
 
 
     @Test
     void createEmptyFinance() {
-        CreateFinanceDto financeDto = new CreateFinanceDto(BigDecimal.valueOf(100), BigDecimal.valueOf(500), BigDecimal.valueOf(600), BigDecimal.valueOf(2000), List.of(1L));
+        CreateFinanceDto financeDto = new CreateFinanceDto(BigDecimal.valueOf(100), BigDecimal.valueOf(500), BigDecimal.valueOf(600), BigDecimal.valueOf(2000));
 
         when(financeMapper.toEntity(financeDto)).thenReturn(finance);
         when(financeRepository.save(finance)).thenReturn(finance);
@@ -104,41 +113,68 @@ class FinanceServiceImplTest {
     void createTransaction() {
         CreateTransactionDto createTransactionDto = new CreateTransactionDto(BigDecimal.valueOf(100), "category", "description", TypeTransaction.EXPENSE);
 
-        when(financeRepository.findById(anyLong())).thenReturn(Optional.ofNullable(finance));
-        when(transactionService.create(anyLong(), any())).thenReturn(transactionDto);
+        when(transactionService.createWithSavingsChange(1L, createTransactionDto)).thenReturn(Optional.of(transactionDto));
 
         TransactionDto returnTransactionDto = financeService.createTransaction(1L, createTransactionDto);
 
         assertEquals(transactionDto, returnTransactionDto);
+        verify(financeRepository, never()).findById(anyLong());
+        verify(financeRepository, never()).save(any());
     }
 
     @Test
-    void getExpensesByCategory() {
+    void createTransaction_InsufficientFunds() {
+        CreateTransactionDto createTransactionDto = new CreateTransactionDto(BigDecimal.valueOf(5000), "category", "description", TypeTransaction.EXPENSE);
+
+        when(transactionService.createWithSavingsChange(1L, createTransactionDto)).thenReturn(Optional.empty());
+        when(financeRepository.findById(1L)).thenReturn(Optional.of(finance));
+
+        assertThrows(CreateException.class, () -> financeService.createTransaction(1L, createTransactionDto));
+    }
+
+    @Test
+    void createTransaction_FinanceNotFound() {
+        CreateTransactionDto createTransactionDto = new CreateTransactionDto(BigDecimal.valueOf(100), "category", "description", TypeTransaction.PROFIT);
 
-        when(transactionService.getTransactionById(anyLong())).thenReturn(transactionDto);
-        when( financeRepository.findById(anyLong())).thenReturn(Optional.ofNullable(finance));
-        when(transactionService.getTransactionsByFinanceId(anyLong())).thenReturn(Set.of(transactionDto));
-        when(financeMapper.toDto(finance)).thenReturn(financeDto);
+        when(transactionService.createWithSavingsChange(99L, createTransactionDto)).thenReturn(Optional.empty());
+        when(financeRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> financeService.createTransaction(99L, createTransactionDto));
+    }
+
+    @Test
+    void getExpensesByCategory() {
+        when(financeRepository.findById(finance.getId())).thenReturn(Optional.of(finance));
+        when(transactionService.getAmountByCategory(finance.getId(), TypeTransaction.EXPENSE, null, null))
+                .thenReturn(Map.of(transactionDto.category(), BigDecimal.valueOf(800)));
 
         var expensesByCategory =financeService.getExpensesByCategory(finance.getId());
 
         assertEquals(Map.of(transactionDto.category(), BigDecimal.valueOf(800)), expensesByCategory);
+        verify(transactionService, never()).getTransactionById(anyLong());
 
     }
 
+    @Test
+    void getExpensesByCategory_FinanceNotFound() {
+        when(financeRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> financeService.getExpensesByCategory(99L));
+        verify(transactionService, never()).getAmountByCategory(anyLong(), any(), any(), any());
+    }
+
     @Test
     void delete() {
         Long financeId = 1L;
         Long transactionId = 1L;
 
-        when(transactionService.getTransactionsByFinanceId(financeId)).thenReturn(Set.of(transactionDto));
-        when(financeRepository.findById(financeId)).thenReturn(Optional.ofNullable(finance));
-        when(financeRepository.findById(financeId)).thenReturn(Optional.of(finance));
+        when(transactionService.existsByIdAndFinanceId(transactionId, financeId)).thenReturn(true);
 
         financeService.delete(financeId, transactionId);
 
         verify(transactionService).delete(transactionId);
-        verify(financeRepository).save(finance);
+        verify(transactionService, never()).getTransactionsByFinanceId(anyLong());
+        verify(financeRepository, never()).save(any());
     }
 
     @Test
@@ -146,9 +182,10 @@ class FinanceServiceImplTest {
         Long financeId = 1L;
         Long transactionId = 999L;
 
-        when(transactionService.getTransactionsByFinanceId(financeId)).thenReturn(Set.of(transactionDto));
+        when(transactionService.existsByIdAndFinanceId(transactionId, financeId)).thenReturn(false);
 
         assertThrows(DeleteException.class, () -> financeService.delete(financeId, transactionId));
+        verify(transactionService, never()).delete(anyLong());
     }
 
     @Test
@@ -157,18 +194,18 @@ class FinanceServiceImplTest {
         BigDecimal newBudget = BigDecimal.valueOf(1000);
 
         when(financeRepository.findById(financeId)).thenReturn(Optional.of(finance));
+        when(financeRepository.save(any(Finance.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         financeService.updatetMonthlyBudget(financeId, newBudget);
 
-        assertEquals(newBudget, finance.getMonthlyBudget());
-        verify(financeRepository).save(finance);
+        verify(financeRepository).save(argThat(saved -> financeId.equals(saved.getId()) && newBudget.equals(saved.getMonthlyBudget())));
     }
 
     @Test
     void filterTransactions() {
         FilterTransactionDto filter = new FilterTransactionDto(Instant.now(),Instant.now(),"category","PROFIT");
 
-        when(transactionService.getFilteredTransactions(filter)).thenReturn(List.of(transactionDto));
+        when(transactionService.getFilteredTransactions(1L, filter)).thenReturn(List.of(transactionDto));
 
         List<TransactionDto> result = financeService.filterTransactions(1L, filter);
 
@@ -181,10 +218,11 @@ class FinanceServiceImplTest {
         LocalDate startDate = LocalDate.now().minusDays(10);
         LocalDate endDate = LocalDate.now();
 
-        when(transactionService.getTransactionById(anyLong())).thenReturn(transactionDto);
-        when(financeRepository.findById(anyLong())).thenReturn(Optional.of(finance));
-        when(transactionService.getTransactionsByFinanceId(anyLong())).thenReturn(Set.of(transactionDto));
-        when(financeMapper.toDto(finance)).thenReturn(financeDto);
+        Instant from = startDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        Instant to = endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+
+        when(financeRepository.findById(finance.getId())).thenReturn(Optional.of(finance));
+        when(transactionService.getTotalAmount(finance.getId(), TypeTransaction.PROFIT, from, to)).thenReturn(BigDecimal.ZERO);
 
         BigDecimal totalProfit = financeService.getTotalProfit(startDate, endDate, finance.getId());
 
@@ -196,21 +234,30 @@ class FinanceServiceImplTest {
         LocalDate startDate = LocalDate.now().minusDays(10);
         LocalDate endDate = LocalDate.now();
 
-        when(transactionService.getTransactionById(anyLong())).thenReturn(transactionDto);
-        when(financeRepository.findById(anyLong())).thenReturn(Optional.of(finance));
-        when(transactionService.getTransactionsByFinanceId(anyLong())).thenReturn(Set.of(transactionDto));
-        when(financeMapper.toDto(finance)).thenReturn(financeDto);
+        Instant from = startDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        Instant to = endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+
+        when(financeRepository.findById(finance.getId())).thenReturn(Optional.of(finance));
+        when(transactionService.getTotalAmount(finance.getId(), TypeTransaction.EXPENSE, from, to)).thenReturn(BigDecimal.valueOf(800));
 
         BigDecimal totalExpenses = financeService.getTotalExpenses(startDate, endDate, finance.getId());
 
         assertEquals(BigDecimal.valueOf(800), totalExpenses);
     }
 
+    @Test
+    void getTotalExpenses_FinanceNotFound() {
+        when(financeRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> financeService.getTotalExpenses(LocalDate.now(), LocalDate.now(), 99L));
+    }
+
     @Test
     void editTransaction() {
         UpdateTransactionDto updateTransactionDto = new UpdateTransactionDto(1L, BigDecimal.valueOf(10), "ct", Instant.now(), "d", TypeTransaction.EXPENSE);
 
-        when(transactionService.getTransactionsByFinanceId(anyLong())).thenReturn(Set.of(transactionDto));
+        when(transactionService.existsByIdAndFinanceId(1L, 1L)).thenReturn(true);
         when(transactionService.edit(any())).thenReturn(transactionDto);
 
         TransactionDto result = financeService.editTransaction(1L, updateTransactionDto);
@@ -229,18 +276,17 @@ class FinanceServiceImplTest {
 
     @Test
     void list() {
-        when(transactionService.getTransactionsByFinanceId(anyLong())).thenReturn(Set.of(transactionDto));
+        when(transactionService.getTransactionsByFinanceId(anyLong())).thenReturn(List.of(transactionDto));
 
-        Set<TransactionDto> result = financeService.list(1L);
+        List<TransactionDto> result = financeService.list(1L);
 
-        assertEquals(1, result.size());
-        assertTrue(result.contains(transactionDto));
+        assertEquals(List.of(transactionDto), result);
     }
 
     @Test
     void getFinanceById() {
         when(financeRepository.findById(anyLong())).thenReturn(Optional.of(finance));
-        when(financeMapper.toDto(finance)).thenReturn(financeDto);
+        when(financeMapper.toDto(any(Finance.class))).thenReturn(financeDto);
 
         FinanceDto result = financeService.getFinanceById(1L);
 
@@ -253,7 +299,9 @@ class FinanceServiceImplTest {
 
         Finance result = financeService.findFinanceById(1L);
 
-        assertEquals(finance, result);
+        assertEquals(finance.getId(), result.getId());
+        assertEquals(finance.getCurrentSavings(), result.getCurrentSavings());
+        assertEquals(finance.getMonthlyBudget(), result.getMonthlyBudget());
     }
 
 }
\ No newline at end of file
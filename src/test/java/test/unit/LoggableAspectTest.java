@@ -0,0 +1,61 @@
+package test.unit;
+
+import app.aspect.loggable.CustomLogging;
+import app.aspect.loggable.LoggableAspect;
+import app.metrics.MethodMetricsRegistry;
+import app.metrics.MethodTimer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoggableAspectTest {
+
+    private MethodMetricsRegistry registry;
+    private Service service;
+
+    @BeforeEach
+    void setUp() {
+        this.registry = new MethodMetricsRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Service());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggableAspect(registry));
+        this.service = factory.getProxy();
+    }
+
+    @Test
+    void loggableAround_recordsCallsAndErrorsPerMethod() {
+        service.work();
+        service.work();
+        assertThrows(IllegalStateException.class, () -> service.fail());
+
+        List<MethodTimer> timers = registry.getTimers();
+
+        assertEquals(2, timers.size());
+        MethodTimer fail = timers.get(0);
+        MethodTimer work = timers.get(1);
+        assertEquals("Service", work.getClassName());
+        assertEquals("work", work.getMethodName());
+        assertEquals(2, work.getLatency().getCount());
+        assertEquals(0, work.getErrors());
+        assertEquals("fail", fail.getMethodName());
+        assertEquals(1, fail.getLatency().getCount());
+        assertEquals(1, fail.getErrors());
+    }
+
+    @CustomLogging
+    public static class Service {
+
+        public int work() {
+            return 42;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package test.unit;
+
+import app.audit.AuditLogWriter;
+import app.audit.OverflowPolicy;
+import app.auth.AuthenticationCache;
+import app.cache.FinanceCache;
+import app.datasource.ReadWriteRoutingDataSource;
+import app.dto.metrics.MethodMetricsDto;
+import app.dto.metrics.PoolMetricsDto;
+import app.metrics.MethodMetricsRegistry;
+import app.metrics.MethodTimer;
+import app.metrics.PoolMetricsTracker;
+import app.metrics.PoolMetricsTrackerFactory;
+import app.service.impl.MetricsServiceImpl;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsServiceImplTest {
+
+    private PoolMetricsTrackerFactory trackerFactory;
+
+    private MethodMetricsRegistry methodMetricsRegistry;
+
+    private MetricsServiceImpl metricsService;
+
+    @BeforeEach
+    void setUp() {
+        this.trackerFactory = new PoolMetricsTrackerFactory();
+        this.methodMetricsRegistry = new MethodMetricsRegistry();
+        this.metricsService = new MetricsServiceImpl(trackerFactory, new AuthenticationCache(60, 100), methodMetricsRegistry,
+                new AuditLogWriter(events -> {}, 16, 4, 1000, OverflowPolicy.DROP_NEWEST), new FinanceCache(300, 100),
+                ReadWriteRoutingDataSource.primaryOnly(new DriverManagerDataSource()));
+    }
+
+    @Test
+    void testGetPoolMetrics() {
+        PoolMetricsTracker tracker = (PoolMetricsTracker) trackerFactory.create("pool", new PoolStats(0) {
+            @Override
+            protected void update() {
+                totalConnections = 10;
+                activeConnections = 3;
+                idleConnections = 7;
+                pendingThreads = 1;
+                maxConnections = 20;
+                minConnections = 5;
+            }
+        });
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MICROSECONDS.toNanos(500));
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(20));
+        tracker.recordConnectionUsageMillis(3);
+        tracker.recordConnectionTimeout();
+
+        List<PoolMetricsDto> result = metricsService.getPoolMetrics();
+
+        assertEquals(1, result.size());
+        PoolMetricsDto pool = result.get(0);
+        assertEquals("pool", pool.poolName());
+        assertEquals(3, pool.activeConnections());
+        assertEquals(7, pool.idleConnections());
+        assertEquals(1, pool.pendingThreads());
+        assertEquals(1, pool.connectionTimeouts());
+        assertEquals(2, pool.acquireTime().count());
+        assertEquals(1, pool.acquireTime().buckets().get("le_1ms"));
+        assertEquals(2, pool.acquireTime().buckets().get("le_50ms"));
+        assertTrue(pool.acquireTime().max() >= 20);
+        assertEquals(1, pool.usageTime().buckets().get("le_5ms"));
+    }
+
+    @Test
+    void testGetPoolMetrics_Empty() {
+        assertTrue(metricsService.getPoolMetrics().isEmpty());
+    }
+
+    @Test
+    void testGetMethodMetrics() {
+        MethodTimer timer = methodMetricsRegistry.timer(MetricsServiceImplTest.class, "create");
+        timer.record(TimeUnit.MILLISECONDS.toNanos(2));
+        timer.record(TimeUnit.MILLISECONDS.toNanos(40));
+        timer.recordError();
+
+        List<MethodMetricsDto> result = metricsService.getMethodMetrics();
+
+        assertEquals(1, result.size());
+        MethodMetricsDto method = result.get(0);
+        assertEquals("MetricsServiceImplTest", method.className());
+        assertEquals("create", method.methodName());
+        assertEquals(1, method.errors());
+        assertEquals(2, method.latency().count());
+        assertTrue(method.latency().p99() >= 35);
+    }
+
+    @Test
+    void testScrape() {
+        MethodTimer timer = methodMetricsRegistry.timer(MetricsServiceImplTest.class, "create");
+        timer.record(TimeUnit.MILLISECONDS.toNanos(2));
+
+        String text = metricsService.scrape();
+
+        assertTrue(text.contains("# TYPE app_method_duration_seconds summary\n"));
+        assertTrue(text.contains("app_method_duration_seconds{class=\"MetricsServiceImplTest\",method=\"create\",quantile=\"0.99\"} "));
+        assertTrue(text.contains("app_method_duration_seconds_count{class=\"MetricsServiceImplTest\",method=\"create\"} 1\n"));
+        assertTrue(text.contains("app_method_errors_total{class=\"MetricsServiceImplTest\",method=\"create\"} 0\n"));
+        assertTrue(text.contains("app_auth_cache_requests_total{result=\"miss\"} 0\n"));
+        assertTrue(text.contains("app_audit_events_total{result=\"dropped\"} 0\n"));
+        assertTrue(text.contains("app_datasource_route_total{route=\"replica\"} 0\n"));
+        assertTrue(text.contains("app_datasource_replica_fallback_total 0\n"));
+    }
+}
@@ -0,0 +1,140 @@
+package test.unit;
+
+import app.aspect.replica.ReplicaRead;
+import app.aspect.replica.ReplicaReadAspect;
+import app.datasource.ReadWriteRoutingDataSource;
+import app.datasource.ReplicaLagMonitor;
+import app.datasource.ReplicaReadContext;
+import app.dto.metrics.DataSourceRoutingMetricsDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica.getConnection()).thenReturn(replicaConnection);
+        dataSource = new ReadWriteRoutingDataSource(primary, replica, lagMonitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaReadContext.restore(false);
+    }
+
+    @Test
+    void getConnection_readOnlyReplicaRead_usesReplica() throws SQLException {
+        when(lagMonitor.isUsable()).thenReturn(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaReadContext.request();
+
+        assertSame(replicaConnection, dataSource.getConnection());
+
+        DataSourceRoutingMetricsDto metrics = dataSource.getMetrics();
+        assertEquals(1, metrics.replicaConnections());
+        assertEquals(0, metrics.primaryConnections());
+        assertEquals(0, metrics.replicaFallbacks());
+    }
+
+    @Test
+    void getConnection_withoutReplicaRead_usesPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(1, dataSource.getMetrics().primaryConnections());
+    }
+
+    @Test
+    void getConnection_readWriteTransaction_usesPrimary() throws SQLException {
+        ReplicaReadContext.request();
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(0, dataSource.getMetrics().replicaFallbacks());
+    }
+
+    @Test
+    void getConnection_replicaLagging_fallsBackToPrimary() throws SQLException {
+        when(lagMonitor.isUsable()).thenReturn(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaReadContext.request();
+
+        assertSame(primaryConnection, dataSource.getConnection());
+
+        DataSourceRoutingMetricsDto metrics = dataSource.getMetrics();
+        assertEquals(1, metrics.primaryConnections());
+        assertEquals(1, metrics.replicaFallbacks());
+    }
+
+    @Test
+    void primaryOnly_ignoresReplicaRead() throws SQLException {
+        ReadWriteRoutingDataSource primaryOnly = ReadWriteRoutingDataSource.primaryOnly(primary);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaReadContext.request();
+
+        assertSame(primaryConnection, primaryOnly.getConnection());
+
+        DataSourceRoutingMetricsDto metrics = primaryOnly.getMetrics();
+        assertFalse(metrics.replicaEnabled());
+        assertEquals(0, metrics.replicaFallbacks());
+    }
+
+    @Test
+    void replicaReadAspect_setsContextOnlyForAnnotatedMethod() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Reports());
+        factory.addAspect(new ReplicaReadAspect());
+        Reports reports = factory.getProxy();
+
+        assertTrue(reports.report());
+        assertFalse(reports.plain());
+        assertFalse(ReplicaReadContext.isRequested());
+    }
+
+    static class Reports {
+
+        @ReplicaRead
+        public boolean report() {
+            return ReplicaReadContext.isRequested();
+        }
+
+        public boolean plain() {
+            return ReplicaReadContext.isRequested();
+        }
+    }
+}
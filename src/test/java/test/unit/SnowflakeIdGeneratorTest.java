@@ -0,0 +1,106 @@
+package test.unit;
+
+import app.util.SnowflakeIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH.toEpochMilli() + 1_000_000;
+
+    @Test
+    void nextId_shouldEncodeTimestampAndNode() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, () -> NOW);
+
+        long id = generator.nextId();
+
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(id).toEpochMilli());
+        assertEquals(5, (id >>> 12) & SnowflakeIdGenerator.MAX_NODE_ID);
+        assertEquals(0, id & 0xFFF);
+    }
+
+    @Test
+    void nextId_sameMillisecond_shouldIncrementSequence() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, () -> NOW);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        assertEquals(first + 1, second);
+    }
+
+    @Test
+    void nextId_whenSequenceExhausted_shouldMoveToNextMillisecond() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, () -> NOW);
+
+        long last = 0;
+        for (int i = 0; i < 4097; i++) {
+            long id = generator.nextId();
+            assertTrue(id > last);
+            last = id;
+        }
+
+        assertEquals(NOW + 1, SnowflakeIdGenerator.timestampOf(last).toEpochMilli());
+    }
+
+    @Test
+    void nextId_whenClockGoesBack_shouldStayMonotonic() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, clock::get);
+
+        long before = generator.nextId();
+        clock.set(NOW - 5000);
+        long after = generator.nextId();
+
+        assertTrue(after > before);
+    }
+
+    @Test
+    void nextId_differentNodes_shouldNotCollide() {
+        SnowflakeIdGenerator first = new SnowflakeIdGenerator(1, () -> NOW);
+        SnowflakeIdGenerator second = new SnowflakeIdGenerator(2, () -> NOW);
+
+        assertNotEquals(first.nextId(), second.nextId());
+    }
+
+    @Test
+    void nextId_concurrentCalls_shouldBeUnique() throws InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.nextId());
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void constructor_shouldRejectNodeOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+}
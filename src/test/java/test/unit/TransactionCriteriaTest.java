@@ -0,0 +1,105 @@
+package test.unit;
+
+import app.dto.transaction.TransactionSort;
+import app.entity.TypeTransaction;
+import app.repository.criteria.TransactionCriteria;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class TransactionCriteriaTest {
+
+    @Test
+    void toSql_onlyFinanceId_usesDefaultSortAndLimit() {
+        TransactionCriteria criteria = new TransactionCriteria.Builder(1L).build();
+
+        assertEquals("SELECT id, amount, category, date, description, type_transaction, finance_id FROM business.transactions WHERE finance_id = ? ORDER BY date DESC, id DESC LIMIT ?",
+                criteria.toSql());
+    }
+
+    @Test
+    void toSql_allCriteria() {
+        TransactionCriteria criteria = new TransactionCriteria.Builder(1L)
+                .from(Instant.EPOCH)
+                .to(Instant.now())
+                .categories(List.of("Food", "Travel"))
+                .typeTransaction(TypeTransaction.EXPENSE)
+                .minAmount(BigDecimal.ONE)
+                .maxAmount(BigDecimal.TEN)
+                .sort(TransactionSort.AMOUNT_ASC)
+                .limit(10)
+                .build();
+
+        assertEquals("SELECT id, amount, category, date, description, type_transaction, finance_id FROM business.transactions WHERE finance_id = ? AND date >= ? AND date <= ?"
+                        + " AND category = ANY(?) AND type_transaction = 'EXPENSE' AND amount >= ? AND amount <= ?"
+                        + " ORDER BY amount ASC, id ASC LIMIT ?",
+                criteria.toSql());
+    }
+
+    @Test
+    void toSql_sameShape_returnsCachedText() {
+        TransactionCriteria first = new TransactionCriteria.Builder(1L).category("Food").minAmount(BigDecimal.ONE).build();
+        TransactionCriteria second = new TransactionCriteria.Builder(2L)
+                .categories(List.of("Rent", "Travel", "Bills"))
+                .minAmount(BigDecimal.TEN)
+                .build();
+
+        assertSame(first.toSql(), second.toSql());
+    }
+
+    @Test
+    void bind_onlyPresentCriteria() throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        TransactionCriteria criteria = new TransactionCriteria.Builder(7L)
+                .from(from)
+                .maxAmount(BigDecimal.TEN)
+                .limit(5000)
+                .build();
+
+        criteria.bind(ps);
+
+        verify(ps).setLong(1, 7L);
+        verify(ps).setTimestamp(2, Timestamp.from(from));
+        verify(ps).setBigDecimal(3, BigDecimal.TEN);
+        verify(ps).setInt(4, TransactionCriteria.MAX_LIMIT);
+        verify(ps, never()).getConnection();
+        verifyNoMoreInteractions(ps);
+    }
+
+    @Test
+    void bind_categoriesAsSingleArray() throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        Array array = mock(Array.class);
+        when(ps.getConnection()).thenReturn(connection);
+        when(connection.createArrayOf(eq("varchar"), any(Object[].class))).thenReturn(array);
+        TransactionCriteria criteria = new TransactionCriteria.Builder(7L)
+                .categories(List.of("Food", " ", "Travel", "Food"))
+                .build();
+
+        criteria.bind(ps);
+
+        assertEquals(List.of("Food", "Travel"), criteria.getCategories());
+        verify(connection).createArrayOf("varchar", new Object[]{"Food", "Travel"});
+        verify(ps).setArray(2, array);
+        verify(ps).setInt(eq(3), anyInt());
+    }
+}
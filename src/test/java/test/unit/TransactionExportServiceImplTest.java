@@ -0,0 +1,81 @@
+package test.unit;
+
+import app.config.JsonMapperConfig;
+import app.dto.transaction.ExportFormat;
+import app.entity.Transaction;
+import app.entity.TypeTransaction;
+import app.mapper.TransactionMapper;
+import app.repository.TransactionRepository;
+import app.service.impl.TransactionExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceImplTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private TransactionExportServiceImpl exportService;
+
+    private final Long financeId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new TransactionExportServiceImpl(transactionRepository, Mappers.getMapper(TransactionMapper.class), new JsonMapperConfig().jsonMapper());
+
+        Instant date = Instant.parse("2025-03-01T10:15:30Z");
+        List<Transaction> transactions = List.of(
+                new Transaction(1L, new BigDecimal("100.50"), "Food", date, "Lunch, with \"friends\"", TypeTransaction.EXPENSE, financeId),
+                new Transaction(2L, new BigDecimal("900.00"), "Salary", date, null, TypeTransaction.PROFIT, financeId));
+        doAnswer(invocation -> {
+            Consumer<Transaction> consumer = invocation.getArgument(3);
+            transactions.forEach(consumer);
+            return null;
+        }).when(transactionRepository).streamByFinanceId(eq(financeId), any(), any(), any());
+    }
+
+    @Test
+    void exportCsv() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.export(financeId, ExportFormat.CSV, null, null, out);
+
+        assertEquals(2, count);
+        assertEquals("""
+                id,date,type_transaction,category,amount,description
+                1,2025-03-01T10:15:30Z,EXPENSE,Food,100.50,"Lunch, with ""friends\"""
+                2,2025-03-01T10:15:30Z,PROFIT,Salary,900.00,
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportNdjson() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.export(financeId, ExportFormat.NDJSON, null, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"1\","), lines[0]);
+        assertTrue(lines[1].contains("\"typeTransaction\":\"PROFIT\""), lines[1]);
+    }
+}
@@ -0,0 +1,139 @@
+package test.unit;
+
+import app.cache.FinanceCache;
+import app.dto.transaction.CreateTransactionDto;
+import app.dto.transaction.ImportResultDto;
+import app.entity.Finance;
+import app.entity.Transaction;
+import app.entity.TypeTransaction;
+import app.exception.common.CreateException;
+import app.mapper.TransactionMapper;
+import app.repository.FinanceRepository;
+import app.repository.TransactionRepository;
+import app.service.TransactionSummaryService;
+import app.service.impl.TransactionImportServiceImpl;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionImportServiceImplTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private FinanceRepository financeRepository;
+
+    @Mock
+    private TransactionSummaryService transactionSummaryService;
+
+    private TransactionImportServiceImpl importService;
+
+    private final Long financeId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        importService = new TransactionImportServiceImpl(transactionRepository, financeRepository, transactionSummaryService,
+                Mappers.getMapper(TransactionMapper.class), Validation.buildDefaultValidatorFactory().getValidator(), new FinanceCache(300, 100));
+
+        Finance finance = new Finance.Builder()
+                .id(financeId)
+                .currentSavings(BigDecimal.valueOf(100))
+                .build();
+        lenient().when(financeRepository.findByIdForUpdate(financeId)).thenReturn(Optional.of(finance));
+        lenient().when(financeRepository.addToCurrentSavings(eq(financeId), any())).thenReturn(true);
+    }
+
+    @Test
+    void importTransactions() {
+        List<CreateTransactionDto> rows = List.of(
+                new CreateTransactionDto(BigDecimal.valueOf(500), "Salary", "", TypeTransaction.PROFIT),
+                new CreateTransactionDto(BigDecimal.valueOf(550), "Rent", "", TypeTransaction.EXPENSE),
+                new CreateTransactionDto(BigDecimal.valueOf(10), "", "", TypeTransaction.EXPENSE));
+
+        ImportResultDto result = importService.importTransactions(financeId, rows, false);
+
+        assertEquals(3, result.total());
+        assertEquals(2, result.imported());
+        assertEquals(BigDecimal.valueOf(-50), result.savingsChange());
+        assertEquals(1, result.errors().size());
+        assertEquals(3, result.errors().get(0).row());
+
+        ArgumentCaptor<List<Transaction>> saved = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        verify(financeRepository).addToCurrentSavings(financeId, BigDecimal.valueOf(-50));
+        verify(transactionSummaryService).onCreatedAll(anyList());
+    }
+
+    @Test
+    void importTransactions_InsufficientFunds() {
+        List<CreateTransactionDto> rows = List.of(
+                new CreateTransactionDto(BigDecimal.valueOf(150), "Rent", "", TypeTransaction.EXPENSE),
+                new CreateTransactionDto(BigDecimal.valueOf(60), "Food", "", TypeTransaction.EXPENSE));
+
+        ImportResultDto result = importService.importTransactions(financeId, rows, false);
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.errors().get(0).row());
+        verify(financeRepository).addToCurrentSavings(financeId, BigDecimal.valueOf(-60));
+    }
+
+    @Test
+    void importTransactions_AtomicRejectsAll() {
+        List<CreateTransactionDto> rows = List.of(
+                new CreateTransactionDto(BigDecimal.valueOf(50), "Food", "", TypeTransaction.EXPENSE),
+                new CreateTransactionDto(null, "Food", "", TypeTransaction.EXPENSE));
+
+        ImportResultDto result = importService.importTransactions(financeId, rows, true);
+
+        assertEquals(0, result.imported());
+        assertEquals(2, result.errors().get(0).row());
+        verify(transactionRepository, never()).saveAll(any());
+        verify(financeRepository, never()).addToCurrentSavings(any(), any());
+        verify(transactionSummaryService, never()).onCreatedAll(any());
+    }
+
+    @Test
+    void importCsv() {
+        String csv = """
+                id,date,type_transaction,category,amount,description
+                1,2025-03-01T10:15:30Z,PROFIT,Salary,900.00,
+                2,2025-03-01T10:15:30Z,expense,Food,100.50,"Lunch, with ""friends\"""
+                3,2025-03-01T10:15:30Z,EXPENSE,Food,abc,
+                4,2025-03-01T10:15:30Z,GIFT,Food,1,
+                """;
+
+        ImportResultDto result = importService.importCsv(financeId, new StringReader(csv), false);
+
+        assertEquals(4, result.total());
+        assertEquals(2, result.imported());
+        assertEquals(List.of(3, 4), result.errors().stream().map(e -> e.row()).toList());
+        ArgumentCaptor<List<Transaction>> saved = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(saved.capture());
+        assertEquals("Lunch, with \"friends\"", saved.getValue().get(1).getDescription());
+        assertEquals(TypeTransaction.EXPENSE, saved.getValue().get(1).getTypeTransaction());
+    }
+
+    @Test
+    void importCsv_MissingColumn() {
+        assertThrows(CreateException.class,
+                () -> importService.importCsv(financeId, new StringReader("amount,category\n1,Food\n"), false));
+    }
+}
@@ -0,0 +1,71 @@
+package test.unit;
+
+import app.partition.TransactionPartitionMaintainer;
+import app.repository.TransactionPartitionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPartitionMaintainerTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-18T10:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private TransactionPartitionRepository partitionRepository;
+
+    @Test
+    void runOnce_createsCurrentAndFutureMonths() {
+        when(partitionRepository.findMonthsInDefaultPartition()).thenReturn(List.of());
+
+        new TransactionPartitionMaintainer(partitionRepository, 2, 0, 1000, CLOCK).runOnce();
+
+        verify(partitionRepository).createMonth(YearMonth.of(2026, 10));
+        verify(partitionRepository).createMonth(YearMonth.of(2026, 11));
+        verify(partitionRepository).createMonth(YearMonth.of(2026, 12));
+        verify(partitionRepository, never()).createMonth(YearMonth.of(2027, 1));
+        verify(partitionRepository, never()).archiveBefore(any());
+    }
+
+    @Test
+    void runOnce_createsMonthsFoundInDefaultPartition() {
+        when(partitionRepository.findMonthsInDefaultPartition()).thenReturn(List.of(YearMonth.of(2020, 5)));
+
+        new TransactionPartitionMaintainer(partitionRepository, 0, 0, 1000, CLOCK).runOnce();
+
+        verify(partitionRepository).createMonth(YearMonth.of(2020, 5));
+    }
+
+    @Test
+    void runOnce_archivesAfterCreatingPartitions() {
+        when(partitionRepository.findMonthsInDefaultPartition()).thenReturn(List.of());
+        when(partitionRepository.archiveBefore(any())).thenReturn(List.of("transactions_2025_09"));
+
+        new TransactionPartitionMaintainer(partitionRepository, 0, 12, 1000, CLOCK).runOnce();
+
+        InOrder order = inOrder(partitionRepository);
+        order.verify(partitionRepository).createMonth(YearMonth.of(2026, 10));
+        order.verify(partitionRepository).archiveBefore(YearMonth.of(2025, 10));
+    }
+
+    @Test
+    void constructor_rejectsNegativeRetention() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TransactionPartitionMaintainer(partitionRepository, 3, -1, 1000, CLOCK));
+    }
+}
@@ -4,7 +4,10 @@ import app.context.UserContext;
 import app.dto.finance.FinanceDto;
 import app.dto.transaction.CreateTransactionDto;
 import app.dto.transaction.FilterTransactionDto;
+import app.dto.transaction.TransactionCursor;
 import app.dto.transaction.TransactionDto;
+import app.dto.transaction.TransactionPageDto;
+import app.dto.transaction.TransactionSort;
 import app.dto.transaction.UpdateTransactionDto;
 import app.dto.user.UserDto;
 import app.entity.Role;
@@ -12,23 +15,27 @@ import app.entity.Transaction;
 import app.entity.TypeTransaction;
 import app.mapper.TransactionMapper;
 import app.repository.TransactionRepository;
+import app.repository.criteria.TransactionCriteria;
+import app.service.TransactionSummaryService;
 import app.service.impl.TransactionServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceImplTest {
@@ -42,6 +49,9 @@ class TransactionServiceImplTest {
     @Mock
     private TransactionMapper transactionMapper;
 
+    @Mock
+    private TransactionSummaryService transactionSummaryService;
+
     private Transaction transaction;
 
     private TransactionDto transactionDto;
@@ -80,9 +90,36 @@ class TransactionServiceImplTest {
         TransactionDto returnTransactionDto = transactionService.create(financeId, createTransactionDto);
 
         assertEquals(transactionDto, returnTransactionDto);
+        verify(transactionSummaryService).onCreated(transactionDto);
 
     }
 
+    @Test
+    void createWithSavingsChange() {
+        CreateTransactionDto createTransactionDto = new CreateTransactionDto(BigDecimal.valueOf(100), "category", "description", TypeTransaction.PROFIT);
+
+        when(transactionMapper.toEntity(createTransactionDto)).thenReturn(transaction);
+        when(transactionRepository.saveWithSavingsChange(transaction)).thenReturn(Optional.of(transaction));
+        when(transactionMapper.toDto(transaction)).thenReturn(transactionDto);
+
+        Optional<TransactionDto> created = transactionService.createWithSavingsChange(financeId, createTransactionDto);
+
+        assertEquals(Optional.of(transactionDto), created);
+        verify(transactionRepository, never()).save(any());
+        verify(transactionSummaryService).onCreated(transactionDto);
+    }
+
+    @Test
+    void createWithSavingsChange_Rejected() {
+        CreateTransactionDto createTransactionDto = new CreateTransactionDto(BigDecimal.valueOf(100), "category", "description", TypeTransaction.EXPENSE);
+
+        when(transactionMapper.toEntity(createTransactionDto)).thenReturn(transaction);
+        when(transactionRepository.saveWithSavingsChange(transaction)).thenReturn(Optional.empty());
+
+        assertTrue(transactionService.createWithSavingsChange(financeId, createTransactionDto).isEmpty());
+        verify(transactionSummaryService, never()).onCreated(any());
+    }
+
     @Test
     void getTransactionById() {
         when(transactionRepository.findById(transaction.getId())).thenReturn(Optional.of(transaction));
@@ -95,65 +132,139 @@ class TransactionServiceImplTest {
 
     @Test
     void edit() {
-        UpdateTransactionDto updateTransactionDto = new UpdateTransactionDto(transaction.getId(), BigDecimal.valueOf(200), "newCategory", Instant.now(), "newDescription", TypeTransaction.EXPENSE);
+        UpdateTransactionDto updateTransactionDto = new UpdateTransactionDto(transaction.getId(), BigDecimal.valueOf(200), "newCategory", transaction.getDate().minus(40, ChronoUnit.DAYS), "newDescription", TypeTransaction.EXPENSE);
         TransactionDto updatedTransactionDto = new TransactionDto(1L, updateTransactionDto.amount(), updateTransactionDto.category(), updateTransactionDto.date(), updateTransactionDto.description(), updateTransactionDto.typeTransaction(), financeId);
         when(transactionRepository.findById(transaction.getId())).thenReturn(Optional.of(transaction));
-        when(transactionMapper.updateEntity(transaction, updateTransactionDto)).thenReturn(transaction);
-        when(transactionRepository.save(transaction)).thenReturn(transaction);
+        Instant previousDate = transaction.getDate();
+        when(transactionMapper.updateEntity(transaction, updateTransactionDto)).thenAnswer(invocation -> {
+            transaction.setDate(updateTransactionDto.date());
+            return transaction;
+        });
+        when(transactionRepository.update(transaction, previousDate)).thenReturn(transaction);
         when(transactionMapper.toDto(transaction)).thenReturn(updatedTransactionDto);
 
         TransactionDto returnUpdatedTransaction = transactionService.edit(updateTransactionDto);
 
         assertEquals(updatedTransactionDto, returnUpdatedTransaction);
+        verify(transactionRepository).update(transaction, previousDate);
+        verify(transactionSummaryService).onEdited(any(), eq(updatedTransactionDto));
     }
 
     @Test
     void delete() {
-        doNothing().when(transactionRepository).deleteById(transaction.getId());
+        when(transactionRepository.findById(transaction.getId())).thenReturn(Optional.of(transaction));
+        when(transactionMapper.toDto(transaction)).thenReturn(transactionDto);
+        doNothing().when(transactionRepository).delete(transaction);
 
         transactionService.delete(transaction.getId());
 
         // Assuming delete operation doesn't throw exception if successful
         assertDoesNotThrow(() -> transactionService.delete(transaction.getId()));
+        verify(transactionSummaryService, times(2)).onDeleted(transactionDto);
+    }
+
+    @Test
+    void getTransactionsPage() {
+        Transaction older = new Transaction(2L, BigDecimal.TEN, "category", transaction.getDate().minusSeconds(60), "description", TypeTransaction.EXPENSE, financeId);
+        when(transactionRepository.findPageByFinanceId(financeId, null, null, 2)).thenReturn(List.of(transaction, older));
+        when(transactionMapper.toDtoList(List.of(transaction))).thenReturn(List.of(transactionDto));
+
+        TransactionPageDto page = transactionService.getTransactionsPage(financeId, null, 1);
+
+        assertEquals(List.of(transactionDto), page.items());
+        assertNotNull(page.nextCursor());
+        assertEquals(new TransactionCursor(transaction.getDate(), transaction.getId()), TransactionCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void getTransactionsPage_LastPage() {
+        TransactionCursor cursor = new TransactionCursor(transaction.getDate(), 5L);
+        when(transactionRepository.findPageByFinanceId(financeId, cursor.date(), cursor.id(), TransactionServiceImpl.MAX_PAGE_SIZE + 1))
+                .thenReturn(List.of(transaction));
+        when(transactionMapper.toDtoList(List.of(transaction))).thenReturn(List.of(transactionDto));
+
+        TransactionPageDto page = transactionService.getTransactionsPage(financeId, cursor.encode(), 10_000);
+
+        assertEquals(List.of(transactionDto), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getTransactionsPage_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> transactionService.getTransactionsPage(financeId, "not a cursor", 10));
     }
 
     @Test
     void findAll() {
         List<TransactionDto> transactionDtos = List.of(transactionDto);
-        FinanceDto financeDto = new FinanceDto(1L, BigDecimal.valueOf(1000), BigDecimal.valueOf(500), BigDecimal.valueOf(600), BigDecimal.valueOf(2000), List.of(1L));
+        FinanceDto financeDto = new FinanceDto(1L, BigDecimal.valueOf(1000), BigDecimal.valueOf(500), BigDecimal.valueOf(600), BigDecimal.valueOf(2000));
 
-        when(transactionMapper.toDto(transaction)).thenReturn(transactionDto);
-        when(transactionRepository.findById(transactionDto.id())).thenReturn(Optional.of(transaction));
+        when(transactionRepository.findByFinanceId(financeDto.id())).thenReturn(List.of(transaction));
+        when(transactionMapper.toDtoList(List.of(transaction))).thenReturn(transactionDtos);
         List<TransactionDto> result = transactionService.findAll(financeDto);
 
         assertEquals(transactionDtos, result);
+        verify(transactionRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void countByFinanceId_shouldReadSummaries() {
+        when(transactionSummaryService.countTransactions(financeId)).thenReturn(3L);
+
+        assertEquals(3, transactionService.countByFinanceId(financeId));
+        verify(transactionRepository, never()).findByFinanceId(anyLong());
     }
 
     @Test
     void getFilteredTransactions() {
         FilterTransactionDto filterDto = new FilterTransactionDto(transaction.getDate().minusSeconds(100), Instant.now(), "category", "PROFIT");
 
-        when(transactionRepository.getFilteredTransactions(financeId, filterDto.startDate(), filterDto.endDate(), filterDto.category(), filterDto.typeTransaction()))
-                .thenReturn(List.of(transaction));
+        when(transactionRepository.findByCriteria(any(TransactionCriteria.class))).thenReturn(List.of(transaction));
 
         when(transactionMapper.toDtoList(List.of(transaction))).thenReturn(List.of(transactionDto));
 
-        List<TransactionDto> filteredTransactions = transactionService.getFilteredTransactions(filterDto);
+        List<TransactionDto> filteredTransactions = transactionService.getFilteredTransactions(financeId, filterDto);
 
         assertNotNull(filteredTransactions);
         assertFalse(filteredTransactions.isEmpty());
     }
 
+    @Test
+    void getFilteredTransactions_mapsFilterToCriteria() {
+        FilterTransactionDto filterDto = new FilterTransactionDto(null, null, "Food", "INCOME",
+                List.of("Travel", "", "Food"), null, null, null, 5000);
+        ArgumentCaptor<TransactionCriteria> captor = ArgumentCaptor.forClass(TransactionCriteria.class);
+        when(transactionRepository.findByCriteria(captor.capture())).thenReturn(List.of());
+        when(transactionMapper.toDtoList(List.of())).thenReturn(List.of());
+
+        transactionService.getFilteredTransactions(financeId, filterDto);
+
+        TransactionCriteria criteria = captor.getValue();
+        assertEquals(financeId, criteria.getFinanceId());
+        assertEquals(List.of("Food", "Travel"), criteria.getCategories());
+        assertEquals(TypeTransaction.PROFIT, criteria.getTypeTransaction());
+        assertEquals(TransactionSort.DATE_DESC, criteria.getSort());
+        assertEquals(TransactionCriteria.MAX_LIMIT, criteria.getLimit());
+    }
+
     @Test
     void getTransactionsByFinanceId() {
-        Set<TransactionDto> transactionDtos = Set.of(transactionDto);
+        List<TransactionDto> transactionDtos = List.of(transactionDto);
 
         when(transactionRepository.findByFinanceId(financeId)).thenReturn(List.of(transaction));
-        when(transactionMapper.toDtoSet(List.of(transaction))).thenReturn(transactionDtos);
+        when(transactionMapper.toDtoList(List.of(transaction))).thenReturn(transactionDtos);
 
-        Set<TransactionDto> result = transactionService.getTransactionsByFinanceId(financeId);
+        List<TransactionDto> result = transactionService.getTransactionsByFinanceId(financeId);
 
         assertEquals(transactionDtos, result);
     }
 
+    @Test
+    void existsByIdAndFinanceId() {
+        when(transactionRepository.existsByIdAndFinanceId(1L, financeId)).thenReturn(true);
+
+        assertTrue(transactionService.existsByIdAndFinanceId(1L, financeId));
+        verify(transactionRepository, never()).findByFinanceId(anyLong());
+    }
+
 }
\ No newline at end of file
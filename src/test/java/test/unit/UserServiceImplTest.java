@@ -1,5 +1,6 @@
 package test.unit;
 
+import app.auth.AuthenticationCache;
 import app.dto.user.CreateUserDto;
 import app.dto.user.UpdateUserDto;
 import app.dto.user.UserDto;
@@ -22,6 +23,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +42,9 @@ class UserServiceImplTest {
     @Mock
     UserMapper userMapper;
 
+    @Mock
+    AuthenticationCache authenticationCache;
+
     UserDto userDto;
     User user;
 
@@ -64,6 +70,24 @@ class UserServiceImplTest {
         assertEquals(userDto, returnUserDto);
 
     }
+
+    @Test
+    void createUser_firstUser_shouldBecomeAdminWithoutLoadingUsers() {
+        CreateUserDto createUserDto = new CreateUserDto("name", "email@mail.ru", "password1234");
+
+        when(userRepository.existsByEmail(createUserDto.email())).thenReturn(false);
+        when(userRepository.claimBootstrapAdmin()).thenReturn(true);
+        when(financeService.createEmptyFinance(any())).thenReturn(userDto.id());
+        when(userMapper.toEntity(any(CreateUserDto.class))).thenReturn(user);
+        when(userRepository.save(user)).thenReturn(user);
+        when(userMapper.toDto(user)).thenReturn(userDto);
+
+        userService.createUser(createUserDto);
+
+        assertEquals(Role.ADMIN, user.getRole());
+        verify(userRepository, never()).getAll();
+    }
+
     @Test
     void updateDataUser() {
         UpdateUserDto updateUserDto = new UpdateUserDto("name", "email@mail.ru", "password1234",  Role.USER, 1L);
@@ -85,6 +109,7 @@ class UserServiceImplTest {
         boolean result = userService.remove(user.getEmail());
 
         assertTrue(result);
+        verify(authenticationCache).invalidateUser(user.getId());
     }
 
     @Test
@@ -119,6 +144,7 @@ class UserServiceImplTest {
 
         assertFalse(user.isActive());
         assertTrue(result);
+        verify(authenticationCache).invalidateUser(user.getId());
     }
 
     @Test
@@ -130,6 +156,7 @@ class UserServiceImplTest {
 
         assertEquals(Role.ADMIN, user.getRole());
         assertTrue(result);
+        verify(authenticationCache).invalidateUser(user.getId());
     }
 
     @Test
@@ -0,0 +1,134 @@
+package test.unit;
+
+import app.concurrent.VirtualThreadRequestExecutor;
+import app.context.UserContext;
+import app.dto.user.UserDto;
+import app.entity.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadRequestExecutorTest {
+
+    private final UserDto user = new UserDto(1L, "name", "email@mail.ru", "password", true, Role.USER, 1L);
+
+    private VirtualThreadRequestExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+        UserContext.clear();
+    }
+
+    @Test
+    void dispatch_whenDisabled_runsOnCallerThread() throws Exception {
+        executor = new VirtualThreadRequestExecutor(false);
+        MockHttpServletRequest request = asyncRequest();
+        Thread caller = Thread.currentThread();
+        CompletableFuture<Thread> handledOn = new CompletableFuture<>();
+
+        executor.dispatch(request, new MockHttpServletResponse(), (req, res) -> handledOn.complete(Thread.currentThread()));
+
+        assertSame(caller, handledOn.getNow(null));
+        assertFalse(request.isAsyncStarted());
+    }
+
+    @Test
+    void dispatch_whenEnabled_runsOnVirtualThreadWithCurrentUser() throws Exception {
+        executor = new VirtualThreadRequestExecutor(true);
+        MockHttpServletRequest request = asyncRequest();
+        UserContext.setCurrentUser(user);
+        CompletableFuture<UserDto> userOnHandler = new CompletableFuture<>();
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+
+        executor.dispatch(request, new MockHttpServletResponse(), (req, res) -> {
+            virtual.complete(Thread.currentThread().isVirtual());
+            userOnHandler.complete(UserContext.getCurrentUser());
+        });
+
+        assertTrue(virtual.get(5, TimeUnit.SECONDS));
+        assertSame(user, userOnHandler.get(5, TimeUnit.SECONDS));
+        assertNotNull(request.getAsyncContext());
+    }
+
+    @Test
+    void dispatch_whenHandlerFails_returnsServerError() throws Exception {
+        executor = new VirtualThreadRequestExecutor(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        executor.dispatch(asyncRequest(), response, (req, res) -> {
+            throw new IllegalStateException("boom");
+        });
+        executor.destroy();
+
+        assertEquals(500, response.getStatus());
+    }
+
+    @Test
+    void dispatch_whenHandlerTimesOut_returnsServiceUnavailableAndInterruptsHandler() throws Exception {
+        executor = new VirtualThreadRequestExecutor(true, 1000);
+        MockHttpServletRequest request = asyncRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        CompletableFuture<Throwable> lateWrite = new CompletableFuture<>();
+
+        executor.dispatch(request, response, (req, res) -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+                interrupted.complete(false);
+            } catch (InterruptedException e) {
+                interrupted.complete(true);
+            }
+            res.setStatus(200);
+            try {
+                res.getOutputStream().write("late".getBytes());
+                lateWrite.complete(null);
+            } catch (IOException e) {
+                lateWrite.complete(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        assertEquals(1000, asyncContext.getTimeout());
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext, request, response));
+        }
+
+        assertTrue(interrupted.get(5, TimeUnit.SECONDS));
+        assertTrue(lateWrite.get(5, TimeUnit.SECONDS) instanceof IOException);
+        executor.destroy();
+        assertEquals(503, response.getStatus());
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveTimeout() {
+        executor = new VirtualThreadRequestExecutor(false);
+
+        assertThrows(IllegalArgumentException.class, () -> new VirtualThreadRequestExecutor(true, 0));
+    }
+
+    private MockHttpServletRequest asyncRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users");
+        request.setAsyncSupported(true);
+        return request;
+    }
+}